@@ -44,3 +44,13 @@ dependencies {
     // ANDROIDX_TEST_EXT_JUNIT, ESPRESSO_CORE
     androidTestImplementation("com.fasterxml.jackson.core:jackson-databind:2.12.7.1")
 }
+
+// The *BenchmarkTests classes measure timings and allocations, which vary between runs and
+// machines. They are excluded from the unit tests and run on their own with `make benchmark-test`.
+tasks.withType<Test>().configureEach {
+    if (project.hasProperty("benchmarks")) {
+        filter.includeTestsMatching("*BenchmarkTests")
+    } else {
+        exclude("**/*BenchmarkTests.class")
+    }
+}
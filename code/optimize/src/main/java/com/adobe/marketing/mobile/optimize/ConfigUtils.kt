@@ -32,4 +32,133 @@ internal object ConfigUtils {
             defaultTimeout
         }
     }
+
+    /**
+     * Retrieves the time-to-live, in milliseconds, for the propositions fetched by the given update
+     * propositions request [event].
+     *
+     * The TTL provided in the [event] data takes precedence over the
+     * [OptimizeConstants.EventDataKeys.CONFIGS_PROPOSITIONS_TTL] configuration setting, specified in
+     * seconds.
+     *
+     * @param event update propositions request [Event].
+     * @param configData `Map<String, Any?>` containing the Configuration shared state.
+     * @return `Long` containing the propositions TTL in milliseconds, or `0` if the propositions do
+     * not expire.
+     */
+    @JvmStatic
+    fun retrievePropositionsTtl(event: Event, configData: Map<String, Any?>?): Long {
+        val eventTtl =
+            DataReader.optLong(event.eventData, OptimizeConstants.EventDataKeys.PROPOSITIONS_TTL, -1)
+        if (eventTtl >= 0) {
+            return eventTtl
+        }
+        val configTtl = DataReader.optDouble(
+            configData,
+            OptimizeConstants.EventDataKeys.CONFIGS_PROPOSITIONS_TTL,
+            0.0
+        )
+        return if (configTtl > 0) {
+            configTtl.times(OptimizeConstants.TIMEOUT_CONVERSION_FACTOR).toLong()
+        } else {
+            0
+        }
+    }
+
+    /**
+     * Checks whether the propositions cache should be persisted on disk, based on the
+     * [OptimizeConstants.Configuration.OPTIMIZE_PERSISTENT_CACHE_ENABLED] configuration setting.
+     *
+     * @param configData `Map<String, Any?>` containing the Configuration shared state.
+     * @return `true` if the persistent propositions cache is enabled, `false` otherwise.
+     */
+    @JvmStatic
+    fun isPersistentCacheEnabled(configData: Map<String, Any?>?): Boolean =
+        DataReader.optBoolean(
+            configData,
+            OptimizeConstants.Configuration.OPTIMIZE_PERSISTENT_CACHE_ENABLED,
+            false
+        )
+
+    /**
+     * Retrieves the maximum estimated size, in bytes, of the in-memory propositions cache from the
+     * [OptimizeConstants.Configuration.OPTIMIZE_PROPOSITIONS_CACHE_MAX_SIZE] configuration setting.
+     *
+     * @param configData `Map<String, Any?>` containing the Configuration shared state.
+     * @return `Long` containing the maximum cache size in bytes, or `0` if the cache is unbounded.
+     */
+    @JvmStatic
+    fun retrievePropositionsCacheMaxSize(configData: Map<String, Any?>?): Long =
+        DataReader.optLong(
+            configData,
+            OptimizeConstants.Configuration.OPTIMIZE_PROPOSITIONS_CACHE_MAX_SIZE,
+            0
+        ).coerceAtLeast(0)
+
+    /**
+     * Retrieves the window, in milliseconds, during which compatible update propositions requests
+     * are batched into a single Edge request, from the
+     * [OptimizeConstants.Configuration.OPTIMIZE_UPDATE_PROPOSITIONS_BATCH_WINDOW] configuration
+     * setting. The window is capped at [OptimizeConstants.MAX_UPDATE_PROPOSITIONS_BATCH_WINDOW].
+     *
+     * @param configData `Map<String, Any?>` containing the Configuration shared state.
+     * @return `Long` containing the batching window in milliseconds, or `0` if batching is disabled.
+     */
+    @JvmStatic
+    fun retrieveUpdatePropositionsBatchWindow(configData: Map<String, Any?>?): Long =
+        DataReader.optLong(
+            configData,
+            OptimizeConstants.Configuration.OPTIMIZE_UPDATE_PROPOSITIONS_BATCH_WINDOW,
+            0
+        ).coerceIn(0, OptimizeConstants.MAX_UPDATE_PROPOSITIONS_BATCH_WINDOW)
+
+    /**
+     * Checks whether the displays of offers already reported as displayed in the current session
+     * should be suppressed, based on the
+     * [OptimizeConstants.Configuration.OPTIMIZE_DEDUPLICATE_DISPLAYS] configuration setting.
+     *
+     * @param configData `Map<String, Any?>` containing the Configuration shared state.
+     * @return `true` if display deduplication is enabled, `false` otherwise.
+     */
+    @JvmStatic
+    fun isDisplayDeduplicationEnabled(configData: Map<String, Any?>?): Boolean =
+        DataReader.optBoolean(
+            configData,
+            OptimizeConstants.Configuration.OPTIMIZE_DEDUPLICATE_DISPLAYS,
+            false
+        )
+
+    /**
+     * Retrieves the length, in characters, above which the cached offers content is stored
+     * compressed, from the [OptimizeConstants.Configuration.OPTIMIZE_OFFER_CONTENT_COMPRESSION_THRESHOLD]
+     * configuration setting.
+     *
+     * @param configData `Map<String, Any?>` containing the Configuration shared state.
+     * @return `Long` containing the compression threshold, or `0` if the offers content is not
+     * compressed.
+     */
+    @JvmStatic
+    fun retrieveOfferContentCompressionThreshold(configData: Map<String, Any?>?): Long =
+        DataReader.optLong(
+            configData,
+            OptimizeConstants.Configuration.OPTIMIZE_OFFER_CONTENT_COMPRESSION_THRESHOLD,
+            0
+        ).coerceAtLeast(0)
+
+    /**
+     * Retrieves the session timeout, in milliseconds, from the
+     * [OptimizeConstants.Configuration.LIFECYCLE_SESSION_TIMEOUT] configuration setting, specified
+     * in seconds. A new session starts when the app returns to the foreground after being in the
+     * background for longer than the session timeout.
+     *
+     * @param configData `Map<String, Any?>` containing the Configuration shared state.
+     * @return `Long` containing the session timeout in milliseconds.
+     */
+    @JvmStatic
+    fun retrieveSessionTimeout(configData: Map<String, Any?>?): Long =
+        DataReader.optLong(
+            configData,
+            OptimizeConstants.Configuration.LIFECYCLE_SESSION_TIMEOUT,
+            OptimizeConstants.DEFAULT_LIFECYCLE_SESSION_TIMEOUT
+        ).coerceAtLeast(0).times(OptimizeConstants.TIMEOUT_CONVERSION_FACTOR)
 }
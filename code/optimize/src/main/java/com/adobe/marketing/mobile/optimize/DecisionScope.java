@@ -11,10 +11,11 @@
 
 package com.adobe.marketing.mobile.optimize;
 
+import androidx.annotation.VisibleForTesting;
 import com.adobe.marketing.mobile.services.Log;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
-import java.util.Objects;
 import org.json.JSONException;
 import org.json.JSONObject;
 
@@ -29,7 +30,43 @@ public class DecisionScope {
             "{\"activityId\":\"%s\",\"placementId\":\"%s\",\"itemCount\":%s}";
     private static final int DEFAULT_ITEM_COUNT = 1;
 
+    // Maximum number of canonical scopes retained in the registry.
+    private static final int MAX_REGISTRY_SIZE = 1000;
+
+    // Registry of the canonical scopes created from event data, with their memoized validation
+    // and decoded fields, evicting the least recently used scopes once full.
+    private static final Map<String, DecisionScope> registry =
+            new LinkedHashMap<String, DecisionScope>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(final Map.Entry<String, DecisionScope> eldest) {
+                    return size() > MAX_REGISTRY_SIZE;
+                }
+            };
+
     private final String name;
+    private final int hashCode;
+
+    // Validation and decoded fields of the scope name, computed on first use.
+    private volatile ParsedScope parsedScope;
+
+    /** Result of validating and decoding a scope name. */
+    private static final class ParsedScope {
+        final boolean valid;
+        final String activityId;
+        final String placementId;
+        final int itemCount;
+
+        ParsedScope(
+                final boolean valid,
+                final String activityId,
+                final String placementId,
+                final int itemCount) {
+            this.valid = valid;
+            this.activityId = activityId;
+            this.placementId = placementId;
+            this.itemCount = itemCount;
+        }
+    }
 
     /**
      * Constructor creates a {@code DecisionScope} using the provided {@code name}.
@@ -38,6 +75,7 @@ public class DecisionScope {
      */
     public DecisionScope(final String name) {
         this.name = name != null ? name : "";
+        this.hashCode = computeHashCode(this.name);
     }
 
     /**
@@ -66,6 +104,7 @@ public class DecisionScope {
     public DecisionScope(final String activityId, final String placementId, final int itemCount) {
         final String encodedScope = generateEncodedScope(activityId, placementId, itemCount);
         this.name = encodedScope != null ? encodedScope : "";
+        this.hashCode = computeHashCode(this.name);
     }
 
     /**
@@ -80,15 +119,67 @@ public class DecisionScope {
     /**
      * Determines whether this scope is valid.
      *
+     * <p>The scope name is validated on first use only, subsequent calls return the memoized
+     * result.
+     *
      * @return {@code boolean} indicating whether the scope is valid.
      */
     boolean isValid() {
+        return getParsedScope().valid;
+    }
+
+    /**
+     * Gets the activity identifier decoded from this scope name.
+     *
+     * @return {@link String} containing the activity identifier, or null if the scope name is not a
+     *     valid encoded decision scope with an activity identifier.
+     */
+    String getActivityId() {
+        return getParsedScope().activityId;
+    }
+
+    /**
+     * Gets the placement identifier decoded from this scope name.
+     *
+     * @return {@link String} containing the placement identifier, or null if the scope name is not
+     *     a valid encoded decision scope with a placement identifier.
+     */
+    String getPlacementId() {
+        return getParsedScope().placementId;
+    }
+
+    /**
+     * Gets the item count decoded from this scope name.
+     *
+     * @return {@code int} containing the item count, or 0 if the scope name is not a valid encoded
+     *     decision scope with an activity identifier.
+     */
+    int getItemCount() {
+        return getParsedScope().itemCount;
+    }
+
+    private ParsedScope getParsedScope() {
+        ParsedScope parsed = parsedScope;
+        if (parsed == null) {
+            parsed = parse(name);
+            parsedScope = parsed;
+        }
+        return parsed;
+    }
+
+    /**
+     * Validates and decodes the given scope {@code name}.
+     *
+     * @param name {@link String} containing the scope name.
+     * @return {@link ParsedScope} containing the validation result and the decoded fields.
+     */
+    private static ParsedScope parse(final String name) {
         if (OptimizeUtils.isNullOrEmpty(name)) {
             Log.debug(
                     OptimizeConstants.LOG_TAG,
                     SELF_TAG,
                     "Invalid scope! Scope name is null or empty.");
-            return false;
+            return invalid();
         }
 
         final String jsonString = OptimizeUtils.base64Decode(name);
@@ -101,13 +192,17 @@ public class DecisionScope {
                     SELF_TAG,
                     "Base64Decoded scope name is null or empty.",
                     name);
-            return true;
+            return valid(null, null, 0);
         }
         try {
             // If the scope name represents an ODE encoded decision scope
             // the decoded value will be a JSON string
             final JSONObject jsonObject = new JSONObject(jsonString);
 
+            String activityId = null;
+            String placementId = null;
+            int itemCount = 0;
+
             // A valid ODE decision scope will be in one of the following formats:
             // 1. JSON object having key "xdm:name" with non null and non empty value
             if (jsonObject.has(OptimizeConstants.XDM_NAME)) {
@@ -118,7 +213,7 @@ public class DecisionScope {
                             SELF_TAG,
                             "Invalid encoded decision scope (%s)! Scope name is null or empty.",
                             name);
-                    return false;
+                    return invalid();
                 }
             }
 
@@ -126,28 +221,27 @@ public class DecisionScope {
             // and key "xdm:placementId" with non null and non empty value
             // and key "xdm:itemCount" with value greater than 0
             else if (jsonObject.has(OptimizeConstants.XDM_ACTIVITY_ID)) {
-                final String activityId = jsonObject.getString(OptimizeConstants.XDM_ACTIVITY_ID);
+                activityId = jsonObject.getString(OptimizeConstants.XDM_ACTIVITY_ID);
                 if (OptimizeUtils.isNullOrEmpty(activityId)) {
                     Log.debug(
                             OptimizeConstants.LOG_TAG,
                             SELF_TAG,
                             "Invalid encoded decision scope (%s)! Activity Id is null or empty.",
                             name);
-                    return false;
+                    return invalid();
                 }
 
-                final String placementId = jsonObject.getString(OptimizeConstants.XDM_PLACEMENT_ID);
+                placementId = jsonObject.getString(OptimizeConstants.XDM_PLACEMENT_ID);
                 if (OptimizeUtils.isNullOrEmpty(placementId)) {
                     Log.debug(
                             OptimizeConstants.LOG_TAG,
                             SELF_TAG,
                             "Invalid encoded decision scope (%s)! Placement Id is null or empty.",
                             name);
-                    return false;
+                    return invalid();
                 }
 
-                final int itemCount =
-                        jsonObject.optInt(OptimizeConstants.XDM_ITEM_COUNT, DEFAULT_ITEM_COUNT);
+                itemCount = jsonObject.optInt(OptimizeConstants.XDM_ITEM_COUNT, DEFAULT_ITEM_COUNT);
                 if (itemCount < DEFAULT_ITEM_COUNT) {
                     Log.debug(
                             OptimizeConstants.LOG_TAG,
@@ -155,7 +249,7 @@ public class DecisionScope {
                             "Invalid encoded decision scope (%s)! Item count (%d) is invalid.",
                             name,
                             itemCount);
-                    return false;
+                    return invalid();
                 }
             }
 
@@ -163,28 +257,27 @@ public class DecisionScope {
             // and key "placementId" with non null and non empty value
             // and key "itemCount" with value greater than 0
             else {
-                final String activityId = jsonObject.getString(OptimizeConstants.ACTIVITY_ID);
+                activityId = jsonObject.getString(OptimizeConstants.ACTIVITY_ID);
                 if (OptimizeUtils.isNullOrEmpty(activityId)) {
                     Log.debug(
                             OptimizeConstants.LOG_TAG,
                             SELF_TAG,
                             "Invalid encoded decision scope (%s)! Activity Id is null or empty.",
                             name);
-                    return false;
+                    return invalid();
                 }
 
-                final String placementId = jsonObject.getString(OptimizeConstants.PLACEMENT_ID);
+                placementId = jsonObject.getString(OptimizeConstants.PLACEMENT_ID);
                 if (OptimizeUtils.isNullOrEmpty(placementId)) {
                     Log.debug(
                             OptimizeConstants.LOG_TAG,
                             SELF_TAG,
                             "Invalid encoded decision scope (%s)! Placement Id is null or empty.",
                             name);
-                    return false;
+                    return invalid();
                 }
 
-                final int itemCount =
-                        jsonObject.optInt(OptimizeConstants.ITEM_COUNT, DEFAULT_ITEM_COUNT);
+                itemCount = jsonObject.optInt(OptimizeConstants.ITEM_COUNT, DEFAULT_ITEM_COUNT);
                 if (itemCount < DEFAULT_ITEM_COUNT) {
                     Log.debug(
                             OptimizeConstants.LOG_TAG,
@@ -192,7 +285,7 @@ public class DecisionScope {
                             "Invalid encoded decision scope (%s)! Item count (%d) is invalid.",
                             name,
                             itemCount);
-                    return false;
+                    return invalid();
                 }
             }
             // name represents a valid ODE encoded decision scope
@@ -201,7 +294,7 @@ public class DecisionScope {
                     SELF_TAG,
                     "Encoded decision scope (%s) is valid.",
                     name);
-            return true;
+            return valid(activityId, placementId, itemCount);
         } catch (JSONException e) {
             // Since name can be any string in case of Target mbox,
             // return true if the name is decodable but decoded name is not a JSON string
@@ -213,10 +306,19 @@ public class DecisionScope {
                             + "or does have the required JSON keys. Error: %s",
                     name,
                     e.getLocalizedMessage());
-            return true;
+            return valid(null, null, 0);
         }
     }
 
+    private static ParsedScope valid(
+            final String activityId, final String placementId, final int itemCount) {
+        return new ParsedScope(true, activityId, placementId, itemCount);
+    }
+
+    private static ParsedScope invalid() {
+        return new ParsedScope(false, null, null, 0);
+    }
+
     /**
      * Generates the scope name using the given {@code activityId}, {@code placementId} and {@code
      * itemCount}.
@@ -283,7 +385,37 @@ public class DecisionScope {
             return null;
         }
 
-        return new DecisionScope(name);
+        return intern(name);
+    }
+
+    /**
+     * Gets the canonical {@code DecisionScope} for the given {@code name} from the registry,
+     * creating and registering it if it is not present.
+     *
+     * <p>The canonical scope memoizes its validation and decoded fields, so a scope requested
+     * repeatedly is only validated once while it remains in the registry.
+     *
+     * @param name {@link String} containing the scope name.
+     * @return canonical {@link DecisionScope} object.
+     */
+    static DecisionScope intern(final String name) {
+        final String scopeName = name != null ? name : "";
+        synchronized (registry) {
+            DecisionScope scope = registry.get(scopeName);
+            if (scope == null) {
+                scope = new DecisionScope(scopeName);
+                registry.put(scopeName, scope);
+            }
+            return scope;
+        }
+    }
+
+    /** Clears the registry of canonical scopes. */
+    @VisibleForTesting
+    static void clearRegistry() {
+        synchronized (registry) {
+            registry.clear();
+        }
     }
 
     /**
@@ -309,6 +441,11 @@ public class DecisionScope {
 
     @Override
     public int hashCode() {
-        return Objects.hash(name);
+        return hashCode;
+    }
+
+    // same value as Objects.hash(name), without allocating the varargs array.
+    private static int computeHashCode(final String name) {
+        return 31 + name.hashCode();
     }
 }
@@ -0,0 +1,95 @@
+/*
+  Copyright 2025 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.optimize;
+
+import androidx.annotation.NonNull;
+import java.util.Arrays;
+
+/**
+ * {@code DisplayedOffersFilter} remembers the (proposition id, offer id) pairs already reported as
+ * displayed, using a fixed-size Bloom filter of {@value #BIT_COUNT} bits.
+ *
+ * <p>The filter may report a pair not yet added as already displayed, with a false positive rate
+ * below 1% up to {@value #MAX_INSERTIONS} pairs. Once that many pairs are added, the filter is
+ * cleared so the false positive rate stays bounded, which may let a repeated display through. This
+ * is accessed from multiple threads.
+ */
+class DisplayedOffersFilter {
+
+    private static final int BIT_COUNT = 1 << 16;
+    private static final int HASH_COUNT = 3;
+    private static final int MAX_INSERTIONS = 5000;
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final long[] bits = new long[BIT_COUNT / Long.SIZE];
+    private int insertions;
+
+    /**
+     * Adds the given (proposition id, offer id) pair to the filter.
+     *
+     * @param propositionId {@link String} containing the proposition identifier.
+     * @param offerId {@link String} containing the offer identifier.
+     * @return {@code boolean} indicating whether the pair was added, {@code false} if it was
+     *     probably added before.
+     */
+    synchronized boolean add(@NonNull final String propositionId, @NonNull final String offerId) {
+        final long hash = hash(propositionId, offerId);
+        final int hash1 = (int) hash;
+        final int hash2 = (int) (hash >>> 32) | 1;
+
+        if (contains(hash1, hash2)) {
+            return false;
+        }
+        if (insertions >= MAX_INSERTIONS) {
+            clear();
+        }
+        for (int i = 0; i < HASH_COUNT; i++) {
+            final int index = (hash1 + i * hash2) & (BIT_COUNT - 1);
+            bits[index >>> 6] |= 1L << index;
+        }
+        insertions++;
+        return true;
+    }
+
+    /** Removes all the pairs from the filter. */
+    synchronized void clear() {
+        Arrays.fill(bits, 0);
+        insertions = 0;
+    }
+
+    private boolean contains(final int hash1, final int hash2) {
+        for (int i = 0; i < HASH_COUNT; i++) {
+            final int index = (hash1 + i * hash2) & (BIT_COUNT - 1);
+            if ((bits[index >>> 6] & (1L << index)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** Computes the 64-bit FNV-1a hash of the given identifiers and their separator. */
+    private static long hash(final String propositionId, final String offerId) {
+        long hash = FNV_OFFSET_BASIS;
+        hash = hash(hash, propositionId);
+        hash = (hash ^ 0xff) * FNV_PRIME;
+        return hash(hash, offerId);
+    }
+
+    private static long hash(final long seed, final String value) {
+        long hash = seed;
+        for (int i = 0; i < value.length(); i++) {
+            hash = (hash ^ value.charAt(i)) * FNV_PRIME;
+        }
+        return hash;
+    }
+}
@@ -0,0 +1,224 @@
+/*
+  Copyright 2025 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.optimize;
+
+import androidx.annotation.NonNull;
+import com.adobe.marketing.mobile.AdobeCallback;
+import com.adobe.marketing.mobile.Event;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+
+/**
+ * {@code GetPropositionsScheduler} holds get propositions requests until the update propositions
+ * requests in progress for their scopes are completed, so they are fulfilled from the latest cached
+ * content.
+ *
+ * <p>A get propositions request only waits for the update requests in progress for any of its
+ * scopes when it is scheduled, get requests for other scopes are handled immediately. Requests are
+ * held until the scheduler is started. This is accessed from multiple threads, and the ready
+ * requests are handed to the given executor, whichever thread completes the updates they wait for.
+ */
+class GetPropositionsScheduler {
+
+    private final AdobeCallback<Event> handler;
+    private final Executor executor;
+
+    // Update event IDs in progress and their requested scopes.
+    private final Map<String, List<DecisionScope>> updatesInProgress = new HashMap<>();
+
+    // Update event IDs in progress for each requested scope.
+    private final Map<DecisionScope, Set<String>> updateEventIdsByScope = new HashMap<>();
+
+    // Waiting get request events and the update event IDs they wait for, in arrival order.
+    private final Map<Event, Set<String>> waitingRequests = new LinkedHashMap<>();
+
+    // Waiting get request events for each update event ID, in arrival order.
+    private final Map<String, List<Event>> waitingRequestsByUpdate = new HashMap<>();
+
+    private boolean started;
+
+    /**
+     * Constructor creates a {@code GetPropositionsScheduler} using the provided {@code handler} and
+     * {@code executor}.
+     *
+     * @param handler {@code AdobeCallback<Event>} invoked to handle a get propositions request once
+     *     it is ready.
+     * @param executor {@link Executor} on which the {@code handler} is invoked.
+     */
+    GetPropositionsScheduler(
+            @NonNull final AdobeCallback<Event> handler, @NonNull final Executor executor) {
+        this.handler = handler;
+        this.executor = executor;
+    }
+
+    /** Starts handling the scheduled get propositions requests. */
+    void start() {
+        final List<Event> readyRequests;
+        synchronized (this) {
+            started = true;
+            readyRequests = removeReadyRequests();
+        }
+        handle(readyRequests);
+    }
+
+    /**
+     * Tracks the update event with the given {@code eventId} as in progress for the given {@code
+     * scopes}.
+     *
+     * @param eventId {@link String} containing the update event unique identifier.
+     * @param scopes {@code List<DecisionScope>} requested by the update event.
+     */
+    synchronized void addUpdate(
+            @NonNull final String eventId, @NonNull final List<DecisionScope> scopes) {
+        updatesInProgress.put(eventId, scopes);
+        for (final DecisionScope scope : scopes) {
+            Set<String> updateEventIds = updateEventIdsByScope.get(scope);
+            if (updateEventIds == null) {
+                updateEventIds = new HashSet<>();
+                updateEventIdsByScope.put(scope, updateEventIds);
+            }
+            updateEventIds.add(eventId);
+        }
+    }
+
+    /**
+     * Stops tracking the update event with the given {@code eventId} once it completes, fails or
+     * times out, and handles the get propositions requests which no longer wait for any update.
+     *
+     * @param eventId {@link String} containing the update event unique identifier.
+     */
+    void completeUpdate(@NonNull final String eventId) {
+        final List<Event> readyRequests = new ArrayList<>();
+        synchronized (this) {
+            final List<DecisionScope> scopes = updatesInProgress.remove(eventId);
+            if (scopes == null) {
+                return;
+            }
+            for (final DecisionScope scope : scopes) {
+                final Set<String> updateEventIds = updateEventIdsByScope.get(scope);
+                if (updateEventIds != null
+                        && updateEventIds.remove(eventId)
+                        && updateEventIds.isEmpty()) {
+                    updateEventIdsByScope.remove(scope);
+                }
+            }
+
+            final List<Event> waitingEvents = waitingRequestsByUpdate.remove(eventId);
+            if (waitingEvents == null) {
+                return;
+            }
+            for (final Event event : waitingEvents) {
+                final Set<String> updateEventIds = waitingRequests.get(event);
+                if (updateEventIds != null
+                        && updateEventIds.remove(eventId)
+                        && updateEventIds.isEmpty()
+                        && started) {
+                    waitingRequests.remove(event);
+                    readyRequests.add(event);
+                }
+            }
+        }
+        handle(readyRequests);
+    }
+
+    /**
+     * Schedules the given get propositions request {@code event}, to be handled once the update
+     * requests currently in progress for any of the given {@code scopes} are completed.
+     *
+     * @param event {@link Event} containing the get propositions request.
+     * @param scopes {@code List<DecisionScope>} requested by the event.
+     */
+    void schedule(@NonNull final Event event, @NonNull final List<DecisionScope> scopes) {
+        synchronized (this) {
+            final Set<String> updateEventIds = new HashSet<>();
+            for (final DecisionScope scope : scopes) {
+                final Set<String> scopeUpdateEventIds = updateEventIdsByScope.get(scope);
+                if (scopeUpdateEventIds != null) {
+                    updateEventIds.addAll(scopeUpdateEventIds);
+                }
+            }
+            if (!started || !updateEventIds.isEmpty()) {
+                waitingRequests.put(event, updateEventIds);
+                for (final String updateEventId : updateEventIds) {
+                    List<Event> waitingEvents = waitingRequestsByUpdate.get(updateEventId);
+                    if (waitingEvents == null) {
+                        waitingEvents = new ArrayList<>();
+                        waitingRequestsByUpdate.put(updateEventId, waitingEvents);
+                    }
+                    waitingEvents.add(event);
+                }
+                return;
+            }
+        }
+        handle(Collections.singletonList(event));
+    }
+
+    /**
+     * Handles the given get propositions request {@code event} immediately if it is still waiting
+     * and the scheduler is started, e.g. once its deadline passes.
+     *
+     * @param event {@link Event} containing the get propositions request.
+     * @return {@code boolean} indicating whether the request was waiting and is now handled.
+     */
+    boolean handleNow(@NonNull final Event event) {
+        synchronized (this) {
+            if (!started || waitingRequests.remove(event) == null) {
+                return false;
+            }
+        }
+        handle(Collections.singletonList(event));
+        return true;
+    }
+
+    /**
+     * Removes the waiting get propositions requests which no longer wait for any update, if the
+     * scheduler is started.
+     *
+     * @return {@code List<Event>} containing the ready requests, in arrival order.
+     */
+    private List<Event> removeReadyRequests() {
+        final List<Event> readyRequests = new ArrayList<>();
+        if (!started) {
+            return readyRequests;
+        }
+        final Iterator<Map.Entry<Event, Set<String>>> iterator =
+                waitingRequests.entrySet().iterator();
+        while (iterator.hasNext()) {
+            final Map.Entry<Event, Set<String>> entry = iterator.next();
+            if (entry.getValue().isEmpty()) {
+                readyRequests.add(entry.getKey());
+                iterator.remove();
+            }
+        }
+        return readyRequests;
+    }
+
+    private void handle(@NonNull final List<Event> readyRequests) {
+        if (readyRequests.isEmpty()) {
+            return;
+        }
+        executor.execute(
+                () -> {
+                    for (final Event event : readyRequests) {
+                        handler.call(event);
+                    }
+                });
+    }
+}
@@ -0,0 +1,134 @@
+/*
+  Copyright 2025 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.optimize;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import com.adobe.marketing.mobile.Event;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * {@code InFlightUpdateRequest} describes an update propositions request sent to the Edge network
+ * which hasn't received a response yet.
+ *
+ * <p>Later update propositions requests for a subset of its scopes, with identical XDM, data,
+ * override dataset and time-to-live, are coalesced into it instead of sending another Edge request.
+ * The result of the in-flight request is then fanned out to the coalesced requests. This is
+ * accessed from multiple threads.
+ */
+class InFlightUpdateRequest {
+
+    private final Set<DecisionScope> scopes;
+    private final Map<String, Object> xdm;
+    private final Map<String, Object> data;
+    private final String datasetId;
+    private final long ttl;
+
+    // Coalesced request events and their requested scopes, in arrival order.
+    private final Map<Event, List<DecisionScope>> coalescedRequests = new LinkedHashMap<>();
+    private boolean completed;
+
+    /**
+     * Constructor creates an {@code InFlightUpdateRequest} using the provided request attributes.
+     *
+     * @param scopes {@code List<DecisionScope>} containing the requested scopes.
+     * @param xdm {@code Map<String, Object>} containing the XDM data provided in the request, or
+     *     null.
+     * @param data {@code Map<String, Object>} containing the free-form data provided in the
+     *     request, or null.
+     * @param datasetId {@link String} containing the override dataset identifier, or null.
+     * @param ttl {@code long} containing the propositions time-to-live in milliseconds.
+     */
+    InFlightUpdateRequest(
+            @NonNull final List<DecisionScope> scopes,
+            @Nullable final Map<String, Object> xdm,
+            @Nullable final Map<String, Object> data,
+            @Nullable final String datasetId,
+            final long ttl) {
+        this.scopes = new HashSet<>(scopes);
+        this.xdm = xdm != null ? xdm : Collections.<String, Object>emptyMap();
+        this.data = data != null ? data : Collections.<String, Object>emptyMap();
+        this.datasetId = datasetId;
+        this.ttl = ttl;
+    }
+
+    /**
+     * Checks whether the given {@code request} can be fulfilled by this in-flight request, i.e. it
+     * requests a subset of this request's scopes with the same XDM, data, override dataset and
+     * time-to-live.
+     *
+     * @param request {@link InFlightUpdateRequest} describing the new request.
+     * @return {@code boolean} indicating whether the request is covered by this request.
+     */
+    boolean covers(@NonNull final InFlightUpdateRequest request) {
+        return isCompatible(request) && scopes.containsAll(request.scopes);
+    }
+
+    /**
+     * Checks whether the given {@code request} has the same XDM, data, override dataset and
+     * time-to-live as this request, so both can be fulfilled by a single Edge request.
+     *
+     * @param request {@link InFlightUpdateRequest} describing the other request.
+     * @return {@code boolean} indicating whether the requests are compatible.
+     */
+    boolean isCompatible(@NonNull final InFlightUpdateRequest request) {
+        return ttl == request.ttl
+                && Objects.equals(datasetId, request.datasetId)
+                && xdm.equals(request.xdm)
+                && data.equals(request.data);
+    }
+
+    /**
+     * Creates an {@code InFlightUpdateRequest} with the same XDM, data, override dataset and
+     * time-to-live as this request, for the given {@code scopes}.
+     *
+     * @param scopes {@code List<DecisionScope>} containing the requested scopes.
+     * @return {@link InFlightUpdateRequest} for the given scopes.
+     */
+    InFlightUpdateRequest withScopes(@NonNull final List<DecisionScope> scopes) {
+        return new InFlightUpdateRequest(scopes, xdm, data, datasetId, ttl);
+    }
+
+    /**
+     * Attaches the given request {@code event} to this in-flight request, unless its result has
+     * already been fanned out.
+     *
+     * @param event {@link Event} containing the coalesced update propositions request.
+     * @param requestedScopes {@code List<DecisionScope>} requested by the coalesced event.
+     * @return {@code boolean} indicating whether the event is attached.
+     */
+    synchronized boolean coalesce(
+            @NonNull final Event event, @NonNull final List<DecisionScope> requestedScopes) {
+        if (completed) {
+            return false;
+        }
+        coalescedRequests.put(event, requestedScopes);
+        return true;
+    }
+
+    /**
+     * Marks this request as completed, so no further request can be attached to it.
+     *
+     * @return {@code Map<Event, List<DecisionScope>>} containing the attached request events and
+     *     their requested scopes.
+     */
+    synchronized Map<Event, List<DecisionScope>> complete() {
+        completed = true;
+        return new LinkedHashMap<>(coalescedRequests);
+    }
+}
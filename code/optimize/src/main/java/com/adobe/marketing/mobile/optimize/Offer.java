@@ -11,22 +11,34 @@
 
 package com.adobe.marketing.mobile.optimize;
 
+import androidx.annotation.Nullable;
 import com.adobe.marketing.mobile.services.Log;
 import com.adobe.marketing.mobile.util.DataReader;
 import com.adobe.marketing.mobile.util.DataReaderException;
 import java.lang.ref.SoftReference;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 import org.json.JSONArray;
+import org.json.JSONException;
 import org.json.JSONObject;
+import org.json.JSONTokener;
 
 public class Offer {
 
     private static final String SELF_TAG = "Offer";
+    private static final AtomicReferenceFieldUpdater<Offer, ContentState> CONTENT_STATE =
+            AtomicReferenceFieldUpdater.newUpdater(Offer.class, ContentState.class, "contentState");
+    // Memoized JSON content of offers without a JSON object or array content.
+    private static final Object NO_JSON_CONTENT = new Object();
+
     private String id;
     private String etag;
     private double score;
@@ -34,11 +46,23 @@ public class Offer {
     private Map<String, Object> meta;
     private OfferType type;
     private List<String> language;
-    private String content;
     private Map<String, String> characteristics;
 
+    // Content in the single form currently retained, replaced as a whole when the content is
+    // converted or compressed.
+    private volatile ContentState contentState;
+
+    // Whether the content was received as raw JSON content, parsed again once released.
+    private boolean rawJsonContent;
+
+    // Memoized immutable JSON content (Map or List), or NO_JSON_CONTENT.
+    private volatile Object jsonContent;
+
     SoftReference<OptimizeProposition> propositionReference;
 
+    // Memoized event data of this offer, which is immutable once built.
+    private volatile Map<String, Object> eventData;
+
     /**
      * Private constructor.
      *
@@ -64,7 +88,7 @@ public class Offer {
             offer = new Offer();
             offer.id = id != null ? id : "";
             offer.type = type != null ? type : OfferType.UNKNOWN;
-            offer.content = content != null ? content : "";
+            offer.contentState = ContentState.ofString(content != null ? content : "");
             offer.etag = "";
             offer.score = 0.0;
             offer.schema = "";
@@ -250,10 +274,156 @@ public class Offer {
     /**
      * Gets the {@code Offer} content.
      *
+     * <p>JSON content is converted to a {@code String} on first use and only the {@code String} is
+     * retained afterwards. Compressed content is inflated on access, the most recently inflated
+     * contents are reused.
+     *
      * @return {@link String} containing the {@link Offer} content.
      */
     public String getContent() {
-        return content;
+        final ContentState state = contentState;
+        if (state.string != null) {
+            return state.string;
+        }
+        if (state.compressed != null) {
+            return OfferContentCompressor.getInstance().inflate(state.compressed);
+        }
+        final String offerContent = getContentString(state.raw);
+        // keep the string in place of the raw content, unless it was compressed concurrently.
+        CONTENT_STATE.compareAndSet(this, state, ContentState.ofString(offerContent));
+        return offerContent;
+    }
+
+    /**
+     * Compresses this {@code Offer}'s content if it is longer than the given {@code threshold}, so
+     * only the compressed content is retained.
+     *
+     * <p>Raw JSON content not converted to a {@code String} yet is converted to be measured. Its
+     * length is kept, so it is not converted again, and only the compressed content is retained if
+     * it is longer than the {@code threshold}.
+     *
+     * @param threshold {@code long} containing the content length, in characters, above which the
+     *     content is compressed.
+     * @return {@code boolean} indicating whether the content is compressed.
+     */
+    boolean compressContent(final long threshold) {
+        while (true) {
+            final ContentState state = contentState;
+            if (state.compressed != null) {
+                return true;
+            }
+            if (threshold <= 0 || (state.length >= 0 && state.length <= threshold)) {
+                return false;
+            }
+
+            final String offerContent =
+                    state.string != null ? state.string : getContentString(state.raw);
+            final ContentState newState;
+            if (offerContent.length() > threshold) {
+                newState =
+                        ContentState.ofCompressed(
+                                OfferContentCompressor.getInstance().compress(offerContent),
+                                offerContent);
+            } else if (state.raw != null) {
+                newState = ContentState.ofRaw(state.raw, offerContent);
+            } else {
+                return false;
+            }
+            if (CONTENT_STATE.compareAndSet(this, state, newState)) {
+                if (newState.compressed == null) {
+                    return false;
+                }
+                eventData = null;
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Gets this {@code Offer} with its content compressed if it is longer than the given {@code
+     * threshold}.
+     *
+     * <p>This offer is returned if its content is not compressed by the call, and is not modified
+     * otherwise: a copy retaining only the compressed content is returned, as this offer may be
+     * shared by propositions already cached. Raw JSON content is measured as in {@link
+     * #compressContent(long)}, and its length is kept.
+     *
+     * @param threshold {@code long} containing the content length, in characters, above which the
+     *     content is compressed.
+     * @return {@link Offer} with its content compressed if it is longer than the {@code threshold}.
+     */
+    Offer withCompressedContent(final long threshold) {
+        final ContentState state = contentState;
+        if (state.compressed != null
+                || threshold <= 0
+                || (state.length >= 0 && state.length <= threshold)) {
+            return this;
+        }
+
+        final String offerContent =
+                state.string != null ? state.string : getContentString(state.raw);
+        if (offerContent.length() <= threshold) {
+            CONTENT_STATE.compareAndSet(this, state, ContentState.ofRaw(state.raw, offerContent));
+            return this;
+        }
+
+        final Offer offer = new Offer();
+        offer.id = id;
+        offer.etag = etag;
+        offer.score = score;
+        offer.schema = schema;
+        offer.meta = meta;
+        offer.type = type;
+        offer.language = language;
+        offer.characteristics = characteristics;
+        offer.rawJsonContent = rawJsonContent;
+        offer.contentState =
+                ContentState.ofCompressed(
+                        OfferContentCompressor.getInstance().compress(offerContent), offerContent);
+        return offer;
+    }
+
+    /**
+     * Gets the {@code Offer} JSON object content as an immutable {@code Map}.
+     *
+     * <p>The JSON content is parsed once and reused afterwards.
+     *
+     * @return {@code Map<String, Object>} containing the {@link Offer} JSON content, or null if the
+     *     content is not a JSON object.
+     */
+    @SuppressWarnings("unchecked")
+    @Nullable public Map<String, Object> getJsonContentMap() {
+        final Object json = getJsonContent();
+        return json instanceof Map ? (Map<String, Object>) json : null;
+    }
+
+    /**
+     * Gets the {@code Offer} JSON array content as an immutable {@code List}.
+     *
+     * <p>The JSON content is parsed once and reused afterwards.
+     *
+     * @return {@code List<Object>} containing the {@link Offer} JSON content, or null if the
+     *     content is not a JSON array.
+     */
+    @SuppressWarnings("unchecked")
+    @Nullable public List<Object> getJsonContentList() {
+        final Object json = getJsonContent();
+        return json instanceof List ? (List<Object>) json : null;
+    }
+
+    /**
+     * Gets the {@code Offer} content without converting JSON content to a {@code String}.
+     *
+     * @return {@link Object} containing the {@link Offer} content {@code String}, the compressed
+     *     content {@code byte[]}, or the raw JSON content ({@code Map} or {@code List}) if it is
+     *     not converted yet.
+     */
+    Object getContentValue() {
+        final ContentState state = contentState;
+        if (state.string != null) {
+            return state.string;
+        }
+        return state.compressed != null ? state.compressed : state.raw;
     }
 
     /**
@@ -278,20 +448,38 @@ public class Offer {
      * Dispatches an event for the Edge network extension to send an Experience Event to the Edge
      * network with the display interaction data for the given {@code OptimizeProposition} offer.
      *
-     * @see XDMUtils#trackWithData(Map)
+     * <p>The interaction is dispatched in the background, merged with the other interactions
+     * tracked within the flush interval.
+     *
+     * @see PropositionInteractionTracker#track(String, Offer)
      */
     public void displayed() {
-        XDMUtils.trackWithData(generateDisplayInteractionXdm());
+        trackInteraction(OptimizeConstants.JsonValues.EE_EVENT_TYPE_PROPOSITION_DISPLAY);
     }
 
     /**
      * Dispatches an event for the Edge network extension to send an Experience Event to the Edge
      * network with the tap interaction data for the given {@code OptimizeProposition} offer.
      *
-     * @see XDMUtils#trackWithData(Map)
+     * <p>The interaction is dispatched in the background, merged with the other interactions
+     * tracked within the flush interval.
+     *
+     * @see PropositionInteractionTracker#track(String, Offer)
      */
     public void tapped() {
-        XDMUtils.trackWithData(generateTapInteractionXdm());
+        trackInteraction(OptimizeConstants.JsonValues.EE_EVENT_TYPE_PROPOSITION_INTERACT);
+    }
+
+    private void trackInteraction(final String experienceEventType) {
+        if (propositionReference == null || propositionReference.get() == null) {
+            Log.debug(
+                    OptimizeConstants.LOG_TAG,
+                    SELF_TAG,
+                    "Failed to dispatch track propositions request event, the offer proposition is"
+                            + " not available.");
+            return;
+        }
+        PropositionInteractionTracker.getInstance().track(experienceEventType, this);
     }
 
     /**
@@ -443,7 +631,7 @@ public class Offer {
                                 offerData,
                                 OptimizeConstants.JsonKeys.PAYLOAD_ITEM_DATA_CHARACTERISTICS);
 
-                String content = null;
+                Object content = null;
                 if (offerData.containsKey(OptimizeConstants.JsonKeys.PAYLOAD_ITEM_DATA_CONTENT)) {
                     content = getContentFromOfferData(offerData);
                 } else if (offerData.containsKey(
@@ -463,14 +651,29 @@ public class Offer {
                     return null;
                 }
 
-                return new Builder(id, offerType, content)
-                        .setEtag(etag)
-                        .setScore(score)
-                        .setSchema(schema)
-                        .setMeta(meta)
-                        .setLanguage(language)
-                        .setCharacteristics(characteristics)
-                        .build();
+                // share the strings identical to those of the offers parsed before.
+                final OfferValuesInterner interner = OfferValuesInterner.getInstance();
+                if (content instanceof String) {
+                    content = interner.internContent(id, etag, (String) content);
+                }
+                final Offer offer =
+                        new Builder(
+                                        id,
+                                        offerType,
+                                        content instanceof String ? (String) content : null)
+                                .setEtag(etag)
+                                .setScore(score)
+                                .setSchema(interner.intern(schema))
+                                .setMeta(interner.internStrings(meta))
+                                .setLanguage(interner.internStrings(language))
+                                .setCharacteristics(interner.internStrings(characteristics))
+                                .build();
+                if (!(content instanceof String)) {
+                    // keep the JSON content as is, it is converted on first access.
+                    offer.contentState = ContentState.ofRaw(content, null);
+                    offer.rawJsonContent = true;
+                }
+                return offer;
             } else {
                 if (!schema.equals(OptimizeConstants.JsonValues.SCHEMA_TARGET_DEFAULT)) {
                     Log.debug(
@@ -485,11 +688,12 @@ public class Offer {
                         SELF_TAG,
                         "Received default content proposition item, Offer content will be set to"
                                 + " empty string.");
+                final OfferValuesInterner interner = OfferValuesInterner.getInstance();
                 return new Builder(id, OfferType.UNKNOWN, "")
                         .setEtag(null)
                         .setScore(0.0)
-                        .setSchema(schema)
-                        .setMeta(meta)
+                        .setSchema(interner.intern(schema))
+                        .setMeta(interner.internStrings(meta))
                         .setLanguage(null)
                         .setCharacteristics(null)
                         .build();
@@ -504,11 +708,34 @@ public class Offer {
     }
 
     /**
-     * Creates a {@code Map<String, Object>} using this {@code Offer}'s attributes.
+     * Gets an unmodifiable {@code Map<String, Object>} containing this {@code Offer}'s attributes.
+     *
+     * <p>The event data is created on first use and reused afterwards, unless the content is
+     * compressed, so the content string is not retained.
      *
      * @return {@code Map<String, Object>} containing {@link Offer} data.
      */
     Map<String, Object> toEventData() {
+        Map<String, Object> offerMap = eventData;
+        if (offerMap == null) {
+            offerMap = Collections.unmodifiableMap(createEventData());
+            if (contentState.compressed == null) {
+                eventData = offerMap;
+                // drop the event data if the content was compressed concurrently.
+                if (contentState.compressed != null) {
+                    eventData = null;
+                }
+            }
+        }
+        return offerMap;
+    }
+
+    /**
+     * Creates a {@code Map<String, Object>} using this {@code Offer}'s attributes.
+     *
+     * @return {@code Map<String, Object>} containing {@link Offer} data.
+     */
+    Map<String, Object> createEventData() {
         final Map<String, Object> offerMap = new HashMap<>();
         offerMap.put(OptimizeConstants.JsonKeys.PAYLOAD_ITEM_ID, this.id);
         offerMap.put(OptimizeConstants.JsonKeys.PAYLOAD_ITEM_ETAG, this.etag);
@@ -519,12 +746,13 @@ public class Offer {
         final Map<String, Object> data = new HashMap<>();
         data.put(OptimizeConstants.JsonKeys.PAYLOAD_ITEM_DATA_ID, this.id);
         data.put(OptimizeConstants.JsonKeys.PAYLOAD_ITEM_DATA_TYPE, this.type.toString());
-        data.put(OptimizeConstants.JsonKeys.PAYLOAD_ITEM_DATA_CONTENT, this.content);
+        data.put(OptimizeConstants.JsonKeys.PAYLOAD_ITEM_DATA_CONTENT, getContent());
         data.put(OptimizeConstants.JsonKeys.PAYLOAD_ITEM_DATA_LANGUAGE, this.language);
         data.put(
                 OptimizeConstants.JsonKeys.PAYLOAD_ITEM_DATA_CHARACTERISTICS, this.characteristics);
 
-        offerMap.put(OptimizeConstants.JsonKeys.PAYLOAD_ITEM_DATA, data);
+        offerMap.put(
+                OptimizeConstants.JsonKeys.PAYLOAD_ITEM_DATA, Collections.unmodifiableMap(data));
         return offerMap;
     }
 
@@ -542,36 +770,225 @@ public class Offer {
         if (type != that.type) return false;
         if (language != null ? !language.equals(that.language) : that.language != null)
             return false;
-        if (content != null ? !content.equals(that.content) : that.content != null) return false;
-        return characteristics != null
-                ? characteristics.equals(that.characteristics)
-                : that.characteristics == null;
+        if (characteristics != null
+                ? !characteristics.equals(that.characteristics)
+                : that.characteristics != null) return false;
+        return contentEquals(contentState, that.contentState);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(id, etag, score, schema, type, language, content, characteristics);
+        // the content is not hashed, so the JSON content is not converted to a String.
+        return Objects.hash(id, etag, score, schema, type, language, characteristics);
+    }
+
+    private Object getJsonContent() {
+        Object json = jsonContent;
+        if (json == null) {
+            json = NO_JSON_CONTENT;
+            try {
+                final Object raw = contentState.raw;
+                if (raw != null) {
+                    json = toImmutableJson(raw);
+                } else if (type == OfferType.JSON || rawJsonContent) {
+                    final Object parsedContent = new JSONTokener(getContent()).nextValue();
+                    if (parsedContent instanceof JSONObject || parsedContent instanceof JSONArray) {
+                        json = toImmutableJson(parsedContent);
+                    }
+                }
+            } catch (final Exception e) {
+                Log.warning(
+                        OptimizeConstants.LOG_TAG,
+                        SELF_TAG,
+                        "Cannot parse the Offer (%s) JSON content (%s).",
+                        id,
+                        e.getLocalizedMessage());
+            }
+            jsonContent = json;
+        }
+        return json;
+    }
+
+    /**
+     * Compares the given offers content, without converting raw JSON content or inflating
+     * compressed content retained by either offer.
+     *
+     * <p>Content retained in the same form is compared as is. Otherwise, a content string is built
+     * for the comparison without being retained, and compressed to be compared with compressed
+     * content if their lengths and hash codes match.
+     */
+    private static boolean contentEquals(final ContentState state, final ContentState other) {
+        if (state.raw != null && other.raw != null) {
+            return state.raw.equals(other.raw);
+        }
+        if (state.compressed != null && other.compressed != null) {
+            return Arrays.equals(state.compressed, other.compressed);
+        }
+        if (state.length >= 0 && other.length >= 0 && state.length != other.length) {
+            return false;
+        }
+        if (state.compressed != null) {
+            return compressedContentEquals(state, getContentString(other));
+        }
+        if (other.compressed != null) {
+            return compressedContentEquals(other, getContentString(state));
+        }
+        return getContentString(state).equals(getContentString(other));
+    }
+
+    private static boolean compressedContentEquals(
+            final ContentState compressedState, final String content) {
+        return compressedState.length == content.length()
+                && compressedState.hash == content.hashCode()
+                && Arrays.equals(
+                        compressedState.compressed,
+                        OfferContentCompressor.getInstance().compress(content));
+    }
+
+    private static String getContentString(final ContentState state) {
+        return state.string != null ? state.string : getContentString(state.raw);
+    }
+
+    /** Deep copies the given JSON value, using unmodifiable {@code Map}s and {@code List}s. */
+    private static Object toImmutableJson(final Object value) throws JSONException {
+        if (value instanceof JSONObject) {
+            final JSONObject jsonObject = (JSONObject) value;
+            final Map<String, Object> map = new LinkedHashMap<>();
+            final Iterator<String> keys = jsonObject.keys();
+            while (keys.hasNext()) {
+                final String key = keys.next();
+                map.put(key, toImmutableJson(jsonObject.get(key)));
+            }
+            return Collections.unmodifiableMap(map);
+        }
+        if (value instanceof JSONArray) {
+            final JSONArray jsonArray = (JSONArray) value;
+            final List<Object> list = new ArrayList<>(jsonArray.length());
+            for (int i = 0; i < jsonArray.length(); i++) {
+                list.add(toImmutableJson(jsonArray.get(i)));
+            }
+            return Collections.unmodifiableList(list);
+        }
+        if (value instanceof Map) {
+            final Map<String, Object> map = new LinkedHashMap<>();
+            for (final Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                map.put(String.valueOf(entry.getKey()), toImmutableJson(entry.getValue()));
+            }
+            return Collections.unmodifiableMap(map);
+        }
+        if (value instanceof List) {
+            final List<Object> list = new ArrayList<>(((List<?>) value).size());
+            for (final Object element : (List<?>) value) {
+                list.add(toImmutableJson(element));
+            }
+            return Collections.unmodifiableList(list);
+        }
+        return value == JSONObject.NULL ? null : value;
+    }
+
+    private static Object getContentFromOfferData(final Map<String, Object> offerData) {
+        final Object offerContent =
+                offerData.get(OptimizeConstants.JsonKeys.PAYLOAD_ITEM_DATA_CONTENT);
+        if (offerContent instanceof String || isJsonContent(offerContent)) {
+            return offerContent;
+        }
+        throw new ClassCastException();
+    }
+
+    /**
+     * Checks whether the given value is a JSON object or array which can be converted to a content
+     * {@code String}, without converting it.
+     *
+     * <p>Maps with keys which are not {@code String}s, and non-finite numbers, are rejected as they
+     * cannot be converted to a {@link JSONObject} or {@link JSONArray}.
+     */
+    private static boolean isJsonContent(final Object value) {
+        if (value instanceof Map) {
+            for (final Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                if (!(entry.getKey() instanceof String) || !isJsonValue(entry.getValue())) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        if (value instanceof List) {
+            for (final Object element : (List<?>) value) {
+                if (!isJsonValue(element)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return false;
     }
 
-    private static String getContentFromOfferData(final Map<String, Object> offerData) {
+    private static boolean isJsonValue(final Object value) {
+        if (value instanceof Map || value instanceof List) {
+            return isJsonContent(value);
+        }
+        if (value instanceof Double || value instanceof Float) {
+            final double number = ((Number) value).doubleValue();
+            return !Double.isNaN(number) && !Double.isInfinite(number);
+        }
+        return true;
+    }
+
+    private static String getContentString(final Object rawContent) {
         try {
-            Object data;
-
-            Object offerContent =
-                    offerData.get(OptimizeConstants.JsonKeys.PAYLOAD_ITEM_DATA_CONTENT);
-            if (offerContent instanceof List) {
-                data = new JSONArray((List<?>) offerContent);
-            } else if (offerContent instanceof Map) {
-                data = new JSONObject((Map<?, ?>) offerContent);
-            } else if (offerContent instanceof String) {
-                data = offerContent;
-            } else {
-                throw new ClassCastException();
+            if (rawContent instanceof List) {
+                return new JSONArray((List<?>) rawContent).toString();
+            } else if (rawContent instanceof Map) {
+                return new JSONObject((Map<?, ?>) rawContent).toString();
             }
+        } catch (final Exception e) {
+            Log.warning(
+                    OptimizeConstants.LOG_TAG,
+                    SELF_TAG,
+                    "Cannot convert the Offer JSON content to a String (%s).",
+                    e.getLocalizedMessage());
+        }
+        return "";
+    }
+
+    /**
+     * Immutable content of an {@code Offer}, retained in a single form: the content string, the raw
+     * JSON content, or the compressed content.
+     */
+    private static final class ContentState {
+        @Nullable final String string;
+        @Nullable final Object raw;
+        @Nullable final byte[] compressed;
+
+        // Length of the content string, or -1 if the raw content is not measured yet, and hash code
+        // of the content string when it is not retained.
+        final int length;
+        final int hash;
+
+        private ContentState(
+                final String string,
+                final Object raw,
+                final byte[] compressed,
+                final int length,
+                final int hash) {
+            this.string = string;
+            this.raw = raw;
+            this.compressed = compressed;
+            this.length = length;
+            this.hash = hash;
+        }
+
+        static ContentState ofString(final String string) {
+            return new ContentState(string, null, null, string.length(), 0);
+        }
+
+        static ContentState ofRaw(final Object raw, @Nullable final String string) {
+            return string != null
+                    ? new ContentState(null, raw, null, string.length(), string.hashCode())
+                    : new ContentState(null, raw, null, -1, 0);
+        }
 
-            return data.toString();
-        } catch (Exception e) {
-            throw new ClassCastException();
+        static ContentState ofCompressed(final byte[] compressed, final String string) {
+            return new ContentState(null, null, compressed, string.length(), string.hashCode());
         }
     }
 }
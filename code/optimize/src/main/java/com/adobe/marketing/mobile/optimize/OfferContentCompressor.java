@@ -0,0 +1,138 @@
+/*
+  Copyright 2025 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.optimize;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.VisibleForTesting;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * {@code OfferContentCompressor} compresses the content of large {@link Offer}s with deflate, and
+ * inflates it back when the content is read.
+ *
+ * <p>The {@value OptimizeConstants#INFLATED_OFFER_CONTENT_CACHE_SIZE} most recently inflated
+ * contents are kept, so repeated reads of the same offer content are not inflated again. This is
+ * accessed from multiple threads.
+ */
+class OfferContentCompressor {
+
+    private static final OfferContentCompressor INSTANCE = new OfferContentCompressor();
+    private static final int BUFFER_SIZE = 4096;
+
+    // Inflated contents keyed by their compressed content, in access order. Compressed contents
+    // are only compared by reference.
+    private final Map<byte[], String> inflatedContents =
+            new LinkedHashMap<byte[], String>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(final Map.Entry<byte[], String> eldest) {
+                    return size() > OptimizeConstants.INFLATED_OFFER_CONTENT_CACHE_SIZE;
+                }
+            };
+
+    /**
+     * Gets the shared {@code OfferContentCompressor} instance.
+     *
+     * @return {@link OfferContentCompressor} instance.
+     */
+    static OfferContentCompressor getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Compresses the UTF-8 encoded {@code content}.
+     *
+     * <p>Equal contents are compressed to equal bytes, so compressed contents can be compared
+     * without being inflated.
+     *
+     * @param content {@link String} containing the offer content.
+     * @return {@code byte[]} containing the compressed content.
+     */
+    @NonNull byte[] compress(@NonNull final String content) {
+        final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(content.getBytes(StandardCharsets.UTF_8));
+            deflater.finish();
+            final ByteArrayOutputStream output = new ByteArrayOutputStream();
+            final byte[] buffer = new byte[BUFFER_SIZE];
+            while (!deflater.finished()) {
+                output.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return output.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    /**
+     * Inflates the given {@code compressedContent}, or returns it from the recently inflated
+     * contents.
+     *
+     * @param compressedContent {@code byte[]} returned by {@link #compress(String)}.
+     * @return {@link String} containing the offer content.
+     * @throws IllegalArgumentException if the compressed content is corrupted.
+     */
+    @NonNull String inflate(@NonNull final byte[] compressedContent) {
+        synchronized (inflatedContents) {
+            final String content = inflatedContents.get(compressedContent);
+            if (content != null) {
+                return content;
+            }
+        }
+
+        final Inflater inflater = new Inflater();
+        final String content;
+        try {
+            inflater.setInput(compressedContent);
+            final ByteArrayOutputStream output = new ByteArrayOutputStream();
+            final byte[] buffer = new byte[BUFFER_SIZE];
+            while (!inflater.finished()) {
+                final int length = inflater.inflate(buffer);
+                if (length == 0
+                        && !inflater.finished()
+                        && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IllegalArgumentException("Truncated compressed offer content.");
+                }
+                output.write(buffer, 0, length);
+            }
+            content = new String(output.toByteArray(), StandardCharsets.UTF_8);
+        } catch (final DataFormatException e) {
+            throw new IllegalArgumentException("Invalid compressed offer content.", e);
+        } finally {
+            inflater.end();
+        }
+
+        synchronized (inflatedContents) {
+            inflatedContents.put(compressedContent, content);
+        }
+        return content;
+    }
+
+    @VisibleForTesting
+    int getInflatedContentsCount() {
+        synchronized (inflatedContents) {
+            return inflatedContents.size();
+        }
+    }
+
+    @VisibleForTesting
+    void clearInflatedContents() {
+        synchronized (inflatedContents) {
+            inflatedContents.clear();
+        }
+    }
+}
@@ -0,0 +1,170 @@
+/*
+  Copyright 2025 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.optimize;
+
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * {@code OfferValuesInterner} shares the identical immutable values of the offers parsed for
+ * different propositions, such as their schema, content, and the strings in their metadata,
+ * language and characteristics, so a single instance of each value is retained.
+ *
+ * <p>The interned values are weakly referenced, and released once no offer retains them. Only
+ * {@code String}s are shared: the metadata, language and characteristics collections are copied for
+ * each offer, so they can still be modified by the offer owner. The offer contents are looked up by
+ * offer id and etag, so the full content is not hashed for every parsed offer. The {@link Offer}
+ * instances themselves are not shared, as each offer references its containing proposition. This is
+ * accessed from multiple threads.
+ */
+class OfferValuesInterner {
+
+    private static final OfferValuesInterner INSTANCE = new OfferValuesInterner();
+    private static final int MIN_CONTENTS_PURGE_SIZE = 64;
+
+    // Interned values, weakly referencing themselves so they can be released.
+    private final Map<String, WeakReference<String>> values = new WeakHashMap<>();
+
+    // Interned offer contents keyed by offer id and etag.
+    private final Map<String, WeakReference<String>> contents = new HashMap<>();
+
+    // Size of the interned contents above which the released contents are purged.
+    private int contentsPurgeSize = MIN_CONTENTS_PURGE_SIZE;
+
+    /**
+     * Gets the shared {@code OfferValuesInterner} instance.
+     *
+     * @return {@link OfferValuesInterner} instance.
+     */
+    static OfferValuesInterner getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Gets the shared instance of the given {@code value}.
+     *
+     * @param value {@link String} to be interned.
+     * @return {@code String} equal to the given {@code value}, or null if it is null.
+     */
+    @Nullable synchronized String intern(@Nullable final String value) {
+        if (value == null) {
+            return null;
+        }
+        final WeakReference<String> reference = values.get(value);
+        final String internedValue = reference != null ? reference.get() : null;
+        if (internedValue != null) {
+            return internedValue;
+        }
+        values.put(value, new WeakReference<>(value));
+        return value;
+    }
+
+    /**
+     * Copies the given {@code list}, sharing its {@code String} elements.
+     *
+     * @param list {@code List<String>} to be copied.
+     * @return new {@code List<String>} equal to the given {@code list}, or null if it is null.
+     */
+    @Nullable List<String> internStrings(@Nullable final List<String> list) {
+        if (list == null) {
+            return null;
+        }
+        final List<String> copy = new ArrayList<>(list.size());
+        for (final String element : list) {
+            copy.add(intern(element));
+        }
+        return copy;
+    }
+
+    /**
+     * Copies the given {@code map}, sharing its {@code String} keys and values. Other values are
+     * copied as is.
+     *
+     * @param map {@code Map<String, V>} to be copied.
+     * @return new {@code Map<String, V>} equal to the given {@code map}, or null if it is null.
+     */
+    @SuppressWarnings("unchecked")
+    @Nullable <V> Map<String, V> internStrings(@Nullable final Map<String, V> map) {
+        if (map == null) {
+            return null;
+        }
+        final Map<String, V> copy = new HashMap<>();
+        for (final Map.Entry<String, V> entry : map.entrySet()) {
+            final V value = entry.getValue();
+            copy.put(
+                    intern(entry.getKey()),
+                    value instanceof String ? (V) intern((String) value) : value);
+        }
+        return copy;
+    }
+
+    /**
+     * Gets the shared instance of the content of the offer with the given {@code offerId} and
+     * {@code etag}.
+     *
+     * <p>The content interned for the same offer id and etag is shared if it is equal to the given
+     * {@code content}, otherwise the given {@code content} replaces it.
+     *
+     * @param offerId {@link String} containing the offer id.
+     * @param etag {@code String} containing the offer etag.
+     * @param content {@code String} containing the offer content to be interned.
+     * @return {@code String} equal to the given {@code content}, or null if it is null.
+     */
+    @Nullable synchronized String internContent(
+            @Nullable final String offerId,
+            @Nullable final String etag,
+            @Nullable final String content) {
+        if (content == null || offerId == null) {
+            return content;
+        }
+        final String key = etag != null ? offerId + '\n' + etag : offerId;
+        final WeakReference<String> reference = contents.get(key);
+        final String internedContent = reference != null ? reference.get() : null;
+        if (content.equals(internedContent)) {
+            return internedContent;
+        }
+        contents.put(key, new WeakReference<>(content));
+        if (contents.size() > contentsPurgeSize) {
+            purgeReleasedContents();
+        }
+        return content;
+    }
+
+    private void purgeReleasedContents() {
+        final Iterator<WeakReference<String>> iterator = contents.values().iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().get() == null) {
+                iterator.remove();
+            }
+        }
+        contentsPurgeSize = Math.max(MIN_CONTENTS_PURGE_SIZE, contents.size() * 2);
+    }
+
+    @VisibleForTesting
+    synchronized int size() {
+        return values.size() + contents.size();
+    }
+
+    @VisibleForTesting
+    synchronized void clear() {
+        values.clear();
+        contents.clear();
+        contentsPurgeSize = MIN_CONTENTS_PURGE_SIZE;
+    }
+}
@@ -91,7 +91,13 @@ public class Optimize {
             @Nullable final AdobeCallback<Map<DecisionScope, OptimizeProposition>> callback) {
         final double defaultTimeoutSeconds =
                 (double) Long.MAX_VALUE / OptimizeConstants.TIMEOUT_CONVERSION_FACTOR;
-        updatePropositionsInternal(decisionScopes, xdm, data, defaultTimeoutSeconds, callback);
+        updatePropositionsInternal(
+                decisionScopes,
+                xdm,
+                data,
+                defaultTimeoutSeconds,
+                OptimizeConstants.UNSET_PROPOSITIONS_TTL,
+                callback);
     }
 
     /**
@@ -119,7 +125,46 @@ public class Optimize {
             @Nullable final Map<String, Object> data,
             final double timeoutSeconds,
             @Nullable final AdobeCallback<Map<DecisionScope, OptimizeProposition>> callback) {
-        updatePropositionsInternal(decisionScopes, xdm, data, timeoutSeconds, callback);
+        updatePropositionsInternal(
+                decisionScopes,
+                xdm,
+                data,
+                timeoutSeconds,
+                OptimizeConstants.UNSET_PROPOSITIONS_TTL,
+                callback);
+    }
+
+    /**
+     * This API dispatches an Event for the Edge network extension to fetch decision propositions,
+     * for the provided decision scopes list, from the decisioning services enabled in the
+     * Experience Edge network.
+     *
+     * <p>The returned decision propositions are cached in-memory in the Optimize SDK extension for
+     * the provided {@code ttlSeconds} and can be retrieved using {@link #getPropositions(List,
+     * double, AdobeCallback)} API. Expired propositions are no longer returned from the cache.
+     *
+     * @param decisionScopes {@code List<DecisionScope>} containing scopes for which offers need to
+     *     be updated.
+     * @param xdm {@code Map<String, Object>} containing additional XDM-formatted data to be sent in
+     *     the personalization query request.
+     * @param data {@code Map<String, Object>} containing additional free-form data to be sent in
+     *     the personalization query request.
+     * @param timeoutSeconds {@code Double} containing additional configurable timeout(seconds) to
+     *     be sent in the personalization query request.
+     * @param ttlSeconds {@code Double} containing the time-to-live(seconds) of the returned
+     *     propositions in the cache, overriding the {@code optimize.propositionsTtl} configuration
+     *     setting. A value of 0 indicates the returned propositions do not expire.
+     * @param callback {@code AdobeCallback<Map<DecisionScope, OptimizeProposition>>} which will be
+     *     invoked when decision propositions are received from the Edge network.
+     */
+    public static void updatePropositions(
+            @NonNull final List<DecisionScope> decisionScopes,
+            @Nullable final Map<String, Object> xdm,
+            @Nullable final Map<String, Object> data,
+            final double timeoutSeconds,
+            final double ttlSeconds,
+            @Nullable final AdobeCallback<Map<DecisionScope, OptimizeProposition>> callback) {
+        updatePropositionsInternal(decisionScopes, xdm, data, timeoutSeconds, ttlSeconds, callback);
     }
 
     private static void updatePropositionsInternal(
@@ -127,6 +172,7 @@ public class Optimize {
             @Nullable final Map<String, Object> xdm,
             @Nullable final Map<String, Object> data,
             final double timeoutSeconds,
+            final double ttlSeconds,
             @Nullable final AdobeCallback<Map<DecisionScope, OptimizeProposition>> callback) {
 
         if (OptimizeUtils.isNullOrEmpty(decisionScopes)) {
@@ -184,6 +230,12 @@ public class Optimize {
 
         eventData.put(OptimizeConstants.EventDataKeys.TIMEOUT, timeoutMillis);
 
+        if (ttlSeconds >= 0) {
+            eventData.put(
+                    OptimizeConstants.EventDataKeys.PROPOSITIONS_TTL,
+                    (long) (ttlSeconds * OptimizeConstants.TIMEOUT_CONVERSION_FACTOR));
+        }
+
         final Event event =
                 new Event.Builder(
                                 OptimizeConstants.EventNames.UPDATE_PROPOSITIONS_REQUEST,
@@ -282,28 +334,134 @@ public class Optimize {
             @NonNull final List<DecisionScope> decisionScopes,
             @NonNull final AdobeCallback<Map<DecisionScope, OptimizeProposition>> callback) {
         final double defaultTimeoutSeconds = OptimizeConstants.GET_RESPONSE_CALLBACK_TIMEOUT;
-        getPropositionsInternal(decisionScopes, defaultTimeoutSeconds, callback);
+        getPropositionsInternal(decisionScopes, defaultTimeoutSeconds, false, false, callback);
+    }
+
+    /**
+     * This API retrieves the previously fetched propositions, for the provided decision scopes,
+     * from the in-memory extension propositions cache.
+     *
+     * @param decisionScopes {@code List<DecisionScope>} containing scopes for which offers need to
+     *     be requested.
+     * @param timeoutSeconds {@code double} containing the timeout in seconds for this request.
+     * @param callback {@code AdobeCallbackWithError<Map<DecisionScope, OptimizeProposition>>} which
+     *     will be invoked when decision propositions are retrieved from the local cache.
+     */
+    public static void getPropositions(
+            @NonNull final List<DecisionScope> decisionScopes,
+            final double timeoutSeconds,
+            @NonNull final AdobeCallback<Map<DecisionScope, OptimizeProposition>> callback) {
+        getPropositionsInternal(decisionScopes, timeoutSeconds, false, false, callback);
+    }
+
+    /**
+     * This API retrieves the previously fetched propositions, for the provided decision scopes,
+     * from the in-memory extension propositions cache.
+     *
+     * <p>If {@code allowStale} is true, the cached propositions are returned immediately, even if
+     * an update propositions request is in progress for some of the provided decision scopes. The
+     * propositions for these scopes are flagged as possibly stale, see {@link
+     * OptimizeProposition#isStale()}, and the refreshed propositions are delivered through the
+     * {@link #onPropositionsUpdate(AdobeCallback)} callback once the update completes. Otherwise,
+     * the callback is invoked after the in-progress updates complete.
+     *
+     * @param decisionScopes {@code List<DecisionScope>} containing scopes for which offers need to
+     *     be requested.
+     * @param timeoutSeconds {@code double} containing the timeout in seconds for this request.
+     * @param allowStale {@code boolean} indicating whether the cached propositions can be returned
+     *     while an update is in progress for their scopes.
+     * @param callback {@code AdobeCallbackWithError<Map<DecisionScope, OptimizeProposition>>} which
+     *     will be invoked when decision propositions are retrieved from the local cache.
+     */
+    public static void getPropositions(
+            @NonNull final List<DecisionScope> decisionScopes,
+            final double timeoutSeconds,
+            final boolean allowStale,
+            @NonNull final AdobeCallback<Map<DecisionScope, OptimizeProposition>> callback) {
+        getPropositionsInternal(decisionScopes, timeoutSeconds, allowStale, false, callback);
     }
 
     /**
      * This API retrieves the previously fetched propositions, for the provided decision scopes,
      * from the in-memory extension propositions cache.
      *
+     * <p>If {@code fetchMissing} is true, the propositions for the provided decision scopes which
+     * are neither cached nor being updated are requested from the Edge network, and the callback is
+     * invoked once they are received. If they are not received within the {@code timeoutSeconds},
+     * less a short margin, the callback is invoked with the propositions cached at that point.
+     *
      * @param decisionScopes {@code List<DecisionScope>} containing scopes for which offers need to
      *     be requested.
+     * @param timeoutSeconds {@code double} containing the timeout in seconds for this request.
+     * @param allowStale {@code boolean} indicating whether the cached propositions can be returned
+     *     while an update is in progress for their scopes.
+     * @param fetchMissing {@code boolean} indicating whether the propositions missing from the
+     *     cache are requested from the Edge network.
      * @param callback {@code AdobeCallbackWithError<Map<DecisionScope, OptimizeProposition>>} which
      *     will be invoked when decision propositions are retrieved from the local cache.
+     * @see #getPropositions(List, double, boolean, AdobeCallback)
      */
     public static void getPropositions(
             @NonNull final List<DecisionScope> decisionScopes,
             final double timeoutSeconds,
+            final boolean allowStale,
+            final boolean fetchMissing,
             @NonNull final AdobeCallback<Map<DecisionScope, OptimizeProposition>> callback) {
-        getPropositionsInternal(decisionScopes, timeoutSeconds, callback);
+        getPropositionsInternal(decisionScopes, timeoutSeconds, allowStale, fetchMissing, callback);
+    }
+
+    /**
+     * This API synchronously retrieves the previously fetched propositions, for the provided
+     * decision scopes, from the in-memory extension propositions cache.
+     *
+     * <p>The propositions are read on the calling thread without dispatching an event, so this API
+     * can be used where the cached content is needed immediately, e.g. when binding views. The
+     * latest cached propositions are returned even if an update is in progress for their scopes,
+     * and the scopes for which no proposition is cached are missing from the returned map.
+     * Propositions persisted on disk are only returned once they have been loaded in the in-memory
+     * cache by a {@link #getPropositions(List, AdobeCallback)} call. The returned propositions are
+     * shared with the cache and must not be modified.
+     *
+     * @param decisionScopes {@code List<DecisionScope>} containing scopes for which offers need to
+     *     be retrieved.
+     * @return {@code Map<DecisionScope, OptimizeProposition>} containing the cached propositions,
+     *     empty if the Optimize extension is not registered or no valid scope is provided.
+     * @see #getPropositions(List, AdobeCallback)
+     */
+    @NonNull public static Map<DecisionScope, OptimizeProposition> getCachedPropositions(
+            @NonNull final List<DecisionScope> decisionScopes) {
+        if (OptimizeUtils.isNullOrEmpty(decisionScopes)) {
+            Log.warning(
+                    OptimizeConstants.LOG_TAG,
+                    SELF_TAG,
+                    "Cannot get cached propositions, provided list of decision scopes is null or"
+                            + " empty.");
+            return new HashMap<>();
+        }
+
+        final OptimizeExtension extension = OptimizeExtension.getRegisteredExtension();
+        if (extension == null) {
+            Log.debug(
+                    OptimizeConstants.LOG_TAG,
+                    SELF_TAG,
+                    "Cannot get cached propositions, the Optimize extension is not registered.");
+            return new HashMap<>();
+        }
+
+        final List<DecisionScope> validScopes = new ArrayList<>();
+        for (final DecisionScope scope : decisionScopes) {
+            if (scope != null && scope.isValid()) {
+                validScopes.add(scope);
+            }
+        }
+        return extension.readCachedPropositions(validScopes);
     }
 
     private static void getPropositionsInternal(
             @NonNull final List<DecisionScope> decisionScopes,
             final double timeoutSeconds,
+            final boolean allowStale,
+            final boolean fetchMissing,
             @NonNull final AdobeCallback<Map<DecisionScope, OptimizeProposition>> callback) {
         if (OptimizeUtils.isNullOrEmpty(decisionScopes)) {
             Log.warning(
@@ -342,6 +500,15 @@ public class Optimize {
                 OptimizeConstants.EventDataKeys.REQUEST_TYPE,
                 OptimizeConstants.EventDataValues.REQUEST_TYPE_GET);
         eventData.put(OptimizeConstants.EventDataKeys.DECISION_SCOPES, flattenedDecisionScopes);
+        if (allowStale) {
+            eventData.put(OptimizeConstants.EventDataKeys.ALLOW_STALE, true);
+        }
+
+        long timeoutMillis = (long) (timeoutSeconds * OptimizeConstants.TIMEOUT_CONVERSION_FACTOR);
+        if (fetchMissing) {
+            eventData.put(OptimizeConstants.EventDataKeys.FETCH_MISSING, true);
+            eventData.put(OptimizeConstants.EventDataKeys.TIMEOUT, timeoutMillis);
+        }
 
         final Event event =
                 new Event.Builder(
@@ -351,8 +518,6 @@ public class Optimize {
                         .setEventData(eventData)
                         .build();
 
-        long timeoutMillis = (long) (timeoutSeconds * OptimizeConstants.TIMEOUT_CONVERSION_FACTOR);
-
         MobileCore.dispatchEventWithResponseCallback(
                 event,
                 timeoutMillis,
@@ -425,51 +590,81 @@ public class Optimize {
      */
     public static void onPropositionsUpdate(
             @NonNull final AdobeCallback<Map<DecisionScope, OptimizeProposition>> callback) {
-        MobileCore.registerEventListener(
-                OptimizeConstants.EventType.OPTIMIZE,
-                OptimizeConstants.EventSource.NOTIFICATION,
-                new AdobeCallbackWithError<Event>() {
-                    @Override
-                    public void fail(final AdobeError error) {}
-
-                    @Override
-                    public void call(final Event event) {
-                        final Map<String, Object> eventData = event.getEventData();
-                        if (OptimizeUtils.isNullOrEmpty(eventData)) {
-                            return;
-                        }
+        PropositionsUpdateDispatcher.getInstance().subscribe(null, callback);
+    }
 
-                        final List<Map<String, Object>> propositionsList;
-                        try {
-                            propositionsList =
-                                    DataReader.getTypedListOfMap(
-                                            Object.class,
-                                            eventData,
-                                            OptimizeConstants.EventDataKeys.PROPOSITIONS);
+    /**
+     * This API registers a permanent callback which is invoked whenever propositions for any of the
+     * provided decision scopes are received from the Experience Edge Network upon a personalization
+     * query.
+     *
+     * <p>The callback is only invoked with the propositions for the provided decision scopes, and
+     * is not invoked for responses which contain none of them.
+     *
+     * @param decisionScopes {@code List<DecisionScope>} containing scopes for which proposition
+     *     updates are received.
+     * @param callback {@code AdobeCallbackWithError<Map<DecisionScope, OptimizeProposition>>} which
+     *     will be invoked when decision propositions are received from the Edge network.
+     * @see #onPropositionsUpdate(AdobeCallback)
+     */
+    public static void onPropositionsUpdate(
+            @NonNull final List<DecisionScope> decisionScopes,
+            @NonNull final AdobeCallback<Map<DecisionScope, OptimizeProposition>> callback) {
+        if (OptimizeUtils.isNullOrEmpty(decisionScopes)) {
+            Log.warning(
+                    OptimizeConstants.LOG_TAG,
+                    SELF_TAG,
+                    "Cannot register the propositions update callback, provided list of decision"
+                            + " scopes is null or empty.");
+            return;
+        }
+        PropositionsUpdateDispatcher.getInstance().subscribe(decisionScopes, callback);
+    }
 
-                            final Map<DecisionScope, OptimizeProposition> propositionsMap =
-                                    new HashMap<>();
-                            if (propositionsList != null) {
-                                for (final Map<String, Object> propositionData : propositionsList) {
-                                    final OptimizeProposition optimizeProposition =
-                                            OptimizeProposition.fromEventData(propositionData);
-                                    if (optimizeProposition != null
-                                            && !OptimizeUtils.isNullOrEmpty(
-                                                    optimizeProposition.getScope())) {
-                                        final DecisionScope scope =
-                                                new DecisionScope(optimizeProposition.getScope());
-                                        propositionsMap.put(scope, optimizeProposition);
-                                    }
-                                }
-                            }
+    /**
+     * This API registers a permanent callback which is invoked whenever the cached propositions for
+     * decision scopes are removed, because an update propositions request for these scopes
+     * completed without the Experience Edge Network returning any proposition for them.
+     *
+     * <p>The offers previously received for the removed decision scopes, e.g. with the {@link
+     * #onPropositionsUpdate(AdobeCallback)} callback, should no longer be displayed.
+     *
+     * @param callback {@code AdobeCallback<List<DecisionScope>>} which will be invoked with the
+     *     decision scopes whose cached propositions were removed.
+     * @see #onPropositionsUpdate(AdobeCallback)
+     */
+    public static void onPropositionsRemoved(
+            @NonNull final AdobeCallback<List<DecisionScope>> callback) {
+        PropositionsUpdateDispatcher.getInstance().subscribeToRemovals(null, callback);
+    }
 
-                            if (!propositionsMap.isEmpty()) {
-                                callback.call(propositionsMap);
-                            }
-                        } catch (DataReaderException ignored) {
-                        }
-                    }
-                });
+    /**
+     * This API registers a permanent callback which is invoked whenever the cached propositions for
+     * any of the provided decision scopes are removed, because an update propositions request for
+     * these scopes completed without the Experience Edge Network returning any proposition for
+     * them.
+     *
+     * <p>The callback is only invoked with the provided decision scopes, and is not invoked for
+     * removals which concern none of them.
+     *
+     * @param decisionScopes {@code List<DecisionScope>} containing scopes for which proposition
+     *     removals are received.
+     * @param callback {@code AdobeCallback<List<DecisionScope>>} which will be invoked with the
+     *     decision scopes whose cached propositions were removed.
+     * @see #onPropositionsRemoved(AdobeCallback)
+     */
+    public static void onPropositionsRemoved(
+            @NonNull final List<DecisionScope> decisionScopes,
+            @NonNull final AdobeCallback<List<DecisionScope>> callback) {
+        if (OptimizeUtils.isNullOrEmpty(decisionScopes)) {
+            Log.warning(
+                    OptimizeConstants.LOG_TAG,
+                    SELF_TAG,
+                    "Cannot register the propositions removal callback, provided list of decision"
+                            + " scopes is null or empty.");
+            return;
+        }
+        PropositionsUpdateDispatcher.getInstance().subscribeToRemovals(decisionScopes, callback);
     }
 
     /** Clears the client-side in-memory propositions cache. */
@@ -483,6 +678,63 @@ public class Optimize {
         MobileCore.dispatchEvent(event);
     }
 
+    /**
+     * This API retrieves the statistics of the in-memory propositions cache, such as the estimated
+     * size of the cached propositions and the number of propositions evicted to keep the cache
+     * within the {@code optimize.propositionsCacheMaxSize} configured size.
+     *
+     * @param callback {@code AdobeCallback<PropositionsCacheStats>} which will be invoked with the
+     *     propositions cache statistics.
+     */
+    public static void getPropositionsCacheStats(
+            @NonNull final AdobeCallback<PropositionsCacheStats> callback) {
+        final Map<String, Object> eventData = new HashMap<>();
+        eventData.put(
+                OptimizeConstants.EventDataKeys.REQUEST_TYPE,
+                OptimizeConstants.EventDataValues.REQUEST_TYPE_GET_CACHE_STATS);
+
+        final Event event =
+                new Event.Builder(
+                                OptimizeConstants.EventNames.GET_CACHE_STATS_REQUEST,
+                                OptimizeConstants.EventType.OPTIMIZE,
+                                OptimizeConstants.EventSource.REQUEST_CONTENT)
+                        .setEventData(eventData)
+                        .build();
+
+        final long timeoutMillis =
+                (long)
+                        (OptimizeConstants.GET_RESPONSE_CALLBACK_TIMEOUT
+                                * OptimizeConstants.TIMEOUT_CONVERSION_FACTOR);
+
+        MobileCore.dispatchEventWithResponseCallback(
+                event,
+                timeoutMillis,
+                new AdobeCallbackWithError<Event>() {
+                    @Override
+                    public void fail(final AdobeError adobeError) {
+                        failWithError(callback, adobeError);
+                    }
+
+                    @Override
+                    public void call(final Event event) {
+                        try {
+                            final Map<String, Object> cacheStatsData =
+                                    DataReader.getTypedMap(
+                                            Object.class,
+                                            event.getEventData(),
+                                            OptimizeConstants.EventDataKeys.CACHE_STATS);
+                            if (cacheStatsData == null) {
+                                failWithError(callback, AdobeError.UNEXPECTED_ERROR);
+                                return;
+                            }
+                            callback.call(PropositionsCacheStats.fromEventData(cacheStatsData));
+                        } catch (DataReaderException e) {
+                            failWithError(callback, AdobeError.UNEXPECTED_ERROR);
+                        }
+                    }
+                });
+    }
+
     /**
      * Invokes fail method with the provided {@code error}, if the callback is an instance of {@code
      * AdobeCallbackWithError}.
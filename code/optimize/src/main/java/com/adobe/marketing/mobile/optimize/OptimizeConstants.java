@@ -20,6 +20,15 @@ class OptimizeConstants {
     static final double EDGE_CONTENT_COMPLETE_RESPONSE_TIMEOUT = 10;
     static final double UPDATE_RESPONSE_DEFAULT_TIMEOUT = 10;
     static final long TIMEOUT_CONVERSION_FACTOR = 1000;
+    static final double UNSET_PROPOSITIONS_TTL = -1;
+    static final long MAX_UPDATE_PROPOSITIONS_BATCH_WINDOW = 1000;
+    static final long INTERACTIONS_FLUSH_INTERVAL = 500;
+    static final int INTERACTIONS_FLUSH_SIZE = 50;
+    static final int MAX_PENDING_INTERACTIONS = 500;
+    static final int MAX_PENDING_TRACK_REQUESTS = 100;
+    static final int INFLATED_OFFER_CONTENT_CACHE_SIZE = 8;
+    static final long DEFAULT_LIFECYCLE_SESSION_TIMEOUT = 300;
+    static final long FETCH_MISSING_DEADLINE_MARGIN = 500;
 
     static final String ACTIVITY_ID = "activityId";
     static final String XDM_ACTIVITY_ID = "xdm:activityId";
@@ -39,12 +48,15 @@ class OptimizeConstants {
         static final String GET_PROPOSITIONS_REQUEST = "Optimize Get Propositions Request";
         static final String TRACK_PROPOSITIONS_REQUEST = "Optimize Track Propositions Request";
         static final String CLEAR_PROPOSITIONS_REQUEST = "Optimize Clear Propositions Request";
+        static final String GET_CACHE_STATS_REQUEST =
+                "Optimize Get Propositions Cache Stats Request";
         static final String OPTIMIZE_NOTIFICATION = "Optimize Notification";
         static final String EDGE_PERSONALIZATION_REQUEST = "Edge Optimize Personalization Request";
         static final String EDGE_PROPOSITION_INTERACTION_REQUEST =
                 "Edge Optimize Proposition Interaction Request";
         static final String OPTIMIZE_RESPONSE = "Optimize Response";
         static final String OPTIMIZE_UPDATE_COMPLETE = "Optimize Update Propositions Complete";
+        static final String GET_PROPOSITIONS_READY = "Optimize Get Propositions Ready";
 
         private EventNames() {}
     }
@@ -53,6 +65,8 @@ class OptimizeConstants {
         static final String OPTIMIZE = "com.adobe.eventType.optimize";
         static final String EDGE = "com.adobe.eventType.edge";
         static final String GENERIC_IDENTITY = "com.adobe.eventType.generic.identity";
+        static final String GENERIC_LIFECYCLE = "com.adobe.eventType.generic.lifecycle";
+        static final String CONFIGURATION = "com.adobe.eventType.configuration";
 
         private EventType() {}
     }
@@ -65,6 +79,7 @@ class OptimizeConstants {
         static final String NOTIFICATION = "com.adobe.eventSource.notification";
         static final String EDGE_PERSONALIZATION_DECISIONS = "personalization:decisions";
         static final String CONTENT_COMPLETE = "com.adobe.eventSource.contentComplete";
+        static final String GET_PROPOSITIONS_READY = "com.adobe.eventSource.getPropositionsReady";
         static final String DEBUG = "com.adobe.eventSource.debug";
 
         private EventSource() {}
@@ -73,16 +88,23 @@ class OptimizeConstants {
     static final class EventDataKeys {
         static final String REQUEST_TYPE = "requesttype";
         static final String DECISION_SCOPES = "decisionscopes";
+        static final String REMOVED_DECISION_SCOPES = "removeddecisionscopes";
         static final String DECISION_SCOPE_NAME = "name";
         static final String XDM = "xdm";
         static final String DATA = "data";
         static final String TIMEOUT = "timeout";
         static final String CONFIGS_TIMEOUT = "optimize.timeout";
+        static final String PROPOSITIONS_TTL = "ttl";
+        static final String CONFIGS_PROPOSITIONS_TTL = "optimize.propositionsTtl";
         static final String PROPOSITIONS = "propositions";
+        static final String CACHE_STATS = "cachestats";
+        static final String ALLOW_STALE = "allowstale";
+        static final String FETCH_MISSING = "fetchmissing";
         static final String RESPONSE_ERROR = "responseerror";
         static final String PROPOSITION_INTERACTIONS = "propositioninteractions";
         static final String REQUEST_EVENT_ID = "requestEventId";
         static final String COMPLETED_UPDATE_EVENT_ID = "completedUpdateRequestForEventId";
+        static final String LIFECYCLE_ACTION = "action";
 
         private EventDataKeys() {}
     }
@@ -91,6 +113,9 @@ class OptimizeConstants {
         static final String REQUEST_TYPE_UPDATE = "updatepropositions";
         static final String REQUEST_TYPE_GET = "getpropositions";
         static final String REQUEST_TYPE_TRACK = "trackpropositions";
+        static final String REQUEST_TYPE_GET_CACHE_STATS = "getcachestats";
+        static final String LIFECYCLE_START = "start";
+        static final String LIFECYCLE_PAUSE = "pause";
 
         private EventDataValues() {}
     }
@@ -120,10 +145,35 @@ class OptimizeConstants {
     static final class Configuration {
         static final String EXTENSION_NAME = "com.adobe.module.configuration";
         static final String OPTIMIZE_OVERRIDE_DATASET_ID = "optimize.datasetId";
+        static final String OPTIMIZE_PERSISTENT_CACHE_ENABLED = "optimize.persistentCacheEnabled";
+        static final String OPTIMIZE_PROPOSITIONS_CACHE_MAX_SIZE =
+                "optimize.propositionsCacheMaxSize";
+        static final String OPTIMIZE_UPDATE_PROPOSITIONS_BATCH_WINDOW =
+                "optimize.updatePropositionsBatchWindow";
+        static final String OPTIMIZE_DEDUPLICATE_DISPLAYS = "optimize.deduplicateDisplays";
+        static final String OPTIMIZE_OFFER_CONTENT_COMPRESSION_THRESHOLD =
+                "optimize.offerContentCompressionThreshold";
+        static final String LIFECYCLE_SESSION_TIMEOUT = "lifecycle.sessionTimeout";
 
         private Configuration() {}
     }
 
+    static final class PersistentCache {
+        static final String FILE_NAME = "com.adobe.optimize.propositions";
+
+        private PersistentCache() {}
+    }
+
+    static final class CacheStatsKeys {
+        static final String PROPOSITION_COUNT = "propositionCount";
+        static final String SIZE = "size";
+        static final String MAX_SIZE = "maxSize";
+        static final String EVICTION_COUNT = "evictionCount";
+        static final String GENERATION = "generation";
+
+        private CacheStatsKeys() {}
+    }
+
     static final class JsonKeys {
         static final String PAYLOAD_ID = "id";
         static final String PAYLOAD_ACTIVITY = "activity";
@@ -131,6 +181,8 @@ class OptimizeConstants {
         static final String PAYLOAD_SCOPE = "scope";
         static final String PAYLOAD_SCOPEDETAILS = "scopeDetails";
         static final String PAYLOAD_ITEMS = "items";
+        static final String PROPOSITION_EXPIRY_TIME = "expiryTime";
+        static final String PROPOSITION_STALE = "stale";
 
         static final String PAYLOAD_ITEM_ID = "id";
         static final String PAYLOAD_ITEM_ETAG = "etag";
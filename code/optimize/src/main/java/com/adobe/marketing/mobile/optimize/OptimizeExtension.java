@@ -12,6 +12,7 @@
 package com.adobe.marketing.mobile.optimize;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 import androidx.annotation.VisibleForTesting;
 import com.adobe.marketing.mobile.AdobeCallbackWithError;
 import com.adobe.marketing.mobile.AdobeError;
@@ -23,53 +24,60 @@ import com.adobe.marketing.mobile.MobileCore;
 import com.adobe.marketing.mobile.SharedStateResolution;
 import com.adobe.marketing.mobile.SharedStateResult;
 import com.adobe.marketing.mobile.SharedStateStatus;
+import com.adobe.marketing.mobile.services.DeviceInforming;
 import com.adobe.marketing.mobile.services.Log;
+import com.adobe.marketing.mobile.services.ServiceProvider;
 import com.adobe.marketing.mobile.util.DataReader;
 import com.adobe.marketing.mobile.util.DataReaderException;
-import com.adobe.marketing.mobile.util.SerialWorkDispatcher;
+import java.io.File;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 
 class OptimizeExtension extends Extension {
 
     private static final String SELF_TAG = "OptimizeExtension";
 
-    // Concurrent Map containing the cached propositions returned in various
-    // personalization:decisions events
-    // for the same Edge personalization request.
-    // This is accessed from multiple threads.
-    private Map<DecisionScope, OptimizeProposition> cachedPropositions = new ConcurrentHashMap<>();
+    // Extension instance registered with the event hub, read by the synchronous Optimize APIs.
+    private static volatile OptimizeExtension registeredExtension;
+
+    // Map containing the cached propositions returned in various personalization:decisions events
+    // for the same Edge personalization request, bounded by the configured maximum size.
+    // This is accessed from multiple threads, readers use its latest published snapshot.
+    private PropositionsCache cachedPropositions = new PropositionsCache();
 
     // Concurrent Map containing propositions simulated for preview and cached in-memory in the SDK
     private Map<DecisionScope, OptimizeProposition> previewCachedPropositions =
             new ConcurrentHashMap<>();
 
-    // Events dispatcher used to maintain the processing order of update and get propositions
-    // events.
-    // It ensures any update propositions requests issued before a get propositions call are
-    // completed
-    // and the get propositions request is fulfilled from the latest cached content.
-    private SerialWorkDispatcher eventsDispatcher =
-            new SerialWorkDispatcher(
-                    "OptimizeEventsDispatcher",
-                    new SerialWorkDispatcher.WorkHandler<Event>() {
-                        @Override
-                        public boolean doWork(final Event event) {
-                            if (OptimizeUtils.isGetEvent(event)) {
-                                handleGetPropositions(event);
-                            } else if (event.getType()
-                                    .equalsIgnoreCase(OptimizeConstants.EventType.EDGE)) {
-                                return !updateRequestEventIdsInProgress.containsKey(
-                                        event.getUniqueIdentifier());
-                            }
-                            return true;
-                        }
-                    });
+    // Scheduler used to maintain the processing order of update and get propositions events per
+    // decision scope.
+    // It ensures any update propositions requests for the requested scopes issued before a get
+    // propositions call are completed and the get propositions request is fulfilled from the latest
+    // cached content, while get requests for other scopes are not held. The ready get requests
+    // are handled on the event hub thread.
+    private GetPropositionsScheduler getPropositionsScheduler =
+            new GetPropositionsScheduler(this::handleGetPropositions, this::executeOnEventHub);
+
+    // Tasks handed back to the event hub thread by other threads, run when the internal get
+    // propositions ready event is handled.
+    private final Queue<Runnable> eventHubTasks = new ConcurrentLinkedQueue<>();
 
     // Concurrent Map containing the update event IDs (and corresponding requested scopes) for Edge
     // events that haven't yet received an Edge completion response.
@@ -77,11 +85,43 @@ class OptimizeExtension extends Extension {
     private final Map<String, List<DecisionScope>> updateRequestEventIdsInProgress =
             new ConcurrentHashMap<>();
 
-    // Concurrent Map to accumulate propositions returned in various personalization:decisions
-    // events
-    // for the same Edge personalization request.
+    // Reference counted index of the scopes requested by the update events in progress, kept in
+    // sync with updateRequestEventIdsInProgress.
+    private final ScopesInProgress scopesInProgress = new ScopesInProgress();
+
+    // Concurrent Map containing the update event IDs and corresponding in-flight requests, into
+    // which later identical update requests for the same scopes are coalesced.
+    private final Map<String, InFlightUpdateRequest> inFlightUpdateRequests =
+            new ConcurrentHashMap<>();
+
+    // Update propositions requests waiting for the batching window to elapse before being sent
+    // in a single Edge request, guarded by updateBatchLock.
+    private final List<PendingUpdateBatch> pendingUpdateBatches = new ArrayList<>();
+
+    // Lock guarding the pending update propositions batches.
+    private final Object updateBatchLock = new Object();
+
+    // Executor used to send the pending update propositions batches once the batching window
+    // elapses.
+    private ScheduledExecutorService updateBatchScheduler;
+
+    // Executor used to answer the get propositions requests fetching their missing propositions
+    // once their deadline passes.
+    private ScheduledExecutorService getPropositionsDeadlineScheduler;
+
+    // Track propositions requests received before the Configuration shared state is available,
+    // sent once the configuration is received. Only accessed from the extension thread.
+    private final Deque<Event> pendingTrackRequests = new ArrayDeque<>();
+
+    // Concurrent Map containing the update event IDs and corresponding time-to-live, in
+    // milliseconds, for the propositions returned for the Edge events.
+    private final Map<String, Long> updateRequestEventIdsTtl = new ConcurrentHashMap<>();
+
+    // Concurrent Map containing the update event IDs and corresponding propositions accumulated
+    // from the various personalization:decisions events returned for the Edge request, so several
+    // update requests can be in progress without clobbering each other's propositions.
     // This is accessed from multiple threads.
-    private final Map<DecisionScope, OptimizeProposition> propositionsInProgress =
+    private final Map<String, Map<DecisionScope, OptimizeProposition>> propositionsInProgress =
             new ConcurrentHashMap<>();
 
     // List containing the schema strings for the proposition items supported by the SDK, sent in
@@ -112,6 +152,55 @@ class OptimizeExtension extends Extension {
     private static final Map<String, AEPOptimizeError> updateRequestEventIdsErrors =
             new ConcurrentHashMap<>();
 
+    // On-disk store for the cached propositions, null if the application cache directory is not
+    // available.
+    private PersistentPropositionsCache persistentCache;
+
+    // Propositions loaded from disk, decoded lazily when they are first requested. Scopes updated
+    // from the Edge network are removed from the snapshot as the in-memory cache supersedes them.
+    private volatile PropositionsSnapshot persistedPropositions;
+
+    // Executor used to load and persist the cached propositions off the event hub thread.
+    private Executor persistenceExecutor;
+
+    // Latest cached propositions snapshot waiting to be persisted, writes queued while a previous
+    // write is in progress are coalesced into the latest snapshot.
+    private final AtomicReference<Map<DecisionScope, OptimizeProposition>>
+            pendingPersistedPropositions = new AtomicReference<>();
+
+    // Lock guarding the merge of persisted propositions into the in-memory cache against a
+    // concurrent clear propositions request.
+    private final Object persistenceLock = new Object();
+
+    // Executor used to drop expired propositions from the in-memory cache.
+    private ScheduledExecutorService expirySweeper;
+
+    // Lock guarding the scheduling of the expired propositions sweep.
+    private final Object expirySweepLock = new Object();
+
+    // Time, in milliseconds since epoch, at which the next expired propositions sweep is scheduled.
+    private long scheduledSweepTime = Long.MAX_VALUE;
+
+    // Flag indicating the cached propositions have been cleared, so any propositions loaded from
+    // disk afterwards must be discarded.
+    private boolean persistedPropositionsCleared = false;
+
+    // Flag indicating the persistent propositions cache is enabled. Until the configuration is
+    // available, it is enabled if propositions were persisted, as they are only persisted while the
+    // persistent cache is enabled and deleted once it is disabled.
+    private volatile boolean persistentCacheEnabled = false;
+
+    // Session timeout in milliseconds, and the timestamp the app last went to the background at,
+    // used to start a new display deduplication session.
+    private long sessionTimeout =
+            OptimizeConstants.DEFAULT_LIFECYCLE_SESSION_TIMEOUT
+                    * OptimizeConstants.TIMEOUT_CONVERSION_FACTOR;
+    private long lastPauseTimestamp = 0;
+
+    // Length, in characters, above which the cached offers content is stored compressed, 0 if the
+    // offers content is not compressed.
+    private volatile long offerContentCompressionThreshold = 0;
+
     /**
      * Constructor for {@code OptimizeExtension}.
      *
@@ -131,7 +220,13 @@ class OptimizeExtension extends Extension {
      *       OptimizeConstants.EventSource#REQUEST_RESET} Listener for {@code Event} type {@value
      *       OptimizeConstants.EventType#OPTIMIZE} and source {@value
      *       OptimizeConstants.EventSource#CONTENT_COMPLETE} Listener for {@code Event} type {@value
-     *       EventType#SYSTEM} and source {@value OptimizeConstants.EventSource#DEBUG}
+     *       OptimizeConstants.EventType#OPTIMIZE} and source {@value
+     *       OptimizeConstants.EventSource#GET_PROPOSITIONS_READY} Listener for {@code Event} type
+     *       {@value EventType#SYSTEM} and source {@value OptimizeConstants.EventSource#DEBUG}
+     *       Listener for {@code Event} type {@value OptimizeConstants.EventType#GENERIC_LIFECYCLE}
+     *       and source {@value OptimizeConstants.EventSource#REQUEST_CONTENT} Listener for {@code
+     *       Event} type {@value OptimizeConstants.EventType#CONFIGURATION} and source {@value
+     *       OptimizeConstants.EventSource#RESPONSE_CONTENT}
      * </ul>
      *
      * @param extensionApi {@link ExtensionApi} instance.
@@ -142,6 +237,8 @@ class OptimizeExtension extends Extension {
 
     @Override
     protected void onRegistered() {
+        registeredExtension = this;
+
         getApi().registerEventListener(
                         OptimizeConstants.EventType.OPTIMIZE,
                         OptimizeConstants.EventSource.REQUEST_CONTENT,
@@ -174,19 +271,97 @@ class OptimizeExtension extends Extension {
                         OptimizeConstants.EventSource.CONTENT_COMPLETE,
                         this::handleUpdatePropositionsCompleted);
 
+        getApi().registerEventListener(
+                        OptimizeConstants.EventType.OPTIMIZE,
+                        OptimizeConstants.EventSource.GET_PROPOSITIONS_READY,
+                        this::handleGetPropositionsReady);
+
         getApi().registerEventListener(
                         EventType.SYSTEM,
                         OptimizeConstants.EventSource.DEBUG,
                         this::handleDebugEvent);
 
-        eventsDispatcher.start();
+        // Register listener - Mobile Core `lifecyclePause()` API dispatches generic lifecycle
+        // request content event when the app goes to the background.
+        getApi().registerEventListener(
+                        OptimizeConstants.EventType.GENERIC_LIFECYCLE,
+                        OptimizeConstants.EventSource.REQUEST_CONTENT,
+                        this::handleLifecycleRequestContent);
+
+        getApi().registerEventListener(
+                        OptimizeConstants.EventType.CONFIGURATION,
+                        OptimizeConstants.EventSource.RESPONSE_CONTENT,
+                        this::handleConfigurationResponseContent);
+
+        if (persistentCache == null) {
+            persistentCache = createPersistentCache();
+        }
+        persistentCacheEnabled = persistentCache != null && persistentCache.exists();
+
+        if (persistentCache != null && persistentCache.exists()) {
+            // Start processing queued get propositions requests once the persisted propositions
+            // are loaded, so they can be answered from the disk-warm cache.
+            loadPersistedPropositions();
+        } else {
+            getPropositionsScheduler.start();
+        }
     }
 
+    @Override
+    protected void onUnregistered() {
+        if (registeredExtension == this) {
+            registeredExtension = null;
+        }
+        shutdownExecutors();
+    }
+
+    /**
+     * Shuts down the executors created by this extension once it is unregistered.
+     *
+     * <p>The propositions writes already queued on the persistence executor are completed, while
+     * the pending update batches, get propositions deadlines and expired propositions sweeps are
+     * cancelled. The executors are kept, so they are not created again by a late task.
+     */
+    private synchronized void shutdownExecutors() {
+        for (final ScheduledExecutorService scheduler :
+                Arrays.asList(
+                        updateBatchScheduler, getPropositionsDeadlineScheduler, expirySweeper)) {
+            if (scheduler != null) {
+                scheduler.shutdownNow();
+            }
+        }
+        if (persistenceExecutor instanceof ExecutorService) {
+            ((ExecutorService) persistenceExecutor).shutdown();
+        }
+    }
+
+    /**
+     * Gets the extension instance currently registered with the event hub.
+     *
+     * @return {@link OptimizeExtension} instance or null if the extension is not registered.
+     */
+    @Nullable static OptimizeExtension getRegisteredExtension() {
+        return registeredExtension;
+    }
+
+    /**
+     * Checks whether the extension is ready to handle the given {@code event}.
+     *
+     * <p>Optimize request content events wait for the Configuration shared state to be set, except
+     * the requests which can be answered from the propositions cache and the track propositions
+     * requests, which are queued until the configuration is received.
+     *
+     * @param event incoming {@link Event} object to be processed.
+     * @return {@code boolean} indicating whether the event can be handled.
+     */
     @Override
     public boolean readyForEvent(@NonNull final Event event) {
         if (OptimizeConstants.EventType.OPTIMIZE.equalsIgnoreCase(event.getType())
                 && OptimizeConstants.EventSource.REQUEST_CONTENT.equalsIgnoreCase(
                         event.getSource())) {
+            if (!requiresConfiguration(event)) {
+                return true;
+            }
             SharedStateResult configurationSharedState =
                     getApi().getSharedState(
                                     OptimizeConstants.Configuration.EXTENSION_NAME,
@@ -199,6 +374,33 @@ class OptimizeExtension extends Extension {
         return true;
     }
 
+    /**
+     * Checks whether the given Optimize request content {@code event} requires the Configuration
+     * shared state to be handled.
+     *
+     * <p>Get propositions requests are answered from the propositions cache, unless they fetch the
+     * missing propositions from the Edge network. Track propositions requests are queued until the
+     * configuration is received, so the override dataset is applied when they are sent.
+     *
+     * @param event Optimize request content {@link Event}.
+     * @return {@code boolean} indicating whether the event requires the configuration.
+     */
+    private static boolean requiresConfiguration(@NonNull final Event event) {
+        final Map<String, Object> eventData = event.getEventData();
+        final String requestType =
+                DataReader.optString(eventData, OptimizeConstants.EventDataKeys.REQUEST_TYPE, "");
+        switch (requestType) {
+            case OptimizeConstants.EventDataValues.REQUEST_TYPE_GET:
+                return DataReader.optBoolean(
+                        eventData, OptimizeConstants.EventDataKeys.FETCH_MISSING, false);
+            case OptimizeConstants.EventDataValues.REQUEST_TYPE_TRACK:
+            case OptimizeConstants.EventDataValues.REQUEST_TYPE_GET_CACHE_STATS:
+                return false;
+            default:
+                return true;
+        }
+    }
+
     /**
      * Retrieve the extension name.
      *
@@ -258,6 +460,8 @@ class OptimizeExtension extends Extension {
                 break;
             case OptimizeConstants.EventDataValues.REQUEST_TYPE_GET:
                 try {
+                    applyCacheConfiguration(retrieveConfigurationSharedState(event));
+
                     // Fetch decision scopes from the event
                     List<Map<String, Object>> decisionScopesData =
                             DataReader.getTypedListOfMap(
@@ -281,26 +485,22 @@ class OptimizeExtension extends Extension {
                     }
 
                     // Fetch propositions for the decision scopes from the cache
-                    Map<DecisionScope, OptimizeProposition> fetchedPropositions = new HashMap<>();
-                    for (DecisionScope scope : eventDecisionScopes) {
-                        if (cachedPropositions.containsKey(scope)) {
-                            fetchedPropositions.put(scope, cachedPropositions.get(scope));
-                        }
+                    final Map<DecisionScope, OptimizeProposition> fetchedPropositions =
+                            retrieveCachedPropositions(eventDecisionScopes);
+
+                    // Request the propositions for the scopes neither cached nor in progress
+                    final boolean fetchMissing =
+                            DataReader.optBoolean(
+                                    eventData,
+                                    OptimizeConstants.EventDataKeys.FETCH_MISSING,
+                                    false);
+                    if (fetchMissing) {
+                        fetchMissingPropositions(eventDecisionScopes, fetchedPropositions.keySet());
                     }
 
                     // Check if all scopes are cached and none are in progress
-                    boolean anyScopeInProgress = false;
-                    HashSet<DecisionScope> scopesInProgress = new HashSet<>();
-                    for (List<DecisionScope> updatingScope :
-                            updateRequestEventIdsInProgress.values()) {
-                        scopesInProgress.addAll(updatingScope);
-                    }
-                    for (DecisionScope scope : eventDecisionScopes) {
-                        if (scopesInProgress.contains(scope)) {
-                            anyScopeInProgress = true;
-                            break;
-                        }
-                    }
+                    final boolean anyScopeInProgress =
+                            scopesInProgress.containsAny(eventDecisionScopes);
 
                     if ((fetchedPropositions.size() == eventDecisionScopes.size())
                             && !anyScopeInProgress) {
@@ -312,13 +512,30 @@ class OptimizeExtension extends Extension {
 
                         // Dispatch the event directly
                         handleGetPropositions(event);
+                    } else if (DataReader.optBoolean(
+                            eventData, OptimizeConstants.EventDataKeys.ALLOW_STALE, false)) {
+                        Log.trace(
+                                OptimizeConstants.LOG_TAG,
+                                SELF_TAG,
+                                "handleOptimizeRequestContent - Stale propositions are allowed,"
+                                        + " dispatching the cached propositions directly.");
+
+                        // Dispatch the cached propositions, flagging the in progress scopes
+                        handleGetPropositions(
+                                event, scopesInProgress.retainInProgress(eventDecisionScopes));
                     } else {
                         Log.trace(
                                 OptimizeConstants.LOG_TAG,
                                 SELF_TAG,
                                 "handleOptimizeRequestContent - Scopes are not fully cached or are"
-                                        + " in progress, adding event to dispatcher.");
-                        eventsDispatcher.offer(event);
+                                        + " in progress, scheduling event after the updates for its"
+                                        + " scopes.");
+                        if (!deferUntilUpdateBatchSent(event, eventDecisionScopes)) {
+                            getPropositionsScheduler.schedule(event, eventDecisionScopes);
+                        }
+                        if (fetchMissing) {
+                            scheduleGetPropositionsDeadline(event);
+                        }
                     }
                     break;
                 } catch (final Exception e) {
@@ -333,6 +550,9 @@ class OptimizeExtension extends Extension {
             case OptimizeConstants.EventDataValues.REQUEST_TYPE_TRACK:
                 handleTrackPropositions(event);
                 break;
+            case OptimizeConstants.EventDataValues.REQUEST_TYPE_GET_CACHE_STATS:
+                handleGetPropositionsCacheStats(event);
+                break;
             default:
                 Log.debug(
                         OptimizeConstants.LOG_TAG,
@@ -367,6 +587,9 @@ class OptimizeExtension extends Extension {
             return;
         }
 
+        cachedPropositions.setMaxSizeInBytes(
+                ConfigUtils.retrievePropositionsCacheMaxSize(configData));
+
         try {
             final List<Map<String, Object>> decisionScopesData =
                     DataReader.getTypedListOfMap(
@@ -383,178 +606,533 @@ class OptimizeExtension extends Extension {
                 return;
             }
 
-            final Map<String, Object> edgeEventData = new HashMap<>();
-
-            // Add query
-            final Map<String, Object> queryPersonalization = new HashMap<>();
-            queryPersonalization.put(OptimizeConstants.JsonKeys.SCHEMAS, supportedSchemas);
+            final long ttl = ConfigUtils.retrievePropositionsTtl(event, configData);
+            final InFlightUpdateRequest updateRequest =
+                    new InFlightUpdateRequest(
+                            validScopes,
+                            DataReader.optTypedMap(
+                                    Object.class,
+                                    eventData,
+                                    OptimizeConstants.EventDataKeys.XDM,
+                                    null),
+                            DataReader.optTypedMap(
+                                    Object.class,
+                                    eventData,
+                                    OptimizeConstants.EventDataKeys.DATA,
+                                    null),
+                            DataReader.optString(
+                                    configData,
+                                    OptimizeConstants.Configuration.OPTIMIZE_OVERRIDE_DATASET_ID,
+                                    null),
+                            ttl);
+            if (coalesceUpdateRequest(event, validScopes, updateRequest)) {
+                return;
+            }
 
-            final List<String> validScopeNames = new ArrayList<>();
-            for (final DecisionScope scope : validScopes) {
-                validScopeNames.add(scope.getName());
+            final long batchWindow = ConfigUtils.retrieveUpdatePropositionsBatchWindow(configData);
+            if (batchWindow > 0) {
+                batchUpdateRequest(event, validScopes, updateRequest, configData, batchWindow);
+                return;
             }
-            queryPersonalization.put(OptimizeConstants.JsonKeys.DECISION_SCOPES, validScopeNames);
-
-            final Map<String, Object> query = new HashMap<>();
-            query.put(OptimizeConstants.JsonKeys.QUERY_PERSONALIZATION, queryPersonalization);
-            edgeEventData.put(OptimizeConstants.JsonKeys.QUERY, query);
-
-            // Add xdm
-            final Map<String, Object> xdm = new HashMap<>();
-            if (eventData.containsKey(OptimizeConstants.EventDataKeys.XDM)) {
-                final Map<String, Object> inputXdm =
-                        DataReader.getTypedMap(
-                                Object.class, eventData, OptimizeConstants.EventDataKeys.XDM);
-                if (!OptimizeUtils.isNullOrEmpty(inputXdm)) {
-                    xdm.putAll(inputXdm);
-                }
+
+            sendUpdateRequest(
+                    event,
+                    validScopes,
+                    updateRequest,
+                    configData,
+                    Collections.<Event, List<DecisionScope>>emptyMap());
+        } catch (final Exception e) {
+            Log.warning(
+                    OptimizeConstants.LOG_TAG,
+                    SELF_TAG,
+                    "handleUpdatePropositions - Failed to process update propositions request event"
+                            + " due to an exception (%s)!",
+                    e.getLocalizedMessage());
+        }
+    }
+
+    /**
+     * Dispatches an event to the Edge network extension to send a personalization query request for
+     * the given {@code scopes}, and dispatches the update propositions responses once the Edge
+     * request completes.
+     *
+     * <p>When the request is sent for a batch of update propositions requests, each batched request
+     * is coalesced into the in-flight request and receives the propositions for its own scopes.
+     *
+     * @param event {@link Event} containing the (first) update propositions request.
+     * @param scopes {@code List<DecisionScope>} containing the scopes to be requested.
+     * @param updateRequest {@link InFlightUpdateRequest} describing the Edge request.
+     * @param configData {@code Map<String, Object>} containing the Configuration shared state.
+     * @param batchedRequests {@code Map<Event, List<DecisionScope>>} containing the batched request
+     *     events, including {@code event}, and their requested scopes, or an empty map if the
+     *     request is not batched.
+     */
+    private void sendUpdateRequest(
+            @NonNull final Event event,
+            @NonNull final List<DecisionScope> scopes,
+            @NonNull final InFlightUpdateRequest updateRequest,
+            @NonNull final Map<String, Object> configData,
+            @NonNull final Map<Event, List<DecisionScope>> batchedRequests) {
+        final Map<String, Object> eventData = event.getEventData();
+        final Map<String, Object> edgeEventData = new HashMap<>();
+
+        // Add query
+        final Map<String, Object> queryPersonalization = new HashMap<>();
+        queryPersonalization.put(OptimizeConstants.JsonKeys.SCHEMAS, supportedSchemas);
+
+        final List<String> scopeNames = new ArrayList<>();
+        for (final DecisionScope scope : scopes) {
+            scopeNames.add(scope.getName());
+        }
+        queryPersonalization.put(OptimizeConstants.JsonKeys.DECISION_SCOPES, scopeNames);
+
+        final Map<String, Object> query = new HashMap<>();
+        query.put(OptimizeConstants.JsonKeys.QUERY_PERSONALIZATION, queryPersonalization);
+        edgeEventData.put(OptimizeConstants.JsonKeys.QUERY, query);
+
+        // Add xdm
+        final Map<String, Object> xdm = new HashMap<>();
+        if (eventData.containsKey(OptimizeConstants.EventDataKeys.XDM)) {
+            final Map<String, Object> inputXdm =
+                    DataReader.optTypedMap(
+                            Object.class, eventData, OptimizeConstants.EventDataKeys.XDM, null);
+            if (!OptimizeUtils.isNullOrEmpty(inputXdm)) {
+                xdm.putAll(inputXdm);
             }
-            xdm.put(
-                    OptimizeConstants.JsonKeys.EXPERIENCE_EVENT_TYPE,
-                    OptimizeConstants.JsonValues.EE_EVENT_TYPE_PERSONALIZATION);
-            edgeEventData.put(OptimizeConstants.JsonKeys.XDM, xdm);
-
-            // Add data
-            final Map<String, Object> data = new HashMap<>();
-            if (eventData.containsKey(OptimizeConstants.EventDataKeys.DATA)) {
-                final Map<String, Object> inputData =
-                        DataReader.getTypedMap(
-                                Object.class, eventData, OptimizeConstants.EventDataKeys.DATA);
-                if (!OptimizeUtils.isNullOrEmpty(inputData)) {
-                    data.putAll(inputData);
-                    edgeEventData.put(OptimizeConstants.JsonKeys.DATA, data);
-                }
+        }
+        xdm.put(
+                OptimizeConstants.JsonKeys.EXPERIENCE_EVENT_TYPE,
+                OptimizeConstants.JsonValues.EE_EVENT_TYPE_PERSONALIZATION);
+        edgeEventData.put(OptimizeConstants.JsonKeys.XDM, xdm);
+
+        // Add data
+        final Map<String, Object> data = new HashMap<>();
+        if (eventData.containsKey(OptimizeConstants.EventDataKeys.DATA)) {
+            final Map<String, Object> inputData =
+                    DataReader.optTypedMap(
+                            Object.class, eventData, OptimizeConstants.EventDataKeys.DATA, null);
+            if (!OptimizeUtils.isNullOrEmpty(inputData)) {
+                data.putAll(inputData);
+                edgeEventData.put(OptimizeConstants.JsonKeys.DATA, data);
             }
+        }
 
-            // Add the flag to request sendCompletion
-            final Map<String, Object> request = new HashMap<>();
-            request.put(OptimizeConstants.JsonKeys.REQUEST_SEND_COMPLETION, true);
-            edgeEventData.put(OptimizeConstants.JsonKeys.REQUEST, request);
+        // Add the flag to request sendCompletion
+        final Map<String, Object> request = new HashMap<>();
+        request.put(OptimizeConstants.JsonKeys.REQUEST_SEND_COMPLETION, true);
+        edgeEventData.put(OptimizeConstants.JsonKeys.REQUEST, request);
 
-            // Add override datasetId
-            if (configData.containsKey(
-                    OptimizeConstants.Configuration.OPTIMIZE_OVERRIDE_DATASET_ID)) {
-                final String overrideDatasetId =
-                        DataReader.getString(
-                                configData,
-                                OptimizeConstants.Configuration.OPTIMIZE_OVERRIDE_DATASET_ID);
-                if (!OptimizeUtils.isNullOrEmpty(overrideDatasetId)) {
-                    edgeEventData.put(OptimizeConstants.JsonKeys.DATASET_ID, overrideDatasetId);
-                }
+        // Add override datasetId
+        if (configData.containsKey(OptimizeConstants.Configuration.OPTIMIZE_OVERRIDE_DATASET_ID)) {
+            final String overrideDatasetId =
+                    DataReader.optString(
+                            configData,
+                            OptimizeConstants.Configuration.OPTIMIZE_OVERRIDE_DATASET_ID,
+                            null);
+            if (!OptimizeUtils.isNullOrEmpty(overrideDatasetId)) {
+                edgeEventData.put(OptimizeConstants.JsonKeys.DATASET_ID, overrideDatasetId);
             }
+        }
 
-            final Event edgeEvent =
-                    new Event.Builder(
-                                    OptimizeConstants.EventNames.EDGE_PERSONALIZATION_REQUEST,
-                                    OptimizeConstants.EventType.EDGE,
-                                    OptimizeConstants.EventSource.REQUEST_CONTENT)
-                            .setEventData(edgeEventData)
-                            .chainToParentEvent(event)
-                            .build();
-
-            // In AEP Response Event handle, `requestEventId` corresponds to the unique identifier
-            // for the Edge request.
-            // Storing the request event unique identifier to compare and process only the
-            // anticipated response in the extension.
-            updateRequestEventIdsInProgress.put(edgeEvent.getUniqueIdentifier(), validScopes);
-
-            // add the Edge event to update propositions in the events queue.
-            eventsDispatcher.offer(edgeEvent);
-            long timeoutMillis = ConfigUtils.retrieveOptimizeRequestTimeout(event, configData);
-            MobileCore.dispatchEventWithResponseCallback(
-                    edgeEvent,
-                    timeoutMillis,
-                    new AdobeCallbackWithError<Event>() {
-                        @Override
-                        public void fail(final AdobeError error) {
-                            // response event failed or timed out, remove this event's unique
-                            // identifier from the requested event IDs dictionary and kick-off
-                            // queue.
-                            updateRequestEventIdsInProgress.remove(edgeEvent.getUniqueIdentifier());
-                            propositionsInProgress.clear();
-
-                            AEPOptimizeError aepOptimizeError;
-                            if (error == AdobeError.CALLBACK_TIMEOUT) {
-                                aepOptimizeError = AEPOptimizeError.Companion.getTimeoutError();
-                            } else {
-                                aepOptimizeError = AEPOptimizeError.Companion.getUnexpectedError();
-                            }
+        final Event edgeEvent =
+                new Event.Builder(
+                                OptimizeConstants.EventNames.EDGE_PERSONALIZATION_REQUEST,
+                                OptimizeConstants.EventType.EDGE,
+                                OptimizeConstants.EventSource.REQUEST_CONTENT)
+                        .setEventData(edgeEventData)
+                        .chainToParentEvent(event)
+                        .build();
+
+        // In AEP Response Event handle, `requestEventId` corresponds to the unique identifier
+        // for the Edge request.
+        // Storing the request event unique identifier to compare and process only the
+        // anticipated response in the extension.
+        addUpdateRequestInProgress(edgeEvent.getUniqueIdentifier(), scopes);
+        updateRequestEventIdsTtl.put(
+                edgeEvent.getUniqueIdentifier(),
+                ConfigUtils.retrievePropositionsTtl(event, configData));
+
+        // the batched requests are fulfilled from the Edge response as coalesced requests.
+        long timeoutMillis = ConfigUtils.retrieveOptimizeRequestTimeout(event, configData);
+        for (final Map.Entry<Event, List<DecisionScope>> batchedRequest :
+                batchedRequests.entrySet()) {
+            if (batchedRequest.getKey() == event) {
+                continue;
+            }
+            updateRequest.coalesce(batchedRequest.getKey(), batchedRequest.getValue());
+            timeoutMillis =
+                    Math.max(
+                            timeoutMillis,
+                            ConfigUtils.retrieveOptimizeRequestTimeout(
+                                    batchedRequest.getKey(), configData));
+        }
+        inFlightUpdateRequests.put(edgeEvent.getUniqueIdentifier(), updateRequest);
+        final List<DecisionScope> eventScopes = batchedRequests.get(event);
+
+        MobileCore.dispatchEventWithResponseCallback(
+                edgeEvent,
+                timeoutMillis,
+                new AdobeCallbackWithError<Event>() {
+                    @Override
+                    public void fail(final AdobeError error) {
+                        // response event failed or timed out, remove this event's unique
+                        // identifier from the requested event IDs dictionary, which releases the
+                        // get requests waiting for it.
+                        final Map<Event, List<DecisionScope>> coalescedRequests =
+                                completeInFlightUpdateRequest(edgeEvent.getUniqueIdentifier());
+                        removeUpdateRequestInProgress(edgeEvent.getUniqueIdentifier());
+                        propositionsInProgress.remove(edgeEvent.getUniqueIdentifier());
+
+                        AEPOptimizeError aepOptimizeError;
+                        if (error == AdobeError.CALLBACK_TIMEOUT) {
+                            aepOptimizeError = AEPOptimizeError.Companion.getTimeoutError();
+                        } else {
+                            aepOptimizeError = AEPOptimizeError.Companion.getUnexpectedError();
+                        }
 
+                        getApi().dispatch(createResponseEventWithError(event, aepOptimizeError));
+                        for (final Event coalescedEvent : coalescedRequests.keySet()) {
                             getApi().dispatch(
-                                            createResponseEventWithError(event, aepOptimizeError));
-
-                            eventsDispatcher.resume();
+                                            createResponseEventWithError(
+                                                    coalescedEvent, aepOptimizeError));
                         }
+                    }
 
-                        @Override
-                        public void call(final Event callbackEvent) {
-                            final String requestEventId =
-                                    OptimizeUtils.getRequestEventId(callbackEvent);
-                            if (OptimizeUtils.isNullOrEmpty(requestEventId)) {
-                                fail(AdobeError.UNEXPECTED_ERROR);
-                                return;
-                            }
-
-                            final Map<String, Object> responseEventData = new HashMap<>();
-                            AEPOptimizeError aepOptimizeError =
-                                    updateRequestEventIdsErrors.get(requestEventId);
-                            if (aepOptimizeError != null) {
-                                responseEventData.put(
-                                        OptimizeConstants.EventDataKeys.RESPONSE_ERROR,
-                                        aepOptimizeError.toEventData());
-                            }
-
-                            final List<Map<String, Object>> propositionsList = new ArrayList<>();
+                    @Override
+                    public void call(final Event callbackEvent) {
+                        final String requestEventId =
+                                OptimizeUtils.getRequestEventId(callbackEvent);
+                        if (OptimizeUtils.isNullOrEmpty(requestEventId)) {
+                            fail(AdobeError.UNEXPECTED_ERROR);
+                            return;
+                        }
 
+                        final Map<Event, List<DecisionScope>> coalescedRequests =
+                                completeInFlightUpdateRequest(edgeEvent.getUniqueIdentifier());
+                        final AEPOptimizeError aepOptimizeError =
+                                updateRequestEventIdsErrors.get(requestEventId);
+                        final Map<DecisionScope, OptimizeProposition> accumulatedPropositions =
+                                getPropositionsInProgress(edgeEvent.getUniqueIdentifier());
+
+                        final List<Map<String, Object>> propositionsList;
+                        if (eventScopes != null) {
+                            propositionsList =
+                                    createPropositionsList(accumulatedPropositions, eventScopes);
+                        } else {
+                            propositionsList = new ArrayList<>();
                             for (Map.Entry<DecisionScope, OptimizeProposition> entry :
-                                    propositionsInProgress.entrySet()) {
+                                    accumulatedPropositions.entrySet()) {
                                 OptimizeProposition optimizeProposition = entry.getValue();
                                 propositionsList.add(optimizeProposition.toEventData());
                             }
+                        }
+
+                        getApi().dispatch(
+                                        createUpdateResponseEvent(
+                                                event, aepOptimizeError, propositionsList));
 
-                            responseEventData.put(
-                                    OptimizeConstants.EventDataKeys.PROPOSITIONS, propositionsList);
-
-                            final Event responseEvent =
-                                    new Event.Builder(
-                                                    OptimizeConstants.EventNames.OPTIMIZE_RESPONSE,
-                                                    OptimizeConstants.EventType.OPTIMIZE,
-                                                    OptimizeConstants.EventSource.RESPONSE_CONTENT)
-                                            .setEventData(responseEventData)
-                                            .inResponseToEvent(event)
-                                            .build();
-
-                            getApi().dispatch(responseEvent);
-
-                            final Event updateCompleteEvent =
-                                    new Event.Builder(
-                                                    OptimizeConstants.EventNames
-                                                            .OPTIMIZE_UPDATE_COMPLETE,
-                                                    OptimizeConstants.EventType.OPTIMIZE,
-                                                    OptimizeConstants.EventSource.CONTENT_COMPLETE)
-                                            .setEventData(
-                                                    new HashMap<String, Object>() {
-                                                        {
-                                                            put(
-                                                                    OptimizeConstants.EventDataKeys
-                                                                            .COMPLETED_UPDATE_EVENT_ID,
-                                                                    requestEventId);
-                                                        }
-                                                    })
-                                            .chainToParentEvent(event)
-                                            .build();
-
-                            getApi().dispatch(updateCompleteEvent);
+                        // fan out the result to the requests coalesced into this request.
+                        for (final Map.Entry<Event, List<DecisionScope>> coalescedRequest :
+                                coalescedRequests.entrySet()) {
+                            getApi().dispatch(
+                                            createUpdateResponseEvent(
+                                                    coalescedRequest.getKey(),
+                                                    aepOptimizeError,
+                                                    createPropositionsList(
+                                                            accumulatedPropositions,
+                                                            coalescedRequest.getValue())));
                         }
-                    });
+
+                        final Event updateCompleteEvent =
+                                new Event.Builder(
+                                                OptimizeConstants.EventNames
+                                                        .OPTIMIZE_UPDATE_COMPLETE,
+                                                OptimizeConstants.EventType.OPTIMIZE,
+                                                OptimizeConstants.EventSource.CONTENT_COMPLETE)
+                                        .setEventData(
+                                                new HashMap<String, Object>() {
+                                                    {
+                                                        put(
+                                                                OptimizeConstants.EventDataKeys
+                                                                        .COMPLETED_UPDATE_EVENT_ID,
+                                                                requestEventId);
+                                                    }
+                                                })
+                                        .chainToParentEvent(event)
+                                        .build();
+
+                        getApi().dispatch(updateCompleteEvent);
+                    }
+                });
+    }
+
+    /**
+     * Creates the list of propositions event data for the given {@code scopes} from the given
+     * accumulated {@code propositions}.
+     *
+     * @param propositions {@code Map<DecisionScope, OptimizeProposition>} containing the
+     *     propositions accumulated for an Edge request.
+     * @param scopes {@code List<DecisionScope>} containing the requested scopes.
+     * @return {@code List<Map<String, Object>>} containing the propositions event data.
+     */
+    private List<Map<String, Object>> createPropositionsList(
+            @NonNull final Map<DecisionScope, OptimizeProposition> propositions,
+            @NonNull final List<DecisionScope> scopes) {
+        final List<Map<String, Object>> propositionsList = new ArrayList<>();
+        for (final DecisionScope scope : scopes) {
+            final OptimizeProposition optimizeProposition = propositions.get(scope);
+            if (optimizeProposition != null) {
+                propositionsList.add(optimizeProposition.toEventData());
+            }
+        }
+        return propositionsList;
+    }
+
+    /**
+     * Adds the given update propositions request to a pending batch of compatible requests, which
+     * is sent to the Edge network in a single request once the batching window elapses.
+     *
+     * <p>The batched scopes are marked in progress, so get propositions requests for them wait for
+     * the batched request to complete.
+     *
+     * @param event {@link Event} containing the update propositions request.
+     * @param scopes {@code List<DecisionScope>} requested by the event.
+     * @param updateRequest {@link InFlightUpdateRequest} describing the request.
+     * @param configData {@code Map<String, Object>} containing the Configuration shared state.
+     * @param batchWindow {@code long} containing the batching window in milliseconds.
+     */
+    private void batchUpdateRequest(
+            @NonNull final Event event,
+            @NonNull final List<DecisionScope> scopes,
+            @NonNull final InFlightUpdateRequest updateRequest,
+            @NonNull final Map<String, Object> configData,
+            final long batchWindow) {
+        synchronized (updateBatchLock) {
+            scopesInProgress.add(scopes);
+            for (final PendingUpdateBatch batch : pendingUpdateBatches) {
+                if (batch.add(event, scopes, updateRequest)) {
+                    Log.trace(
+                            OptimizeConstants.LOG_TAG,
+                            SELF_TAG,
+                            "batchUpdateRequest - Update propositions request event (%s) is"
+                                    + " added to a pending batch.",
+                            event.getUniqueIdentifier());
+                    return;
+                }
+            }
+
+            final PendingUpdateBatch batch = new PendingUpdateBatch(updateRequest, configData);
+            batch.add(event, scopes, updateRequest);
+            pendingUpdateBatches.add(batch);
+            getUpdateBatchScheduler()
+                    .schedule(
+                            () -> sendPendingUpdateBatch(batch),
+                            batchWindow,
+                            TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Sends the given pending batch of update propositions requests to the Edge network, then
+     * schedules the get propositions requests deferred until the batch is sent.
+     *
+     * @param batch {@link PendingUpdateBatch} to be sent.
+     */
+    @VisibleForTesting
+    void sendPendingUpdateBatch(@NonNull final PendingUpdateBatch batch) {
+        synchronized (updateBatchLock) {
+            if (batch.isSending() || !pendingUpdateBatches.contains(batch)) {
+                return;
+            }
+            batch.setSending();
+        }
+
+        final Map<Event, List<DecisionScope>> requests = batch.getRequests();
+        try {
+            Log.debug(
+                    OptimizeConstants.LOG_TAG,
+                    SELF_TAG,
+                    "sendPendingUpdateBatch - Sending %d batched update propositions request(s)"
+                            + " in a single Edge request.",
+                    requests.size());
+            sendUpdateRequest(
+                    requests.keySet().iterator().next(),
+                    batch.getScopes(),
+                    batch.getUpdateRequest(),
+                    batch.getConfigData(),
+                    requests.size() > 1
+                            ? requests
+                            : Collections.<Event, List<DecisionScope>>emptyMap());
         } catch (final Exception e) {
             Log.warning(
                     OptimizeConstants.LOG_TAG,
                     SELF_TAG,
-                    "handleUpdatePropositions - Failed to process update propositions request event"
+                    "sendPendingUpdateBatch - Failed to send batched update propositions requests"
                             + " due to an exception (%s)!",
                     e.getLocalizedMessage());
         }
+
+        final Map<Event, List<DecisionScope>> deferredRequests;
+        synchronized (updateBatchLock) {
+            pendingUpdateBatches.remove(batch);
+            deferredRequests = batch.getDeferredRequests();
+        }
+        for (final List<DecisionScope> scopes : requests.values()) {
+            scopesInProgress.remove(scopes);
+        }
+        for (final Map.Entry<Event, List<DecisionScope>> deferredRequest :
+                deferredRequests.entrySet()) {
+            getPropositionsScheduler.schedule(deferredRequest.getKey(), deferredRequest.getValue());
+        }
+    }
+
+    /**
+     * Defers the given get propositions request until the pending update propositions batch for any
+     * of its scopes is sent, so it is scheduled after the batched Edge request.
+     *
+     * @param event {@link Event} containing the get propositions request.
+     * @param scopes {@code List<DecisionScope>} requested by the event.
+     * @return {@code boolean} indicating whether the event is deferred.
+     */
+    private boolean deferUntilUpdateBatchSent(
+            @NonNull final Event event, @NonNull final List<DecisionScope> scopes) {
+        synchronized (updateBatchLock) {
+            for (final PendingUpdateBatch batch : pendingUpdateBatches) {
+                if (batch.defer(event, scopes)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    private synchronized ScheduledExecutorService getUpdateBatchScheduler() {
+        if (updateBatchScheduler == null) {
+            updateBatchScheduler = Executors.newSingleThreadScheduledExecutor();
+        }
+        return updateBatchScheduler;
+    }
+
+    /**
+     * Requests the propositions for the given {@code scopes} of a get propositions request which
+     * are neither cached nor being updated, by handling an update propositions request for them.
+     *
+     * <p>The missing scopes are then in progress, so the get propositions request waits for the
+     * update and is coalesced or batched with other update requests as usual.
+     *
+     * @param scopes {@code List<DecisionScope>} requested by the get propositions request.
+     * @param cachedScopes {@code Set<DecisionScope>} containing the requested scopes which are
+     *     cached.
+     */
+    private void fetchMissingPropositions(
+            @NonNull final List<DecisionScope> scopes,
+            @NonNull final Set<DecisionScope> cachedScopes) {
+        final List<Map<String, Object>> missingScopesData = new ArrayList<>();
+        for (final DecisionScope scope : scopes) {
+            if (!cachedScopes.contains(scope)
+                    && !previewCachedPropositions.containsKey(scope)
+                    && !scopesInProgress.contains(scope)) {
+                missingScopesData.add(scope.toEventData());
+            }
+        }
+        if (missingScopesData.isEmpty()) {
+            return;
+        }
+
+        Log.trace(
+                OptimizeConstants.LOG_TAG,
+                SELF_TAG,
+                "fetchMissingPropositions - Requesting the propositions for %d missing scopes.",
+                missingScopesData.size());
+        final Map<String, Object> updateEventData = new HashMap<>();
+        updateEventData.put(
+                OptimizeConstants.EventDataKeys.REQUEST_TYPE,
+                OptimizeConstants.EventDataValues.REQUEST_TYPE_UPDATE);
+        updateEventData.put(OptimizeConstants.EventDataKeys.DECISION_SCOPES, missingScopesData);
+        handleUpdatePropositions(
+                new Event.Builder(
+                                OptimizeConstants.EventNames.UPDATE_PROPOSITIONS_REQUEST,
+                                OptimizeConstants.EventType.OPTIMIZE,
+                                OptimizeConstants.EventSource.REQUEST_CONTENT)
+                        .setEventData(updateEventData)
+                        .build());
+    }
+
+    /**
+     * Schedules the given get propositions request fetching its missing propositions to be answered
+     * with the cached propositions once its deadline passes, if it is still waiting for the updates
+     * for its scopes.
+     *
+     * <p>The deadline is {@value OptimizeConstants#FETCH_MISSING_DEADLINE_MARGIN} ms ahead of the
+     * request timeout, so the response is dispatched before the request times out.
+     *
+     * @param event {@link Event} containing the get propositions request.
+     */
+    private void scheduleGetPropositionsDeadline(@NonNull final Event event) {
+        final long timeout =
+                DataReader.optLong(
+                        event.getEventData(),
+                        OptimizeConstants.EventDataKeys.TIMEOUT,
+                        (long)
+                                (OptimizeConstants.GET_RESPONSE_CALLBACK_TIMEOUT
+                                        * OptimizeConstants.TIMEOUT_CONVERSION_FACTOR));
+        final long deadline =
+                Math.max(0, timeout - OptimizeConstants.FETCH_MISSING_DEADLINE_MARGIN);
+        getGetPropositionsDeadlineScheduler()
+                .schedule(
+                        () -> {
+                            if (getPropositionsScheduler.handleNow(event)) {
+                                Log.debug(
+                                        OptimizeConstants.LOG_TAG,
+                                        SELF_TAG,
+                                        "scheduleGetPropositionsDeadline - The missing propositions"
+                                                + " were not received within %d ms, dispatching"
+                                                + " the cached propositions.",
+                                        deadline);
+                            }
+                        },
+                        deadline,
+                        TimeUnit.MILLISECONDS);
+    }
+
+    private synchronized ScheduledExecutorService getGetPropositionsDeadlineScheduler() {
+        if (getPropositionsDeadlineScheduler == null) {
+            getPropositionsDeadlineScheduler = Executors.newSingleThreadScheduledExecutor();
+        }
+        return getPropositionsDeadlineScheduler;
+    }
+
+    /**
+     * Runs the given {@code task} on the event hub thread, by dispatching an internal event handled
+     * once the events dispatched before it are handled.
+     *
+     * @param task {@link Runnable} to be run on the event hub thread.
+     */
+    private void executeOnEventHub(@NonNull final Runnable task) {
+        eventHubTasks.offer(task);
+        getApi().dispatch(
+                        new Event.Builder(
+                                        OptimizeConstants.EventNames.GET_PROPOSITIONS_READY,
+                                        OptimizeConstants.EventType.OPTIMIZE,
+                                        OptimizeConstants.EventSource.GET_PROPOSITIONS_READY)
+                                .build());
+    }
+
+    /**
+     * Handles the event with type {@value OptimizeConstants.EventType#OPTIMIZE} and source {@value
+     * OptimizeConstants.EventSource#GET_PROPOSITIONS_READY}.
+     *
+     * <p>The event is dispatched internally once get propositions requests are ready to be handled,
+     * which are then handled on the event hub thread, whichever thread completed the update
+     * propositions requests they waited for.
+     *
+     * @param event incoming {@link Event} object to be processed.
+     */
+    void handleGetPropositionsReady(@NonNull final Event event) {
+        Runnable task;
+        while ((task = eventHubTasks.poll()) != null) {
+            task.run();
+        }
     }
 
     /**
@@ -567,8 +1145,9 @@ class OptimizeExtension extends Extension {
      * @param event incoming {@link Event} object to be processed.
      */
     void handleUpdatePropositionsCompleted(@NonNull final Event event) {
+        String requestCompletedForEventId = null;
         try {
-            final String requestCompletedForEventId =
+            requestCompletedForEventId =
                     DataReader.getString(
                             event.getEventData(),
                             OptimizeConstants.EventDataKeys.COMPLETED_UPDATE_EVENT_ID);
@@ -594,10 +1173,17 @@ class OptimizeExtension extends Extension {
             }
 
             // Update propositions in cache
-            updateCachedPropositions(requestedScopes);
+            final Long ttl = updateRequestEventIdsTtl.get(requestCompletedForEventId);
+            final Map<DecisionScope, OptimizeProposition> returnedPropositions =
+                    getPropositionsInProgress(requestCompletedForEventId);
+            final PropositionsCache.Snapshot previousSnapshot = cachedPropositions.getSnapshot();
+            updateCachedPropositions(requestedScopes, returnedPropositions, ttl != null ? ttl : 0);
+            persistCachedPropositions(event);
+            dispatchRemovedPropositionsNotification(
+                    requestedScopes, returnedPropositions, previousSnapshot);
 
             // remove completed event's ID from the request event IDs dictionary.
-            updateRequestEventIdsInProgress.remove(requestCompletedForEventId);
+            removeUpdateRequestInProgress(requestCompletedForEventId);
         } catch (final DataReaderException e) {
             Log.warning(
                     OptimizeConstants.LOG_TAG,
@@ -606,35 +1192,326 @@ class OptimizeExtension extends Extension {
                             + " complete event due to an exception (%s)!",
                     e.getLocalizedMessage());
         } finally {
-            propositionsInProgress.clear();
+            if (requestCompletedForEventId != null) {
+                propositionsInProgress.remove(requestCompletedForEventId);
+            }
+        }
+    }
+
+    /**
+     * Coalesces the given update propositions request {@code event} into an in-flight update
+     * request, if any covers the requested scopes with identical XDM, data, override dataset and
+     * time-to-live.
+     *
+     * @param event {@link Event} containing the update propositions request.
+     * @param scopes {@code List<DecisionScope>} requested by the event.
+     * @param updateRequest {@link InFlightUpdateRequest} describing the request.
+     * @return {@code boolean} indicating whether the event is coalesced into an in-flight request.
+     */
+    private boolean coalesceUpdateRequest(
+            @NonNull final Event event,
+            @NonNull final List<DecisionScope> scopes,
+            @NonNull final InFlightUpdateRequest updateRequest) {
+        for (final Map.Entry<String, InFlightUpdateRequest> entry :
+                inFlightUpdateRequests.entrySet()) {
+            if (entry.getValue().covers(updateRequest)
+                    && entry.getValue().coalesce(event, scopes)) {
+                Log.debug(
+                        OptimizeConstants.LOG_TAG,
+                        SELF_TAG,
+                        "handleUpdatePropositions - Coalescing the update propositions request"
+                                + " event (%s) into the in-flight Edge request (%s).",
+                        event.getUniqueIdentifier(),
+                        entry.getKey());
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Completes the in-flight update request for the update event with the given {@code eventId},
+     * so that no further request is coalesced into it.
+     *
+     * @param eventId {@link String} containing the update event unique identifier.
+     * @return {@code Map<Event, List<DecisionScope>>} containing the coalesced request events and
+     *     their requested scopes.
+     */
+    private Map<Event, List<DecisionScope>> completeInFlightUpdateRequest(
+            @NonNull final String eventId) {
+        final InFlightUpdateRequest updateRequest = inFlightUpdateRequests.remove(eventId);
+        if (updateRequest == null) {
+            return Collections.emptyMap();
+        }
+        return updateRequest.complete();
+    }
 
-            // Resume events dispatcher processing after update propositions request is completed.
-            eventsDispatcher.resume();
+    /**
+     * Creates the optimize response event for the given update propositions request {@code event}.
+     *
+     * @param event {@link Event} containing the update propositions request.
+     * @param error {@link AEPOptimizeError} returned for the request, or null.
+     * @param propositionsList {@code List<Map<String, Object>>} containing the propositions data.
+     * @return {@link Event} in response to the request event.
+     */
+    private Event createUpdateResponseEvent(
+            @NonNull final Event event,
+            final AEPOptimizeError error,
+            @NonNull final List<Map<String, Object>> propositionsList) {
+        final Map<String, Object> responseEventData = new HashMap<>();
+        if (error != null) {
+            responseEventData.put(
+                    OptimizeConstants.EventDataKeys.RESPONSE_ERROR, error.toEventData());
         }
+        responseEventData.put(OptimizeConstants.EventDataKeys.PROPOSITIONS, propositionsList);
+
+        return new Event.Builder(
+                        OptimizeConstants.EventNames.OPTIMIZE_RESPONSE,
+                        OptimizeConstants.EventType.OPTIMIZE,
+                        OptimizeConstants.EventSource.RESPONSE_CONTENT)
+                .setEventData(responseEventData)
+                .inResponseToEvent(event)
+                .build();
+    }
+
+    /**
+     * Gets the propositions accumulated for the update event with the given {@code eventId}.
+     *
+     * @param eventId {@link String} containing the update event unique identifier.
+     * @return {@code Map<DecisionScope, OptimizeProposition>} containing the accumulated
+     *     propositions, or an empty map if none are returned yet.
+     */
+    private Map<DecisionScope, OptimizeProposition> getPropositionsInProgress(
+            @NonNull final String eventId) {
+        final Map<DecisionScope, OptimizeProposition> propositions =
+                propositionsInProgress.get(eventId);
+        return propositions != null
+                ? propositions
+                : Collections.<DecisionScope, OptimizeProposition>emptyMap();
+    }
+
+    /**
+     * Tracks the update event with the given {@code eventId} as in progress for the given {@code
+     * scopes}.
+     *
+     * @param eventId {@link String} containing the update event unique identifier.
+     * @param scopes {@code List<DecisionScope>} requested by the update event.
+     */
+    private void addUpdateRequestInProgress(
+            @NonNull final String eventId, @NonNull final List<DecisionScope> scopes) {
+        final List<DecisionScope> previousScopes =
+                updateRequestEventIdsInProgress.put(eventId, scopes);
+        if (previousScopes != null) {
+            scopesInProgress.remove(previousScopes);
+        }
+        scopesInProgress.add(scopes);
+        getPropositionsScheduler.addUpdate(eventId, scopes);
+    }
+
+    /**
+     * Stops tracking the update event with the given {@code eventId} once it completes, fails or
+     * times out.
+     *
+     * @param eventId {@link String} containing the update event unique identifier.
+     */
+    private void removeUpdateRequestInProgress(@NonNull final String eventId) {
+        final List<DecisionScope> scopes = updateRequestEventIdsInProgress.remove(eventId);
+        if (scopes != null) {
+            scopesInProgress.remove(scopes);
+        }
+        updateRequestEventIdsTtl.remove(eventId);
+        inFlightUpdateRequests.remove(eventId);
+        getPropositionsScheduler.completeUpdate(eventId);
     }
 
     /**
      * Updates the in-memory propositions cache with the returned propositions.
      *
      * <p>Any requested scopes for which no propositions are returned in personalization: decisions
-     * events are removed from the cache.
+     * events are removed from the cache. The changes are published to readers as a single cache
+     * generation. If a {@code ttl} is provided, the returned propositions expire after it elapses.
      *
      * @param requestedScopes a {@code List<DecisionScope>} for which propositions are requested.
+     * @param returnedPropositions {@code Map<DecisionScope, OptimizeProposition>} containing the
+     *     propositions accumulated for the request.
+     * @param ttl {@code long} containing the propositions time-to-live in milliseconds, or 0 if the
+     *     propositions do not expire.
      */
-    private void updateCachedPropositions(@NonNull final List<DecisionScope> requestedScopes) {
-        // update cache with accumulated propositions
-        cachedPropositions.putAll(propositionsInProgress);
+    private void updateCachedPropositions(
+            @NonNull final List<DecisionScope> requestedScopes,
+            @NonNull final Map<DecisionScope, OptimizeProposition> returnedPropositions,
+            final long ttl) {
+        // unchanged propositions are the cached instances, which readers may hold, so the expiry
+        // time and compressed content are applied to copies instead.
+        final long expiryTime = ttl > 0 ? System.currentTimeMillis() + ttl : 0;
+        final long compressionThreshold = offerContentCompressionThreshold;
+        final Map<DecisionScope, OptimizeProposition> propositions =
+                new HashMap<>(returnedPropositions.size() * 4 / 3 + 1);
+        for (final Map.Entry<DecisionScope, OptimizeProposition> entry :
+                returnedPropositions.entrySet()) {
+            propositions.put(
+                    entry.getKey(),
+                    entry.getValue().withExpiryTime(expiryTime, compressionThreshold));
+        }
 
-        // remove cached propositions for requested scopes for which no propositions are returned.
-        final List<DecisionScope> returnedScopes = new ArrayList<>(propositionsInProgress.keySet());
+        // update cache with accumulated propositions and remove cached propositions for requested
+        // scopes for which no propositions are returned.
         final List<DecisionScope> scopesToRemove = new ArrayList<>(requestedScopes);
-        scopesToRemove.removeAll(returnedScopes);
+        scopesToRemove.removeAll(returnedPropositions.keySet());
+
+        cachedPropositions.update(propositions, scopesToRemove);
 
-        for (final DecisionScope scope : scopesToRemove) {
-            cachedPropositions.remove(scope);
+        // persisted propositions for the requested scopes are superseded by the update.
+        final PropositionsSnapshot snapshot = persistedPropositions;
+        if (snapshot != null) {
+            for (final DecisionScope scope : requestedScopes) {
+                snapshot.remove(scope);
+            }
+        }
+
+        if (ttl > 0) {
+            scheduleExpirySweep();
         }
     }
 
+    /**
+     * Dispatches a notification event with explicit removal entries for the {@code requestedScopes}
+     * which had cached propositions before the update, but for which no proposition was returned.
+     *
+     * @param requestedScopes {@code List<DecisionScope>} requested by the completed update.
+     * @param returnedPropositions {@code Map<DecisionScope, OptimizeProposition>} returned for the
+     *     completed update.
+     * @param previousSnapshot {@link PropositionsCache.Snapshot} of the cache before the update.
+     */
+    private void dispatchRemovedPropositionsNotification(
+            @NonNull final List<DecisionScope> requestedScopes,
+            @NonNull final Map<DecisionScope, OptimizeProposition> returnedPropositions,
+            @NonNull final PropositionsCache.Snapshot previousSnapshot) {
+        final List<Map<String, Object>> removedScopesList = new ArrayList<>();
+        for (final DecisionScope scope : requestedScopes) {
+            if (previousSnapshot.get(scope) != null && !returnedPropositions.containsKey(scope)) {
+                removedScopesList.add(scope.toEventData());
+            }
+        }
+        if (removedScopesList.isEmpty()) {
+            return;
+        }
+
+        final Map<String, Object> notificationData = new HashMap<>();
+        notificationData.put(OptimizeConstants.EventDataKeys.PROPOSITIONS, new ArrayList<>());
+        notificationData.put(
+                OptimizeConstants.EventDataKeys.REMOVED_DECISION_SCOPES, removedScopesList);
+        getApi().dispatch(
+                        new Event.Builder(
+                                        OptimizeConstants.EventNames.OPTIMIZE_NOTIFICATION,
+                                        OptimizeConstants.EventType.OPTIMIZE,
+                                        OptimizeConstants.EventSource.NOTIFICATION)
+                                .setEventData(notificationData)
+                                .build());
+    }
+
+    /**
+     * Schedules a sweep of the in-memory propositions cache at the earliest expiry time of the
+     * cached propositions, unless an earlier sweep is already scheduled.
+     */
+    private void scheduleExpirySweep() {
+        long earliestExpiryTime = Long.MAX_VALUE;
+        for (final OptimizeProposition proposition : cachedPropositions.values()) {
+            final long expiryTime = proposition.getExpiryTime();
+            if (expiryTime > 0 && expiryTime < earliestExpiryTime) {
+                earliestExpiryTime = expiryTime;
+            }
+        }
+
+        synchronized (expirySweepLock) {
+            if (earliestExpiryTime == Long.MAX_VALUE || earliestExpiryTime >= scheduledSweepTime) {
+                return;
+            }
+            scheduledSweepTime = earliestExpiryTime;
+            getExpirySweeper()
+                    .schedule(
+                            this::sweepExpiredPropositions,
+                            Math.max(earliestExpiryTime - System.currentTimeMillis(), 0),
+                            TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Removes the expired propositions from the in-memory propositions cache and schedules the next
+     * sweep, if any cached proposition is set to expire.
+     */
+    private void sweepExpiredPropositions() {
+        synchronized (expirySweepLock) {
+            scheduledSweepTime = Long.MAX_VALUE;
+        }
+
+        cachedPropositions.removeExpired(System.currentTimeMillis());
+        scheduleExpirySweep();
+    }
+
+    private synchronized ScheduledExecutorService getExpirySweeper() {
+        if (expirySweeper == null) {
+            expirySweeper = Executors.newSingleThreadScheduledExecutor();
+        }
+        return expirySweeper;
+    }
+
+    /**
+     * Retrieves the cached propositions for the given {@code scopes} from the latest in-memory
+     * cache snapshot.
+     *
+     * <p>Propositions not in the in-memory cache are decoded from the persisted propositions
+     * snapshot, if available and the persistent cache is enabled, and added to the in-memory cache.
+     * Expired propositions are dropped from the cache and not returned. The propositions added to
+     * and dropped from the in-memory cache are published in a single batch for all the scopes.
+     *
+     * @param scopes {@code List<DecisionScope>} for which the propositions are requested.
+     * @return {@code Map<DecisionScope, OptimizeProposition>} containing the cached propositions.
+     */
+    private Map<DecisionScope, OptimizeProposition> retrieveCachedPropositions(
+            @NonNull final List<DecisionScope> scopes) {
+        final PropositionsCache.Snapshot cacheSnapshot = cachedPropositions.getSnapshot();
+        final PropositionsSnapshot snapshot = persistentCacheEnabled ? persistedPropositions : null;
+        final Map<DecisionScope, OptimizeProposition> propositions = new HashMap<>();
+        final Map<DecisionScope, OptimizeProposition> expiredPropositions = new HashMap<>();
+        final Map<DecisionScope, OptimizeProposition> decodedPropositions = new HashMap<>();
+        for (final DecisionScope scope : new HashSet<>(scopes)) {
+            cachedPropositions.recordAccess(scope);
+            final OptimizeProposition cachedProposition = cacheSnapshot.get(scope);
+            if (cachedProposition != null) {
+                if (cachedProposition.isExpired()) {
+                    expiredPropositions.put(scope, cachedProposition);
+                } else {
+                    propositions.put(scope, cachedProposition);
+                }
+                continue;
+            }
+
+            if (snapshot == null || !snapshot.contains(scope)) {
+                continue;
+            }
+            final OptimizeProposition persistedProposition = snapshot.get(scope);
+            if (persistedProposition == null) {
+                continue;
+            }
+            if (persistedProposition.isExpired()) {
+                snapshot.remove(scope);
+                continue;
+            }
+            // the decoded proposition is not published yet, so it is compressed in place.
+            persistedProposition.compressOfferContent(offerContentCompressionThreshold);
+            decodedPropositions.put(scope, persistedProposition);
+        }
+
+        if (!expiredPropositions.isEmpty()) {
+            cachedPropositions.removeAll(expiredPropositions);
+        }
+        if (!decodedPropositions.isEmpty()) {
+            propositions.putAll(cachedPropositions.putAllIfAbsent(decodedPropositions));
+        }
+        return propositions;
+    }
+
     /**
      * Handles the event with type {@value OptimizeConstants.EventType#EDGE} and source {@value
      * OptimizeConstants.EventSource#EDGE_PERSONALIZATION_DECISIONS}.
@@ -658,7 +1535,6 @@ class OptimizeExtension extends Extension {
                         "handleEdgeResponse - Ignoring Edge event, either handle type is not"
                             + " personalization:decisions, or the response isn't intended for this"
                             + " extension.");
-                propositionsInProgress.clear();
                 return;
             }
 
@@ -696,13 +1572,36 @@ class OptimizeExtension extends Extension {
                 return;
             }
 
-            // accumulate propositions in in-progress propositions dictionary
-            propositionsInProgress.putAll(propositionsMap);
-
+            // Only notify the propositions which differ from the cached ones. The unchanged cached
+            // instances are kept, so their offers stay identity-stable.
+            final PropositionsCache.Snapshot cacheSnapshot = cachedPropositions.getSnapshot();
             final List<Map<String, Object>> propositionsList = new ArrayList<>();
-            for (final OptimizeProposition optimizeProposition : propositionsMap.values()) {
-                propositionsList.add(optimizeProposition.toEventData());
+            for (final Map.Entry<DecisionScope, OptimizeProposition> entry :
+                    propositionsMap.entrySet()) {
+                final OptimizeProposition cachedProposition = cacheSnapshot.get(entry.getKey());
+                if (cachedProposition != null
+                        && !cachedProposition.isExpired()
+                        && cachedProposition.equals(entry.getValue())) {
+                    entry.setValue(cachedProposition);
+                } else {
+                    propositionsList.add(entry.getValue().toEventData());
+                }
             }
+
+            // accumulate propositions in the in-progress propositions dictionary for the request
+            propositionsInProgress
+                    .computeIfAbsent(requestEventId, key -> new ConcurrentHashMap<>())
+                    .putAll(propositionsMap);
+
+            if (propositionsList.isEmpty()) {
+                Log.trace(
+                        OptimizeConstants.LOG_TAG,
+                        SELF_TAG,
+                        "handleEdgeResponse - The returned propositions are unchanged from the"
+                                + " cached propositions, no notification is dispatched.");
+                return;
+            }
+
             final Map<String, Object> notificationData = new HashMap<>();
             notificationData.put(OptimizeConstants.EventDataKeys.PROPOSITIONS, propositionsList);
 
@@ -837,6 +1736,19 @@ class OptimizeExtension extends Extension {
      * @param event incoming {@link Event} object to be processed.
      */
     void handleGetPropositions(@NonNull final Event event) {
+        handleGetPropositions(event, Collections.<DecisionScope>emptySet());
+    }
+
+    /**
+     * Dispatches an optimize response event with the cached propositions for the requested decision
+     * scopes, flagging the propositions for the given {@code staleScopes} as possibly stale.
+     *
+     * @param event incoming {@link Event} object to be processed.
+     * @param staleScopes {@code Set<DecisionScope>} for which an update propositions request is in
+     *     progress.
+     */
+    private void handleGetPropositions(
+            @NonNull final Event event, @NonNull final Set<DecisionScope> staleScopes) {
         final Map<String, Object> eventData = event.getEventData();
 
         try {
@@ -856,11 +1768,20 @@ class OptimizeExtension extends Extension {
                 return;
             }
 
+            final Map<DecisionScope, OptimizeProposition> cachedPropositionsMap =
+                    retrieveCachedPropositions(validScopes);
             final List<Map<String, Object>> propositionsList = new ArrayList<>();
             for (final DecisionScope scope : validScopes) {
-                if (cachedPropositions.containsKey(scope)) {
-                    final OptimizeProposition optimizeProposition = cachedPropositions.get(scope);
-                    propositionsList.add(optimizeProposition.toEventData());
+                final OptimizeProposition optimizeProposition = cachedPropositionsMap.get(scope);
+                if (optimizeProposition != null) {
+                    if (staleScopes.contains(scope)) {
+                        final Map<String, Object> propositionData =
+                                new HashMap<>(optimizeProposition.toEventData());
+                        propositionData.put(OptimizeConstants.JsonKeys.PROPOSITION_STALE, true);
+                        propositionsList.add(propositionData);
+                    } else {
+                        propositionsList.add(optimizeProposition.toEventData());
+                    }
                 }
             }
 
@@ -906,6 +1827,86 @@ class OptimizeExtension extends Extension {
         }
     }
 
+    /**
+     * Reads the cached propositions for the given {@code scopes} on the calling thread, without
+     * going through the event hub.
+     *
+     * <p>The propositions are only read from the latest published snapshot of the propositions
+     * cache, skipping expired propositions, and are returned even if an update is in progress for
+     * their scopes. The cache is not modified: accesses are not recorded for eviction, expired
+     * propositions are not removed and persisted propositions are not decoded, as these are left to
+     * the get propositions requests handled on the event hub thread. If any of the scopes has a
+     * preview proposition, only the preview propositions are returned, as for get propositions
+     * requests. The returned propositions are shared with the cache.
+     *
+     * @param scopes {@code List<DecisionScope>} containing the valid scopes to read.
+     * @return {@code Map<DecisionScope, OptimizeProposition>} containing the cached propositions
+     *     keyed by their requested scope.
+     */
+    @NonNull Map<DecisionScope, OptimizeProposition> readCachedPropositions(
+            @NonNull final List<DecisionScope> scopes) {
+        final Map<DecisionScope, OptimizeProposition> previewPropositions = new HashMap<>();
+        for (final DecisionScope scope : scopes) {
+            final OptimizeProposition previewProposition = previewCachedPropositions.get(scope);
+            if (previewProposition != null) {
+                previewPropositions.put(scope, previewProposition);
+            }
+        }
+        if (!previewPropositions.isEmpty()) {
+            return previewPropositions;
+        }
+
+        final PropositionsCache.Snapshot cacheSnapshot = cachedPropositions.getSnapshot();
+        final Map<DecisionScope, OptimizeProposition> propositions = new HashMap<>();
+        for (final DecisionScope scope : scopes) {
+            final OptimizeProposition cachedProposition = cacheSnapshot.get(scope);
+            if (cachedProposition != null && !cachedProposition.isExpired()) {
+                propositions.put(scope, cachedProposition);
+            }
+        }
+        return propositions;
+    }
+
+    /**
+     * Handles the event with type {@value OptimizeConstants.EventType#OPTIMIZE} and source {@value
+     * OptimizeConstants.EventSource#REQUEST_CONTENT}.
+     *
+     * <p>This method dispatches a response event with the statistics of the in-memory propositions
+     * cache, i.e. the number of cached propositions, their estimated size, the configured maximum
+     * size and the eviction count.
+     *
+     * @param event incoming {@link Event} object to be processed.
+     */
+    void handleGetPropositionsCacheStats(@NonNull final Event event) {
+        applyCacheConfiguration(retrieveConfigurationSharedState(event));
+
+        final PropositionsCacheStats cacheStats;
+        synchronized (cachedPropositions) {
+            cacheStats =
+                    new PropositionsCacheStats(
+                            cachedPropositions.size(),
+                            cachedPropositions.getSizeInBytes(),
+                            cachedPropositions.getMaxSizeInBytes(),
+                            cachedPropositions.getEvictionCount(),
+                            cachedPropositions.getGeneration());
+        }
+
+        final Map<String, Object> responseEventData = new HashMap<>();
+        responseEventData.put(
+                OptimizeConstants.EventDataKeys.CACHE_STATS, cacheStats.toEventData());
+
+        final Event responseEvent =
+                new Event.Builder(
+                                OptimizeConstants.EventNames.OPTIMIZE_RESPONSE,
+                                OptimizeConstants.EventType.OPTIMIZE,
+                                OptimizeConstants.EventSource.RESPONSE_CONTENT)
+                        .setEventData(responseEventData)
+                        .inResponseToEvent(event)
+                        .build();
+
+        getApi().dispatch(responseEvent);
+    }
+
     /**
      * Handles the event with type {@value OptimizeConstants.EventType#OPTIMIZE} and source {@value
      * OptimizeConstants.EventSource#REQUEST_CONTENT}.
@@ -915,21 +1916,49 @@ class OptimizeExtension extends Extension {
      * override {@code datasetId} indicating the dataset which will be used for storing the
      * Experience Events sent to the Edge network.
      *
+     * <p>If the Configuration shared state is not available yet, the request is queued and sent
+     * once the configuration is received. At most {@value
+     * OptimizeConstants#MAX_PENDING_TRACK_REQUESTS} requests are queued, the oldest ones are
+     * dropped beyond that.
+     *
      * @param event incoming {@link Event} object to be processed.
      */
     void handleTrackPropositions(@NonNull final Event event) {
-        final Map<String, Object> eventData = event.getEventData();
-
         final Map<String, Object> configData = retrieveConfigurationSharedState(event);
         if (OptimizeUtils.isNullOrEmpty(configData)) {
+            if (pendingTrackRequests.size() >= OptimizeConstants.MAX_PENDING_TRACK_REQUESTS) {
+                pendingTrackRequests.poll();
+                Log.warning(
+                        OptimizeConstants.LOG_TAG,
+                        SELF_TAG,
+                        "handleTrackPropositions - Too many track propositions requests waiting"
+                                + " for the configuration, dropping the oldest request.");
+            }
+            pendingTrackRequests.offer(event);
             Log.debug(
                     OptimizeConstants.LOG_TAG,
                     SELF_TAG,
-                    "handleTrackPropositions - Cannot process the track propositions request event,"
-                            + " Configuration shared state is not available.");
+                    "handleTrackPropositions - Configuration shared state is not available, queuing"
+                            + " the track propositions request event (%d pending).",
+                    pendingTrackRequests.size());
             return;
         }
 
+        sendTrackPropositions(event, configData);
+    }
+
+    /**
+     * Dispatches an event to the Edge network extension to send the proposition interactions
+     * information of the given track propositions request {@code event}, applying the override
+     * {@code datasetId} from the given {@code configData}.
+     *
+     * @param event track propositions request {@link Event}.
+     * @param configData {@code Map<String, Object>} containing the configuration.
+     */
+    private void sendTrackPropositions(
+            @NonNull final Event event, @NonNull final Map<String, Object> configData) {
+        final Map<String, Object> eventData = event.getEventData();
+
         try {
             final Map<String, Object> propositionInteractionsXdm =
                     DataReader.getTypedMap(
@@ -940,8 +1969,9 @@ class OptimizeExtension extends Extension {
                 Log.debug(
                         OptimizeConstants.LOG_TAG,
                         SELF_TAG,
-                        "handleTrackPropositions - Cannot process the track propositions request"
-                            + " event, provided proposition interactions map is null or empty.");
+                        "sendTrackPropositions - Cannot process the track propositions request"
+                                + " event, provided proposition interactions map is null or"
+                                + " empty.");
                 return;
             }
 
@@ -975,7 +2005,7 @@ class OptimizeExtension extends Extension {
             Log.warning(
                     OptimizeConstants.LOG_TAG,
                     SELF_TAG,
-                    "handleTrackPropositions - Failed to process track propositions request event"
+                    "sendTrackPropositions - Failed to process track propositions request event"
                             + " due to an exception (%s)!",
                     e.getLocalizedMessage());
         }
@@ -985,13 +2015,217 @@ class OptimizeExtension extends Extension {
      * Handles the event with type {@value OptimizeConstants.EventType#OPTIMIZE} and source {@value
      * OptimizeConstants.EventSource#REQUEST_RESET}.
      *
-     * <p>This method clears previously cached propositions in the SDK.
+     * <p>This method clears previously cached propositions in the SDK. When identities are reset,
+     * the offers reported as displayed in the current session are also forgotten.
      *
      * @param event incoming {@link Event} object to be processed.
      */
     void handleClearPropositions(@NonNull final Event event) {
-        cachedPropositions.clear();
-        previewCachedPropositions.clear();
+        if (OptimizeConstants.EventType.GENERIC_IDENTITY.equalsIgnoreCase(event.getType())) {
+            PropositionInteractionTracker.getInstance().resetDisplayedOffers();
+        }
+
+        synchronized (persistenceLock) {
+            cachedPropositions.clear();
+            previewCachedPropositions.clear();
+            persistedPropositions = null;
+            persistedPropositionsCleared = true;
+        }
+
+        if (persistentCache != null) {
+            pendingPersistedPropositions.set(null);
+            getPersistenceExecutor().execute(persistentCache::clear);
+        }
+    }
+
+    /**
+     * Creates the {@code PersistentPropositionsCache} in the application cache directory.
+     *
+     * @return {@link PersistentPropositionsCache} instance or null if the application cache
+     *     directory is not available.
+     */
+    private PersistentPropositionsCache createPersistentCache() {
+        final DeviceInforming deviceInfoService =
+                ServiceProvider.getInstance().getDeviceInfoService();
+        final File cacheDir =
+                deviceInfoService != null ? deviceInfoService.getApplicationCacheDir() : null;
+        if (cacheDir == null) {
+            Log.debug(
+                    OptimizeConstants.LOG_TAG,
+                    SELF_TAG,
+                    "createPersistentCache - Propositions cannot be persisted, application cache"
+                            + " directory is not available.");
+            return null;
+        }
+        return new PersistentPropositionsCache(cacheDir);
+    }
+
+    /**
+     * Loads the persisted propositions snapshot asynchronously.
+     *
+     * <p>Only the snapshot index is read at this time, the persisted propositions are decoded when
+     * they are first requested. The get propositions scheduler is started once loading is complete.
+     */
+    private void loadPersistedPropositions() {
+        getPersistenceExecutor()
+                .execute(
+                        () -> {
+                            try {
+                                final PropositionsSnapshot snapshot = persistentCache.load();
+                                synchronized (persistenceLock) {
+                                    if (!persistedPropositionsCleared) {
+                                        persistedPropositions = snapshot;
+                                    }
+                                }
+                            } finally {
+                                getPropositionsScheduler.start();
+                            }
+                        });
+    }
+
+    /**
+     * Drops the persisted propositions snapshot and deletes the persisted propositions
+     * asynchronously, as the persistent cache is disabled in the configuration.
+     *
+     * <p>The snapshot is dropped on the persistence executor, so a snapshot still being loaded is
+     * dropped as well.
+     */
+    private void dropPersistedPropositions() {
+        if (persistentCache == null) {
+            return;
+        }
+
+        getPersistenceExecutor()
+                .execute(
+                        () -> {
+                            synchronized (persistenceLock) {
+                                if (persistedPropositions == null && !persistentCache.exists()) {
+                                    return;
+                                }
+                                persistedPropositions = null;
+                            }
+                            Log.debug(
+                                    OptimizeConstants.LOG_TAG,
+                                    SELF_TAG,
+                                    "dropPersistedPropositions - Deleting the persisted"
+                                            + " propositions, the persistent cache is disabled in"
+                                            + " the configuration.");
+                            persistentCache.clear();
+                        });
+    }
+
+    /**
+     * Persists the in-memory propositions cache asynchronously, if the persistent cache is enabled.
+     *
+     * <p>Persisted propositions which have not been requested yet are carried over from the loaded
+     * snapshot without being decoded.
+     *
+     * @param event {@link Event} used to retrieve the Configuration shared state.
+     */
+    private void persistCachedPropositions(@NonNull final Event event) {
+        if (persistentCache == null) {
+            return;
+        }
+
+        applyCacheConfiguration(retrieveConfigurationSharedState(event));
+        if (!persistentCacheEnabled) {
+            return;
+        }
+
+        if (pendingPersistedPropositions.getAndSet(
+                        cachedPropositions.getSnapshot().getPropositions())
+                == null) {
+            getPersistenceExecutor()
+                    .execute(
+                            () -> {
+                                final Map<DecisionScope, OptimizeProposition> snapshot =
+                                        pendingPersistedPropositions.getAndSet(null);
+                                if (snapshot != null) {
+                                    persistentCache.save(snapshot, persistedPropositions);
+                                }
+                            });
+        }
+    }
+
+    private synchronized Executor getPersistenceExecutor() {
+        if (persistenceExecutor == null) {
+            persistenceExecutor = Executors.newSingleThreadExecutor();
+        }
+        return persistenceExecutor;
+    }
+
+    /**
+     * Handles the event with type {@value OptimizeConstants.EventType#GENERIC_LIFECYCLE} and source
+     * {@value OptimizeConstants.EventSource#REQUEST_CONTENT}.
+     *
+     * <p>The pending proposition interactions are dispatched when the app goes to the background.
+     *
+     * @param event the generic lifecycle {@link Event} to be handled.
+     */
+    void handleLifecycleRequestContent(@NonNull final Event event) {
+        final String action =
+                DataReader.optString(
+                        event.getEventData(),
+                        OptimizeConstants.EventDataKeys.LIFECYCLE_ACTION,
+                        null);
+        final PropositionInteractionTracker tracker = PropositionInteractionTracker.getInstance();
+        if (OptimizeConstants.EventDataValues.LIFECYCLE_PAUSE.equals(action)) {
+            lastPauseTimestamp = event.getTimestamp();
+            Log.trace(
+                    OptimizeConstants.LOG_TAG,
+                    SELF_TAG,
+                    "handleLifecycleRequestContent - App is going to the background, flushing the"
+                            + " pending proposition interactions (%d repeated displays suppressed"
+                            + " so far).",
+                    tracker.getSuppressedDisplaysCount());
+            tracker.flush();
+        } else if (OptimizeConstants.EventDataValues.LIFECYCLE_START.equals(action)) {
+            if (lastPauseTimestamp > 0
+                    && event.getTimestamp() - lastPauseTimestamp > sessionTimeout) {
+                Log.trace(
+                        OptimizeConstants.LOG_TAG,
+                        SELF_TAG,
+                        "handleLifecycleRequestContent - New session started, resetting the offers"
+                                + " reported as displayed.");
+                tracker.resetDisplayedOffers();
+            }
+            lastPauseTimestamp = 0;
+        }
+    }
+
+    /**
+     * Handles the event with type {@value OptimizeConstants.EventType#CONFIGURATION} and source
+     * {@value OptimizeConstants.EventSource#RESPONSE_CONTENT}.
+     *
+     * <p>The display deduplication setting, session timeout, offer content compression threshold
+     * and propositions cache settings are applied from the updated configuration, and the track
+     * propositions requests queued until the configuration was available are sent.
+     *
+     * @param event the configuration response {@link Event} to be handled.
+     */
+    void handleConfigurationResponseContent(@NonNull final Event event) {
+        final Map<String, Object> configData = event.getEventData();
+        PropositionInteractionTracker.getInstance()
+                .setDisplayDeduplicationEnabled(
+                        ConfigUtils.isDisplayDeduplicationEnabled(configData));
+        sessionTimeout = ConfigUtils.retrieveSessionTimeout(configData);
+        offerContentCompressionThreshold =
+                ConfigUtils.retrieveOfferContentCompressionThreshold(configData);
+        applyCacheConfiguration(configData);
+
+        if (OptimizeUtils.isNullOrEmpty(configData) || pendingTrackRequests.isEmpty()) {
+            return;
+        }
+        Log.debug(
+                OptimizeConstants.LOG_TAG,
+                SELF_TAG,
+                "handleConfigurationResponseContent - Sending %d track propositions requests queued"
+                        + " until the configuration was available.",
+                pendingTrackRequests.size());
+        Event trackEvent;
+        while ((trackEvent = pendingTrackRequests.poll()) != null) {
+            sendTrackPropositions(trackEvent, configData);
+        }
     }
 
     /**
@@ -1085,6 +2319,32 @@ class OptimizeExtension extends Extension {
         }
     }
 
+    /**
+     * Applies the propositions cache maximum size and the persistent cache setting from the given
+     * Configuration shared state, if available. Cache reads do not wait for the configuration, so
+     * the current settings are kept until it is received.
+     *
+     * <p>This is the only place the persistent cache setting is read, so the persisted propositions
+     * are loaded, served and persisted according to the same setting. When it is disabled, the
+     * persisted propositions are dropped and deleted.
+     *
+     * @param configData {@code Map<String, Object>} containing the Configuration shared state.
+     */
+    private void applyCacheConfiguration(@Nullable final Map<String, Object> configData) {
+        if (configData == null) {
+            return;
+        }
+        cachedPropositions.setMaxSizeInBytes(
+                ConfigUtils.retrievePropositionsCacheMaxSize(configData));
+
+        final boolean enabled =
+                persistentCache != null && ConfigUtils.isPersistentCacheEnabled(configData);
+        if (persistentCacheEnabled && !enabled) {
+            dropPersistedPropositions();
+        }
+        persistentCacheEnabled = enabled;
+    }
+
     /**
      * Retrieves the {@code Configuration} shared state versioned at the current {@code event}.
      *
@@ -1177,13 +2437,14 @@ class OptimizeExtension extends Extension {
     }
 
     @VisibleForTesting
-    Map<DecisionScope, OptimizeProposition> getCachedPropositions() {
+    PropositionsCache getCachedPropositions() {
         return cachedPropositions;
     }
 
     @VisibleForTesting
     void setCachedPropositions(final Map<DecisionScope, OptimizeProposition> cachedPropositions) {
-        this.cachedPropositions = cachedPropositions;
+        this.cachedPropositions = new PropositionsCache();
+        this.cachedPropositions.putAll(cachedPropositions);
     }
 
     @VisibleForTesting
@@ -1198,15 +2459,16 @@ class OptimizeExtension extends Extension {
     }
 
     @VisibleForTesting
-    Map<DecisionScope, OptimizeProposition> getPropositionsInProgress() {
+    Map<String, Map<DecisionScope, OptimizeProposition>> getPropositionsInProgress() {
         return propositionsInProgress;
     }
 
     @VisibleForTesting
     void setPropositionsInProgress(
+            final String requestEventId,
             final Map<DecisionScope, OptimizeProposition> propositionsInProgress) {
-        this.propositionsInProgress.clear();
-        this.propositionsInProgress.putAll(propositionsInProgress);
+        this.propositionsInProgress.put(
+                requestEventId, new ConcurrentHashMap<>(propositionsInProgress));
     }
 
     @VisibleForTesting
@@ -1217,11 +2479,43 @@ class OptimizeExtension extends Extension {
     @VisibleForTesting
     void setUpdateRequestEventIdsInProgress(
             final String eventId, final List<DecisionScope> expectedScopes) {
-        updateRequestEventIdsInProgress.put(eventId, expectedScopes);
+        addUpdateRequestInProgress(eventId, expectedScopes);
+    }
+
+    @VisibleForTesting
+    void setGetPropositionsScheduler(final GetPropositionsScheduler getPropositionsScheduler) {
+        this.getPropositionsScheduler = getPropositionsScheduler;
+    }
+
+    @VisibleForTesting
+    void setPersistentCache(final PersistentPropositionsCache persistentCache) {
+        this.persistentCache = persistentCache;
+        this.persistentCacheEnabled = persistentCache != null && persistentCache.exists();
+    }
+
+    @VisibleForTesting
+    synchronized void setPersistenceExecutor(final Executor persistenceExecutor) {
+        this.persistenceExecutor = persistenceExecutor;
+    }
+
+    @VisibleForTesting
+    synchronized void setExpirySweeper(final ScheduledExecutorService expirySweeper) {
+        this.expirySweeper = expirySweeper;
+    }
+
+    @VisibleForTesting
+    synchronized void setUpdateBatchScheduler(final ScheduledExecutorService updateBatchScheduler) {
+        this.updateBatchScheduler = updateBatchScheduler;
+    }
+
+    @VisibleForTesting
+    synchronized void setGetPropositionsDeadlineScheduler(
+            final ScheduledExecutorService getPropositionsDeadlineScheduler) {
+        this.getPropositionsDeadlineScheduler = getPropositionsDeadlineScheduler;
     }
 
     @VisibleForTesting
-    void setEventsDispatcher(final SerialWorkDispatcher<Event> eventsDispatcher) {
-        this.eventsDispatcher = eventsDispatcher;
+    Map<String, Long> getUpdateRequestEventIdsTtl() {
+        return updateRequestEventIdsTtl;
     }
 }
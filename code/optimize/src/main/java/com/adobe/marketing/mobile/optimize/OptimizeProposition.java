@@ -16,6 +16,7 @@ import com.adobe.marketing.mobile.services.Log;
 import com.adobe.marketing.mobile.util.DataReader;
 import java.lang.ref.SoftReference;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -32,6 +33,21 @@ public class OptimizeProposition {
     @Nullable private final Map<String, Object> activity;
     @Nullable private final Map<String, Object> placement;
 
+    // Time, in milliseconds since epoch, after which this proposition is no longer fresh. A value
+    // of 0 indicates the proposition does not expire.
+    private volatile long expiryTime;
+
+    // Flag indicating this proposition was returned from the cache while an update for its scope
+    // was in progress.
+    private boolean stale;
+
+    // Memoized event data of this proposition, reset when the expiry time changes.
+    private volatile Map<String, Object> eventData;
+
+    // Flag indicating the content of any of the offers is compressed, so the event data is not
+    // memoized.
+    private volatile boolean contentCompressed;
+
     /**
      * Constructor creates a {@code OptimizeProposition} using the provided proposition {@code id},
      * {@code offers}, {@code scope}, {@code scopeDetails}, {@code activity} and {@code placement}
@@ -118,6 +134,136 @@ public class OptimizeProposition {
         return placement;
     }
 
+    /**
+     * Gets the time after which this {@code OptimizeProposition} is no longer fresh.
+     *
+     * <p>The expiry time is set when the proposition is cached with a time-to-live, either from the
+     * {@code optimize.propositionsTtl} configuration setting or the TTL provided in the update
+     * propositions request.
+     *
+     * @return {@code long} containing the expiry time in milliseconds since epoch, or 0 if the
+     *     proposition does not expire.
+     */
+    public long getExpiryTime() {
+        return expiryTime;
+    }
+
+    /**
+     * Checks whether this {@code OptimizeProposition} has expired.
+     *
+     * @return {@code boolean} indicating whether the proposition is no longer fresh.
+     */
+    public boolean isExpired() {
+        return isExpiredAt(System.currentTimeMillis());
+    }
+
+    /**
+     * Checks whether this {@code OptimizeProposition} is expired at the given {@code timeMillis}.
+     *
+     * @param timeMillis {@code long} containing the time in milliseconds since epoch.
+     * @return {@code boolean} indicating whether the proposition is expired at the given time.
+     */
+    boolean isExpiredAt(final long timeMillis) {
+        final long expiry = expiryTime;
+        return expiry > 0 && timeMillis >= expiry;
+    }
+
+    /**
+     * Sets the time after which this {@code OptimizeProposition} is no longer fresh.
+     *
+     * @param expiryTime {@code long} containing the expiry time in milliseconds since epoch, or 0
+     *     if the proposition does not expire.
+     */
+    void setExpiryTime(final long expiryTime) {
+        final long time = Math.max(expiryTime, 0);
+        if (this.expiryTime != time) {
+            this.expiryTime = time;
+            this.eventData = null;
+        }
+    }
+
+    /**
+     * Compresses the content of the offers longer than the given {@code threshold}, dropping the
+     * memoized event data which retains the content.
+     *
+     * @param threshold {@code long} containing the content length, in characters, above which the
+     *     offer content is compressed.
+     * @see Offer#compressContent(long)
+     */
+    void compressOfferContent(final long threshold) {
+        if (threshold <= 0) {
+            return;
+        }
+        boolean compressed = false;
+        for (final Offer offer : offers) {
+            compressed |= offer.compressContent(threshold);
+        }
+        if (compressed) {
+            contentCompressed = true;
+            eventData = null;
+        }
+    }
+
+    /**
+     * Gets this {@code OptimizeProposition} with the given expiry time, and the content of its
+     * offers longer than the given {@code threshold} compressed.
+     *
+     * <p>This proposition is returned if neither changes it. Otherwise, a copy is returned and this
+     * proposition, which may be in a published snapshot of the propositions cache, is not modified.
+     * The copy shares the offers whose content is not compressed.
+     *
+     * @param expiryTime {@code long} containing the expiry time in milliseconds since epoch, or 0
+     *     if the proposition does not expire.
+     * @param threshold {@code long} containing the content length, in characters, above which the
+     *     offer content is compressed.
+     * @return {@link OptimizeProposition} with the given expiry time and offer content compressed.
+     * @see Offer#withCompressedContent(long)
+     */
+    OptimizeProposition withExpiryTime(final long expiryTime, final long threshold) {
+        final long time = Math.max(expiryTime, 0);
+        List<Offer> compressedOffers = null;
+        for (int i = 0; i < offers.size(); i++) {
+            final Offer offer = offers.get(i);
+            final Offer compressedOffer = offer.withCompressedContent(threshold);
+            if (compressedOffer != offer) {
+                if (compressedOffers == null) {
+                    compressedOffers = new ArrayList<>(offers);
+                }
+                compressedOffers.set(i, compressedOffer);
+            }
+        }
+        if (compressedOffers == null && this.expiryTime == time) {
+            return this;
+        }
+
+        final OptimizeProposition proposition =
+                new OptimizeProposition(
+                        id,
+                        compressedOffers != null ? compressedOffers : new ArrayList<>(offers),
+                        scope,
+                        scopeDetails,
+                        activity,
+                        placement);
+        proposition.expiryTime = time;
+        proposition.stale = stale;
+        proposition.contentCompressed = contentCompressed || compressedOffers != null;
+        return proposition;
+    }
+
+    /**
+     * Checks whether this {@code OptimizeProposition} is possibly stale.
+     *
+     * <p>A proposition is possibly stale when it is returned from the cache by a get propositions
+     * request allowing stale propositions, while an update propositions request for its scope is
+     * still in progress. The refreshed proposition is delivered through {@link
+     * Optimize#onPropositionsUpdate} once the update completes.
+     *
+     * @return {@code boolean} indicating whether the proposition is possibly stale.
+     */
+    public boolean isStale() {
+        return stale;
+    }
+
     /**
      * Generates a map containing XDM formatted data for {@code Experience Event -
      * OptimizeProposition Reference} field group from this {@code OptimizeProposition}.
@@ -211,7 +357,15 @@ public class OptimizeProposition {
                 }
             }
 
-            return new OptimizeProposition(id, offers, scope, scopeDetails, activity, placement);
+            final OptimizeProposition proposition =
+                    new OptimizeProposition(id, offers, scope, scopeDetails, activity, placement);
+            proposition.setExpiryTime(
+                    DataReader.optLong(
+                            data, OptimizeConstants.JsonKeys.PROPOSITION_EXPIRY_TIME, 0));
+            proposition.stale =
+                    DataReader.optBoolean(
+                            data, OptimizeConstants.JsonKeys.PROPOSITION_STALE, false);
+            return proposition;
 
         } catch (Exception e) {
             Log.warning(
@@ -224,11 +378,32 @@ public class OptimizeProposition {
     }
 
     /**
-     * Creates a {@code Map<String, Object>} using this {@code OptimizeProposition}'s attributes.
+     * Gets an unmodifiable {@code Map<String, Object>} containing this {@code
+     * OptimizeProposition}'s attributes.
+     *
+     * <p>The event data is created on first use and reused for all subsequent get propositions
+     * responses and notifications, as the cached propositions are not modified. It is not reused if
+     * the offers content is compressed, so the content is not retained.
      *
      * @return {@code Map<String, Object>} containing {@link OptimizeProposition} data.
      */
     Map<String, Object> toEventData() {
+        Map<String, Object> propositionMap = eventData;
+        if (propositionMap == null) {
+            propositionMap = Collections.unmodifiableMap(createEventData());
+            if (!contentCompressed) {
+                eventData = propositionMap;
+            }
+        }
+        return propositionMap;
+    }
+
+    /**
+     * Creates a {@code Map<String, Object>} using this {@code OptimizeProposition}'s attributes.
+     *
+     * @return {@code Map<String, Object>} containing {@link OptimizeProposition} data.
+     */
+    Map<String, Object> createEventData() {
         final Map<String, Object> propositionMap = new HashMap<>();
         propositionMap.put(OptimizeConstants.JsonKeys.PAYLOAD_ID, this.id);
         propositionMap.put(OptimizeConstants.JsonKeys.PAYLOAD_SCOPE, this.scope);
@@ -240,7 +415,15 @@ public class OptimizeProposition {
         for (final Offer offer : this.offers) {
             offersList.add(offer.toEventData());
         }
-        propositionMap.put(OptimizeConstants.JsonKeys.PAYLOAD_ITEMS, offersList);
+        propositionMap.put(
+                OptimizeConstants.JsonKeys.PAYLOAD_ITEMS, Collections.unmodifiableList(offersList));
+
+        if (expiryTime > 0) {
+            propositionMap.put(OptimizeConstants.JsonKeys.PROPOSITION_EXPIRY_TIME, expiryTime);
+        }
+        if (stale) {
+            propositionMap.put(OptimizeConstants.JsonKeys.PROPOSITION_STALE, true);
+        }
         return propositionMap;
     }
 
@@ -0,0 +1,148 @@
+/*
+  Copyright 2025 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.optimize;
+
+import androidx.annotation.NonNull;
+import com.adobe.marketing.mobile.Event;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * {@code PendingUpdateBatch} accumulates compatible update propositions requests received within
+ * the configured batching window, to be sent to the Edge network in a single request for the union
+ * of their decision scopes.
+ *
+ * <p>Get propositions requests for any of the batched scopes are deferred until the batch is sent,
+ * so they are fulfilled after the batched update completes. This class is not thread-safe, it is
+ * guarded by the owning extension.
+ */
+class PendingUpdateBatch {
+
+    private final InFlightUpdateRequest updateRequest;
+    private final Map<String, Object> configData;
+
+    // Batched request events and their requested scopes, in arrival order.
+    private final Map<Event, List<DecisionScope>> requests = new LinkedHashMap<>();
+    private final Set<DecisionScope> scopes = new LinkedHashSet<>();
+    // Deferred get request events and their requested scopes, in arrival order.
+    private final Map<Event, List<DecisionScope>> deferredRequests = new LinkedHashMap<>();
+    private boolean sending;
+
+    /**
+     * Constructor creates a {@code PendingUpdateBatch} for requests compatible with the given
+     * {@code updateRequest}.
+     *
+     * @param updateRequest {@link InFlightUpdateRequest} describing the first batched request.
+     * @param configData {@code Map<String, Object>} containing the Configuration shared state used
+     *     to send the batch.
+     */
+    PendingUpdateBatch(
+            @NonNull final InFlightUpdateRequest updateRequest,
+            @NonNull final Map<String, Object> configData) {
+        this.updateRequest = updateRequest;
+        this.configData = configData;
+    }
+
+    /**
+     * Adds the given update propositions request {@code event} to this batch, if it is compatible
+     * with the batched requests and the batch is not being sent yet.
+     *
+     * @param event {@link Event} containing the update propositions request.
+     * @param requestedScopes {@code List<DecisionScope>} requested by the event.
+     * @param request {@link InFlightUpdateRequest} describing the request.
+     * @return {@code boolean} indicating whether the event is added to the batch.
+     */
+    boolean add(
+            @NonNull final Event event,
+            @NonNull final List<DecisionScope> requestedScopes,
+            @NonNull final InFlightUpdateRequest request) {
+        if (sending || !updateRequest.isCompatible(request)) {
+            return false;
+        }
+        requests.put(event, requestedScopes);
+        scopes.addAll(requestedScopes);
+        return true;
+    }
+
+    /**
+     * Defers the given get propositions request {@code event} until this batch is sent, if it
+     * requests any of the batched scopes.
+     *
+     * @param event {@link Event} containing the get propositions request.
+     * @param requestedScopes {@code List<DecisionScope>} requested by the event.
+     * @return {@code boolean} indicating whether the event is deferred.
+     */
+    boolean defer(@NonNull final Event event, @NonNull final List<DecisionScope> requestedScopes) {
+        for (final DecisionScope scope : requestedScopes) {
+            if (scopes.contains(scope)) {
+                deferredRequests.put(event, requestedScopes);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** Marks this batch as being sent, so no further request is added to it. */
+    void setSending() {
+        sending = true;
+    }
+
+    boolean isSending() {
+        return sending;
+    }
+
+    /**
+     * Gets the {@code InFlightUpdateRequest} for the union of the batched scopes.
+     *
+     * @return {@link InFlightUpdateRequest} describing the batched request.
+     */
+    InFlightUpdateRequest getUpdateRequest() {
+        return updateRequest.withScopes(getScopes());
+    }
+
+    Map<String, Object> getConfigData() {
+        return configData;
+    }
+
+    /**
+     * Gets the batched request events and their requested scopes, in arrival order.
+     *
+     * @return {@code Map<Event, List<DecisionScope>>} containing the batched requests.
+     */
+    Map<Event, List<DecisionScope>> getRequests() {
+        return Collections.unmodifiableMap(requests);
+    }
+
+    /**
+     * Gets the union of the batched scopes, in request order.
+     *
+     * @return {@code List<DecisionScope>} containing the batched scopes.
+     */
+    List<DecisionScope> getScopes() {
+        return new ArrayList<>(scopes);
+    }
+
+    /**
+     * Gets the get propositions request events deferred until this batch is sent.
+     *
+     * @return {@code Map<Event, List<DecisionScope>>} containing the deferred events and their
+     *     requested scopes, in arrival order.
+     */
+    Map<Event, List<DecisionScope>> getDeferredRequests() {
+        return new LinkedHashMap<>(deferredRequests);
+    }
+}
@@ -0,0 +1,317 @@
+/*
+  Copyright 2025 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.optimize;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import com.adobe.marketing.mobile.services.Log;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * {@code PersistentPropositionsCache} stores the cached propositions on disk so they survive
+ * process death.
+ *
+ * <p>Propositions are stored in a binary snapshot format, made of a header, a per-scope offset
+ * index and the encoded propositions. On load, the cache file is memory-mapped and only the index
+ * is read, the propositions are decoded lazily through the returned {@link PropositionsSnapshot}
+ * when they are requested.
+ *
+ * <p>The cache file is written atomically, by writing to a temporary file first and renaming it
+ * over the previous cache file. The index and each encoded proposition carry a CRC32 checksum. A
+ * cache file that is truncated, has an unknown format or fails the index checksum verification is
+ * discarded on load.
+ *
+ * <p>This class performs blocking file I/O and should not be invoked on the event hub thread.
+ */
+class PersistentPropositionsCache {
+
+    private static final String SELF_TAG = "PersistentPropositionsCache";
+    private static final String TEMP_FILE_SUFFIX = ".tmp";
+
+    // File header: magic (int), format version (int), checksum (long) and length (int) of the
+    // checksummed index.
+    static final int FILE_MAGIC = 0x4F505450;
+    // Version 2 binary snapshots, written before proposition expiry times were persisted, are
+    // discarded on load.
+    static final int FORMAT_VERSION = 3;
+    static final int HEADER_LENGTH = 20;
+
+    private final File cacheFile;
+    private final File tempFile;
+
+    /**
+     * Constructor creates a {@code PersistentPropositionsCache} backed by a file in the given
+     * {@code directory}.
+     *
+     * @param directory {@link File} directory in which the cache file is stored.
+     */
+    PersistentPropositionsCache(@NonNull final File directory) {
+        this.cacheFile = new File(directory, OptimizeConstants.PersistentCache.FILE_NAME);
+        this.tempFile =
+                new File(directory, OptimizeConstants.PersistentCache.FILE_NAME + TEMP_FILE_SUFFIX);
+    }
+
+    /**
+     * Checks whether a persisted propositions cache file exists.
+     *
+     * @return {@code boolean} indicating whether the cache file exists.
+     */
+    synchronized boolean exists() {
+        return cacheFile.exists();
+    }
+
+    /**
+     * Persists the given {@code propositions}, replacing any previously persisted propositions.
+     *
+     * @param propositions {@code Map<DecisionScope, OptimizeProposition>} to be persisted.
+     * @return {@code boolean} indicating whether the propositions were persisted successfully.
+     */
+    synchronized boolean save(@NonNull final Map<DecisionScope, OptimizeProposition> propositions) {
+        return save(propositions, null);
+    }
+
+    /**
+     * Persists the given {@code propositions} along with the propositions of the {@code base}
+     * snapshot that are not superseded by them, replacing any previously persisted propositions.
+     *
+     * <p>Propositions taken from the {@code base} snapshot are copied in their encoded form,
+     * without being decoded.
+     *
+     * @param propositions {@code Map<DecisionScope, OptimizeProposition>} to be persisted.
+     * @param base {@link PropositionsSnapshot} containing the previously loaded propositions, or
+     *     null.
+     * @return {@code boolean} indicating whether the propositions were persisted successfully.
+     */
+    synchronized boolean save(
+            @NonNull final Map<DecisionScope, OptimizeProposition> propositions,
+            @Nullable final PropositionsSnapshot base) {
+        try {
+            final Map<DecisionScope, byte[]> encodedPropositions = new LinkedHashMap<>();
+            for (final Map.Entry<DecisionScope, OptimizeProposition> entry :
+                    propositions.entrySet()) {
+                encodedPropositions.put(
+                        entry.getKey(), PropositionsSnapshot.encode(entry.getValue()));
+            }
+            if (base != null) {
+                for (final DecisionScope scope : base.getScopes()) {
+                    if (encodedPropositions.containsKey(scope)) {
+                        continue;
+                    }
+                    final byte[] encoded = base.getEncoded(scope);
+                    if (encoded != null) {
+                        encodedPropositions.put(scope, encoded);
+                    }
+                }
+            }
+
+            final ByteArrayOutputStream index = new ByteArrayOutputStream();
+            final DataOutputStream indexStream = new DataOutputStream(index);
+            final ByteArrayOutputStream data = new ByteArrayOutputStream();
+            indexStream.writeInt(encodedPropositions.size());
+            for (final Map.Entry<DecisionScope, byte[]> entry : encodedPropositions.entrySet()) {
+                final byte[] name = entry.getKey().getName().getBytes(StandardCharsets.UTF_8);
+                final byte[] encoded = entry.getValue();
+                indexStream.writeInt(name.length);
+                indexStream.write(name);
+                indexStream.writeInt(data.size());
+                indexStream.writeInt(encoded.length);
+                indexStream.writeLong(checksum(encoded));
+                data.write(encoded, 0, encoded.length);
+            }
+            indexStream.flush();
+
+            writeAtomically(FORMAT_VERSION, index.toByteArray(), data.toByteArray());
+            return true;
+        } catch (final IOException e) {
+            Log.warning(
+                    OptimizeConstants.LOG_TAG,
+                    SELF_TAG,
+                    "save - Failed to persist the cached propositions due to an exception (%s)!",
+                    e.getLocalizedMessage());
+            deleteQuietly(tempFile);
+            return false;
+        }
+    }
+
+    /**
+     * Loads the persisted propositions.
+     *
+     * <p>Only the index is read and verified; the propositions are decoded on demand from the
+     * memory-mapped cache file.
+     *
+     * <p>This method returns an empty snapshot if no cache file exists, or if the cache file is
+     * corrupt, in which case the file is also deleted.
+     *
+     * @return {@link PropositionsSnapshot} containing the persisted propositions.
+     */
+    @NonNull synchronized PropositionsSnapshot load() {
+        if (!cacheFile.exists()) {
+            return emptySnapshot();
+        }
+
+        try {
+            final PropositionsSnapshot snapshot = readSnapshot(mapCacheFile());
+            if (snapshot == null) {
+                Log.warning(
+                        OptimizeConstants.LOG_TAG,
+                        SELF_TAG,
+                        "load - Discarding the persisted propositions, cache file is corrupt or has"
+                                + " an unsupported format.");
+                deleteQuietly(cacheFile);
+                return emptySnapshot();
+            }
+
+            Log.debug(
+                    OptimizeConstants.LOG_TAG,
+                    SELF_TAG,
+                    "load - Loaded (%d) persisted propositions.",
+                    snapshot.size());
+            return snapshot;
+        } catch (final IOException | BufferUnderflowException | IllegalArgumentException e) {
+            Log.warning(
+                    OptimizeConstants.LOG_TAG,
+                    SELF_TAG,
+                    "load - Failed to load the persisted propositions due to an exception (%s)!",
+                    e.getLocalizedMessage());
+            deleteQuietly(cacheFile);
+            return emptySnapshot();
+        }
+    }
+
+    /** Deletes the persisted propositions. */
+    synchronized void clear() {
+        deleteQuietly(tempFile);
+        deleteQuietly(cacheFile);
+    }
+
+    private ByteBuffer mapCacheFile() throws IOException {
+        try (RandomAccessFile file = new RandomAccessFile(cacheFile, "r")) {
+            final FileChannel channel = file.getChannel();
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+    }
+
+    private void writeAtomically(final int version, final byte[] checksummed, final byte[] data)
+            throws IOException {
+        final ByteArrayOutputStream header = new ByteArrayOutputStream();
+        final DataOutputStream headerStream = new DataOutputStream(header);
+        headerStream.writeInt(FILE_MAGIC);
+        headerStream.writeInt(version);
+        headerStream.writeLong(checksum(checksummed));
+        headerStream.writeInt(checksummed.length);
+        headerStream.flush();
+
+        try (FileOutputStream outputStream = new FileOutputStream(tempFile)) {
+            outputStream.write(header.toByteArray());
+            outputStream.write(checksummed);
+            outputStream.write(data);
+            outputStream.flush();
+            outputStream.getFD().sync();
+        }
+
+        if (!tempFile.renameTo(cacheFile)) {
+            throw new IOException("Unable to replace the propositions cache file.");
+        }
+    }
+
+    private static PropositionsSnapshot readSnapshot(final ByteBuffer buffer) {
+        if (buffer.remaining() < HEADER_LENGTH || buffer.getInt() != FILE_MAGIC) {
+            return null;
+        }
+
+        final int version = buffer.getInt();
+        final long expectedChecksum = buffer.getLong();
+        final int length = buffer.getInt();
+        if (length < 0 || length > buffer.remaining()) {
+            return null;
+        }
+
+        final byte[] checksummed = new byte[length];
+        buffer.get(checksummed);
+        if (checksum(checksummed) != expectedChecksum) {
+            return null;
+        }
+
+        if (version != FORMAT_VERSION) {
+            return null;
+        }
+        return readIndex(ByteBuffer.wrap(checksummed), buffer.slice());
+    }
+
+    private static PropositionsSnapshot readIndex(final ByteBuffer index, final ByteBuffer data) {
+        final int count = index.getInt();
+        if (count < 0) {
+            return null;
+        }
+
+        final Map<DecisionScope, PropositionsSnapshot.Entry> entries = new HashMap<>();
+        for (int i = 0; i < count; i++) {
+            final int nameLength = index.getInt();
+            if (nameLength < 0 || nameLength > index.remaining()) {
+                return null;
+            }
+            final byte[] name = new byte[nameLength];
+            index.get(name);
+
+            final int offset = index.getInt();
+            final int length = index.getInt();
+            final long checksum = index.getLong();
+            if (offset < 0 || length < 0 || (long) offset + length > data.capacity()) {
+                return null;
+            }
+            entries.put(
+                    new DecisionScope(new String(name, StandardCharsets.UTF_8)),
+                    new PropositionsSnapshot.Entry(offset, length, checksum));
+        }
+
+        if (index.hasRemaining()) {
+            return null;
+        }
+        return new PropositionsSnapshot(data, entries);
+    }
+
+    private static PropositionsSnapshot emptySnapshot() {
+        return new PropositionsSnapshot(
+                ByteBuffer.allocate(0),
+                Collections.<DecisionScope, PropositionsSnapshot.Entry>emptyMap());
+    }
+
+    private static long checksum(final byte[] bytes) {
+        final CRC32 crc = new CRC32();
+        crc.update(bytes, 0, bytes.length);
+        return crc.getValue();
+    }
+
+    private static void deleteQuietly(final File file) {
+        if (file.exists() && !file.delete()) {
+            Log.debug(
+                    OptimizeConstants.LOG_TAG,
+                    SELF_TAG,
+                    "Unable to delete the file (%s).",
+                    file.getName());
+        }
+    }
+}
@@ -0,0 +1,250 @@
+/*
+  Copyright 2025 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.optimize;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.VisibleForTesting;
+import com.adobe.marketing.mobile.services.Log;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@code PropositionInteractionTracker} collects the display and tap interactions tracked for
+ * {@link Offer}s and dispatches them in the background, merged into a single track propositions
+ * request per interaction type.
+ *
+ * <p>Tracking an interaction only enqueues the offer, the XDM data is generated when the pending
+ * interactions are flushed. They are flushed once {@value
+ * OptimizeConstants#INTERACTIONS_FLUSH_SIZE} interactions are pending, {@value
+ * OptimizeConstants#INTERACTIONS_FLUSH_INTERVAL} ms after the first pending interaction, or when
+ * the app goes to the background. If {@value OptimizeConstants#MAX_PENDING_INTERACTIONS}
+ * interactions are already pending, the interaction is dispatched immediately instead.
+ *
+ * <p>When display deduplication is enabled, the displays of offers already reported as displayed in
+ * the current session are suppressed before being enqueued.
+ */
+class PropositionInteractionTracker {
+
+    private static final String SELF_TAG = "PropositionInteractionTracker";
+
+    private static final PropositionInteractionTracker INSTANCE =
+            new PropositionInteractionTracker();
+
+    private final Queue<Interaction> pendingInteractions = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingInteractionsCount = new AtomicInteger();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    private final DisplayedOffersFilter displayedOffers = new DisplayedOffersFilter();
+    private final AtomicLong suppressedDisplaysCount = new AtomicLong();
+    private volatile boolean displayDeduplicationEnabled;
+    private final Object flushLock = new Object();
+    private ScheduledExecutorService flushScheduler;
+
+    /**
+     * Gets the shared {@code PropositionInteractionTracker} instance.
+     *
+     * @return {@link PropositionInteractionTracker} instance.
+     */
+    static PropositionInteractionTracker getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Enqueues an interaction of the given {@code experienceEventType} for the given {@code offer},
+     * to be dispatched with the next flush.
+     *
+     * @param experienceEventType {@link String} containing the interaction experience event type.
+     * @param offer {@link Offer} the interaction occurred on.
+     */
+    void track(@NonNull final String experienceEventType, @NonNull final Offer offer) {
+        final OptimizeProposition proposition =
+                offer.propositionReference != null ? offer.propositionReference.get() : null;
+        if (proposition == null) {
+            Log.debug(
+                    OptimizeConstants.LOG_TAG,
+                    SELF_TAG,
+                    "Failed to track proposition interaction, the offer (%s) proposition is not"
+                            + " available.",
+                    offer.getId());
+            return;
+        }
+
+        if (displayDeduplicationEnabled
+                && OptimizeConstants.JsonValues.EE_EVENT_TYPE_PROPOSITION_DISPLAY.equals(
+                        experienceEventType)
+                && !displayedOffers.add(proposition.getId(), offer.getId())) {
+            suppressedDisplaysCount.incrementAndGet();
+            Log.trace(
+                    OptimizeConstants.LOG_TAG,
+                    SELF_TAG,
+                    "Suppressing the display of offer (%s), it was already reported as displayed in"
+                            + " the current session.",
+                    offer.getId());
+            return;
+        }
+
+        final int count = pendingInteractionsCount.incrementAndGet();
+        if (count > OptimizeConstants.MAX_PENDING_INTERACTIONS) {
+            pendingInteractionsCount.decrementAndGet();
+            Log.debug(
+                    OptimizeConstants.LOG_TAG,
+                    SELF_TAG,
+                    "Too many pending proposition interactions, dispatching the interaction for"
+                            + " offer (%s) immediately.",
+                    offer.getId());
+            dispatch(
+                    experienceEventType,
+                    Collections.singletonList(
+                            new Interaction(experienceEventType, offer, proposition)));
+            return;
+        }
+        pendingInteractions.offer(new Interaction(experienceEventType, offer, proposition));
+
+        if (count >= OptimizeConstants.INTERACTIONS_FLUSH_SIZE) {
+            getFlushScheduler().execute(this::flush);
+        } else if (flushScheduled.compareAndSet(false, true)) {
+            getFlushScheduler()
+                    .schedule(
+                            this::flush,
+                            OptimizeConstants.INTERACTIONS_FLUSH_INTERVAL,
+                            TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Dispatches the pending interactions, merged into a single track propositions request per
+     * interaction type, in the order the interaction types were first tracked.
+     */
+    void flush() {
+        synchronized (flushLock) {
+            flushScheduled.set(false);
+            final Map<String, List<Interaction>> interactionsByType = new LinkedHashMap<>();
+            Interaction interaction;
+            while ((interaction = pendingInteractions.poll()) != null) {
+                pendingInteractionsCount.decrementAndGet();
+                List<Interaction> interactions =
+                        interactionsByType.get(interaction.experienceEventType);
+                if (interactions == null) {
+                    interactions = new ArrayList<>();
+                    interactionsByType.put(interaction.experienceEventType, interactions);
+                }
+                interactions.add(interaction);
+            }
+
+            for (final Map.Entry<String, List<Interaction>> entry : interactionsByType.entrySet()) {
+                dispatch(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    /**
+     * Dispatches a track propositions request for the given {@code interactions}, with one entry
+     * per proposition containing its distinct interacted offers.
+     */
+    private static void dispatch(
+            @NonNull final String experienceEventType,
+            @NonNull final List<Interaction> interactions) {
+        final Map<String, OptimizeProposition> propositions = new LinkedHashMap<>();
+        final Map<String, Map<String, Offer>> propositionOffers = new LinkedHashMap<>();
+        for (final Interaction interaction : interactions) {
+            final String propositionId = interaction.proposition.getId();
+            Map<String, Offer> offers = propositionOffers.get(propositionId);
+            if (offers == null) {
+                offers = new LinkedHashMap<>();
+                propositions.put(propositionId, interaction.proposition);
+                propositionOffers.put(propositionId, offers);
+            }
+            offers.put(interaction.offer.getId(), interaction.offer);
+        }
+
+        final List<OptimizeProposition> interactedPropositions = new ArrayList<>();
+        for (final Map.Entry<String, OptimizeProposition> entry : propositions.entrySet()) {
+            final OptimizeProposition original = entry.getValue();
+            interactedPropositions.add(
+                    new OptimizeProposition(
+                            original.getId(),
+                            new ArrayList<>(propositionOffers.get(entry.getKey()).values()),
+                            original.getScope(),
+                            original.getScopeDetails(),
+                            original.getActivity(),
+                            original.getPlacement()));
+        }
+        XDMUtils.trackWithData(
+                XDMUtils.generateInteractionXdm(experienceEventType, interactedPropositions));
+    }
+
+    /**
+     * Enables or disables the suppression of displays already reported in the current session.
+     *
+     * @param enabled {@code boolean} indicating whether display deduplication is enabled.
+     */
+    void setDisplayDeduplicationEnabled(final boolean enabled) {
+        displayDeduplicationEnabled = enabled;
+    }
+
+    /** Starts a new session, forgetting the offers reported as displayed so far. */
+    void resetDisplayedOffers() {
+        displayedOffers.clear();
+    }
+
+    /**
+     * Gets the number of displays suppressed because they were already reported in their session.
+     *
+     * @return {@code long} containing the suppressed displays count.
+     */
+    long getSuppressedDisplaysCount() {
+        return suppressedDisplaysCount.get();
+    }
+
+    private synchronized ScheduledExecutorService getFlushScheduler() {
+        if (flushScheduler == null) {
+            flushScheduler = Executors.newSingleThreadScheduledExecutor();
+        }
+        return flushScheduler;
+    }
+
+    @VisibleForTesting
+    synchronized void setFlushScheduler(final ScheduledExecutorService flushScheduler) {
+        this.flushScheduler = flushScheduler;
+    }
+
+    @VisibleForTesting
+    int getPendingInteractionsCount() {
+        return pendingInteractionsCount.get();
+    }
+
+    /** An interaction tracked for an {@link Offer} and its containing proposition. */
+    private static final class Interaction {
+        final String experienceEventType;
+        final Offer offer;
+        final OptimizeProposition proposition;
+
+        Interaction(
+                final String experienceEventType,
+                final Offer offer,
+                final OptimizeProposition proposition) {
+            this.experienceEventType = experienceEventType;
+            this.offer = offer;
+            this.proposition = proposition;
+        }
+    }
+}
@@ -0,0 +1,800 @@
+/*
+  Copyright 2025 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.optimize;
+
+import androidx.annotation.NonNull;
+import com.adobe.marketing.mobile.services.Log;
+import java.util.AbstractMap;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@code PropositionsCache} is the in-memory propositions cache, optionally bounded by an estimated
+ * retained size in bytes.
+ *
+ * <p>When a maximum size is set, the cache is split into a small admission window and a main
+ * segmented LRU region (probation and protected). Propositions leaving the window are only admitted
+ * into the main region if they are accessed more frequently than the main region's eviction victim,
+ * as estimated by a count-min frequency sketch (W-TinyLFU). This keeps popular scopes cached while
+ * one-off scopes are evicted first. Without a maximum size, the cache is unbounded.
+ *
+ * <p>Every modification publishes an immutable {@link Snapshot} of the cached propositions with an
+ * increasing generation number. Readers use the latest snapshot without locking and get a
+ * consistent view across scopes, as an update of several scopes is published as a single
+ * generation. Accesses made through a snapshot are recorded in a bounded buffer and applied to the
+ * eviction policy on the next modification.
+ *
+ * <p>Modifications and {@link #get(Object)} are synchronized on the cache instance. The views
+ * returned by {@link #entrySet()}, {@link #keySet()} and {@link #values()} are backed by the latest
+ * snapshot, so they can be iterated while the cache is modified.
+ */
+class PropositionsCache extends AbstractMap<DecisionScope, OptimizeProposition> {
+
+    private static final String SELF_TAG = "PropositionsCache";
+
+    // Percentage of the maximum size used by the admission window.
+    private static final int WINDOW_PERCENT = 1;
+
+    // Percentage of the main region size used by the protected segment.
+    private static final int PROTECTED_PERCENT = 80;
+
+    // Approximate retained sizes, in bytes, used to estimate the size of a proposition.
+    private static final int OBJECT_SIZE = 16;
+    private static final int REFERENCE_SIZE = 8;
+    private static final int STRING_SIZE = 40;
+    private static final int MAP_SIZE = 48;
+    private static final int MAP_ENTRY_SIZE = 32;
+    private static final int LIST_SIZE = 40;
+    private static final int PROPOSITION_SIZE = OBJECT_SIZE + 7 * REFERENCE_SIZE + 8;
+    private static final int OFFER_SIZE = OBJECT_SIZE + 9 * REFERENCE_SIZE + 8;
+
+    // Maximum number of snapshot accesses buffered before being applied to the eviction policy,
+    // further accesses are dropped until the buffer is drained.
+    private static final int READ_BUFFER_SIZE = 128;
+
+    private final Map<DecisionScope, Node> nodes = new HashMap<>();
+    private final AccessOrderList window = new AccessOrderList();
+    private final AccessOrderList probation = new AccessOrderList();
+    private final AccessOrderList protectedSegment = new AccessOrderList();
+    private final FrequencySketch sketch = new FrequencySketch();
+    private final Queue<DecisionScope> readBuffer = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger readBufferCount = new AtomicInteger();
+
+    private volatile Snapshot snapshot = new Snapshot(0, Collections.emptyMap());
+    private volatile long maxSizeInBytes;
+    private long sizeInBytes;
+    private long evictionCount;
+    private boolean modified;
+
+    /** Immutable view of the cached propositions at a given generation of the cache. */
+    static final class Snapshot {
+        private final long generation;
+        private final Map<DecisionScope, OptimizeProposition> propositions;
+
+        Snapshot(
+                final long generation, final Map<DecisionScope, OptimizeProposition> propositions) {
+            this.generation = generation;
+            this.propositions = propositions;
+        }
+
+        /**
+         * Gets the generation of the cache this snapshot was published at.
+         *
+         * @return {@code long} containing the generation number.
+         */
+        long getGeneration() {
+            return generation;
+        }
+
+        /**
+         * Gets the cached propositions in this snapshot.
+         *
+         * @return unmodifiable {@code Map<DecisionScope, OptimizeProposition>} of the cached
+         *     propositions.
+         */
+        Map<DecisionScope, OptimizeProposition> getPropositions() {
+            return propositions;
+        }
+
+        /**
+         * Gets the cached proposition for the given {@code scope} in this snapshot.
+         *
+         * @param scope {@link DecisionScope} for which the proposition is requested.
+         * @return {@link OptimizeProposition} object or null.
+         */
+        OptimizeProposition get(final DecisionScope scope) {
+            return propositions.get(scope);
+        }
+    }
+
+    /** Region of the cache holding a proposition. */
+    private enum Region {
+        WINDOW,
+        PROBATION,
+        PROTECTED
+    }
+
+    /** Cached proposition, linked in the access order list of its region. */
+    private static final class Node {
+        final DecisionScope scope;
+        OptimizeProposition proposition;
+        long size;
+        Region region;
+        Node previous;
+        Node next;
+
+        Node(final DecisionScope scope, final OptimizeProposition proposition, final long size) {
+            this.scope = scope;
+            this.proposition = proposition;
+            this.size = size;
+            this.region = Region.WINDOW;
+        }
+    }
+
+    /** Doubly linked list of nodes from least to most recently used, with their total size. */
+    private static final class AccessOrderList {
+        Node head;
+        Node tail;
+        long size;
+
+        void addLast(final Node node) {
+            node.previous = tail;
+            node.next = null;
+            if (tail == null) {
+                head = node;
+            } else {
+                tail.next = node;
+            }
+            tail = node;
+            size += node.size;
+        }
+
+        void remove(final Node node) {
+            if (node.previous == null) {
+                head = node.next;
+            } else {
+                node.previous.next = node.next;
+            }
+            if (node.next == null) {
+                tail = node.previous;
+            } else {
+                node.next.previous = node.previous;
+            }
+            node.previous = null;
+            node.next = null;
+            size -= node.size;
+        }
+
+        void moveToLast(final Node node) {
+            if (node != tail) {
+                remove(node);
+                addLast(node);
+            }
+        }
+
+        void clear() {
+            head = null;
+            tail = null;
+            size = 0;
+        }
+    }
+
+    /**
+     * Count-min sketch estimating the access frequency of the cached scopes, with 4-bit counters
+     * which are halved periodically so that the estimates favor recent accesses.
+     */
+    static final class FrequencySketch {
+        private static final int DEPTH = 4;
+        private static final int MIN_WIDTH = 256;
+        private static final int MAX_COUNT = 15;
+        private static final int SAMPLE_FACTOR = 10;
+        private static final int[] SEEDS = {0x97cb3127, 0xb3f47b4d, 0x7f4a7c15, 0x61c88647};
+
+        private byte[][] table = new byte[DEPTH][MIN_WIDTH];
+        private int additions;
+
+        /**
+         * Grows the sketch, if needed, to accurately estimate the frequency of {@code size} keys.
+         * Growing the sketch resets the recorded frequencies.
+         *
+         * @param size {@code int} containing the number of keys.
+         */
+        void ensureCapacity(final int size) {
+            final int width = table[0].length;
+            if (size <= width) {
+                return;
+            }
+            int newWidth = width;
+            while (newWidth < size && newWidth < (1 << 30)) {
+                newWidth <<= 1;
+            }
+            table = new byte[DEPTH][newWidth];
+            additions = 0;
+        }
+
+        /**
+         * Gets the estimated access frequency of the given {@code key}.
+         *
+         * @param key {@link Object} to look up.
+         * @return {@code int} containing the estimated frequency, at most 15.
+         */
+        int frequency(final Object key) {
+            final int hash = spread(key.hashCode());
+            int frequency = MAX_COUNT;
+            for (int i = 0; i < DEPTH; i++) {
+                frequency = Math.min(frequency, table[i][indexOf(hash, i)]);
+            }
+            return frequency;
+        }
+
+        /**
+         * Records an access to the given {@code key}.
+         *
+         * @param key {@link Object} accessed.
+         */
+        void increment(final Object key) {
+            final int hash = spread(key.hashCode());
+            boolean added = false;
+            for (int i = 0; i < DEPTH; i++) {
+                final int index = indexOf(hash, i);
+                if (table[i][index] < MAX_COUNT) {
+                    table[i][index]++;
+                    added = true;
+                }
+            }
+            if (added && ++additions >= SAMPLE_FACTOR * table[0].length) {
+                reset();
+            }
+        }
+
+        private void reset() {
+            for (final byte[] row : table) {
+                for (int i = 0; i < row.length; i++) {
+                    row[i] >>= 1;
+                }
+            }
+            additions >>= 1;
+        }
+
+        private int indexOf(final int hash, final int row) {
+            int h = hash * SEEDS[row];
+            h ^= h >>> 16;
+            return h & (table[row].length - 1);
+        }
+
+        private static int spread(final int hashCode) {
+            int h = hashCode * 0x9e3779b9;
+            return h ^ (h >>> 16);
+        }
+    }
+
+    /**
+     * Sets the maximum estimated size of the cached propositions, evicting propositions if the
+     * cache currently exceeds it.
+     *
+     * @param maxSizeInBytes {@code long} containing the maximum size in bytes, or 0 if the cache is
+     *     unbounded.
+     */
+    synchronized void setMaxSizeInBytes(final long maxSizeInBytes) {
+        final long newMaxSizeInBytes = Math.max(maxSizeInBytes, 0);
+        if (newMaxSizeInBytes == this.maxSizeInBytes) {
+            return;
+        }
+        this.maxSizeInBytes = newMaxSizeInBytes;
+        drainReadBuffer();
+        sketch.ensureCapacity(nodes.size());
+        evictIfNeeded();
+        publishIfModified();
+    }
+
+    /**
+     * Gets the maximum estimated size of the cached propositions.
+     *
+     * @return {@code long} containing the maximum size in bytes, or 0 if the cache is unbounded.
+     */
+    synchronized long getMaxSizeInBytes() {
+        return maxSizeInBytes;
+    }
+
+    /**
+     * Gets the estimated retained size of the cached propositions.
+     *
+     * @return {@code long} containing the estimated size in bytes.
+     */
+    synchronized long getSizeInBytes() {
+        return sizeInBytes;
+    }
+
+    /**
+     * Gets the number of propositions evicted from the cache since it was created.
+     *
+     * @return {@code long} containing the eviction count.
+     */
+    synchronized long getEvictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * Gets the latest published snapshot of the cached propositions, without locking.
+     *
+     * @return {@link Snapshot} of the cached propositions.
+     */
+    Snapshot getSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Gets the current generation of the cache, incremented every time the cached propositions
+     * change.
+     *
+     * @return {@code long} containing the generation number.
+     */
+    long getGeneration() {
+        return snapshot.generation;
+    }
+
+    /**
+     * Checks whether the cached propositions have changed since the given {@code generation}.
+     *
+     * @param generation {@code long} containing a generation previously returned by {@link
+     *     #getGeneration()} or {@link Snapshot#getGeneration()}.
+     * @return {@code boolean} indicating whether a newer generation has been published.
+     */
+    boolean hasChangedSince(final long generation) {
+        return snapshot.generation != generation;
+    }
+
+    /**
+     * Records an access to the cached proposition for the given {@code scope} made through a {@link
+     * Snapshot}, without locking.
+     *
+     * <p>The access is applied to the eviction policy on the next modification of the cache. If the
+     * cache is unbounded, or too many accesses are pending, the access is not recorded.
+     *
+     * @param scope {@link DecisionScope} accessed.
+     */
+    void recordAccess(@NonNull final DecisionScope scope) {
+        if (!isBounded()) {
+            return;
+        }
+        if (readBufferCount.incrementAndGet() > READ_BUFFER_SIZE) {
+            readBufferCount.decrementAndGet();
+            return;
+        }
+        readBuffer.offer(scope);
+    }
+
+    /**
+     * Updates the cache with the given {@code propositions} and removes the propositions for the
+     * given {@code removedScopes}, publishing the changes as a single generation.
+     *
+     * @param propositions {@code Map<DecisionScope, OptimizeProposition>} to be cached.
+     * @param removedScopes {@code Collection<DecisionScope>} for which the cached propositions are
+     *     removed.
+     */
+    synchronized void update(
+            @NonNull final Map<DecisionScope, OptimizeProposition> propositions,
+            @NonNull final Collection<DecisionScope> removedScopes) {
+        drainReadBuffer();
+        for (final Map.Entry<DecisionScope, OptimizeProposition> entry : propositions.entrySet()) {
+            putInternal(entry.getKey(), entry.getValue());
+        }
+        for (final DecisionScope scope : removedScopes) {
+            removeInternal(scope);
+        }
+        publishIfModified();
+    }
+
+    /**
+     * Removes the propositions expired at the given {@code time}, publishing the changes as a
+     * single generation.
+     *
+     * @param time {@code long} containing the time in milliseconds since epoch.
+     * @return {@code int} containing the number of removed propositions.
+     */
+    synchronized int removeExpired(final long time) {
+        int removedCount = 0;
+        for (final Map.Entry<DecisionScope, OptimizeProposition> entry :
+                snapshot.propositions.entrySet()) {
+            if (entry.getValue().isExpiredAt(time)) {
+                removeInternal(entry.getKey());
+                removedCount++;
+            }
+        }
+        publishIfModified();
+        return removedCount;
+    }
+
+    @Override
+    public synchronized OptimizeProposition get(final Object key) {
+        drainReadBuffer();
+        final Node node = nodes.get(key);
+        if (isBounded() && key != null) {
+            sketch.increment(key);
+        }
+        if (node == null) {
+            return null;
+        }
+        onAccess(node);
+        return node.proposition;
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        return snapshot.propositions.containsKey(key);
+    }
+
+    @Override
+    public synchronized OptimizeProposition put(
+            @NonNull final DecisionScope scope, @NonNull final OptimizeProposition proposition) {
+        drainReadBuffer();
+        final OptimizeProposition previousProposition = putInternal(scope, proposition);
+        publishIfModified();
+        return previousProposition;
+    }
+
+    @Override
+    public synchronized void putAll(
+            @NonNull final Map<? extends DecisionScope, ? extends OptimizeProposition>
+                            propositions) {
+        drainReadBuffer();
+        for (final Map.Entry<? extends DecisionScope, ? extends OptimizeProposition> entry :
+                propositions.entrySet()) {
+            putInternal(entry.getKey(), entry.getValue());
+        }
+        publishIfModified();
+    }
+
+    @Override
+    public synchronized OptimizeProposition putIfAbsent(
+            @NonNull final DecisionScope scope, @NonNull final OptimizeProposition proposition) {
+        final Node node = nodes.get(scope);
+        if (node != null) {
+            return node.proposition;
+        }
+        return put(scope, proposition);
+    }
+
+    /**
+     * Caches the given {@code propositions} for the scopes without a cached proposition, publishing
+     * the changes as a single generation.
+     *
+     * @param propositions {@code Map<DecisionScope, OptimizeProposition>} to be cached if absent.
+     * @return {@code Map<DecisionScope, OptimizeProposition>} containing the propositions cached
+     *     for the given scopes, either previously cached or added.
+     */
+    synchronized Map<DecisionScope, OptimizeProposition> putAllIfAbsent(
+            @NonNull final Map<DecisionScope, OptimizeProposition> propositions) {
+        drainReadBuffer();
+        final Map<DecisionScope, OptimizeProposition> cachedPropositions =
+                new HashMap<>(propositions.size() * 4 / 3 + 1);
+        for (final Map.Entry<DecisionScope, OptimizeProposition> entry : propositions.entrySet()) {
+            final Node node = nodes.get(entry.getKey());
+            if (node != null) {
+                cachedPropositions.put(entry.getKey(), node.proposition);
+            } else {
+                putInternal(entry.getKey(), entry.getValue());
+                cachedPropositions.put(entry.getKey(), entry.getValue());
+            }
+        }
+        publishIfModified();
+        return cachedPropositions;
+    }
+
+    /**
+     * Removes the given {@code propositions} which are still cached for their scopes, publishing
+     * the changes as a single generation.
+     *
+     * @param propositions {@code Map<DecisionScope, OptimizeProposition>} to be removed.
+     */
+    synchronized void removeAll(
+            @NonNull final Map<DecisionScope, OptimizeProposition> propositions) {
+        for (final Map.Entry<DecisionScope, OptimizeProposition> entry : propositions.entrySet()) {
+            final Node node = nodes.get(entry.getKey());
+            if (node != null && Objects.equals(node.proposition, entry.getValue())) {
+                removeInternal(entry.getKey());
+            }
+        }
+        publishIfModified();
+    }
+
+    @Override
+    public synchronized OptimizeProposition remove(final Object key) {
+        final OptimizeProposition proposition = removeInternal(key);
+        publishIfModified();
+        return proposition;
+    }
+
+    @Override
+    public synchronized boolean remove(final Object key, final Object value) {
+        final Node node = nodes.get(key);
+        if (node == null || !Objects.equals(node.proposition, value)) {
+            return false;
+        }
+        removeInternal(key);
+        publishIfModified();
+        return true;
+    }
+
+    @Override
+    public int size() {
+        return snapshot.propositions.size();
+    }
+
+    @Override
+    public synchronized void clear() {
+        if (nodes.isEmpty()) {
+            return;
+        }
+        nodes.clear();
+        window.clear();
+        probation.clear();
+        protectedSegment.clear();
+        sizeInBytes = 0;
+        modified = true;
+        publishIfModified();
+    }
+
+    @NonNull @Override
+    public Set<Entry<DecisionScope, OptimizeProposition>> entrySet() {
+        return snapshot.propositions.entrySet();
+    }
+
+    private OptimizeProposition putInternal(
+            @NonNull final DecisionScope scope, @NonNull final OptimizeProposition proposition) {
+        modified = true;
+        if (isBounded()) {
+            sketch.ensureCapacity(nodes.size() + 1);
+            sketch.increment(scope);
+        }
+
+        final long size = estimateSize(proposition);
+        final Node node = nodes.get(scope);
+        if (node != null) {
+            final OptimizeProposition previousProposition = node.proposition;
+            listOf(node.region).size += size - node.size;
+            sizeInBytes += size - node.size;
+            node.size = size;
+            node.proposition = proposition;
+            onAccess(node);
+            evictIfNeeded();
+            return previousProposition;
+        }
+
+        final Node newNode = new Node(scope, proposition, size);
+        nodes.put(scope, newNode);
+        window.addLast(newNode);
+        sizeInBytes += size;
+        evictIfNeeded();
+        return null;
+    }
+
+    private OptimizeProposition removeInternal(final Object key) {
+        final Node node = nodes.remove(key);
+        if (node == null) {
+            return null;
+        }
+        unlink(node);
+        modified = true;
+        return node.proposition;
+    }
+
+    /** Publishes a new snapshot of the cached propositions if the cache has been modified. */
+    private void publishIfModified() {
+        if (!modified) {
+            return;
+        }
+        modified = false;
+
+        final Map<DecisionScope, OptimizeProposition> propositions =
+                new HashMap<>(nodes.size() * 4 / 3 + 1);
+        for (final Node node : nodes.values()) {
+            propositions.put(node.scope, node.proposition);
+        }
+        snapshot = new Snapshot(snapshot.generation + 1, Collections.unmodifiableMap(propositions));
+    }
+
+    /** Applies the accesses recorded through snapshots to the eviction policy. */
+    private void drainReadBuffer() {
+        DecisionScope scope;
+        while ((scope = readBuffer.poll()) != null) {
+            readBufferCount.decrementAndGet();
+            if (!isBounded()) {
+                continue;
+            }
+            sketch.increment(scope);
+            final Node node = nodes.get(scope);
+            if (node != null) {
+                onAccess(node);
+            }
+        }
+    }
+
+    /**
+     * Estimates the retained size of the given {@code proposition}, including its offers content,
+     * meta and characteristics.
+     *
+     * @param proposition {@link OptimizeProposition} to be measured.
+     * @return {@code long} containing the estimated size in bytes.
+     */
+    static long estimateSize(@NonNull final OptimizeProposition proposition) {
+        long size = PROPOSITION_SIZE;
+        size += estimateValueSize(proposition.getId());
+        size += estimateValueSize(proposition.getScope());
+        size += estimateValueSize(proposition.getScopeDetails());
+        size += estimateValueSize(proposition.getActivity());
+        size += estimateValueSize(proposition.getPlacement());
+
+        final List<Offer> offers = proposition.getOffers();
+        if (offers != null) {
+            size += LIST_SIZE + (long) offers.size() * REFERENCE_SIZE;
+            for (final Offer offer : offers) {
+                size += OFFER_SIZE;
+                size += estimateValueSize(offer.getId());
+                size += estimateValueSize(offer.getEtag());
+                size += estimateValueSize(offer.getSchema());
+                size += estimateValueSize(offer.getContentValue());
+                size += estimateValueSize(offer.getLanguage());
+                size += estimateValueSize(offer.getCharacteristics());
+                size += estimateValueSize(offer.getMeta());
+            }
+        }
+        return size;
+    }
+
+    private static long estimateValueSize(final Object value) {
+        if (value == null) {
+            return 0;
+        }
+        if (value instanceof String) {
+            return STRING_SIZE + 2L * ((String) value).length();
+        }
+        if (value instanceof byte[]) {
+            return OBJECT_SIZE + ((byte[]) value).length;
+        }
+        if (value instanceof Map) {
+            long size = MAP_SIZE;
+            for (final Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                size += MAP_ENTRY_SIZE;
+                size += estimateValueSize(entry.getKey());
+                size += estimateValueSize(entry.getValue());
+            }
+            return size;
+        }
+        if (value instanceof List) {
+            long size = LIST_SIZE;
+            for (final Object element : (List<?>) value) {
+                size += REFERENCE_SIZE + estimateValueSize(element);
+            }
+            return size;
+        }
+        return OBJECT_SIZE + REFERENCE_SIZE;
+    }
+
+    private boolean isBounded() {
+        return maxSizeInBytes > 0;
+    }
+
+    private AccessOrderList listOf(final Region region) {
+        switch (region) {
+            case PROBATION:
+                return probation;
+            case PROTECTED:
+                return protectedSegment;
+            default:
+                return window;
+        }
+    }
+
+    private void unlink(final Node node) {
+        listOf(node.region).remove(node);
+        sizeInBytes -= node.size;
+    }
+
+    private void onAccess(final Node node) {
+        if (!isBounded() || node.region != Region.PROBATION) {
+            listOf(node.region).moveToLast(node);
+            return;
+        }
+
+        // promote the accessed proposition to the protected segment, demoting its least recently
+        // used propositions to the probation segment if it overflows.
+        probation.remove(node);
+        node.region = Region.PROTECTED;
+        protectedSegment.addLast(node);
+
+        final long maxProtectedSize = mainRegionMaxSize() * PROTECTED_PERCENT / 100;
+        while (protectedSegment.size > maxProtectedSize && protectedSegment.head != node) {
+            final Node demoted = protectedSegment.head;
+            protectedSegment.remove(demoted);
+            demoted.region = Region.PROBATION;
+            probation.addLast(demoted);
+        }
+    }
+
+    private long mainRegionMaxSize() {
+        return maxSizeInBytes - maxSizeInBytes * WINDOW_PERCENT / 100;
+    }
+
+    /**
+     * Evicts propositions until the cache size is within the maximum size.
+     *
+     * <p>Propositions overflowing the admission window become candidates in the probation segment.
+     * Each candidate is then compared with the least recently used proposition of the main region,
+     * and the one with the lower estimated access frequency is evicted.
+     */
+    private void evictIfNeeded() {
+        if (!isBounded()) {
+            return;
+        }
+
+        final long maxWindowSize = maxSizeInBytes * WINDOW_PERCENT / 100;
+        Node candidate = null;
+        while (window.size > maxWindowSize && window.head != null) {
+            final Node node = window.head;
+            window.remove(node);
+            node.region = Region.PROBATION;
+            probation.addLast(node);
+            if (candidate == null) {
+                candidate = node;
+            }
+        }
+
+        while (sizeInBytes > maxSizeInBytes) {
+            Node victim;
+            if (probation.head != candidate) {
+                victim = probation.head;
+            } else if (protectedSegment.head != null) {
+                victim = protectedSegment.head;
+            } else {
+                victim = window.head;
+            }
+
+            // all the main region propositions are candidates, the oldest one becomes the victim.
+            if (victim == null) {
+                victim = candidate;
+                candidate = candidate.next;
+            }
+
+            if (candidate == null
+                    || sketch.frequency(candidate.scope) > sketch.frequency(victim.scope)) {
+                evict(victim);
+            } else {
+                final Node nextCandidate = candidate.next;
+                evict(candidate);
+                candidate = nextCandidate;
+            }
+        }
+    }
+
+    private void evict(final Node node) {
+        nodes.remove(node.scope);
+        unlink(node);
+        evictionCount++;
+        modified = true;
+        Log.trace(
+                OptimizeConstants.LOG_TAG,
+                SELF_TAG,
+                "Evicted the cached proposition for scope (%s), cache size is %d of %d bytes.",
+                node.scope.getName(),
+                sizeInBytes,
+                maxSizeInBytes);
+    }
+}
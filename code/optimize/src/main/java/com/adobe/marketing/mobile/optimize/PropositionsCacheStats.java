@@ -0,0 +1,132 @@
+/*
+  Copyright 2025 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.optimize;
+
+import com.adobe.marketing.mobile.util.DataReader;
+import java.util.HashMap;
+import java.util.Map;
+
+/** {@code PropositionsCacheStats} contains the statistics of the in-memory propositions cache. */
+public class PropositionsCacheStats {
+
+    private final int propositionCount;
+    private final long sizeInBytes;
+    private final long maxSizeInBytes;
+    private final long evictionCount;
+    private final long generation;
+
+    /**
+     * Constructor creates a {@code PropositionsCacheStats} using the provided {@code
+     * propositionCount}, {@code sizeInBytes}, {@code maxSizeInBytes}, {@code evictionCount} and
+     * {@code generation}.
+     *
+     * @param propositionCount {@code int} containing the number of cached propositions.
+     * @param sizeInBytes {@code long} containing the estimated size of the cached propositions.
+     * @param maxSizeInBytes {@code long} containing the maximum size of the cache.
+     * @param evictionCount {@code long} containing the number of evicted propositions.
+     * @param generation {@code long} containing the generation of the cached propositions.
+     */
+    PropositionsCacheStats(
+            final int propositionCount,
+            final long sizeInBytes,
+            final long maxSizeInBytes,
+            final long evictionCount,
+            final long generation) {
+        this.propositionCount = propositionCount;
+        this.sizeInBytes = sizeInBytes;
+        this.maxSizeInBytes = maxSizeInBytes;
+        this.evictionCount = evictionCount;
+        this.generation = generation;
+    }
+
+    /**
+     * Gets the number of cached propositions.
+     *
+     * @return {@code int} containing the number of cached propositions.
+     */
+    public int getPropositionCount() {
+        return propositionCount;
+    }
+
+    /**
+     * Gets the estimated retained size of the cached propositions, including their offers content,
+     * meta and characteristics.
+     *
+     * @return {@code long} containing the estimated size in bytes.
+     */
+    public long getSizeInBytes() {
+        return sizeInBytes;
+    }
+
+    /**
+     * Gets the maximum size of the cache, as set in the {@code optimize.propositionsCacheMaxSize}
+     * configuration.
+     *
+     * @return {@code long} containing the maximum size in bytes, or 0 if the cache is unbounded.
+     */
+    public long getMaxSizeInBytes() {
+        return maxSizeInBytes;
+    }
+
+    /**
+     * Gets the number of propositions evicted from the cache to keep it within its maximum size.
+     *
+     * @return {@code long} containing the eviction count.
+     */
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * Gets the generation of the cached propositions, incremented every time propositions are added
+     * to, updated in or removed from the cache.
+     *
+     * <p>Comparing the generation with one returned previously tells whether the cached
+     * propositions have changed in between.
+     *
+     * @return {@code long} containing the generation number.
+     */
+    public long getGeneration() {
+        return generation;
+    }
+
+    /**
+     * Creates a {@code PropositionsCacheStats} object using information provided in {@code data}
+     * map.
+     *
+     * @param data {@code Map<String, Object>} containing the cache statistics.
+     * @return {@code PropositionsCacheStats} object.
+     */
+    static PropositionsCacheStats fromEventData(final Map<String, Object> data) {
+        return new PropositionsCacheStats(
+                DataReader.optInt(data, OptimizeConstants.CacheStatsKeys.PROPOSITION_COUNT, 0),
+                DataReader.optLong(data, OptimizeConstants.CacheStatsKeys.SIZE, 0),
+                DataReader.optLong(data, OptimizeConstants.CacheStatsKeys.MAX_SIZE, 0),
+                DataReader.optLong(data, OptimizeConstants.CacheStatsKeys.EVICTION_COUNT, 0),
+                DataReader.optLong(data, OptimizeConstants.CacheStatsKeys.GENERATION, 0));
+    }
+
+    /**
+     * Creates a {@code Map<String, Object>} using this {@code PropositionsCacheStats}'s attributes.
+     *
+     * @return {@code Map<String, Object>} containing the cache statistics.
+     */
+    Map<String, Object> toEventData() {
+        final Map<String, Object> data = new HashMap<>();
+        data.put(OptimizeConstants.CacheStatsKeys.PROPOSITION_COUNT, propositionCount);
+        data.put(OptimizeConstants.CacheStatsKeys.SIZE, sizeInBytes);
+        data.put(OptimizeConstants.CacheStatsKeys.MAX_SIZE, maxSizeInBytes);
+        data.put(OptimizeConstants.CacheStatsKeys.EVICTION_COUNT, evictionCount);
+        data.put(OptimizeConstants.CacheStatsKeys.GENERATION, generation);
+        return data;
+    }
+}
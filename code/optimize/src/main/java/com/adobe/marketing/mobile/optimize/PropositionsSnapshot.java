@@ -0,0 +1,413 @@
+/*
+  Copyright 2025 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.optimize;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import com.adobe.marketing.mobile.services.Log;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32;
+import org.json.JSONObject;
+
+/**
+ * {@code PropositionsSnapshot} provides lazy access to propositions stored in the binary snapshot
+ * format.
+ *
+ * <p>The snapshot holds an index of the persisted scopes, each pointing to the encoded proposition
+ * bytes in a (typically memory-mapped) buffer. A proposition is only decoded into an {@link
+ * OptimizeProposition} object when it is requested, and its checksum is verified at that time.
+ */
+class PropositionsSnapshot {
+
+    private static final String SELF_TAG = "PropositionsSnapshot";
+
+    // Value type tags used in the binary encoding
+    private static final byte TYPE_NULL = 0;
+    private static final byte TYPE_STRING = 1;
+    private static final byte TYPE_BOOLEAN = 2;
+    private static final byte TYPE_INT = 3;
+    private static final byte TYPE_LONG = 4;
+    private static final byte TYPE_DOUBLE = 5;
+    private static final byte TYPE_MAP = 6;
+    private static final byte TYPE_LIST = 7;
+
+    private static final int NULL_LENGTH = -1;
+
+    private final ByteBuffer buffer;
+    private final Map<DecisionScope, Entry> entries;
+
+    /** Location of an encoded proposition in the snapshot buffer. */
+    static final class Entry {
+        final int offset;
+        final int length;
+        final long checksum;
+
+        Entry(final int offset, final int length, final long checksum) {
+            this.offset = offset;
+            this.length = length;
+            this.checksum = checksum;
+        }
+    }
+
+    /**
+     * Constructor creates a {@code PropositionsSnapshot} using the provided {@code buffer} and
+     * per-scope {@code entries} index.
+     *
+     * @param buffer {@link ByteBuffer} containing the encoded propositions.
+     * @param entries {@code Map<DecisionScope, Entry>} containing the location of each encoded
+     *     proposition in the {@code buffer}.
+     */
+    PropositionsSnapshot(
+            @NonNull final ByteBuffer buffer, @NonNull final Map<DecisionScope, Entry> entries) {
+        this.buffer = buffer;
+        this.entries = new ConcurrentHashMap<>(entries);
+    }
+
+    /**
+     * Gets the scopes contained in this snapshot.
+     *
+     * @return {@code Set<DecisionScope>} containing the snapshot scopes.
+     */
+    @NonNull Set<DecisionScope> getScopes() {
+        return Collections.unmodifiableSet(entries.keySet());
+    }
+
+    /**
+     * Checks whether this snapshot contains a proposition for the given {@code scope}.
+     *
+     * @param scope {@link DecisionScope} to look up.
+     * @return {@code boolean} indicating whether the scope is contained in this snapshot.
+     */
+    boolean contains(@NonNull final DecisionScope scope) {
+        return entries.containsKey(scope);
+    }
+
+    /**
+     * Gets the number of propositions contained in this snapshot.
+     *
+     * @return {@code int} containing the snapshot size.
+     */
+    int size() {
+        return entries.size();
+    }
+
+    /**
+     * Removes the proposition for the given {@code scope} from this snapshot.
+     *
+     * @param scope {@link DecisionScope} to be removed.
+     */
+    void remove(@NonNull final DecisionScope scope) {
+        entries.remove(scope);
+    }
+
+    /**
+     * Decodes the proposition for the given {@code scope}.
+     *
+     * <p>If the encoded proposition fails the checksum verification or cannot be decoded, it is
+     * removed from this snapshot and null is returned.
+     *
+     * @param scope {@link DecisionScope} to look up.
+     * @return {@link OptimizeProposition} object or null.
+     */
+    @Nullable OptimizeProposition get(@NonNull final DecisionScope scope) {
+        final byte[] encoded = getEncoded(scope);
+        if (encoded == null) {
+            return null;
+        }
+
+        try {
+            return decode(ByteBuffer.wrap(encoded));
+        } catch (final BufferUnderflowException | IllegalArgumentException e) {
+            Log.warning(
+                    OptimizeConstants.LOG_TAG,
+                    SELF_TAG,
+                    "get - Discarding the persisted proposition for scope (%s), it cannot be"
+                            + " decoded.",
+                    scope.getName());
+            entries.remove(scope);
+            return null;
+        }
+    }
+
+    /**
+     * Decodes all propositions contained in this snapshot.
+     *
+     * @return {@code Map<DecisionScope, OptimizeProposition>} containing the decoded propositions.
+     */
+    @NonNull Map<DecisionScope, OptimizeProposition> getAll() {
+        final Map<DecisionScope, OptimizeProposition> propositions = new HashMap<>();
+        for (final DecisionScope scope : entries.keySet()) {
+            final OptimizeProposition proposition = get(scope);
+            if (proposition != null) {
+                propositions.put(scope, proposition);
+            }
+        }
+        return propositions;
+    }
+
+    /**
+     * Gets the verified encoded bytes of the proposition for the given {@code scope}.
+     *
+     * <p>If the encoded proposition fails the checksum verification, it is removed from this
+     * snapshot and null is returned.
+     *
+     * @param scope {@link DecisionScope} to look up.
+     * @return {@code byte[]} containing the encoded proposition or null.
+     */
+    @Nullable byte[] getEncoded(@NonNull final DecisionScope scope) {
+        final Entry entry = entries.get(scope);
+        if (entry == null) {
+            return null;
+        }
+
+        final byte[] encoded = new byte[entry.length];
+        final ByteBuffer source = buffer.duplicate();
+        source.position(entry.offset);
+        source.get(encoded);
+
+        final CRC32 crc = new CRC32();
+        crc.update(encoded, 0, encoded.length);
+        if (crc.getValue() != entry.checksum) {
+            Log.warning(
+                    OptimizeConstants.LOG_TAG,
+                    SELF_TAG,
+                    "getEncoded - Discarding the persisted proposition for scope (%s), checksum"
+                            + " verification failed.",
+                    scope.getName());
+            entries.remove(scope);
+            return null;
+        }
+        return encoded;
+    }
+
+    /**
+     * Encodes the given {@code proposition} in the binary snapshot format.
+     *
+     * @param proposition {@link OptimizeProposition} to be encoded.
+     * @return {@code byte[]} containing the encoded proposition.
+     * @throws IOException if the proposition cannot be encoded.
+     */
+    static byte[] encode(@NonNull final OptimizeProposition proposition) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final DataOutputStream output = new DataOutputStream(bytes);
+
+        writeString(output, proposition.getId());
+        writeString(output, proposition.getScope());
+        output.writeLong(proposition.getExpiryTime());
+        writeValue(output, proposition.getScopeDetails());
+        writeValue(output, proposition.getActivity());
+        writeValue(output, proposition.getPlacement());
+
+        final List<Offer> offers = proposition.getOffers();
+        output.writeInt(offers.size());
+        for (final Offer offer : offers) {
+            writeString(output, offer.getId());
+            writeString(output, offer.getEtag());
+            output.writeDouble(offer.getScore());
+            writeString(output, offer.getSchema());
+            writeValue(output, offer.getMeta());
+            writeString(output, offer.getType().name());
+            writeString(output, offer.getContent());
+            writeValue(output, offer.getLanguage());
+            writeValue(output, offer.getCharacteristics());
+        }
+
+        output.flush();
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Decodes a proposition encoded in the binary snapshot format.
+     *
+     * @param input {@link ByteBuffer} containing the encoded proposition.
+     * @return {@link OptimizeProposition} object.
+     * @throws BufferUnderflowException if the encoded proposition is truncated.
+     * @throws IllegalArgumentException if the encoded proposition is malformed.
+     */
+    @SuppressWarnings("unchecked")
+    static OptimizeProposition decode(@NonNull final ByteBuffer input) {
+        final String id = readString(input);
+        final String scope = readString(input);
+        final long expiryTime = input.getLong();
+        final Map<String, Object> scopeDetails = (Map<String, Object>) readMapValue(input);
+        final Map<String, Object> activity = (Map<String, Object>) readMapValue(input);
+        final Map<String, Object> placement = (Map<String, Object>) readMapValue(input);
+
+        final int offersCount = readCount(input);
+        final List<Offer> offers = new ArrayList<>(offersCount);
+        for (int i = 0; i < offersCount; i++) {
+            final String offerId = readString(input);
+            final String etag = readString(input);
+            final double score = input.getDouble();
+            final String schema = readString(input);
+            final Map<String, Object> meta = (Map<String, Object>) readMapValue(input);
+            final String typeName = readString(input);
+            if (typeName == null) {
+                throw new IllegalArgumentException("Missing offer type.");
+            }
+            final OfferType type = OfferType.valueOf(typeName);
+            final String content = readString(input);
+            final Object language = readValue(input);
+            final Object characteristics = readValue(input);
+            if ((language != null && !(language instanceof List))
+                    || (characteristics != null && !(characteristics instanceof Map))) {
+                throw new IllegalArgumentException("Invalid offer language or characteristics.");
+            }
+
+            final OfferValuesInterner interner = OfferValuesInterner.getInstance();
+            offers.add(
+                    new Offer.Builder(offerId, type, interner.internContent(offerId, etag, content))
+                            .setEtag(etag)
+                            .setScore(score)
+                            .setSchema(interner.intern(schema))
+                            .setMeta(interner.internStrings(meta))
+                            .setLanguage(interner.internStrings((List<String>) language))
+                            .setCharacteristics(
+                                    interner.internStrings((Map<String, String>) characteristics))
+                            .build());
+        }
+
+        if (input.hasRemaining()) {
+            throw new IllegalArgumentException("Unexpected trailing bytes.");
+        }
+        final OptimizeProposition proposition =
+                new OptimizeProposition(id, offers, scope, scopeDetails, activity, placement);
+        proposition.setExpiryTime(expiryTime);
+        return proposition;
+    }
+
+    private static void writeString(final DataOutputStream output, final String value)
+            throws IOException {
+        if (value == null) {
+            output.writeInt(NULL_LENGTH);
+            return;
+        }
+        final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+
+    private static void writeValue(final DataOutputStream output, final Object value)
+            throws IOException {
+        if (value == null || value == JSONObject.NULL) {
+            output.writeByte(TYPE_NULL);
+        } else if (value instanceof String) {
+            output.writeByte(TYPE_STRING);
+            writeString(output, (String) value);
+        } else if (value instanceof Boolean) {
+            output.writeByte(TYPE_BOOLEAN);
+            output.writeBoolean((Boolean) value);
+        } else if (value instanceof Integer) {
+            output.writeByte(TYPE_INT);
+            output.writeInt((Integer) value);
+        } else if (value instanceof Long) {
+            output.writeByte(TYPE_LONG);
+            output.writeLong((Long) value);
+        } else if (value instanceof Number) {
+            output.writeByte(TYPE_DOUBLE);
+            output.writeDouble(((Number) value).doubleValue());
+        } else if (value instanceof Map) {
+            final Map<?, ?> map = (Map<?, ?>) value;
+            output.writeByte(TYPE_MAP);
+            output.writeInt(map.size());
+            for (final Map.Entry<?, ?> entry : map.entrySet()) {
+                writeString(output, String.valueOf(entry.getKey()));
+                writeValue(output, entry.getValue());
+            }
+        } else if (value instanceof List) {
+            final List<?> list = (List<?>) value;
+            output.writeByte(TYPE_LIST);
+            output.writeInt(list.size());
+            for (final Object element : list) {
+                writeValue(output, element);
+            }
+        } else {
+            output.writeByte(TYPE_STRING);
+            writeString(output, value.toString());
+        }
+    }
+
+    private static String readString(final ByteBuffer input) {
+        final int length = input.getInt();
+        if (length == NULL_LENGTH) {
+            return null;
+        }
+        if (length < 0 || length > input.remaining()) {
+            throw new IllegalArgumentException("Invalid string length.");
+        }
+        final byte[] bytes = new byte[length];
+        input.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static int readCount(final ByteBuffer input) {
+        final int count = input.getInt();
+        if (count < 0 || count > input.remaining()) {
+            throw new IllegalArgumentException("Invalid element count.");
+        }
+        return count;
+    }
+
+    private static Object readMapValue(final ByteBuffer input) {
+        final Object value = readValue(input);
+        if (value != null && !(value instanceof Map)) {
+            throw new IllegalArgumentException("Expected a map value.");
+        }
+        return value;
+    }
+
+    private static Object readValue(final ByteBuffer input) {
+        final byte type = input.get();
+        switch (type) {
+            case TYPE_NULL:
+                return null;
+            case TYPE_STRING:
+                return readString(input);
+            case TYPE_BOOLEAN:
+                return input.get() != 0;
+            case TYPE_INT:
+                return input.getInt();
+            case TYPE_LONG:
+                return input.getLong();
+            case TYPE_DOUBLE:
+                return input.getDouble();
+            case TYPE_MAP:
+                final int mapSize = readCount(input);
+                final Map<String, Object> map = new HashMap<>();
+                for (int i = 0; i < mapSize; i++) {
+                    map.put(readString(input), readValue(input));
+                }
+                return map;
+            case TYPE_LIST:
+                final int listSize = readCount(input);
+                final List<Object> list = new ArrayList<>(listSize);
+                for (int i = 0; i < listSize; i++) {
+                    list.add(readValue(input));
+                }
+                return list;
+            default:
+                throw new IllegalArgumentException("Unknown value type (" + type + ").");
+        }
+    }
+}
@@ -0,0 +1,303 @@
+/*
+  Copyright 2025 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.optimize;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+import com.adobe.marketing.mobile.AdobeCallback;
+import com.adobe.marketing.mobile.AdobeCallbackWithError;
+import com.adobe.marketing.mobile.AdobeError;
+import com.adobe.marketing.mobile.Event;
+import com.adobe.marketing.mobile.MobileCore;
+import com.adobe.marketing.mobile.services.Log;
+import com.adobe.marketing.mobile.util.DataReader;
+import com.adobe.marketing.mobile.util.DataReaderException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * {@code PropositionsUpdateDispatcher} delivers the propositions received in Optimize notification
+ * events to the callbacks registered with {@link Optimize#onPropositionsUpdate(AdobeCallback)}, and
+ * the decision scopes whose cached propositions were removed to the callbacks registered with
+ * {@link Optimize#onPropositionsRemoved(AdobeCallback)}.
+ *
+ * <p>A single event listener is registered with the event hub. Each notification is parsed once,
+ * and only the propositions for the scopes subscribed to by at least one callback are parsed. Each
+ * callback receives its own propositions map, and callbacks subscribed to a set of scopes are only
+ * invoked when propositions are received for any of their scopes. An exception thrown by a callback
+ * is logged and does not prevent the delivery to the other callbacks. This is accessed from
+ * multiple threads.
+ */
+class PropositionsUpdateDispatcher {
+
+    private static final String SELF_TAG = "PropositionsUpdateDispatcher";
+
+    private static final PropositionsUpdateDispatcher INSTANCE = new PropositionsUpdateDispatcher();
+
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    private final AtomicBoolean listenerRegistered = new AtomicBoolean();
+
+    /**
+     * Gets the shared {@code PropositionsUpdateDispatcher} instance.
+     *
+     * @return {@link PropositionsUpdateDispatcher} instance.
+     */
+    static PropositionsUpdateDispatcher getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Subscribes the given {@code callback} to the propositions updates for the given {@code
+     * scopes}, registering the event listener on the first subscription.
+     *
+     * @param scopes {@code Collection<DecisionScope>} the callback is subscribed to, or null to
+     *     subscribe to all scopes.
+     * @param callback {@code AdobeCallback<Map<DecisionScope, OptimizeProposition>>} invoked with
+     *     the updated propositions.
+     */
+    void subscribe(
+            @Nullable final Collection<DecisionScope> scopes,
+            @NonNull final AdobeCallback<Map<DecisionScope, OptimizeProposition>> callback) {
+        addSubscriber(new Subscriber(getScopeNames(scopes), callback, null));
+    }
+
+    /**
+     * Subscribes the given {@code callback} to the removal of the cached propositions for the given
+     * {@code scopes}, registering the event listener on the first subscription.
+     *
+     * @param scopes {@code Collection<DecisionScope>} the callback is subscribed to, or null to
+     *     subscribe to all scopes.
+     * @param callback {@code AdobeCallback<List<DecisionScope>>} invoked with the decision scopes
+     *     whose cached propositions were removed.
+     */
+    void subscribeToRemovals(
+            @Nullable final Collection<DecisionScope> scopes,
+            @NonNull final AdobeCallback<List<DecisionScope>> callback) {
+        addSubscriber(new Subscriber(getScopeNames(scopes), null, callback));
+    }
+
+    private static Set<String> getScopeNames(@Nullable final Collection<DecisionScope> scopes) {
+        if (scopes == null) {
+            return null;
+        }
+        final Set<String> scopeNames = new HashSet<>();
+        for (final DecisionScope scope : scopes) {
+            scopeNames.add(scope.getName());
+        }
+        return scopeNames;
+    }
+
+    private void addSubscriber(final Subscriber subscriber) {
+        subscribers.add(subscriber);
+
+        if (listenerRegistered.compareAndSet(false, true)) {
+            MobileCore.registerEventListener(
+                    OptimizeConstants.EventType.OPTIMIZE,
+                    OptimizeConstants.EventSource.NOTIFICATION,
+                    new AdobeCallbackWithError<Event>() {
+                        @Override
+                        public void fail(final AdobeError error) {}
+
+                        @Override
+                        public void call(final Event event) {
+                            dispatch(event);
+                        }
+                    });
+        }
+    }
+
+    /**
+     * Parses the propositions and the removed decision scopes in the given notification {@code
+     * event}, and invokes the subscribed callbacks with the ones for their scopes.
+     *
+     * @param event Optimize notification {@link Event}.
+     */
+    void dispatch(@NonNull final Event event) {
+        final Map<String, Object> eventData = event.getEventData();
+        if (OptimizeUtils.isNullOrEmpty(eventData) || subscribers.isEmpty()) {
+            return;
+        }
+
+        dispatchPropositions(eventData);
+        dispatchRemovedScopes(eventData);
+    }
+
+    private void dispatchPropositions(@NonNull final Map<String, Object> eventData) {
+        final List<Map<String, Object>> propositionsList;
+        try {
+            propositionsList =
+                    DataReader.getTypedListOfMap(
+                            Object.class, eventData, OptimizeConstants.EventDataKeys.PROPOSITIONS);
+        } catch (final DataReaderException e) {
+            return;
+        }
+        if (propositionsList == null) {
+            return;
+        }
+
+        // Only parse the propositions for the subscribed scopes.
+        Set<String> subscribedScopeNames = new HashSet<>();
+        for (final Subscriber subscriber : subscribers) {
+            if (subscriber.updateCallback == null) {
+                continue;
+            }
+            if (subscriber.scopeNames == null) {
+                subscribedScopeNames = null;
+                break;
+            }
+            subscribedScopeNames.addAll(subscriber.scopeNames);
+        }
+
+        final Map<DecisionScope, OptimizeProposition> propositionsMap = new HashMap<>();
+        for (final Map<String, Object> propositionData : propositionsList) {
+            if (subscribedScopeNames != null
+                    && !subscribedScopeNames.contains(
+                            DataReader.optString(
+                                    propositionData,
+                                    OptimizeConstants.JsonKeys.PAYLOAD_SCOPE,
+                                    null))) {
+                continue;
+            }
+            final OptimizeProposition optimizeProposition =
+                    OptimizeProposition.fromEventData(propositionData);
+            if (optimizeProposition != null
+                    && !OptimizeUtils.isNullOrEmpty(optimizeProposition.getScope())) {
+                propositionsMap.put(
+                        new DecisionScope(optimizeProposition.getScope()), optimizeProposition);
+            }
+        }
+        if (propositionsMap.isEmpty()) {
+            return;
+        }
+
+        for (final Subscriber subscriber : subscribers) {
+            if (subscriber.updateCallback == null) {
+                continue;
+            }
+            if (subscriber.scopeNames == null) {
+                notify(subscriber.updateCallback, new HashMap<>(propositionsMap));
+                continue;
+            }
+
+            Map<DecisionScope, OptimizeProposition> subscribedPropositions = null;
+            for (final Map.Entry<DecisionScope, OptimizeProposition> entry :
+                    propositionsMap.entrySet()) {
+                if (subscriber.scopeNames.contains(entry.getKey().getName())) {
+                    if (subscribedPropositions == null) {
+                        subscribedPropositions = new HashMap<>();
+                    }
+                    subscribedPropositions.put(entry.getKey(), entry.getValue());
+                }
+            }
+            if (subscribedPropositions != null) {
+                notify(subscriber.updateCallback, subscribedPropositions);
+            }
+        }
+    }
+
+    private void dispatchRemovedScopes(@NonNull final Map<String, Object> eventData) {
+        final List<Map<String, Object>> removedScopesList;
+        try {
+            removedScopesList =
+                    DataReader.getTypedListOfMap(
+                            Object.class,
+                            eventData,
+                            OptimizeConstants.EventDataKeys.REMOVED_DECISION_SCOPES);
+        } catch (final DataReaderException e) {
+            return;
+        }
+        if (OptimizeUtils.isNullOrEmpty(removedScopesList)) {
+            return;
+        }
+
+        final List<DecisionScope> removedScopes = new ArrayList<>();
+        for (final Map<String, Object> scopeData : removedScopesList) {
+            final String scopeName =
+                    DataReader.optString(
+                            scopeData, OptimizeConstants.EventDataKeys.DECISION_SCOPE_NAME, null);
+            if (!OptimizeUtils.isNullOrEmpty(scopeName)) {
+                removedScopes.add(new DecisionScope(scopeName));
+            }
+        }
+
+        for (final Subscriber subscriber : subscribers) {
+            if (subscriber.removalCallback == null) {
+                continue;
+            }
+            final List<DecisionScope> subscribedScopes = new ArrayList<>();
+            for (final DecisionScope scope : removedScopes) {
+                if (subscriber.scopeNames == null
+                        || subscriber.scopeNames.contains(scope.getName())) {
+                    subscribedScopes.add(scope);
+                }
+            }
+            if (!subscribedScopes.isEmpty()) {
+                notify(subscriber.removalCallback, subscribedScopes);
+            }
+        }
+    }
+
+    /**
+     * Invokes the given {@code callback} with the given {@code value}, logging any exception thrown
+     * by the callback.
+     *
+     * @param callback {@link AdobeCallback} to be invoked.
+     * @param value the value passed to the callback.
+     */
+    private static <T> void notify(final AdobeCallback<T> callback, final T value) {
+        try {
+            callback.call(value);
+        } catch (final Exception e) {
+            Log.warning(
+                    OptimizeConstants.LOG_TAG,
+                    SELF_TAG,
+                    "notify - The propositions callback failed with an exception (%s).",
+                    e.getLocalizedMessage());
+        }
+    }
+
+    /** Removes all the subscribers, so the event listener is registered again on next subscribe. */
+    @VisibleForTesting
+    void reset() {
+        subscribers.clear();
+        listenerRegistered.set(false);
+    }
+
+    /**
+     * A callback subscribed to the propositions updates, or to the propositions removals, for a set
+     * of scope names.
+     */
+    private static final class Subscriber {
+        // Subscribed scope names, or null if subscribed to all scopes.
+        final Set<String> scopeNames;
+        // Either callback is set, depending on the subscription.
+        final AdobeCallback<Map<DecisionScope, OptimizeProposition>> updateCallback;
+        final AdobeCallback<List<DecisionScope>> removalCallback;
+
+        Subscriber(
+                final Set<String> scopeNames,
+                final AdobeCallback<Map<DecisionScope, OptimizeProposition>> updateCallback,
+                final AdobeCallback<List<DecisionScope>> removalCallback) {
+            this.scopeNames = scopeNames;
+            this.updateCallback = updateCallback;
+            this.removalCallback = removalCallback;
+        }
+    }
+}
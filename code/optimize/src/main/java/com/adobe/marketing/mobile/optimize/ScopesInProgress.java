@@ -0,0 +1,111 @@
+/*
+  Copyright 2025 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.optimize;
+
+import androidx.annotation.NonNull;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@code ScopesInProgress} is a reference counted index of the decision scopes requested by the
+ * update propositions requests in progress.
+ *
+ * <p>The index is updated when an update request starts and when it completes, fails or times out,
+ * so checking whether any of the given scopes is being updated does not depend on the number of
+ * requests in progress and does not allocate. This is accessed from multiple threads.
+ */
+class ScopesInProgress {
+
+    private final Map<DecisionScope, Integer> referenceCounts = new ConcurrentHashMap<>();
+
+    /**
+     * Adds a reference to each of the given {@code scopes}, requested by an update request that
+     * started.
+     *
+     * @param scopes {@code List<DecisionScope>} requested by the update request.
+     */
+    void add(@NonNull final List<DecisionScope> scopes) {
+        for (int i = 0; i < scopes.size(); i++) {
+            referenceCounts.merge(scopes.get(i), 1, Integer::sum);
+        }
+    }
+
+    /**
+     * Removes a reference to each of the given {@code scopes}, requested by an update request that
+     * completed, failed or timed out. Scopes without any remaining reference are removed from the
+     * index.
+     *
+     * @param scopes {@code List<DecisionScope>} requested by the update request.
+     */
+    void remove(@NonNull final List<DecisionScope> scopes) {
+        for (int i = 0; i < scopes.size(); i++) {
+            referenceCounts.computeIfPresent(
+                    scopes.get(i), (scope, count) -> count > 1 ? count - 1 : null);
+        }
+    }
+
+    /**
+     * Checks whether the given {@code scope} is requested by an update request in progress.
+     *
+     * @param scope {@link DecisionScope} to be checked.
+     * @return {@code boolean} indicating whether the scope is in progress.
+     */
+    boolean contains(@NonNull final DecisionScope scope) {
+        return referenceCounts.containsKey(scope);
+    }
+
+    /**
+     * Checks whether any of the given {@code scopes} is requested by an update request in progress.
+     *
+     * @param scopes {@code List<DecisionScope>} to be checked.
+     * @return {@code boolean} indicating whether any of the scopes is in progress.
+     */
+    boolean containsAny(@NonNull final List<DecisionScope> scopes) {
+        if (referenceCounts.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < scopes.size(); i++) {
+            if (referenceCounts.containsKey(scopes.get(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Gets the given {@code scopes} requested by an update request in progress.
+     *
+     * @param scopes {@code List<DecisionScope>} to be checked.
+     * @return {@code Set<DecisionScope>} containing the scopes in progress.
+     */
+    Set<DecisionScope> retainInProgress(@NonNull final List<DecisionScope> scopes) {
+        final Set<DecisionScope> scopesInProgress = new HashSet<>();
+        for (int i = 0; i < scopes.size(); i++) {
+            if (referenceCounts.containsKey(scopes.get(i))) {
+                scopesInProgress.add(scopes.get(i));
+            }
+        }
+        return scopesInProgress;
+    }
+
+    /**
+     * Checks whether no scope is requested by an update request in progress.
+     *
+     * @return {@code boolean} indicating whether the index is empty.
+     */
+    boolean isEmpty() {
+        return referenceCounts.isEmpty();
+    }
+}
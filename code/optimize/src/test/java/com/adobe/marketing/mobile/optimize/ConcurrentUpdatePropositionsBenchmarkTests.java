@@ -0,0 +1,257 @@
+/*
+  Copyright 2025 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.optimize;
+
+import android.util.Base64;
+import com.adobe.marketing.mobile.AdobeCallbackWithError;
+import com.adobe.marketing.mobile.Event;
+import com.adobe.marketing.mobile.ExtensionApi;
+import com.adobe.marketing.mobile.MobileCore;
+import com.adobe.marketing.mobile.SharedStateResolution;
+import com.adobe.marketing.mobile.SharedStateResult;
+import com.adobe.marketing.mobile.SharedStateStatus;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mock;
+import org.mockito.MockedStatic;
+import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.mockito.stubbing.Answer;
+
+/**
+ * Benchmark measuring the throughput of {@value #REQUESTS_COUNT} simultaneous update propositions
+ * requests against a stand-in Edge extension, responding to the requests serially or concurrently.
+ *
+ * <p>The stand-in Edge extension returns the propositions for every request in a
+ * personalization:decisions event halfway through a latency of {@value #EDGE_LATENCY_MS} ms, then
+ * completes the request, so the responses for concurrent requests are interleaved. Edge responses
+ * are handled on a single thread, as done by the event hub for the extension listeners.
+ */
+@RunWith(MockitoJUnitRunner.Silent.class)
+@SuppressWarnings("unchecked")
+public class ConcurrentUpdatePropositionsBenchmarkTests {
+    private static final int REQUESTS_COUNT = 20;
+    private static final long EDGE_LATENCY_MS = 25;
+
+    @Mock ExtensionApi mockExtensionApi;
+
+    @Before
+    public void setup() {
+        DecisionScope.clearRegistry();
+    }
+
+    @Test
+    public void testUpdatePropositions_concurrentVersusSerialEdgeResponses() throws Exception {
+        // test
+        final long serialMillis = sendUpdateRequests(1);
+        final long concurrentMillis = sendUpdateRequests(REQUESTS_COUNT);
+
+        // verify
+        System.out.printf(
+                "%d simultaneous update propositions requests with %d ms Edge latency: serial"
+                        + " %d ms (%.1f requests/s), concurrent %d ms (%.1f requests/s)%n",
+                REQUESTS_COUNT,
+                EDGE_LATENCY_MS,
+                serialMillis,
+                REQUESTS_COUNT * 1000.0 / serialMillis,
+                concurrentMillis,
+                REQUESTS_COUNT * 1000.0 / concurrentMillis);
+        Assert.assertTrue(concurrentMillis < serialMillis);
+    }
+
+    /**
+     * Sends {@value #REQUESTS_COUNT} update propositions requests for distinct scopes, waits for
+     * all of them to complete and verifies each request receives and caches its own propositions.
+     *
+     * @param edgeConcurrency the number of requests the stand-in Edge extension handles at once.
+     * @return the elapsed time in milliseconds.
+     */
+    private long sendUpdateRequests(final int edgeConcurrency) throws Exception {
+        Mockito.reset(mockExtensionApi);
+        final Map<String, Object> configData = new HashMap<>();
+        configData.put("edge.configId", "ffffffff-ffff-ffff-ffff-ffffffffffff");
+        Mockito.when(
+                        mockExtensionApi.getSharedState(
+                                ArgumentMatchers.eq(OptimizeConstants.Configuration.EXTENSION_NAME),
+                                ArgumentMatchers.any(),
+                                ArgumentMatchers.eq(false),
+                                ArgumentMatchers.eq(SharedStateResolution.ANY)))
+                .thenReturn(new SharedStateResult(SharedStateStatus.SET, configData));
+
+        final OptimizeExtension extension = new OptimizeExtension(mockExtensionApi);
+        final ExecutorService eventHub = Executors.newSingleThreadExecutor();
+        final ExecutorService edgeResponder = Executors.newFixedThreadPool(edgeConcurrency);
+        final Map<String, List<Map<String, Object>>> responses = new ConcurrentHashMap<>();
+        final CountDownLatch completedLatch = new CountDownLatch(REQUESTS_COUNT);
+        Mockito.doAnswer(
+                        invocation -> {
+                            final Event event = invocation.getArgument(0);
+                            if ("com.adobe.eventSource.responseContent".equals(event.getSource())) {
+                                responses.put(
+                                        event.getResponseID(),
+                                        (List<Map<String, Object>>)
+                                                event.getEventData().get("propositions"));
+                            } else if ("com.adobe.eventSource.contentComplete"
+                                    .equals(event.getSource())) {
+                                eventHub.execute(
+                                        () -> {
+                                            extension.handleUpdatePropositionsCompleted(event);
+                                            completedLatch.countDown();
+                                        });
+                            }
+                            return null;
+                        })
+                .when(mockExtensionApi)
+                .dispatch(ArgumentMatchers.any(Event.class));
+
+        final Map<String, String> requestScopes = new HashMap<>();
+        try (MockedStatic<Base64> base64MockedStatic = Mockito.mockStatic(Base64.class);
+                MockedStatic<MobileCore> mobileCoreMockedStatic =
+                        Mockito.mockStatic(MobileCore.class)) {
+            base64MockedStatic
+                    .when(
+                            () ->
+                                    Base64.decode(
+                                            ArgumentMatchers.anyString(),
+                                            ArgumentMatchers.anyInt()))
+                    .thenAnswer(
+                            (Answer<byte[]>)
+                                    invocation ->
+                                            java.util.Base64.getDecoder()
+                                                    .decode((String) invocation.getArguments()[0]));
+            mobileCoreMockedStatic
+                    .when(
+                            () ->
+                                    MobileCore.dispatchEventWithResponseCallback(
+                                            ArgumentMatchers.any(Event.class),
+                                            ArgumentMatchers.anyLong(),
+                                            ArgumentMatchers.any()))
+                    .thenAnswer(
+                            invocation -> {
+                                final Event edgeEvent = invocation.getArgument(0);
+                                final AdobeCallbackWithError<Event> callback =
+                                        invocation.getArgument(2);
+                                edgeResponder.execute(
+                                        () -> respond(extension, eventHub, edgeEvent, callback));
+                                return null;
+                            });
+
+            final long startTime = System.nanoTime();
+            for (int i = 0; i < REQUESTS_COUNT; i++) {
+                final Event event = createUpdatePropositionsEvent("mbox" + i);
+                requestScopes.put(event.getUniqueIdentifier(), "mbox" + i);
+                extension.handleOptimizeRequestContent(event);
+            }
+            Assert.assertTrue(completedLatch.await(10, TimeUnit.SECONDS));
+            final long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+
+            // verify
+            Assert.assertEquals(REQUESTS_COUNT, responses.size());
+            for (final Map.Entry<String, String> requestScope : requestScopes.entrySet()) {
+                final List<Map<String, Object>> propositions = responses.get(requestScope.getKey());
+                Assert.assertEquals(1, propositions.size());
+                Assert.assertEquals(requestScope.getValue(), propositions.get(0).get("scope"));
+            }
+            Assert.assertEquals(REQUESTS_COUNT, extension.getCachedPropositions().size());
+            Assert.assertTrue(extension.getPropositionsInProgress().isEmpty());
+            return elapsedMillis;
+        } finally {
+            edgeResponder.shutdownNow();
+            eventHub.shutdownNow();
+        }
+    }
+
+    /**
+     * Responds to the given Edge request with the proposition for its scope, then notifies the
+     * request completion.
+     */
+    private static void respond(
+            final OptimizeExtension extension,
+            final ExecutorService eventHub,
+            final Event edgeEvent,
+            final AdobeCallbackWithError<Event> callback) {
+        final Map<String, Object> query =
+                (Map<String, Object>) edgeEvent.getEventData().get("query");
+        final Map<String, Object> queryPersonalization =
+                (Map<String, Object>) query.get("personalization");
+        final String scopeName = ((List<String>) queryPersonalization.get("decisionScopes")).get(0);
+        final List<Offer> offers = new ArrayList<>();
+        offers.add(new Offer.Builder("offer-" + scopeName, OfferType.HTML, "<p>offer</p>").build());
+        final OptimizeProposition proposition =
+                new OptimizeProposition("id-" + scopeName, offers, scopeName, null, null, null);
+
+        try {
+            Thread.sleep(EDGE_LATENCY_MS / 2);
+            eventHub.execute(
+                    () ->
+                            extension.handleEdgeResponse(
+                                    createEdgeResponseEvent(edgeEvent, proposition)));
+            Thread.sleep(EDGE_LATENCY_MS - EDGE_LATENCY_MS / 2);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        eventHub.execute(
+                () -> {
+                    final Map<String, Object> responseEventData = new HashMap<>();
+                    responseEventData.put("requestEventId", edgeEvent.getUniqueIdentifier());
+                    callback.call(
+                            new Event.Builder(
+                                            "Edge Response",
+                                            "com.adobe.eventType.edge",
+                                            "com.adobe.eventSource.responseContent")
+                                    .setEventData(responseEventData)
+                                    .build());
+                });
+    }
+
+    private static Event createEdgeResponseEvent(
+            final Event edgeEvent, final OptimizeProposition proposition) {
+        final Map<String, Object> eventData = new HashMap<>();
+        eventData.put("payload", Collections.singletonList(proposition.toEventData()));
+        eventData.put("requestEventId", edgeEvent.getUniqueIdentifier());
+        eventData.put("type", "personalization:decisions");
+        return new Event.Builder(
+                        "AEP Response Event Handle",
+                        "com.adobe.eventType.edge",
+                        "personalization:decisions")
+                .setEventData(eventData)
+                .build();
+    }
+
+    private static Event createUpdatePropositionsEvent(final String scopeName) {
+        final Map<String, Object> eventData = new HashMap<>();
+        eventData.put("requesttype", "updatepropositions");
+        final List<Map<String, Object>> decisionScopesData = new ArrayList<>();
+        decisionScopesData.add(new DecisionScope(scopeName).toEventData());
+        eventData.put("decisionscopes", decisionScopesData);
+        return new Event.Builder(
+                        "Optimize Update Propositions Request",
+                        "com.adobe.eventType.optimize",
+                        "com.adobe.eventSource.requestContent")
+                .setEventData(eventData)
+                .build();
+    }
+}
@@ -84,4 +84,160 @@ class ConfigUtilsTests {
 
         Assert.assertEquals(10000, retrieveOptimizeRequestTimeout(mockEvent, configData))
     }
+
+    @Test
+    fun `returns persistent cache enabled when configured`() {
+        val configData =
+            mapOf<String, Any?>(OptimizeConstants.Configuration.OPTIMIZE_PERSISTENT_CACHE_ENABLED to true)
+
+        Assert.assertTrue(ConfigUtils.isPersistentCacheEnabled(configData))
+    }
+
+    @Test
+    fun `returns persistent cache disabled when not configured or invalid`() {
+        Assert.assertFalse(ConfigUtils.isPersistentCacheEnabled(null))
+        Assert.assertFalse(ConfigUtils.isPersistentCacheEnabled(mapOf()))
+        Assert.assertFalse(
+            ConfigUtils.isPersistentCacheEnabled(
+                mapOf(OptimizeConstants.Configuration.OPTIMIZE_PERSISTENT_CACHE_ENABLED to "true")
+            )
+        )
+    }
+
+    @Test
+    fun `returns propositions ttl from eventData when present`() {
+        val eventData = mapOf(OptimizeConstants.EventDataKeys.PROPOSITIONS_TTL to 5000L)
+        val configData =
+            mapOf<String, Any?>(OptimizeConstants.EventDataKeys.CONFIGS_PROPOSITIONS_TTL to 60)
+        every { mockEvent.eventData } returns eventData
+
+        Assert.assertEquals(5000L, ConfigUtils.retrievePropositionsTtl(mockEvent, configData))
+    }
+
+    @Test
+    fun `returns propositions ttl from configData when eventData does not contain ttl`() {
+        val configData =
+            mapOf<String, Any?>(OptimizeConstants.EventDataKeys.CONFIGS_PROPOSITIONS_TTL to 1.5)
+        every { mockEvent.eventData } returns mapOf()
+
+        Assert.assertEquals(1500L, ConfigUtils.retrievePropositionsTtl(mockEvent, configData))
+    }
+
+    @Test
+    fun `returns no propositions ttl when not configured or invalid`() {
+        every { mockEvent.eventData } returns null
+
+        Assert.assertEquals(0L, ConfigUtils.retrievePropositionsTtl(mockEvent, null))
+        Assert.assertEquals(
+            0L,
+            ConfigUtils.retrievePropositionsTtl(
+                mockEvent,
+                mapOf(OptimizeConstants.EventDataKeys.CONFIGS_PROPOSITIONS_TTL to "invalid_value")
+            )
+        )
+        Assert.assertEquals(
+            0L,
+            ConfigUtils.retrievePropositionsTtl(
+                mockEvent,
+                mapOf(OptimizeConstants.EventDataKeys.CONFIGS_PROPOSITIONS_TTL to -10)
+            )
+        )
+    }
+
+    @Test
+    fun `returns propositions cache max size from configData`() {
+        val configData = mapOf<String, Any?>(
+            OptimizeConstants.Configuration.OPTIMIZE_PROPOSITIONS_CACHE_MAX_SIZE to 1048576
+        )
+
+        Assert.assertEquals(1048576L, ConfigUtils.retrievePropositionsCacheMaxSize(configData))
+    }
+
+    @Test
+    fun `returns unbounded propositions cache when max size is not configured or invalid`() {
+        Assert.assertEquals(0L, ConfigUtils.retrievePropositionsCacheMaxSize(null))
+        Assert.assertEquals(0L, ConfigUtils.retrievePropositionsCacheMaxSize(mapOf()))
+        Assert.assertEquals(
+            0L,
+            ConfigUtils.retrievePropositionsCacheMaxSize(
+                mapOf(OptimizeConstants.Configuration.OPTIMIZE_PROPOSITIONS_CACHE_MAX_SIZE to -1)
+            )
+        )
+    }
+
+    @Test
+    fun `returns update propositions batch window from configuration`() {
+        val configData = mapOf<String, Any?>(
+            OptimizeConstants.Configuration.OPTIMIZE_UPDATE_PROPOSITIONS_BATCH_WINDOW to 50
+        )
+
+        Assert.assertEquals(50L, ConfigUtils.retrieveUpdatePropositionsBatchWindow(configData))
+    }
+
+    @Test
+    fun `returns disabled update propositions batching when window is not configured or invalid`() {
+        Assert.assertEquals(0L, ConfigUtils.retrieveUpdatePropositionsBatchWindow(null))
+        Assert.assertEquals(0L, ConfigUtils.retrieveUpdatePropositionsBatchWindow(mapOf()))
+        Assert.assertEquals(
+            0L,
+            ConfigUtils.retrieveUpdatePropositionsBatchWindow(
+                mapOf(OptimizeConstants.Configuration.OPTIMIZE_UPDATE_PROPOSITIONS_BATCH_WINDOW to -1)
+            )
+        )
+    }
+
+    @Test
+    fun `caps update propositions batch window`() {
+        val configData = mapOf<String, Any?>(
+            OptimizeConstants.Configuration.OPTIMIZE_UPDATE_PROPOSITIONS_BATCH_WINDOW to 60000
+        )
+
+        Assert.assertEquals(1000L, ConfigUtils.retrieveUpdatePropositionsBatchWindow(configData))
+    }
+
+    @Test
+    fun `retrieves display deduplication setting from configuration`() {
+        Assert.assertFalse(ConfigUtils.isDisplayDeduplicationEnabled(null))
+        Assert.assertFalse(ConfigUtils.isDisplayDeduplicationEnabled(mapOf()))
+        Assert.assertTrue(
+            ConfigUtils.isDisplayDeduplicationEnabled(
+                mapOf(OptimizeConstants.Configuration.OPTIMIZE_DEDUPLICATE_DISPLAYS to true)
+            )
+        )
+    }
+
+    @Test
+    fun `retrieves offer content compression threshold from configuration`() {
+        Assert.assertEquals(0L, ConfigUtils.retrieveOfferContentCompressionThreshold(null))
+        Assert.assertEquals(0L, ConfigUtils.retrieveOfferContentCompressionThreshold(mapOf()))
+        Assert.assertEquals(
+            0L,
+            ConfigUtils.retrieveOfferContentCompressionThreshold(
+                mapOf(OptimizeConstants.Configuration.OPTIMIZE_OFFER_CONTENT_COMPRESSION_THRESHOLD to -1)
+            )
+        )
+        Assert.assertEquals(
+            20000L,
+            ConfigUtils.retrieveOfferContentCompressionThreshold(
+                mapOf(OptimizeConstants.Configuration.OPTIMIZE_OFFER_CONTENT_COMPRESSION_THRESHOLD to 20000)
+            )
+        )
+    }
+
+    @Test
+    fun `retrieves session timeout from configuration in milliseconds`() {
+        Assert.assertEquals(300000L, ConfigUtils.retrieveSessionTimeout(null))
+        Assert.assertEquals(
+            60000L,
+            ConfigUtils.retrieveSessionTimeout(
+                mapOf(OptimizeConstants.Configuration.LIFECYCLE_SESSION_TIMEOUT to 60)
+            )
+        )
+        Assert.assertEquals(
+            0L,
+            ConfigUtils.retrieveSessionTimeout(
+                mapOf(OptimizeConstants.Configuration.LIFECYCLE_SESSION_TIMEOUT to -1)
+            )
+        )
+    }
 }
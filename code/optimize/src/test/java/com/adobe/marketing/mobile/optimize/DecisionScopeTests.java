@@ -15,6 +15,7 @@ import android.util.Base64;
 import java.util.HashMap;
 import java.util.Map;
 import org.junit.Assert;
+import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.ArgumentMatchers;
@@ -27,6 +28,11 @@ import org.mockito.stubbing.Answer;
 @SuppressWarnings({"rawtypes"})
 public class DecisionScopeTests {
 
+    @Before
+    public void setup() {
+        DecisionScope.clearRegistry();
+    }
+
     @Test
     public void testConstructor_validName() {
         // test
@@ -780,6 +786,126 @@ public class DecisionScopeTests {
         Assert.assertEquals("myMbox", eventData.get("name"));
     }
 
+    @Test
+    public void testIsValid_memoized() {
+        try (MockedStatic<Base64> base64MockedStatic = Mockito.mockStatic(Base64.class)) {
+            base64MockedStatic
+                    .when(
+                            () ->
+                                    Base64.decode(
+                                            ArgumentMatchers.anyString(),
+                                            ArgumentMatchers.anyInt()))
+                    .thenAnswer(
+                            (Answer<byte[]>)
+                                    invocation ->
+                                            java.util.Base64.getDecoder()
+                                                    .decode((String) invocation.getArguments()[0]));
+
+            // test
+            final DecisionScope scope =
+                    new DecisionScope(
+                            "eyJhY3Rpdml0eUlkIjoieGNvcmU6b2ZmZXItYWN0aXZpdHk6MTExMTExMTExMTExMTExMSIsInBsYWNlbWVudElkIjoieGNvcmU6b2ZmZXItcGxhY2VtZW50OjExMTExMTExMTExMTExMTEiLCJpdGVtQ291bnQiOjEwMH0=");
+            Assert.assertTrue(scope.isValid());
+            Assert.assertTrue(scope.isValid());
+
+            // verify
+            base64MockedStatic.verify(
+                    () -> Base64.decode(ArgumentMatchers.anyString(), ArgumentMatchers.anyInt()),
+                    Mockito.times(1));
+            Assert.assertEquals("xcore:offer-activity:1111111111111111", scope.getActivityId());
+            Assert.assertEquals("xcore:offer-placement:1111111111111111", scope.getPlacementId());
+            Assert.assertEquals(100, scope.getItemCount());
+        }
+    }
+
+    @Test
+    public void testIsValid_mboxHasNoDecodedFields() {
+        try (MockedStatic<Base64> base64MockedStatic = Mockito.mockStatic(Base64.class)) {
+            base64MockedStatic
+                    .when(
+                            () ->
+                                    Base64.decode(
+                                            ArgumentMatchers.anyString(),
+                                            ArgumentMatchers.anyInt()))
+                    .thenAnswer(
+                            (Answer<byte[]>)
+                                    invocation ->
+                                            java.util.Base64.getDecoder()
+                                                    .decode((String) invocation.getArguments()[0]));
+
+            // test
+            final DecisionScope scope = new DecisionScope("myMbox");
+
+            // verify
+            Assert.assertTrue(scope.isValid());
+            Assert.assertNull(scope.getActivityId());
+            Assert.assertNull(scope.getPlacementId());
+            Assert.assertEquals(0, scope.getItemCount());
+        }
+    }
+
+    @Test
+    public void testFromEventData_returnsCanonicalScope() {
+        try (MockedStatic<Base64> base64MockedStatic = Mockito.mockStatic(Base64.class)) {
+            base64MockedStatic
+                    .when(
+                            () ->
+                                    Base64.decode(
+                                            ArgumentMatchers.anyString(),
+                                            ArgumentMatchers.anyInt()))
+                    .thenAnswer(
+                            (Answer<byte[]>)
+                                    invocation ->
+                                            java.util.Base64.getDecoder()
+                                                    .decode((String) invocation.getArguments()[0]));
+
+            // setup
+            final Map<String, Object> testEventData = new HashMap<>();
+            testEventData.put(
+                    "name",
+                    "eyJhY3Rpdml0eUlkIjoieGNvcmU6b2ZmZXItYWN0aXZpdHk6MTExMTExMTExMTExMTExMSIsInBsYWNlbWVudElkIjoieGNvcmU6b2ZmZXItcGxhY2VtZW50OjExMTExMTExMTExMTExMTEifQ==");
+
+            // test
+            final DecisionScope scope1 = DecisionScope.fromEventData(testEventData);
+            final DecisionScope scope2 = DecisionScope.fromEventData(testEventData);
+
+            // verify
+            Assert.assertSame(scope1, scope2);
+            Assert.assertTrue(scope1.isValid());
+            Assert.assertTrue(scope2.isValid());
+            base64MockedStatic.verify(
+                    () -> Base64.decode(ArgumentMatchers.anyString(), ArgumentMatchers.anyInt()),
+                    Mockito.times(1));
+        }
+    }
+
+    @Test
+    public void testIntern_registryIsBounded() {
+        // setup
+        final DecisionScope scope = DecisionScope.intern("scope-0");
+
+        // test
+        for (int i = 1; i <= 1000; i++) {
+            DecisionScope.intern("scope-" + i);
+        }
+
+        // verify
+        Assert.assertNotSame(scope, DecisionScope.intern("scope-0"));
+        Assert.assertEquals(scope, DecisionScope.intern("scope-0"));
+        Assert.assertSame(DecisionScope.intern("scope-1000"), DecisionScope.intern("scope-1000"));
+    }
+
+    @Test
+    public void testHashCode_equalScopes() {
+        // test
+        final DecisionScope scope1 = new DecisionScope("myMbox");
+        final DecisionScope scope2 = DecisionScope.intern("myMbox");
+
+        // verify
+        Assert.assertEquals(scope1.hashCode(), scope2.hashCode());
+        Assert.assertEquals(java.util.Objects.hash("myMbox"), scope1.hashCode());
+    }
+
     static class DecisionScopeSubclass extends DecisionScope {
 
         public DecisionScopeSubclass(String name) {
@@ -0,0 +1,88 @@
+/*
+  Copyright 2025 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.optimize;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class DisplayedOffersFilterTests {
+    private DisplayedOffersFilter filter;
+
+    @Before
+    public void setup() {
+        filter = new DisplayedOffersFilter();
+    }
+
+    @Test
+    public void testAdd_repeatedPair() {
+        // test
+        Assert.assertTrue(filter.add("proposition1", "offer1"));
+
+        // verify
+        Assert.assertFalse(filter.add("proposition1", "offer1"));
+        Assert.assertTrue(filter.add("proposition1", "offer2"));
+        Assert.assertTrue(filter.add("proposition2", "offer1"));
+    }
+
+    @Test
+    public void testAdd_identifiersAreSeparated() {
+        // test
+        Assert.assertTrue(filter.add("ab", "c"));
+
+        // verify
+        Assert.assertTrue(filter.add("a", "bc"));
+    }
+
+    @Test
+    public void testClear() {
+        // setup
+        filter.add("proposition1", "offer1");
+
+        // test
+        filter.clear();
+
+        // verify
+        Assert.assertTrue(filter.add("proposition1", "offer1"));
+    }
+
+    @Test
+    public void testAdd_falsePositiveRateBounded() {
+        // setup
+        for (int i = 0; i < 4000; i++) {
+            filter.add("proposition-" + i, "offer-" + i);
+        }
+
+        // test
+        int falsePositives = 0;
+        for (int i = 0; i < 1000; i++) {
+            if (!filter.add("other-proposition-" + i, "other-offer-" + i)) {
+                falsePositives++;
+            }
+        }
+
+        // verify
+        Assert.assertTrue(falsePositives < 20);
+    }
+
+    @Test
+    public void testAdd_clearedWhenFull() {
+        // test
+        for (int i = 0; i < 6000; i++) {
+            filter.add("proposition-" + i, "offer-" + i);
+        }
+
+        // verify
+        Assert.assertFalse(filter.add("proposition-5999", "offer-5999"));
+        Assert.assertTrue(filter.add("proposition-0", "offer-0"));
+    }
+}
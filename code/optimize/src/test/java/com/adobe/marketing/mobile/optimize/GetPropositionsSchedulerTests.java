@@ -0,0 +1,235 @@
+/*
+  Copyright 2025 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.optimize;
+
+import com.adobe.marketing.mobile.Event;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class GetPropositionsSchedulerTests {
+    private final DecisionScope scope1 = new DecisionScope("scope1");
+    private final DecisionScope scope2 = new DecisionScope("scope2");
+    private final DecisionScope scope3 = new DecisionScope("scope3");
+
+    private List<Event> handledEvents;
+    private GetPropositionsScheduler scheduler;
+
+    @Before
+    public void setup() {
+        handledEvents = new ArrayList<>();
+        scheduler = new GetPropositionsScheduler(handledEvents::add, Runnable::run);
+        scheduler.start();
+    }
+
+    @Test
+    public void testSchedule_noUpdateInProgress() {
+        // setup
+        final Event getEvent = createGetPropositionsEvent();
+
+        // test
+        scheduler.schedule(getEvent, Collections.singletonList(scope1));
+
+        // verify
+        Assert.assertEquals(Collections.singletonList(getEvent), handledEvents);
+    }
+
+    @Test
+    public void testSchedule_unrelatedUpdateInProgress() {
+        // setup
+        scheduler.addUpdate("update1", Arrays.asList(scope1, scope2));
+        final Event getEvent = createGetPropositionsEvent();
+
+        // test
+        scheduler.schedule(getEvent, Collections.singletonList(scope3));
+
+        // verify
+        Assert.assertEquals(Collections.singletonList(getEvent), handledEvents);
+    }
+
+    @Test
+    public void testSchedule_waitsForUpdatesForItsScopes() {
+        // setup
+        scheduler.addUpdate("update1", Collections.singletonList(scope1));
+        scheduler.addUpdate("update2", Collections.singletonList(scope2));
+        final Event getEvent = createGetPropositionsEvent();
+
+        // test
+        scheduler.schedule(getEvent, Arrays.asList(scope1, scope2, scope3));
+
+        // verify
+        Assert.assertTrue(handledEvents.isEmpty());
+
+        scheduler.completeUpdate("update2");
+        Assert.assertTrue(handledEvents.isEmpty());
+
+        scheduler.completeUpdate("update1");
+        Assert.assertEquals(Collections.singletonList(getEvent), handledEvents);
+    }
+
+    @Test
+    public void testCompleteUpdate_releasesWaitingRequestsInOrder() {
+        // setup
+        scheduler.addUpdate("update1", Arrays.asList(scope1, scope2));
+        final Event getEvent1 = createGetPropositionsEvent();
+        final Event getEvent2 = createGetPropositionsEvent();
+        final Event getEvent3 = createGetPropositionsEvent();
+        scheduler.schedule(getEvent1, Collections.singletonList(scope2));
+        scheduler.schedule(getEvent2, Collections.singletonList(scope3));
+        scheduler.schedule(getEvent3, Collections.singletonList(scope1));
+
+        // test
+        scheduler.completeUpdate("update1");
+
+        // verify
+        Assert.assertEquals(Arrays.asList(getEvent2, getEvent1, getEvent3), handledEvents);
+    }
+
+    @Test
+    public void testSchedule_updateAddedAfterRequestIsNotWaitedFor() {
+        // setup
+        scheduler.addUpdate("update1", Collections.singletonList(scope1));
+        final Event getEvent = createGetPropositionsEvent();
+        scheduler.schedule(getEvent, Collections.singletonList(scope1));
+
+        // test
+        scheduler.addUpdate("update2", Collections.singletonList(scope1));
+        scheduler.completeUpdate("update1");
+
+        // verify
+        Assert.assertEquals(Collections.singletonList(getEvent), handledEvents);
+    }
+
+    @Test
+    public void testCompleteUpdate_otherUpdateForSameScopeStillWaitedFor() {
+        // setup
+        scheduler.addUpdate("update1", Collections.singletonList(scope1));
+        scheduler.addUpdate("update2", Arrays.asList(scope1, scope2));
+        scheduler.completeUpdate("update1");
+        final Event getEvent = createGetPropositionsEvent();
+
+        // test
+        scheduler.schedule(getEvent, Collections.singletonList(scope1));
+
+        // verify
+        Assert.assertTrue(handledEvents.isEmpty());
+
+        scheduler.completeUpdate("update2");
+        Assert.assertEquals(Collections.singletonList(getEvent), handledEvents);
+    }
+
+    @Test
+    public void testCompleteUpdate_readyRequestsHandledOnExecutor() {
+        // setup
+        final List<Runnable> tasks = new ArrayList<>();
+        final GetPropositionsScheduler executorScheduler =
+                new GetPropositionsScheduler(handledEvents::add, tasks::add);
+        executorScheduler.start();
+        executorScheduler.addUpdate("update1", Collections.singletonList(scope1));
+        final Event getEvent1 = createGetPropositionsEvent();
+        final Event getEvent2 = createGetPropositionsEvent();
+        executorScheduler.schedule(getEvent1, Collections.singletonList(scope1));
+        executorScheduler.schedule(getEvent2, Collections.singletonList(scope1));
+
+        // test
+        executorScheduler.completeUpdate("update1");
+
+        // verify
+        Assert.assertTrue(handledEvents.isEmpty());
+        Assert.assertEquals(1, tasks.size());
+
+        tasks.get(0).run();
+        Assert.assertEquals(Arrays.asList(getEvent1, getEvent2), handledEvents);
+    }
+
+    @Test
+    public void testCompleteUpdate_unknownUpdate() {
+        // setup
+        scheduler.addUpdate("update1", Collections.singletonList(scope1));
+        final Event getEvent = createGetPropositionsEvent();
+        scheduler.schedule(getEvent, Collections.singletonList(scope1));
+
+        // test
+        scheduler.completeUpdate("unknown");
+
+        // verify
+        Assert.assertTrue(handledEvents.isEmpty());
+    }
+
+    @Test
+    public void testStart_releasesRequestsScheduledBeforeStart() {
+        // setup
+        final List<Event> events = new ArrayList<>();
+        final GetPropositionsScheduler notStartedScheduler =
+                new GetPropositionsScheduler(events::add, Runnable::run);
+        notStartedScheduler.addUpdate("update1", Collections.singletonList(scope1));
+        final Event getEvent1 = createGetPropositionsEvent();
+        final Event getEvent2 = createGetPropositionsEvent();
+        notStartedScheduler.schedule(getEvent1, Collections.singletonList(scope1));
+        notStartedScheduler.schedule(getEvent2, Collections.singletonList(scope2));
+
+        // test
+        notStartedScheduler.start();
+
+        // verify
+        Assert.assertEquals(Collections.singletonList(getEvent2), events);
+
+        notStartedScheduler.completeUpdate("update1");
+        Assert.assertEquals(Arrays.asList(getEvent2, getEvent1), events);
+    }
+
+    @Test
+    public void testHandleNow_releasesWaitingRequest() {
+        // setup
+        scheduler.addUpdate("update1", Collections.singletonList(scope1));
+        final Event getEvent = createGetPropositionsEvent();
+        scheduler.schedule(getEvent, Collections.singletonList(scope1));
+
+        // test
+        final boolean handled = scheduler.handleNow(getEvent);
+
+        // verify
+        Assert.assertTrue(handled);
+        Assert.assertEquals(Collections.singletonList(getEvent), handledEvents);
+
+        scheduler.completeUpdate("update1");
+        Assert.assertEquals(Collections.singletonList(getEvent), handledEvents);
+    }
+
+    @Test
+    public void testHandleNow_requestAlreadyHandled() {
+        // setup
+        scheduler.addUpdate("update1", Collections.singletonList(scope1));
+        final Event getEvent = createGetPropositionsEvent();
+        scheduler.schedule(getEvent, Collections.singletonList(scope1));
+        scheduler.completeUpdate("update1");
+
+        // test
+        final boolean handled = scheduler.handleNow(getEvent);
+
+        // verify
+        Assert.assertFalse(handled);
+        Assert.assertEquals(Collections.singletonList(getEvent), handledEvents);
+    }
+
+    private static Event createGetPropositionsEvent() {
+        return new Event.Builder(
+                        "Optimize Get Propositions Request",
+                        "com.adobe.eventType.optimize",
+                        "com.adobe.eventSource.requestContent")
+                .build();
+    }
+}
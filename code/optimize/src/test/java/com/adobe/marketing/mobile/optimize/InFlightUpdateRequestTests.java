@@ -0,0 +1,116 @@
+/*
+  Copyright 2025 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.optimize;
+
+import com.adobe.marketing.mobile.Event;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class InFlightUpdateRequestTests {
+    private final DecisionScope scope1 = new DecisionScope("scope1");
+    private final DecisionScope scope2 = new DecisionScope("scope2");
+
+    @Test
+    public void testCovers_subsetOfScopes() {
+        // setup
+        final InFlightUpdateRequest inFlightRequest =
+                new InFlightUpdateRequest(Arrays.asList(scope1, scope2), null, null, null, 0);
+
+        // verify
+        Assert.assertTrue(
+                inFlightRequest.covers(
+                        new InFlightUpdateRequest(
+                                Collections.singletonList(scope2), null, null, null, 0)));
+        Assert.assertTrue(
+                inFlightRequest.covers(
+                        new InFlightUpdateRequest(
+                                Arrays.asList(scope2, scope1),
+                                Collections.<String, Object>emptyMap(),
+                                null,
+                                null,
+                                0)));
+        Assert.assertFalse(
+                inFlightRequest.covers(
+                        new InFlightUpdateRequest(
+                                Arrays.asList(scope1, new DecisionScope("scope3")),
+                                null,
+                                null,
+                                null,
+                                0)));
+    }
+
+    @Test
+    public void testCovers_differentRequestAttributes() {
+        // setup
+        final Map<String, Object> xdm = new HashMap<>();
+        xdm.put("key", "value");
+        final Map<String, Object> data = new HashMap<>();
+        data.put("key", "value");
+        final List<DecisionScope> scopes = Collections.singletonList(scope1);
+        final InFlightUpdateRequest inFlightRequest =
+                new InFlightUpdateRequest(scopes, xdm, data, "datasetId", 1000);
+
+        // verify
+        Assert.assertTrue(
+                inFlightRequest.covers(
+                        new InFlightUpdateRequest(
+                                scopes,
+                                new HashMap<>(xdm),
+                                new HashMap<>(data),
+                                "datasetId",
+                                1000)));
+        Assert.assertFalse(
+                inFlightRequest.covers(
+                        new InFlightUpdateRequest(scopes, null, data, "datasetId", 1000)));
+        Assert.assertFalse(
+                inFlightRequest.covers(
+                        new InFlightUpdateRequest(scopes, xdm, null, "datasetId", 1000)));
+        Assert.assertFalse(
+                inFlightRequest.covers(new InFlightUpdateRequest(scopes, xdm, data, null, 1000)));
+        Assert.assertFalse(
+                inFlightRequest.covers(
+                        new InFlightUpdateRequest(scopes, xdm, data, "datasetId", 2000)));
+    }
+
+    @Test
+    public void testCoalesce_afterComplete() {
+        // setup
+        final List<DecisionScope> scopes = Collections.singletonList(scope1);
+        final InFlightUpdateRequest inFlightRequest =
+                new InFlightUpdateRequest(scopes, null, null, null, 0);
+        final Event event1 = createEvent();
+        final Event event2 = createEvent();
+
+        // test
+        Assert.assertTrue(inFlightRequest.coalesce(event1, scopes));
+        final Map<Event, List<DecisionScope>> coalescedRequests = inFlightRequest.complete();
+
+        // verify
+        Assert.assertEquals(1, coalescedRequests.size());
+        Assert.assertEquals(scopes, coalescedRequests.get(event1));
+        Assert.assertFalse(inFlightRequest.coalesce(event2, scopes));
+        Assert.assertEquals(1, inFlightRequest.complete().size());
+    }
+
+    private static Event createEvent() {
+        return new Event.Builder(
+                        "Optimize Update Propositions Request",
+                        "com.adobe.eventType.optimize",
+                        "com.adobe.eventSource.requestContent")
+                .build();
+    }
+}
@@ -0,0 +1,144 @@
+/*
+  Copyright 2025 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.optimize;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Memory footprint benchmark comparing the estimated retained size of cached HTML offers stored
+ * compressed against uncompressed, along with the {@link Offer#getContent()} latency for each.
+ *
+ * <p>Each iteration caches {@value #SCOPES_COUNT} propositions with a single HTML offer of a
+ * varying content size.
+ */
+public class OfferContentCompressionBenchmarkTests {
+    private static final int SCOPES_COUNT = 50;
+    private static final int COMPRESSION_THRESHOLD = 16 * 1024;
+    private static final int WARMUP_ITERATIONS = 20;
+    private static final int MEASURED_ITERATIONS = 100;
+
+    @After
+    public void teardown() {
+        OfferContentCompressor.getInstance().clearInflatedContents();
+    }
+
+    @Test
+    public void testRetainedSizeAndContentLatency_compressedVersusUncompressed() {
+        for (final int contentSize : new int[] {20 * 1024, 80 * 1024}) {
+            // setup
+            final List<OptimizeProposition> uncompressed = createPropositions(contentSize);
+            final List<OptimizeProposition> compressed = createPropositions(contentSize);
+            for (final OptimizeProposition proposition : compressed) {
+                proposition.compressOfferContent(COMPRESSION_THRESHOLD);
+            }
+
+            // test
+            final long uncompressedSize = estimateSize(uncompressed);
+            final long compressedSize = estimateSize(compressed);
+            final double uncompressedLatency = measureContentLatency(uncompressed, false);
+            final double inflatedLatency = measureContentLatency(compressed, false);
+            final double recentlyInflatedLatency = measureContentLatency(compressed, true);
+
+            // verify
+            System.out.printf(
+                    "%d cached offers of %d KB, retained size: uncompressed %d KB, compressed %d"
+                            + " KB; getContent median: uncompressed %.4f ms, inflated %.4f ms,"
+                            + " recently inflated %.4f ms%n",
+                    SCOPES_COUNT,
+                    contentSize / 1024,
+                    uncompressedSize / 1024,
+                    compressedSize / 1024,
+                    uncompressedLatency,
+                    inflatedLatency,
+                    recentlyInflatedLatency);
+            Assert.assertTrue(compressedSize < uncompressedSize / 2);
+            for (int i = 0; i < SCOPES_COUNT; i++) {
+                Assert.assertEquals(
+                        uncompressed.get(i).getOffers().get(0).getContent(),
+                        compressed.get(i).getOffers().get(0).getContent());
+            }
+        }
+    }
+
+    private static long estimateSize(final List<OptimizeProposition> propositions) {
+        long size = 0;
+        for (final OptimizeProposition proposition : propositions) {
+            size += PropositionsCache.estimateSize(proposition);
+        }
+        return size;
+    }
+
+    /**
+     * Measures the median time, in milliseconds, to read the content of all the given propositions
+     * offers, either reading the same offer repeatedly or each offer in turn.
+     */
+    private static double measureContentLatency(
+            final List<OptimizeProposition> propositions, final boolean sameOffer) {
+        final long[] durations = new long[MEASURED_ITERATIONS];
+        for (int i = 0; i < WARMUP_ITERATIONS + MEASURED_ITERATIONS; i++) {
+            final Offer offer =
+                    propositions.get(sameOffer ? 0 : i % propositions.size()).getOffers().get(0);
+            final long start = System.nanoTime();
+            offer.getContent();
+            final long duration = System.nanoTime() - start;
+            if (i >= WARMUP_ITERATIONS) {
+                durations[i - WARMUP_ITERATIONS] = duration;
+            }
+        }
+        Arrays.sort(durations);
+        return durations[MEASURED_ITERATIONS / 2] / 1_000_000.0;
+    }
+
+    private static List<OptimizeProposition> createPropositions(final int contentSize) {
+        final Random random = new Random(42);
+        final List<OptimizeProposition> propositions = new ArrayList<>();
+        for (int i = 0; i < SCOPES_COUNT; i++) {
+            propositions.add(
+                    new OptimizeProposition(
+                            "id-" + i,
+                            Collections.singletonList(
+                                    new Offer.Builder(
+                                                    "offer-" + i,
+                                                    OfferType.HTML,
+                                                    createHtmlContent(random, contentSize))
+                                            .build()),
+                            "scope-" + i,
+                            null,
+                            null,
+                            null));
+        }
+        return propositions;
+    }
+
+    /** Creates CMS-like HTML content, with repeated markup and varying text and image links. */
+    private static String createHtmlContent(final Random random, final int contentSize) {
+        final StringBuilder builder = new StringBuilder("<div class=\"offer\">");
+        while (builder.length() < contentSize) {
+            builder.append("<section class=\"offer-item\"><h2>Item ")
+                    .append(random.nextInt(100000))
+                    .append("</h2><p>")
+                    .append(Long.toHexString(random.nextLong()))
+                    .append(" limited time offer on selected products</p><img src=\"https://")
+                    .append("cdn.example.com/images/")
+                    .append(Long.toHexString(random.nextLong()))
+                    .append(".png\"/></section>");
+        }
+        return builder.append("</div>").toString();
+    }
+}
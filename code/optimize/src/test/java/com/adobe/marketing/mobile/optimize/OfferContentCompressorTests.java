@@ -0,0 +1,87 @@
+/*
+  Copyright 2025 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.optimize;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class OfferContentCompressorTests {
+    private final OfferContentCompressor compressor = OfferContentCompressor.getInstance();
+
+    @After
+    public void teardown() {
+        compressor.clearInflatedContents();
+    }
+
+    @Test
+    public void testCompressAndInflate() {
+        // setup
+        final StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            builder.append("<p>Offer paragraph ").append(i).append(" \u00e9\u00e8\u4e2d</p>");
+        }
+        final String content = builder.toString();
+
+        // test
+        final byte[] compressed = compressor.compress(content);
+
+        // verify
+        Assert.assertTrue(compressed.length < content.length());
+        Assert.assertEquals(content, compressor.inflate(compressed));
+        Assert.assertEquals("", compressor.inflate(compressor.compress("")));
+    }
+
+    @Test
+    public void testInflate_reusesRecentlyInflatedContent() {
+        // setup
+        final byte[] compressed = compressor.compress("<h1>This is a HTML content</h1>");
+
+        // test
+        final String content = compressor.inflate(compressed);
+
+        // verify
+        Assert.assertSame(content, compressor.inflate(compressed));
+        Assert.assertEquals(1, compressor.getInflatedContentsCount());
+    }
+
+    @Test
+    public void testInflate_evictsLeastRecentlyInflatedContent() {
+        // setup
+        final List<byte[]> compressedContents = new ArrayList<>();
+        for (int i = 0; i <= OptimizeConstants.INFLATED_OFFER_CONTENT_CACHE_SIZE; i++) {
+            compressedContents.add(compressor.compress("content " + i));
+        }
+        final String firstContent = compressor.inflate(compressedContents.get(0));
+
+        // test
+        for (int i = 1; i < compressedContents.size(); i++) {
+            compressor.inflate(compressedContents.get(i));
+        }
+
+        // verify
+        Assert.assertEquals(
+                OptimizeConstants.INFLATED_OFFER_CONTENT_CACHE_SIZE,
+                compressor.getInflatedContentsCount());
+        final String inflatedAgain = compressor.inflate(compressedContents.get(0));
+        Assert.assertEquals(firstContent, inflatedAgain);
+        Assert.assertNotSame(firstContent, inflatedAgain);
+    }
+
+    @Test
+    public void testInflate_invalidContent() {
+        Assert.assertThrows(
+                IllegalArgumentException.class, () -> compressor.inflate(new byte[] {1, 2, 3}));
+    }
+}
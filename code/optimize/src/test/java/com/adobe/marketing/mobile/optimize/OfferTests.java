@@ -16,14 +16,20 @@ import com.adobe.marketing.mobile.MobileCore;
 import com.adobe.marketing.mobile.services.Log;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import org.junit.After;
 import org.junit.Assert;
+import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.ArgumentMatchers;
+import org.mockito.Mock;
 import org.mockito.MockedStatic;
 import org.mockito.Mockito;
 import org.mockito.junit.MockitoJUnitRunner;
@@ -34,6 +40,18 @@ public class OfferTests {
 
     double doubleAccuracy = 0.001;
 
+    @Mock ScheduledExecutorService mockFlushScheduler;
+
+    @Before
+    public void setup() {
+        PropositionInteractionTracker.getInstance().setFlushScheduler(mockFlushScheduler);
+    }
+
+    @After
+    public void teardown() {
+        PropositionInteractionTracker.getInstance().setFlushScheduler(null);
+    }
+
     @Test
     public void testBuilder_validOffer() {
         final Offer offer =
@@ -99,6 +117,332 @@ public class OfferTests {
         Assert.assertEquals("true", offer.getCharacteristics().get("mobile"));
     }
 
+    @Test
+    public void testFromEventData_jsonContentConvertedOnFirstAccess() throws Exception {
+        Map<String, Object> offerData =
+                new ObjectMapper()
+                        .readValue(
+                                getClass()
+                                        .getClassLoader()
+                                        .getResource("json/OFFER_VALID_JSON_TARGET.json"),
+                                HashMap.class);
+        final Offer offer = Offer.fromEventData(offerData);
+        final Offer sameOffer = Offer.fromEventData(offerData);
+        Assert.assertNotNull(offer);
+        Assert.assertNotNull(sameOffer);
+
+        // the raw JSON content is kept, and compared without being converted
+        Assert.assertTrue(offer.getContentValue() instanceof Map);
+        Assert.assertEquals(offer, sameOffer);
+        Assert.assertEquals(offer.hashCode(), sameOffer.hashCode());
+        Assert.assertTrue(offer.getContentValue() instanceof Map);
+
+        // the content is converted once and reused, the raw content is released
+        final String content = offer.getContent();
+        Assert.assertEquals("{\"testing\":\"ho-ho\"}", content);
+        Assert.assertSame(content, offer.getContent());
+        Assert.assertSame(content, offer.getContentValue());
+        Assert.assertEquals("ho-ho", offer.getJsonContentMap().get("testing"));
+
+        // a converted offer still equals an offer with the same raw content
+        Assert.assertEquals(offer, sameOffer);
+        Assert.assertEquals(
+                offer,
+                new Offer.Builder(offer.getId(), OfferType.JSON, content)
+                        .setEtag(offer.getEtag())
+                        .setSchema(offer.getSchema())
+                        .setMeta(offer.getMeta())
+                        .setLanguage(offer.getLanguage())
+                        .setCharacteristics(offer.getCharacteristics())
+                        .build());
+    }
+
+    @Test
+    public void testFromEventData_invalidJsonContent() throws Exception {
+        Map<String, Object> offerData =
+                new ObjectMapper()
+                        .readValue(
+                                getClass()
+                                        .getClassLoader()
+                                        .getResource("json/OFFER_VALID_JSON_TARGET.json"),
+                                HashMap.class);
+        final Map<String, Object> data = (Map<String, Object>) offerData.get("data");
+
+        // content with a non-finite number
+        final Map<String, Object> content = new HashMap<>();
+        content.put("score", Double.NaN);
+        data.put("content", content);
+        Assert.assertNull(Offer.fromEventData(offerData));
+
+        // nested content with a null key
+        final Map<String, Object> nestedContent = new HashMap<>();
+        nestedContent.put(null, "value");
+        final List<Object> listContent = new ArrayList<>();
+        listContent.add(nestedContent);
+        data.put("content", listContent);
+        Assert.assertNull(Offer.fromEventData(offerData));
+    }
+
+    @Test
+    public void testGetJsonContentMap_stringContent() throws Exception {
+        Map<String, Object> offerData =
+                new ObjectMapper()
+                        .readValue(
+                                getClass()
+                                        .getClassLoader()
+                                        .getResource("json/OFFER_VALID_JSON.json"),
+                                HashMap.class);
+        final Offer offer = Offer.fromEventData(offerData);
+        Assert.assertNotNull(offer);
+
+        final Map<String, Object> jsonContent = offer.getJsonContentMap();
+        Assert.assertNotNull(jsonContent);
+        Assert.assertEquals(1, jsonContent.size());
+        Assert.assertEquals("ho-ho", jsonContent.get("testing"));
+        Assert.assertSame(jsonContent, offer.getJsonContentMap());
+        Assert.assertNull(offer.getJsonContentList());
+        Assert.assertThrows(
+                UnsupportedOperationException.class, () -> jsonContent.put("testing", "ha-ha"));
+    }
+
+    @Test
+    public void testGetJsonContentMap_rawContent() throws Exception {
+        Map<String, Object> offerData =
+                new ObjectMapper()
+                        .readValue(
+                                getClass()
+                                        .getClassLoader()
+                                        .getResource("json/OFFER_VALID_JSON_TARGET.json"),
+                                HashMap.class);
+        final Offer offer = Offer.fromEventData(offerData);
+        Assert.assertNotNull(offer);
+
+        final Map<String, Object> jsonContent = offer.getJsonContentMap();
+        Assert.assertNotNull(jsonContent);
+        Assert.assertEquals("ho-ho", jsonContent.get("testing"));
+        Assert.assertSame(jsonContent, offer.getJsonContentMap());
+
+        // the content is not converted to a String
+        Assert.assertTrue(offer.getContentValue() instanceof Map);
+    }
+
+    @Test
+    public void testGetJsonContentList() throws Exception {
+        Map<String, Object> offerData =
+                new ObjectMapper()
+                        .readValue(
+                                getClass()
+                                        .getClassLoader()
+                                        .getResource("json/OFFER_VALID_LIST.json"),
+                                HashMap.class);
+        final Offer offer = Offer.fromEventData(offerData);
+        Assert.assertNotNull(offer);
+
+        final List<Object> jsonContent = offer.getJsonContentList();
+        Assert.assertNotNull(jsonContent);
+        Assert.assertEquals(1, jsonContent.size());
+        final Map<String, Object> element = (Map<String, Object>) jsonContent.get(0);
+        Assert.assertEquals("John", element.get("name"));
+        Assert.assertEquals(30, element.get("age"));
+        final List<Object> cars = (List<Object>) element.get("cars");
+        Assert.assertEquals(3, cars.size());
+        Assert.assertThrows(UnsupportedOperationException.class, () -> cars.add("Audi"));
+        Assert.assertNull(offer.getJsonContentMap());
+    }
+
+    @Test
+    public void testGetJsonContentMap_notJsonContent() {
+        final Offer textOffer = new Offer.Builder("offer1", OfferType.TEXT, "text").build();
+        Assert.assertNull(textOffer.getJsonContentMap());
+        Assert.assertNull(textOffer.getJsonContentList());
+
+        final Offer invalidJsonOffer =
+                new Offer.Builder("offer2", OfferType.JSON, "{\"invalid\"").build();
+        Assert.assertNull(invalidJsonOffer.getJsonContentMap());
+        Assert.assertNull(invalidJsonOffer.getJsonContentList());
+    }
+
+    @Test
+    public void testCompressContent() {
+        // setup
+        final Offer offer =
+                new Offer.Builder("offer1", OfferType.HTML, "<h1>This is a HTML content</h1>")
+                        .build();
+        final Map<String, Object> eventData = offer.toEventData();
+
+        // test
+        Assert.assertFalse(offer.compressContent(0));
+        Assert.assertFalse(offer.compressContent(100));
+        Assert.assertTrue(offer.compressContent(10));
+
+        // verify
+        Assert.assertTrue(offer.getContentValue() instanceof byte[]);
+        Assert.assertEquals("<h1>This is a HTML content</h1>", offer.getContent());
+        Assert.assertTrue(offer.compressContent(10));
+
+        // the event data is created from the inflated content, but not memoized
+        final Map<String, Object> compressedEventData = offer.toEventData();
+        Assert.assertEquals(eventData, compressedEventData);
+        Assert.assertNotSame(compressedEventData, offer.toEventData());
+    }
+
+    @Test
+    public void testCompressContent_rawJsonContent() throws Exception {
+        // setup
+        Map<String, Object> offerData =
+                new ObjectMapper()
+                        .readValue(
+                                getClass()
+                                        .getClassLoader()
+                                        .getResource("json/OFFER_VALID_JSON_TARGET.json"),
+                                HashMap.class);
+        final Offer offer = Offer.fromEventData(offerData);
+        Assert.assertNotNull(offer);
+        Assert.assertTrue(offer.getContentValue() instanceof Map);
+
+        // test
+        Assert.assertFalse(offer.compressContent(100));
+        Assert.assertTrue(offer.getContentValue() instanceof Map);
+        Assert.assertTrue(offer.compressContent(10));
+
+        // verify
+        Assert.assertTrue(offer.getContentValue() instanceof byte[]);
+        Assert.assertEquals("{\"testing\":\"ho-ho\"}", offer.getContent());
+        Assert.assertEquals("ho-ho", offer.getJsonContentMap().get("testing"));
+        Assert.assertEquals(offer, Offer.fromEventData(offerData));
+    }
+
+    @Test
+    public void testCompressContent_rawJsonContentMeasuredOnce() throws Exception {
+        // setup
+        Map<String, Object> offerData =
+                new ObjectMapper()
+                        .readValue(
+                                getClass()
+                                        .getClassLoader()
+                                        .getResource("json/OFFER_VALID_JSON_TARGET.json"),
+                                HashMap.class);
+        final int[] readCount = new int[1];
+        final List<Object> items =
+                new ArrayList<Object>() {
+                    @Override
+                    public Iterator<Object> iterator() {
+                        readCount[0]++;
+                        return super.iterator();
+                    }
+                };
+        items.add("measured once");
+        final Map<String, Object> content = new HashMap<>();
+        content.put("testing", items);
+        ((Map<String, Object>) offerData.get("data")).put("content", content);
+        final Offer offer = Offer.fromEventData(offerData);
+        Assert.assertNotNull(offer);
+
+        // test
+        Assert.assertFalse(offer.compressContent(100));
+        final int measuredReadCount = readCount[0];
+        Assert.assertFalse(offer.compressContent(100));
+        Assert.assertFalse(offer.compressContent(50));
+
+        // verify
+        Assert.assertEquals(measuredReadCount, readCount[0]);
+        Assert.assertSame(offer.getContentValue(), offer.getContentValue());
+        Assert.assertTrue(offer.getContentValue() instanceof Map);
+        Assert.assertTrue(offer.compressContent(10));
+        Assert.assertEquals("{\"testing\":[\"measured once\"]}", offer.getContent());
+    }
+
+    @Test
+    public void testEquals_keepsRawAndCompressedContent() throws Exception {
+        // setup
+        final ObjectMapper objectMapper = new ObjectMapper();
+        final Offer jsonOffer =
+                Offer.fromEventData(
+                        objectMapper.readValue(
+                                getClass()
+                                        .getClassLoader()
+                                        .getResource("json/OFFER_VALID_JSON_TARGET.json"),
+                                HashMap.class));
+        final Offer sameJsonOffer =
+                Offer.fromEventData(
+                        objectMapper.readValue(
+                                getClass()
+                                        .getClassLoader()
+                                        .getResource("json/OFFER_VALID_JSON_TARGET.json"),
+                                HashMap.class));
+        final Offer htmlOffer =
+                new Offer.Builder("offer1", OfferType.HTML, "<h1>This is a HTML content</h1>")
+                        .build();
+        final Offer compressedHtmlOffer =
+                new Offer.Builder("offer1", OfferType.HTML, "<h1>This is a HTML content</h1>")
+                        .build();
+        final Offer otherCompressedHtmlOffer =
+                new Offer.Builder("offer1", OfferType.HTML, "<h1>This is another content</h1>")
+                        .build();
+        Assert.assertTrue(compressedHtmlOffer.compressContent(10));
+        Assert.assertTrue(otherCompressedHtmlOffer.compressContent(10));
+        OfferContentCompressor.getInstance().clearInflatedContents();
+
+        // test and verify
+        Assert.assertEquals(jsonOffer, sameJsonOffer);
+        Assert.assertEquals(compressedHtmlOffer, htmlOffer);
+        Assert.assertEquals(htmlOffer, compressedHtmlOffer);
+        Assert.assertNotEquals(otherCompressedHtmlOffer, htmlOffer);
+        Assert.assertNotEquals(otherCompressedHtmlOffer, compressedHtmlOffer);
+
+        Assert.assertTrue(jsonOffer.getContentValue() instanceof Map);
+        Assert.assertTrue(sameJsonOffer.getContentValue() instanceof Map);
+        Assert.assertTrue(compressedHtmlOffer.getContentValue() instanceof byte[]);
+        Assert.assertTrue(otherCompressedHtmlOffer.getContentValue() instanceof byte[]);
+        Assert.assertEquals(0, OfferContentCompressor.getInstance().getInflatedContentsCount());
+
+        // a converted offer still equals an offer with compressed or raw content
+        final String jsonContent = jsonOffer.getContent();
+        Assert.assertEquals(sameJsonOffer, jsonOffer);
+        Assert.assertTrue(sameJsonOffer.compressContent(1));
+        Assert.assertEquals(jsonOffer, sameJsonOffer);
+        Assert.assertSame(jsonContent, jsonOffer.getContentValue());
+        Assert.assertEquals(0, OfferContentCompressor.getInstance().getInflatedContentsCount());
+    }
+
+    @Test
+    public void testFromEventData_sharesIdenticalStrings() throws Exception {
+        final ObjectMapper objectMapper = new ObjectMapper();
+        final Offer offer =
+                Offer.fromEventData(
+                        objectMapper.readValue(
+                                getClass()
+                                        .getClassLoader()
+                                        .getResource("json/OFFER_VALID_HTML.json"),
+                                HashMap.class));
+        final Offer sameOffer =
+                Offer.fromEventData(
+                        objectMapper.readValue(
+                                getClass()
+                                        .getClassLoader()
+                                        .getResource("json/OFFER_VALID_HTML.json"),
+                                HashMap.class));
+        Assert.assertNotNull(offer);
+        Assert.assertNotNull(sameOffer);
+
+        // offers are distinct instances sharing the same strings
+        Assert.assertNotSame(offer, sameOffer);
+        Assert.assertSame(offer.getSchema(), sameOffer.getSchema());
+        Assert.assertSame(offer.getContent(), sameOffer.getContent());
+        Assert.assertSame(offer.getLanguage().get(0), sameOffer.getLanguage().get(0));
+        Assert.assertSame(
+                offer.getCharacteristics().get("mobile"),
+                sameOffer.getCharacteristics().get("mobile"));
+
+        // the collections are not shared, and can still be modified
+        Assert.assertNotSame(offer.getLanguage(), sameOffer.getLanguage());
+        Assert.assertNotSame(offer.getCharacteristics(), sameOffer.getCharacteristics());
+        offer.getLanguage().add("fr-fr");
+        offer.getCharacteristics().put("mobile", "false");
+        Assert.assertEquals(Collections.singletonList("en-us"), sameOffer.getLanguage());
+        Assert.assertEquals("true", sameOffer.getCharacteristics().get("mobile"));
+    }
+
     @Test
     public void testFromEventData_validTextOffer() throws Exception {
         Map<String, Object> offerData =
@@ -752,6 +1096,7 @@ public class OfferTests {
 
             // test
             offer.displayed();
+            PropositionInteractionTracker.getInstance().flush();
 
             // verify
             mobileCoreMockedStatic.verify(() -> MobileCore.dispatchEvent(eventCaptor.capture()));
@@ -824,6 +1169,7 @@ public class OfferTests {
 
             // test
             offer.displayed();
+            PropositionInteractionTracker.getInstance().flush();
 
             // verify
             mobileCoreMockedStatic.verify(() -> MobileCore.dispatchEvent(eventCaptor.capture()));
@@ -902,6 +1248,7 @@ public class OfferTests {
 
             // test
             offer.displayed();
+            PropositionInteractionTracker.getInstance().flush();
 
             // verify
             logMockedStatic.verify(
@@ -937,6 +1284,7 @@ public class OfferTests {
 
             // test
             offer.tapped();
+            PropositionInteractionTracker.getInstance().flush();
 
             // verify
             mobileCoreMockedStatic.verify(() -> MobileCore.dispatchEvent(eventCaptor.capture()));
@@ -1009,6 +1357,7 @@ public class OfferTests {
 
             // test
             offer.tapped();
+            PropositionInteractionTracker.getInstance().flush();
 
             // verify
             mobileCoreMockedStatic.verify(() -> MobileCore.dispatchEvent(eventCaptor.capture()));
@@ -1087,6 +1436,7 @@ public class OfferTests {
 
             // test
             offer.tapped();
+            PropositionInteractionTracker.getInstance().flush();
 
             // verify
             logMockedStatic.verify(
@@ -0,0 +1,107 @@
+/*
+  Copyright 2025 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.optimize;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class OfferValuesInternerTests {
+    private final OfferValuesInterner interner = OfferValuesInterner.getInstance();
+
+    @Before
+    public void setup() {
+        // values interned by offers parsed in other tests may still be retained.
+        interner.clear();
+    }
+
+    @After
+    public void teardown() {
+        interner.clear();
+    }
+
+    @Test
+    public void testIntern_string() {
+        final String value = new String("https://ns.adobe.com/personalization/html-content-item");
+        final String equalValue =
+                new String("https://ns.adobe.com/personalization/html-content-item");
+
+        Assert.assertSame(value, interner.intern(value));
+        Assert.assertSame(value, interner.intern(equalValue));
+        Assert.assertNull(interner.intern(null));
+    }
+
+    @Test
+    public void testInternStrings_list() {
+        final List<String> language = new ArrayList<>(Arrays.asList(new String("en-us")));
+        final List<String> equalLanguage = new ArrayList<>(Arrays.asList(new String("en-us")));
+
+        final List<String> internedLanguage = interner.internStrings(language);
+        final List<String> internedEqualLanguage = interner.internStrings(equalLanguage);
+
+        Assert.assertEquals(language, internedLanguage);
+        Assert.assertNotSame(internedLanguage, internedEqualLanguage);
+        Assert.assertSame(internedLanguage.get(0), internedEqualLanguage.get(0));
+        internedLanguage.add("fr-fr");
+        Assert.assertEquals(1, internedEqualLanguage.size());
+        Assert.assertNull(interner.internStrings((List<String>) null));
+    }
+
+    @Test
+    public void testInternStrings_map() {
+        final Map<String, Object> meta = new HashMap<>();
+        meta.put(new String("activity.name"), new String("Demo Activity"));
+        meta.put("activity.priority", 1);
+        final Map<String, Object> equalMeta = new HashMap<>();
+        equalMeta.put(new String("activity.name"), new String("Demo Activity"));
+        equalMeta.put("activity.priority", 1);
+
+        final Map<String, Object> internedMeta = interner.internStrings(meta);
+        final Map<String, Object> internedEqualMeta = interner.internStrings(equalMeta);
+
+        Assert.assertEquals(meta, internedMeta);
+        Assert.assertNotSame(internedMeta, internedEqualMeta);
+        Assert.assertSame(
+                internedMeta.get("activity.name"), internedEqualMeta.get("activity.name"));
+        internedMeta.put("activity.name", "Other Activity");
+        Assert.assertEquals("Demo Activity", internedEqualMeta.get("activity.name"));
+        Assert.assertNull(interner.internStrings((Map<String, Object>) null));
+    }
+
+    @Test
+    public void testInternContent() {
+        final String content = new String("<h1>This is a HTML content</h1>");
+
+        Assert.assertSame(content, interner.internContent("offer1", "1", content));
+        Assert.assertSame(content, interner.internContent("offer1", "1", new String(content)));
+
+        // contents are only shared by offers with the same id and etag
+        final String otherOfferContent = new String(content);
+        Assert.assertSame(
+                otherOfferContent, interner.internContent("offer2", "1", otherOfferContent));
+        final String newEtagContent = new String(content);
+        Assert.assertSame(newEtagContent, interner.internContent("offer1", "2", newEtagContent));
+
+        // a different content replaces the content interned for the same offer id and etag
+        final String updatedContent = "<h1>This is an updated HTML content</h1>";
+        Assert.assertSame(updatedContent, interner.internContent("offer1", "1", updatedContent));
+        Assert.assertSame(
+                updatedContent, interner.internContent("offer1", "1", new String(updatedContent)));
+        Assert.assertNull(interner.internContent("offer1", "1", null));
+    }
+}
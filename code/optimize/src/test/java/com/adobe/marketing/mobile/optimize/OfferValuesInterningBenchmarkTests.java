@@ -0,0 +1,175 @@
+/*
+  Copyright 2025 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.optimize;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Heap benchmark comparing the estimated retained size of the offer values parsed for a catalog of
+ * propositions sharing the same offers, counting each shared value instance once, against every
+ * offer retaining its own copies.
+ *
+ * <p>Each proposition is parsed from its own payload data, as received in separate Edge responses,
+ * with {@value #OFFERS_COUNT} offers out of a catalog of {@value #CATALOG_SIZE} offers.
+ */
+public class OfferValuesInterningBenchmarkTests {
+    private static final int SCOPES_COUNT = 200;
+    private static final int CATALOG_SIZE = 20;
+    private static final int OFFERS_COUNT = 5;
+
+    // Estimated sizes, in bytes, of the retained values, as in the propositions cache estimate.
+    private static final int OBJECT_SIZE = 16;
+    private static final int REFERENCE_SIZE = 8;
+    private static final int STRING_SIZE = 40;
+    private static final int MAP_SIZE = 48;
+    private static final int MAP_ENTRY_SIZE = 32;
+    private static final int LIST_SIZE = 40;
+
+    @After
+    public void teardown() {
+        OfferValuesInterner.getInstance().clear();
+    }
+
+    @Test
+    public void testRetainedSize_sharedVersusCopiedOfferValues() {
+        // setup
+        final List<OptimizeProposition> propositions = new ArrayList<>();
+        for (int i = 0; i < SCOPES_COUNT; i++) {
+            propositions.add(OptimizeProposition.fromEventData(createPropositionData(i)));
+        }
+
+        // test
+        final long copiedSize = estimateRetainedSize(propositions, false);
+        final long sharedSize = estimateRetainedSize(propositions, true);
+
+        // verify
+        System.out.printf(
+                "Offer values of %d propositions with %d offers each from a catalog of %d offers,"
+                        + " retained size: copied %d KB, shared %d KB%n",
+                SCOPES_COUNT, OFFERS_COUNT, CATALOG_SIZE, copiedSize / 1024, sharedSize / 1024);
+        Assert.assertTrue(sharedSize * 10 < copiedSize);
+
+        final Offer offer = propositions.get(0).getOffers().get(0);
+        final Offer sameOffer = propositions.get(CATALOG_SIZE).getOffers().get(0);
+        Assert.assertEquals(offer, sameOffer);
+        Assert.assertNotSame(offer, sameOffer);
+        Assert.assertSame(offer.getContent(), sameOffer.getContent());
+        Assert.assertSame(
+                offer.getMeta().get("experience.name"), sameOffer.getMeta().get("experience.name"));
+        Assert.assertSame(propositions.get(0), offer.getProposition());
+        Assert.assertSame(propositions.get(CATALOG_SIZE), sameOffer.getProposition());
+    }
+
+    /**
+     * Estimates the size of the values retained by the given propositions offers, counting the
+     * shared value instances once if {@code shared} is true.
+     */
+    private static long estimateRetainedSize(
+            final List<OptimizeProposition> propositions, final boolean shared) {
+        final Set<Object> counted = Collections.newSetFromMap(new IdentityHashMap<>());
+        long size = 0;
+        for (final OptimizeProposition proposition : propositions) {
+            for (final Offer offer : proposition.getOffers()) {
+                if (!shared) {
+                    counted.clear();
+                }
+                size += estimateValueSize(offer.getSchema(), counted);
+                size += estimateValueSize(offer.getContentValue(), counted);
+                size += estimateValueSize(offer.getMeta(), counted);
+                size += estimateValueSize(offer.getLanguage(), counted);
+                size += estimateValueSize(offer.getCharacteristics(), counted);
+            }
+        }
+        return size;
+    }
+
+    private static long estimateValueSize(final Object value, final Set<Object> counted) {
+        if (value == null || !counted.add(value)) {
+            return 0;
+        }
+        if (value instanceof String) {
+            return STRING_SIZE + 2L * ((String) value).length();
+        }
+        if (value instanceof Map) {
+            long size = MAP_SIZE;
+            for (final Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                size += MAP_ENTRY_SIZE;
+                size += estimateValueSize(entry.getKey(), counted);
+                size += estimateValueSize(entry.getValue(), counted);
+            }
+            return size;
+        }
+        if (value instanceof List) {
+            long size = LIST_SIZE;
+            for (final Object element : (List<?>) value) {
+                size += REFERENCE_SIZE + estimateValueSize(element, counted);
+            }
+            return size;
+        }
+        return OBJECT_SIZE + REFERENCE_SIZE;
+    }
+
+    /** Creates new payload data, as parsed from an Edge response, for the proposition {@code i}. */
+    private static Map<String, Object> createPropositionData(final int i) {
+        final List<Map<String, Object>> items = new ArrayList<>();
+        for (int j = 0; j < OFFERS_COUNT; j++) {
+            final int offerIndex = (i + j) % CATALOG_SIZE;
+            final Map<String, Object> meta = new HashMap<>();
+            meta.put("activity.name", new String("Catalog Activity"));
+            meta.put("experience.name", new String("Experience " + offerIndex));
+
+            final Map<String, Object> characteristics = new HashMap<>();
+            characteristics.put("mobile", new String("true"));
+
+            final List<String> language = new ArrayList<>();
+            language.add(new String("en-us"));
+
+            final StringBuilder content = new StringBuilder();
+            for (int k = 0; k < 50; k++) {
+                content.append("<p>Catalog offer ").append(offerIndex).append(" details</p>");
+            }
+
+            final Map<String, Object> data = new HashMap<>();
+            data.put("id", "offer-" + offerIndex);
+            data.put("format", new String("text/html"));
+            data.put("content", content.toString());
+            data.put("language", language);
+            data.put("characteristics", characteristics);
+
+            final Map<String, Object> item = new HashMap<>();
+            item.put("id", "offer-" + offerIndex);
+            item.put("etag", "1");
+            item.put(
+                    "schema",
+                    new String(
+                            "https://ns.adobe.com/experience/offer-management/content-component-html"));
+            item.put("meta", meta);
+            item.put("data", data);
+            items.add(item);
+        }
+
+        final Map<String, Object> propositionData = new HashMap<>();
+        propositionData.put("id", "proposition-" + i);
+        propositionData.put("scope", "scope-" + i);
+        propositionData.put("items", items);
+        return propositionData;
+    }
+}
@@ -12,27 +12,38 @@
 package com.adobe.marketing.mobile.optimize;
 
 import android.util.Base64;
+import com.adobe.marketing.mobile.AdobeCallbackWithError;
+import com.adobe.marketing.mobile.AdobeError;
 import com.adobe.marketing.mobile.Event;
 import com.adobe.marketing.mobile.ExtensionApi;
 import com.adobe.marketing.mobile.ExtensionEventListener;
+import com.adobe.marketing.mobile.MobileCore;
 import com.adobe.marketing.mobile.SharedStateResolution;
 import com.adobe.marketing.mobile.SharedStateResult;
 import com.adobe.marketing.mobile.SharedStateStatus;
 import com.adobe.marketing.mobile.services.Log;
-import com.adobe.marketing.mobile.util.SerialWorkDispatcher;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.ArgumentMatchers;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.MockedStatic;
 import org.mockito.Mockito;
@@ -46,16 +57,43 @@ public class OptimizeExtensionTests {
 
     @Mock ExtensionApi mockExtensionApi;
 
-    @Mock SerialWorkDispatcher<Event> mockEventsDispatcher;
+    @Mock GetPropositionsScheduler mockGetPropositionsScheduler;
 
     @Before
     public void setup() {
+        DecisionScope.clearRegistry();
         extension = new OptimizeExtension(mockExtensionApi);
         extension.onRegistered();
 
         Mockito.clearInvocations(mockExtensionApi);
     }
 
+    @Test
+    public void testOnUnregistered_shutsDownExecutors() {
+        // setup
+        final ScheduledExecutorService mockUpdateBatchScheduler =
+                Mockito.mock(ScheduledExecutorService.class);
+        final ScheduledExecutorService mockDeadlineScheduler =
+                Mockito.mock(ScheduledExecutorService.class);
+        final ScheduledExecutorService mockExpirySweeper =
+                Mockito.mock(ScheduledExecutorService.class);
+        final ExecutorService mockPersistenceExecutor = Mockito.mock(ExecutorService.class);
+        extension.setUpdateBatchScheduler(mockUpdateBatchScheduler);
+        extension.setGetPropositionsDeadlineScheduler(mockDeadlineScheduler);
+        extension.setExpirySweeper(mockExpirySweeper);
+        extension.setPersistenceExecutor(mockPersistenceExecutor);
+
+        // test
+        extension.onUnregistered();
+
+        // verify
+        Mockito.verify(mockUpdateBatchScheduler, Mockito.times(1)).shutdownNow();
+        Mockito.verify(mockDeadlineScheduler, Mockito.times(1)).shutdownNow();
+        Mockito.verify(mockExpirySweeper, Mockito.times(1)).shutdownNow();
+        Mockito.verify(mockPersistenceExecutor, Mockito.times(1)).shutdown();
+        Mockito.verify(mockPersistenceExecutor, Mockito.never()).shutdownNow();
+    }
+
     @Test
     public void test_getName() {
         // test
@@ -125,6 +163,21 @@ public class OptimizeExtensionTests {
                         ArgumentMatchers.eq("com.adobe.eventType.optimize"),
                         ArgumentMatchers.eq("com.adobe.eventSource.contentComplete"),
                         ArgumentMatchers.any(ExtensionEventListener.class));
+        Mockito.verify(mockExtensionApi, Mockito.times(1))
+                .registerEventListener(
+                        ArgumentMatchers.eq("com.adobe.eventType.optimize"),
+                        ArgumentMatchers.eq("com.adobe.eventSource.getPropositionsReady"),
+                        ArgumentMatchers.any(ExtensionEventListener.class));
+        Mockito.verify(mockExtensionApi, Mockito.times(1))
+                .registerEventListener(
+                        ArgumentMatchers.eq("com.adobe.eventType.generic.lifecycle"),
+                        ArgumentMatchers.eq("com.adobe.eventSource.requestContent"),
+                        ArgumentMatchers.any(ExtensionEventListener.class));
+        Mockito.verify(mockExtensionApi, Mockito.times(1))
+                .registerEventListener(
+                        ArgumentMatchers.eq("com.adobe.eventType.configuration"),
+                        ArgumentMatchers.eq("com.adobe.eventSource.responseContent"),
+                        ArgumentMatchers.any(ExtensionEventListener.class));
     }
 
     @Test
@@ -197,6 +250,55 @@ public class OptimizeExtensionTests {
         Assert.assertFalse(extension.readyForEvent(testEvent));
     }
 
+    @Test
+    public void testReadyForEvent_getPropositionsConfigurationNotSet() {
+        // setup
+        final Map<String, Object> testEventData = new HashMap<>();
+        testEventData.put("requesttype", "getpropositions");
+        final Event testEvent =
+                new Event.Builder(
+                                "Optimize Get Propositions Request",
+                                "com.adobe.eventType.optimize",
+                                "com.adobe.eventSource.requestContent")
+                        .setEventData(testEventData)
+                        .build();
+
+        Assert.assertTrue(extension.readyForEvent(testEvent));
+    }
+
+    @Test
+    public void testReadyForEvent_getPropositionsFetchMissingConfigurationNotSet() {
+        // setup
+        final Map<String, Object> testEventData = new HashMap<>();
+        testEventData.put("requesttype", "getpropositions");
+        testEventData.put("fetchmissing", true);
+        final Event testEvent =
+                new Event.Builder(
+                                "Optimize Get Propositions Request",
+                                "com.adobe.eventType.optimize",
+                                "com.adobe.eventSource.requestContent")
+                        .setEventData(testEventData)
+                        .build();
+
+        Assert.assertFalse(extension.readyForEvent(testEvent));
+    }
+
+    @Test
+    public void testReadyForEvent_trackPropositionsConfigurationNotSet() {
+        // setup
+        final Map<String, Object> testEventData = new HashMap<>();
+        testEventData.put("requesttype", "trackpropositions");
+        final Event testEvent =
+                new Event.Builder(
+                                "Optimize Track Propositions Request",
+                                "com.adobe.eventType.optimize",
+                                "com.adobe.eventSource.requestContent")
+                        .setEventData(testEventData)
+                        .build();
+
+        Assert.assertTrue(extension.readyForEvent(testEvent));
+    }
+
     @Test
     public void testReadyForEvent_OptimizeResetContentEvent() {
         // setup
@@ -592,54 +694,112 @@ public class OptimizeExtensionTests {
     }
 
     @Test
-    public void testHandleOptimizeRequestContent_UpdatePropositions_configurationNotAvailable() {
-        try (MockedStatic<Log> logMockedStatic = Mockito.mockStatic(Log.class)) {
+    public void testHandleUpdatePropositions_coalescesIdenticalRequests() throws Exception {
+        try (MockedStatic<Base64> base64MockedStatic = Mockito.mockStatic(Base64.class);
+                MockedStatic<MobileCore> mobileCoreMockedStatic =
+                        Mockito.mockStatic(MobileCore.class)) {
+            base64MockedStatic
+                    .when(
+                            () ->
+                                    Base64.decode(
+                                            ArgumentMatchers.anyString(),
+                                            ArgumentMatchers.anyInt()))
+                    .thenAnswer(
+                            (Answer<byte[]>)
+                                    invocation ->
+                                            java.util.Base64.getDecoder()
+                                                    .decode((String) invocation.getArguments()[0]));
 
             // setup
-            final DecisionScope testScope =
-                    new DecisionScope(
-                            "eyJhY3Rpdml0eUlkIjoieGNvcmU6b2ZmZXItYWN0aXZpdHk6MTExMTExMTExMTExMTExMSIsInBsYWNlbWVudElkIjoieGNvcmU6b2ZmZXItcGxhY2VtZW50OjExMTExMTExMTExMTExMTEifQ==");
-            final Map<String, Object> testEventData = new HashMap<>();
-            testEventData.put("requesttype", "updatepropositions");
-            testEventData.put(
-                    "decisionscopes",
-                    new ArrayList<Map<String, Object>>() {
+            setConfigurationSharedState(
+                    SharedStateStatus.SET,
+                    new HashMap<String, Object>() {
                         {
-                            add(testScope.toEventData());
+                            put("edge.configId", "ffffffff-ffff-ffff-ffff-ffffffffffff");
                         }
                     });
-
-            final Event testEvent =
-                    new Event.Builder(
-                                    "Optimize Update Propositions Request",
-                                    "com.adobe.eventType.optimize",
-                                    "com.adobe.eventSource.requestContent")
-                            .setEventData(testEventData)
-                            .build();
+            final OptimizeProposition testOptimizeProposition =
+                    loadProposition("json/PROPOSITION_VALID_ODE.json");
+            final DecisionScope testScope = new DecisionScope(testOptimizeProposition.getScope());
+            final Map<String, Object> testXdm = new HashMap<>();
+            testXdm.put("myXdmKey", "myXdmValue");
+            final Event testEvent1 = createUpdatePropositionsEvent(testScope, testXdm);
+            final Event testEvent2 = createUpdatePropositionsEvent(testScope, testXdm);
 
             // test
-            extension.handleOptimizeRequestContent(testEvent);
+            extension.handleOptimizeRequestContent(testEvent1);
+            extension.handleOptimizeRequestContent(testEvent2);
 
             // verify
-            Mockito.verify(mockExtensionApi, Mockito.times(0)).dispatch(ArgumentMatchers.any());
-            logMockedStatic.verify(
+            Assert.assertEquals(1, extension.getUpdateRequestEventIdsInProgress().size());
+            final ArgumentCaptor<Event> edgeEventCaptor = ArgumentCaptor.forClass(Event.class);
+            final ArgumentCaptor<AdobeCallbackWithError<Event>> callbackCaptor =
+                    ArgumentCaptor.forClass(AdobeCallbackWithError.class);
+            mobileCoreMockedStatic.verify(
                     () ->
-                            Log.debug(
-                                    ArgumentMatchers.anyString(),
-                                    ArgumentMatchers.anyString(),
-                                    ArgumentMatchers.anyString()));
+                            MobileCore.dispatchEventWithResponseCallback(
+                                    edgeEventCaptor.capture(),
+                                    ArgumentMatchers.anyLong(),
+                                    callbackCaptor.capture()),
+                    Mockito.times(1));
+
+            // simulate Edge response
+            final Map<DecisionScope, OptimizeProposition> propositionsInProgress = new HashMap<>();
+            propositionsInProgress.put(testScope, testOptimizeProposition);
+            extension.setPropositionsInProgress(
+                    edgeEventCaptor.getValue().getUniqueIdentifier(), propositionsInProgress);
+            final Map<String, Object> callbackEventData = new HashMap<>();
+            callbackEventData.put(
+                    "requestEventId", edgeEventCaptor.getValue().getUniqueIdentifier());
+            callbackCaptor
+                    .getValue()
+                    .call(
+                            new Event.Builder(
+                                            "Edge Response",
+                                            "com.adobe.eventType.edge",
+                                            "com.adobe.eventSource.responseContent")
+                                    .setEventData(callbackEventData)
+                                    .build());
+
+            // verify both requests receive the propositions
+            final ArgumentCaptor<Event> eventCaptor = ArgumentCaptor.forClass(Event.class);
+            Mockito.verify(mockExtensionApi, Mockito.times(3)).dispatch(eventCaptor.capture());
+            final List<Event> dispatchedEvents = eventCaptor.getAllValues();
+            Assert.assertEquals(
+                    testEvent1.getUniqueIdentifier(), dispatchedEvents.get(0).getResponseID());
+            Assert.assertEquals(
+                    testEvent2.getUniqueIdentifier(), dispatchedEvents.get(1).getResponseID());
+            for (int i = 0; i < 2; i++) {
+                final List<Map<String, Object>> propositionsList =
+                        (List<Map<String, Object>>)
+                                dispatchedEvents.get(i).getEventData().get("propositions");
+                Assert.assertEquals(1, propositionsList.size());
+                Assert.assertEquals(
+                        testOptimizeProposition,
+                        OptimizeProposition.fromEventData(propositionsList.get(0)));
+            }
+            Assert.assertEquals(
+                    "com.adobe.eventSource.contentComplete", dispatchedEvents.get(2).getSource());
 
-            final Map<String, List<DecisionScope>> updateEventIdsInProgress =
-                    extension.getUpdateRequestEventIdsInProgress();
-            Assert.assertNotNull(updateEventIdsInProgress);
-            Assert.assertEquals(0, updateEventIdsInProgress.size());
+            // a request after the response is received is not coalesced.
+            extension.handleOptimizeRequestContent(
+                    createUpdatePropositionsEvent(testScope, testXdm));
+            mobileCoreMockedStatic.verify(
+                    () ->
+                            MobileCore.dispatchEventWithResponseCallback(
+                                    ArgumentMatchers.any(Event.class),
+                                    ArgumentMatchers.anyLong(),
+                                    ArgumentMatchers.any()),
+                    Mockito.times(2));
         }
     }
 
     @Test
-    public void testHandleOptimizeRequestContent_HandleUpdatePropositions_noDecisionScopes() {
+    public void testHandleUpdatePropositions_requestWithDifferentXdmNotCoalesced()
+            throws Exception {
         try (MockedStatic<Base64> base64MockedStatic = Mockito.mockStatic(Base64.class);
-                MockedStatic<Log> logMockedStatic = Mockito.mockStatic(Log.class)) {
+                MockedStatic<MobileCore> mobileCoreMockedStatic =
+                        Mockito.mockStatic(MobileCore.class)) {
             base64MockedStatic
                     .when(
                             () ->
@@ -660,43 +820,34 @@ public class OptimizeExtensionTests {
                             put("edge.configId", "ffffffff-ffff-ffff-ffff-ffffffffffff");
                         }
                     });
-
-            final Map<String, Object> testEventData = new HashMap<>();
-            testEventData.put("requesttype", "updatepropositions");
-            testEventData.put("decisionscopes", new ArrayList<Map<String, Object>>());
-
-            final Event testEvent =
-                    new Event.Builder(
-                                    "Optimize Update Propositions Request",
-                                    "com.adobe.eventType.optimize",
-                                    "com.adobe.eventSource.requestContent")
-                            .setEventData(testEventData)
-                            .build();
+            final OptimizeProposition testOptimizeProposition =
+                    loadProposition("json/PROPOSITION_VALID_ODE.json");
+            final DecisionScope testScope = new DecisionScope(testOptimizeProposition.getScope());
+            final Map<String, Object> testXdm = new HashMap<>();
+            testXdm.put("myXdmKey", "myXdmValue");
 
             // test
-            extension.handleOptimizeRequestContent(testEvent);
+            extension.handleOptimizeRequestContent(
+                    createUpdatePropositionsEvent(testScope, testXdm));
+            extension.handleOptimizeRequestContent(createUpdatePropositionsEvent(testScope, null));
 
             // verify
-            Mockito.verify(mockExtensionApi, Mockito.times(0)).dispatch(ArgumentMatchers.any());
-            logMockedStatic.verify(
+            Assert.assertEquals(2, extension.getUpdateRequestEventIdsInProgress().size());
+            mobileCoreMockedStatic.verify(
                     () ->
-                            Log.debug(
-                                    ArgumentMatchers.anyString(),
-                                    ArgumentMatchers.anyString(),
-                                    ArgumentMatchers.anyString()),
+                            MobileCore.dispatchEventWithResponseCallback(
+                                    ArgumentMatchers.any(Event.class),
+                                    ArgumentMatchers.anyLong(),
+                                    ArgumentMatchers.any()),
                     Mockito.times(2));
-
-            final Map<String, List<DecisionScope>> updateEventIdsInProgress =
-                    extension.getUpdateRequestEventIdsInProgress();
-            Assert.assertNotNull(updateEventIdsInProgress);
-            Assert.assertEquals(0, updateEventIdsInProgress.size());
         }
     }
 
     @Test
-    public void testHandleOptimizeRequestContent_HandleUpdatePropositions_invalidDecisionScope() {
+    public void testHandleUpdatePropositions_coalescedRequestTimeout() throws Exception {
         try (MockedStatic<Base64> base64MockedStatic = Mockito.mockStatic(Base64.class);
-                MockedStatic<Log> logMockedStatic = Mockito.mockStatic(Log.class)) {
+                MockedStatic<MobileCore> mobileCoreMockedStatic =
+                        Mockito.mockStatic(MobileCore.class)) {
             base64MockedStatic
                     .when(
                             () ->
@@ -717,59 +868,175 @@ public class OptimizeExtensionTests {
                             put("edge.configId", "ffffffff-ffff-ffff-ffff-ffffffffffff");
                         }
                     });
+            final OptimizeProposition testOptimizeProposition =
+                    loadProposition("json/PROPOSITION_VALID_ODE.json");
+            final DecisionScope testScope = new DecisionScope(testOptimizeProposition.getScope());
+            final Event testEvent1 = createUpdatePropositionsEvent(testScope, null);
+            final Event testEvent2 = createUpdatePropositionsEvent(testScope, null);
+            extension.handleOptimizeRequestContent(testEvent1);
+            extension.handleOptimizeRequestContent(testEvent2);
+
+            final ArgumentCaptor<AdobeCallbackWithError<Event>> callbackCaptor =
+                    ArgumentCaptor.forClass(AdobeCallbackWithError.class);
+            mobileCoreMockedStatic.verify(
+                    () ->
+                            MobileCore.dispatchEventWithResponseCallback(
+                                    ArgumentMatchers.any(Event.class),
+                                    ArgumentMatchers.anyLong(),
+                                    callbackCaptor.capture()),
+                    Mockito.times(1));
 
-            final DecisionScope testScope =
-                    new DecisionScope(
-                            "eyJhY3Rpdml0eUlkIjoieGNvcmU6b2ZmZXItYWN0aXZpdHk6MTExMTExMTExMTExMTExMSIsInBsYWNlbWVudElkIjoiIn0=");
-            final Map<String, Object> testEventData = new HashMap<>();
-            testEventData.put("requesttype", "updatepropositions");
-            testEventData.put(
-                    "decisionscopes",
-                    new ArrayList<Map<String, Object>>() {
+            // test
+            callbackCaptor.getValue().fail(AdobeError.CALLBACK_TIMEOUT);
+
+            // verify
+            final ArgumentCaptor<Event> eventCaptor = ArgumentCaptor.forClass(Event.class);
+            Mockito.verify(mockExtensionApi, Mockito.times(2)).dispatch(eventCaptor.capture());
+            final List<Event> dispatchedEvents = eventCaptor.getAllValues();
+            Assert.assertEquals(
+                    testEvent1.getUniqueIdentifier(), dispatchedEvents.get(0).getResponseID());
+            Assert.assertEquals(
+                    testEvent2.getUniqueIdentifier(), dispatchedEvents.get(1).getResponseID());
+            for (final Event dispatchedEvent : dispatchedEvents) {
+                final AEPOptimizeError error =
+                        (AEPOptimizeError) dispatchedEvent.getEventData().get("responseerror");
+                Assert.assertEquals(Integer.valueOf(408), error.getStatus());
+            }
+            Assert.assertTrue(extension.getUpdateRequestEventIdsInProgress().isEmpty());
+        }
+    }
+
+    @Test
+    public void testHandleUpdatePropositions_batchesRequestsWithinWindow() throws Exception {
+        try (MockedStatic<Base64> base64MockedStatic = Mockito.mockStatic(Base64.class);
+                MockedStatic<MobileCore> mobileCoreMockedStatic =
+                        Mockito.mockStatic(MobileCore.class)) {
+            base64MockedStatic
+                    .when(
+                            () ->
+                                    Base64.decode(
+                                            ArgumentMatchers.anyString(),
+                                            ArgumentMatchers.anyInt()))
+                    .thenAnswer(
+                            (Answer<byte[]>)
+                                    invocation ->
+                                            java.util.Base64.getDecoder()
+                                                    .decode((String) invocation.getArguments()[0]));
+
+            // setup
+            setConfigurationSharedState(
+                    SharedStateStatus.SET,
+                    new HashMap<String, Object>() {
                         {
-                            add(testScope.toEventData());
+                            put("edge.configId", "ffffffff-ffff-ffff-ffff-ffffffffffff");
+                            put("optimize.updatePropositionsBatchWindow", 50);
                         }
                     });
-
-            final Event testEvent =
-                    new Event.Builder(
-                                    "Optimize Update Propositions Request",
-                                    "com.adobe.eventType.optimize",
-                                    "com.adobe.eventSource.requestContent")
-                            .setEventData(testEventData)
-                            .build();
+            final ScheduledExecutorService mockUpdateBatchScheduler =
+                    Mockito.mock(ScheduledExecutorService.class);
+            extension.setUpdateBatchScheduler(mockUpdateBatchScheduler);
+            final OptimizeProposition testOdeProposition =
+                    loadProposition("json/PROPOSITION_VALID_ODE.json");
+            final OptimizeProposition testTargetProposition =
+                    loadProposition("json/PROPOSITION_VALID_TARGET.json");
+            final DecisionScope testOdeScope = new DecisionScope(testOdeProposition.getScope());
+            final DecisionScope testTargetScope =
+                    new DecisionScope(testTargetProposition.getScope());
+            final Event testEvent1 = createUpdatePropositionsEvent(testOdeScope, null);
+            final Event testEvent2 = createUpdatePropositionsEvent(testTargetScope, null);
 
             // test
-            extension.handleOptimizeRequestContent(testEvent);
+            extension.handleOptimizeRequestContent(testEvent1);
+            extension.handleOptimizeRequestContent(testEvent2);
 
-            // verify
-            Mockito.verify(mockExtensionApi, Mockito.times(0)).dispatch(ArgumentMatchers.any());
-            logMockedStatic.verify(
+            // verify the requests are held until the batching window elapses
+            mobileCoreMockedStatic.verify(
                     () ->
-                            Log.debug(
-                                    ArgumentMatchers.anyString(),
-                                    ArgumentMatchers.anyString(),
-                                    ArgumentMatchers.anyString(),
+                            MobileCore.dispatchEventWithResponseCallback(
+                                    ArgumentMatchers.any(Event.class),
+                                    ArgumentMatchers.anyLong(),
                                     ArgumentMatchers.any()),
-                    Mockito.times(2));
-            logMockedStatic.verify(
+                    Mockito.never());
+            final ArgumentCaptor<Runnable> batchCaptor = ArgumentCaptor.forClass(Runnable.class);
+            Mockito.verify(mockUpdateBatchScheduler, Mockito.times(1))
+                    .schedule(
+                            batchCaptor.capture(),
+                            ArgumentMatchers.eq(50L),
+                            ArgumentMatchers.eq(TimeUnit.MILLISECONDS));
+
+            batchCaptor.getValue().run();
+
+            // verify a single Edge request is sent for the union of scopes
+            Assert.assertEquals(1, extension.getUpdateRequestEventIdsInProgress().size());
+            final ArgumentCaptor<Event> edgeEventCaptor = ArgumentCaptor.forClass(Event.class);
+            final ArgumentCaptor<AdobeCallbackWithError<Event>> callbackCaptor =
+                    ArgumentCaptor.forClass(AdobeCallbackWithError.class);
+            mobileCoreMockedStatic.verify(
                     () ->
-                            Log.warning(
-                                    ArgumentMatchers.anyString(),
-                                    ArgumentMatchers.anyString(),
-                                    ArgumentMatchers.anyString()));
-
-            final Map<String, List<DecisionScope>> updateEventIdsInProgress =
-                    extension.getUpdateRequestEventIdsInProgress();
-            Assert.assertNotNull(updateEventIdsInProgress);
-            Assert.assertEquals(0, updateEventIdsInProgress.size());
+                            MobileCore.dispatchEventWithResponseCallback(
+                                    edgeEventCaptor.capture(),
+                                    ArgumentMatchers.anyLong(),
+                                    callbackCaptor.capture()),
+                    Mockito.times(1));
+            final Map<String, Object> query =
+                    (Map<String, Object>) edgeEventCaptor.getValue().getEventData().get("query");
+            final Map<String, Object> queryPersonalization =
+                    (Map<String, Object>) query.get("personalization");
+            Assert.assertEquals(
+                    Arrays.asList(testOdeScope.getName(), testTargetScope.getName()),
+                    queryPersonalization.get("decisionScopes"));
+
+            // simulate Edge response
+            final Map<DecisionScope, OptimizeProposition> propositionsInProgress = new HashMap<>();
+            propositionsInProgress.put(testOdeScope, testOdeProposition);
+            propositionsInProgress.put(testTargetScope, testTargetProposition);
+            extension.setPropositionsInProgress(
+                    edgeEventCaptor.getValue().getUniqueIdentifier(), propositionsInProgress);
+            final Map<String, Object> callbackEventData = new HashMap<>();
+            callbackEventData.put(
+                    "requestEventId", edgeEventCaptor.getValue().getUniqueIdentifier());
+            callbackCaptor
+                    .getValue()
+                    .call(
+                            new Event.Builder(
+                                            "Edge Response",
+                                            "com.adobe.eventType.edge",
+                                            "com.adobe.eventSource.responseContent")
+                                    .setEventData(callbackEventData)
+                                    .build());
+
+            // verify each request receives the propositions for its own scopes
+            final ArgumentCaptor<Event> eventCaptor = ArgumentCaptor.forClass(Event.class);
+            Mockito.verify(mockExtensionApi, Mockito.times(3)).dispatch(eventCaptor.capture());
+            final List<Event> dispatchedEvents = eventCaptor.getAllValues();
+            Assert.assertEquals(
+                    testEvent1.getUniqueIdentifier(), dispatchedEvents.get(0).getResponseID());
+            final List<Map<String, Object>> propositionsList1 =
+                    (List<Map<String, Object>>)
+                            dispatchedEvents.get(0).getEventData().get("propositions");
+            Assert.assertEquals(1, propositionsList1.size());
+            Assert.assertEquals(
+                    testOdeProposition,
+                    OptimizeProposition.fromEventData(propositionsList1.get(0)));
+            Assert.assertEquals(
+                    testEvent2.getUniqueIdentifier(), dispatchedEvents.get(1).getResponseID());
+            final List<Map<String, Object>> propositionsList2 =
+                    (List<Map<String, Object>>)
+                            dispatchedEvents.get(1).getEventData().get("propositions");
+            Assert.assertEquals(1, propositionsList2.size());
+            Assert.assertEquals(
+                    testTargetProposition,
+                    OptimizeProposition.fromEventData(propositionsList2.get(0)));
+            Assert.assertEquals(
+                    "com.adobe.eventSource.contentComplete", dispatchedEvents.get(2).getSource());
         }
     }
 
     @Test
-    public void
-            testHandleOptimizeRequestContent_HandleUpdatePropositions_validAndInvalidDecisionScopes() {
-        try (MockedStatic<Base64> base64MockedStatic = Mockito.mockStatic(Base64.class)) {
+    public void testHandleUpdatePropositions_requestsWithDifferentXdmNotBatched() throws Exception {
+        try (MockedStatic<Base64> base64MockedStatic = Mockito.mockStatic(Base64.class);
+                MockedStatic<MobileCore> mobileCoreMockedStatic =
+                        Mockito.mockStatic(MobileCore.class)) {
             base64MockedStatic
                     .when(
                             () ->
@@ -788,368 +1055,2653 @@ public class OptimizeExtensionTests {
                     new HashMap<String, Object>() {
                         {
                             put("edge.configId", "ffffffff-ffff-ffff-ffff-ffffffffffff");
+                            put("optimize.updatePropositionsBatchWindow", 50);
                         }
                     });
-
-            final DecisionScope testScope1 =
+            final ScheduledExecutorService mockUpdateBatchScheduler =
+                    Mockito.mock(ScheduledExecutorService.class);
+            extension.setUpdateBatchScheduler(mockUpdateBatchScheduler);
+            final DecisionScope testOdeScope =
                     new DecisionScope(
-                            "eyJhY3Rpdml0eUlkIjoiIiwicGxhY2VtZW50SWQiOiJ4Y29yZTpvZmZlci1wbGFjZW1lbnQ6MTExMTExMTExMTExMTExMSJ9");
-            final DecisionScope testScope2 = new DecisionScope("myMbox");
-            final Map<String, Object> testEventData = new HashMap<>();
-            testEventData.put("requesttype", "updatepropositions");
-            testEventData.put(
-                    "decisionscopes",
-                    new ArrayList<Map<String, Object>>() {
-                        {
-                            add(testScope1.toEventData());
-                            add(testScope2.toEventData());
-                        }
-                    });
-            final Event testEvent =
-                    new Event.Builder(
-                                    "Optimize Update Propositions Request",
-                                    "com.adobe.eventType.optimize",
-                                    "com.adobe.eventSource.requestContent")
-                            .setEventData(testEventData)
-                            .build();
+                            loadProposition("json/PROPOSITION_VALID_ODE.json").getScope());
+            final DecisionScope testTargetScope =
+                    new DecisionScope(
+                            loadProposition("json/PROPOSITION_VALID_TARGET.json").getScope());
+            final Map<String, Object> testXdm = new HashMap<>();
+            testXdm.put("myXdmKey", "myXdmValue");
 
             // test
-            extension.handleOptimizeRequestContent(testEvent);
+            extension.handleOptimizeRequestContent(
+                    createUpdatePropositionsEvent(testOdeScope, testXdm));
+            extension.handleOptimizeRequestContent(
+                    createUpdatePropositionsEvent(testTargetScope, null));
 
             // verify
-            final Map<String, List<DecisionScope>> updateEventIdsInProgress =
-                    extension.getUpdateRequestEventIdsInProgress();
-            Assert.assertNotNull(updateEventIdsInProgress);
-            Assert.assertEquals(1, updateEventIdsInProgress.size());
-            Assert.assertTrue(
-                    updateEventIdsInProgress.containsValue(
+            final ArgumentCaptor<Runnable> batchCaptor = ArgumentCaptor.forClass(Runnable.class);
+            Mockito.verify(mockUpdateBatchScheduler, Mockito.times(2))
+                    .schedule(
+                            batchCaptor.capture(),
+                            ArgumentMatchers.eq(50L),
+                            ArgumentMatchers.eq(TimeUnit.MILLISECONDS));
+            for (final Runnable batch : batchCaptor.getAllValues()) {
+                batch.run();
+            }
+            Assert.assertEquals(2, extension.getUpdateRequestEventIdsInProgress().size());
+            mobileCoreMockedStatic.verify(
+                    () ->
+                            MobileCore.dispatchEventWithResponseCallback(
+                                    ArgumentMatchers.any(Event.class),
+                                    ArgumentMatchers.anyLong(),
+                                    ArgumentMatchers.any()),
+                    Mockito.times(2));
+        }
+    }
+
+    @Test
+    public void testHandleOptimizeRequestContent_GetPropositionsEvent_deferredUntilUpdateBatchSent()
+            throws Exception {
+        try (MockedStatic<Base64> base64MockedStatic = Mockito.mockStatic(Base64.class);
+                MockedStatic<MobileCore> ignored = Mockito.mockStatic(MobileCore.class)) {
+            base64MockedStatic
+                    .when(
+                            () ->
+                                    Base64.decode(
+                                            ArgumentMatchers.anyString(),
+                                            ArgumentMatchers.anyInt()))
+                    .thenAnswer(
+                            (Answer<byte[]>)
+                                    invocation ->
+                                            java.util.Base64.getDecoder()
+                                                    .decode((String) invocation.getArguments()[0]));
+
+            // setup
+            setConfigurationSharedState(
+                    SharedStateStatus.SET,
+                    new HashMap<String, Object>() {
+                        {
+                            put("edge.configId", "ffffffff-ffff-ffff-ffff-ffffffffffff");
+                            put("optimize.updatePropositionsBatchWindow", 50);
+                        }
+                    });
+            final ScheduledExecutorService mockUpdateBatchScheduler =
+                    Mockito.mock(ScheduledExecutorService.class);
+            extension.setUpdateBatchScheduler(mockUpdateBatchScheduler);
+            extension.setGetPropositionsScheduler(mockGetPropositionsScheduler);
+            final OptimizeProposition testOptimizeProposition =
+                    loadProposition("json/PROPOSITION_VALID_ODE.json");
+            final DecisionScope testScope = new DecisionScope(testOptimizeProposition.getScope());
+            final Map<DecisionScope, OptimizeProposition> cachedPropositions = new HashMap<>();
+            cachedPropositions.put(testScope, testOptimizeProposition);
+            extension.setCachedPropositions(cachedPropositions);
+
+            final Map<String, Object> testEventData = new HashMap<>();
+            testEventData.put("requesttype", "getpropositions");
+            testEventData.put(
+                    "decisionscopes",
+                    new ArrayList<Map<String, Object>>() {
+                        {
+                            add(testScope.toEventData());
+                        }
+                    });
+            final Event testEvent =
+                    new Event.Builder(
+                                    "Optimize Get Propositions Request",
+                                    "com.adobe.eventType.optimize",
+                                    "com.adobe.eventSource.requestContent")
+                            .setEventData(testEventData)
+                            .build();
+
+            // test
+            extension.handleOptimizeRequestContent(createUpdatePropositionsEvent(testScope, null));
+            extension.handleOptimizeRequestContent(testEvent);
+
+            // verify the get request waits for the batched update request
+            Mockito.verify(mockGetPropositionsScheduler, Mockito.never())
+                    .schedule(ArgumentMatchers.any(), ArgumentMatchers.any());
+            Mockito.verify(mockExtensionApi, Mockito.never()).dispatch(ArgumentMatchers.any());
+
+            final ArgumentCaptor<Runnable> batchCaptor = ArgumentCaptor.forClass(Runnable.class);
+            Mockito.verify(mockUpdateBatchScheduler, Mockito.times(1))
+                    .schedule(
+                            batchCaptor.capture(),
+                            ArgumentMatchers.anyLong(),
+                            ArgumentMatchers.eq(TimeUnit.MILLISECONDS));
+            batchCaptor.getValue().run();
+
+            final InOrder inOrder = Mockito.inOrder(mockGetPropositionsScheduler);
+            inOrder.verify(mockGetPropositionsScheduler, Mockito.times(1))
+                    .addUpdate(ArgumentMatchers.anyString(), ArgumentMatchers.anyList());
+            inOrder.verify(mockGetPropositionsScheduler, Mockito.times(1))
+                    .schedule(ArgumentMatchers.eq(testEvent), ArgumentMatchers.anyList());
+        }
+    }
+
+    @Test
+    public void testHandleOptimizeRequestContent_UpdatePropositions_configurationNotAvailable() {
+        try (MockedStatic<Log> logMockedStatic = Mockito.mockStatic(Log.class)) {
+
+            // setup
+            final DecisionScope testScope =
+                    new DecisionScope(
+                            "eyJhY3Rpdml0eUlkIjoieGNvcmU6b2ZmZXItYWN0aXZpdHk6MTExMTExMTExMTExMTExMSIsInBsYWNlbWVudElkIjoieGNvcmU6b2ZmZXItcGxhY2VtZW50OjExMTExMTExMTExMTExMTEifQ==");
+            final Map<String, Object> testEventData = new HashMap<>();
+            testEventData.put("requesttype", "updatepropositions");
+            testEventData.put(
+                    "decisionscopes",
+                    new ArrayList<Map<String, Object>>() {
+                        {
+                            add(testScope.toEventData());
+                        }
+                    });
+
+            final Event testEvent =
+                    new Event.Builder(
+                                    "Optimize Update Propositions Request",
+                                    "com.adobe.eventType.optimize",
+                                    "com.adobe.eventSource.requestContent")
+                            .setEventData(testEventData)
+                            .build();
+
+            // test
+            extension.handleOptimizeRequestContent(testEvent);
+
+            // verify
+            Mockito.verify(mockExtensionApi, Mockito.times(0)).dispatch(ArgumentMatchers.any());
+            logMockedStatic.verify(
+                    () ->
+                            Log.debug(
+                                    ArgumentMatchers.anyString(),
+                                    ArgumentMatchers.anyString(),
+                                    ArgumentMatchers.anyString()));
+
+            final Map<String, List<DecisionScope>> updateEventIdsInProgress =
+                    extension.getUpdateRequestEventIdsInProgress();
+            Assert.assertNotNull(updateEventIdsInProgress);
+            Assert.assertEquals(0, updateEventIdsInProgress.size());
+        }
+    }
+
+    @Test
+    public void testHandleOptimizeRequestContent_HandleUpdatePropositions_noDecisionScopes() {
+        try (MockedStatic<Base64> base64MockedStatic = Mockito.mockStatic(Base64.class);
+                MockedStatic<Log> logMockedStatic = Mockito.mockStatic(Log.class)) {
+            base64MockedStatic
+                    .when(
+                            () ->
+                                    Base64.decode(
+                                            ArgumentMatchers.anyString(),
+                                            ArgumentMatchers.anyInt()))
+                    .thenAnswer(
+                            (Answer<byte[]>)
+                                    invocation ->
+                                            java.util.Base64.getDecoder()
+                                                    .decode((String) invocation.getArguments()[0]));
+
+            // setup
+            setConfigurationSharedState(
+                    SharedStateStatus.SET,
+                    new HashMap<String, Object>() {
+                        {
+                            put("edge.configId", "ffffffff-ffff-ffff-ffff-ffffffffffff");
+                        }
+                    });
+
+            final Map<String, Object> testEventData = new HashMap<>();
+            testEventData.put("requesttype", "updatepropositions");
+            testEventData.put("decisionscopes", new ArrayList<Map<String, Object>>());
+
+            final Event testEvent =
+                    new Event.Builder(
+                                    "Optimize Update Propositions Request",
+                                    "com.adobe.eventType.optimize",
+                                    "com.adobe.eventSource.requestContent")
+                            .setEventData(testEventData)
+                            .build();
+
+            // test
+            extension.handleOptimizeRequestContent(testEvent);
+
+            // verify
+            Mockito.verify(mockExtensionApi, Mockito.times(0)).dispatch(ArgumentMatchers.any());
+            logMockedStatic.verify(
+                    () ->
+                            Log.debug(
+                                    ArgumentMatchers.anyString(),
+                                    ArgumentMatchers.anyString(),
+                                    ArgumentMatchers.anyString()),
+                    Mockito.times(2));
+
+            final Map<String, List<DecisionScope>> updateEventIdsInProgress =
+                    extension.getUpdateRequestEventIdsInProgress();
+            Assert.assertNotNull(updateEventIdsInProgress);
+            Assert.assertEquals(0, updateEventIdsInProgress.size());
+        }
+    }
+
+    @Test
+    public void testHandleOptimizeRequestContent_HandleUpdatePropositions_invalidDecisionScope() {
+        try (MockedStatic<Base64> base64MockedStatic = Mockito.mockStatic(Base64.class);
+                MockedStatic<Log> logMockedStatic = Mockito.mockStatic(Log.class)) {
+            base64MockedStatic
+                    .when(
+                            () ->
+                                    Base64.decode(
+                                            ArgumentMatchers.anyString(),
+                                            ArgumentMatchers.anyInt()))
+                    .thenAnswer(
+                            (Answer<byte[]>)
+                                    invocation ->
+                                            java.util.Base64.getDecoder()
+                                                    .decode((String) invocation.getArguments()[0]));
+
+            // setup
+            setConfigurationSharedState(
+                    SharedStateStatus.SET,
+                    new HashMap<String, Object>() {
+                        {
+                            put("edge.configId", "ffffffff-ffff-ffff-ffff-ffffffffffff");
+                        }
+                    });
+
+            final DecisionScope testScope =
+                    new DecisionScope(
+                            "eyJhY3Rpdml0eUlkIjoieGNvcmU6b2ZmZXItYWN0aXZpdHk6MTExMTExMTExMTExMTExMSIsInBsYWNlbWVudElkIjoiIn0=");
+            final Map<String, Object> testEventData = new HashMap<>();
+            testEventData.put("requesttype", "updatepropositions");
+            testEventData.put(
+                    "decisionscopes",
+                    new ArrayList<Map<String, Object>>() {
+                        {
+                            add(testScope.toEventData());
+                        }
+                    });
+
+            final Event testEvent =
+                    new Event.Builder(
+                                    "Optimize Update Propositions Request",
+                                    "com.adobe.eventType.optimize",
+                                    "com.adobe.eventSource.requestContent")
+                            .setEventData(testEventData)
+                            .build();
+
+            // test
+            extension.handleOptimizeRequestContent(testEvent);
+
+            // verify
+            Mockito.verify(mockExtensionApi, Mockito.times(0)).dispatch(ArgumentMatchers.any());
+            logMockedStatic.verify(
+                    () ->
+                            Log.debug(
+                                    ArgumentMatchers.anyString(),
+                                    ArgumentMatchers.anyString(),
+                                    ArgumentMatchers.anyString(),
+                                    ArgumentMatchers.any()),
+                    Mockito.times(2));
+            logMockedStatic.verify(
+                    () ->
+                            Log.warning(
+                                    ArgumentMatchers.anyString(),
+                                    ArgumentMatchers.anyString(),
+                                    ArgumentMatchers.anyString()));
+
+            final Map<String, List<DecisionScope>> updateEventIdsInProgress =
+                    extension.getUpdateRequestEventIdsInProgress();
+            Assert.assertNotNull(updateEventIdsInProgress);
+            Assert.assertEquals(0, updateEventIdsInProgress.size());
+        }
+    }
+
+    @Test
+    public void
+            testHandleOptimizeRequestContent_HandleUpdatePropositions_validAndInvalidDecisionScopes() {
+        try (MockedStatic<Base64> base64MockedStatic = Mockito.mockStatic(Base64.class)) {
+            base64MockedStatic
+                    .when(
+                            () ->
+                                    Base64.decode(
+                                            ArgumentMatchers.anyString(),
+                                            ArgumentMatchers.anyInt()))
+                    .thenAnswer(
+                            (Answer<byte[]>)
+                                    invocation ->
+                                            java.util.Base64.getDecoder()
+                                                    .decode((String) invocation.getArguments()[0]));
+
+            // setup
+            setConfigurationSharedState(
+                    SharedStateStatus.SET,
+                    new HashMap<String, Object>() {
+                        {
+                            put("edge.configId", "ffffffff-ffff-ffff-ffff-ffffffffffff");
+                        }
+                    });
+
+            final DecisionScope testScope1 =
+                    new DecisionScope(
+                            "eyJhY3Rpdml0eUlkIjoiIiwicGxhY2VtZW50SWQiOiJ4Y29yZTpvZmZlci1wbGFjZW1lbnQ6MTExMTExMTExMTExMTExMSJ9");
+            final DecisionScope testScope2 = new DecisionScope("myMbox");
+            final Map<String, Object> testEventData = new HashMap<>();
+            testEventData.put("requesttype", "updatepropositions");
+            testEventData.put(
+                    "decisionscopes",
+                    new ArrayList<Map<String, Object>>() {
+                        {
+                            add(testScope1.toEventData());
+                            add(testScope2.toEventData());
+                        }
+                    });
+            final Event testEvent =
+                    new Event.Builder(
+                                    "Optimize Update Propositions Request",
+                                    "com.adobe.eventType.optimize",
+                                    "com.adobe.eventSource.requestContent")
+                            .setEventData(testEventData)
+                            .build();
+
+            // test
+            extension.handleOptimizeRequestContent(testEvent);
+
+            // verify
+            final Map<String, List<DecisionScope>> updateEventIdsInProgress =
+                    extension.getUpdateRequestEventIdsInProgress();
+            Assert.assertNotNull(updateEventIdsInProgress);
+            Assert.assertEquals(1, updateEventIdsInProgress.size());
+            Assert.assertTrue(
+                    updateEventIdsInProgress.containsValue(
+                            new ArrayList<DecisionScope>() {
+                                {
+                                    add(testScope2);
+                                }
+                            }));
+        }
+    }
+
+    @Test
+    public void testHandleEdgeResponse_validProposition() throws Exception {
+        // setup
+        extension.setUpdateRequestEventIdsInProgress(
+                "AAAAAAAA-AAAA-AAAA-AAAA-AAAAAAAAAAAA",
+                new ArrayList<DecisionScope>() {
+                    {
+                        add(
+                                new DecisionScope(
+                                        "eyJhY3Rpdml0eUlkIjoieGNvcmU6b2ZmZXItYWN0aXZpdHk6MTExMTExMTExMTExMTExMSIsInBsYWNlbWVudElkIjoieGNvcmU6b2ZmZXItcGxhY2VtZW50OjExMTExMTExMTExMTExMTEifQ=="));
+                    }
+                });
+        final Map<String, Object> edgeResponseData =
+                new ObjectMapper()
+                        .readValue(
+                                getClass()
+                                        .getClassLoader()
+                                        .getResource("json/EVENT_DATA_EDGE_RESPONSE_VALID.json"),
+                                HashMap.class);
+        final Event testEvent =
+                new Event.Builder(
+                                "AEP Response Event Handle",
+                                "com.adobe.eventType.edge",
+                                "personalization:decisions")
+                        .setEventData(edgeResponseData)
+                        .build();
+
+        final ArgumentCaptor<Event> eventCaptor = ArgumentCaptor.forClass(Event.class);
+
+        // test
+        extension.handleEdgeResponse(testEvent);
+
+        // verify
+        Mockito.verify(mockExtensionApi, Mockito.times(1)).dispatch(eventCaptor.capture());
+
+        final Event dispatchedEvent = eventCaptor.getValue();
+        Assert.assertEquals("com.adobe.eventType.optimize", dispatchedEvent.getType());
+        Assert.assertEquals("com.adobe.eventSource.notification", dispatchedEvent.getSource());
+
+        final List<Map<String, Object>> propositionsList =
+                (List<Map<String, Object>>) dispatchedEvent.getEventData().get("propositions");
+        Assert.assertNotNull(propositionsList);
+        Assert.assertEquals(1, propositionsList.size());
+
+        final Map<String, Object> propositionsData = propositionsList.get(0);
+        Assert.assertNotNull(propositionsData);
+        final OptimizeProposition optimizeProposition =
+                OptimizeProposition.fromEventData(propositionsData);
+        Assert.assertNotNull(optimizeProposition);
+
+        Assert.assertEquals("aaaaaaaa-aaaa-aaaa-aaaa-aaaaaaaaaaaa", optimizeProposition.getId());
+        Assert.assertEquals(
+                "eyJhY3Rpdml0eUlkIjoieGNvcmU6b2ZmZXItYWN0aXZpdHk6MTExMTExMTExMTExMTExMSIsInBsYWNlbWVudElkIjoieGNvcmU6b2ZmZXItcGxhY2VtZW50OjExMTExMTExMTExMTExMTEifQ==",
+                optimizeProposition.getScope());
+        Assert.assertTrue(optimizeProposition.getScopeDetails().isEmpty());
+        Assert.assertEquals(1, optimizeProposition.getOffers().size());
+
+        final Offer offer = optimizeProposition.getOffers().get(0);
+        Assert.assertEquals("xcore:personalized-offer:1111111111111111", offer.getId());
+        Assert.assertEquals("10", offer.getEtag());
+        Assert.assertEquals(
+                "https://ns.adobe.com/experience/offer-management/content-component-html",
+                offer.getSchema());
+        Assert.assertEquals(OfferType.HTML, offer.getType());
+        Assert.assertEquals("<h1>This is a HTML content</h1>", offer.getContent());
+        Assert.assertEquals(1, offer.getCharacteristics().size());
+        Assert.assertEquals("true", offer.getCharacteristics().get("testing"));
+        Assert.assertNull(offer.getLanguage());
+
+        // incoming proposition is accumulated, not cached yet
+        Assert.assertEquals(1, extension.getPropositionsInProgress().size());
+        Assert.assertEquals(0, extension.getCachedPropositions().size());
+    }
+
+    @Test
+    public void testHandleEdgeResponse_notificationMatchesSerializedPropositions()
+            throws Exception {
+        try (MockedStatic<Base64> base64MockedStatic = Mockito.mockStatic(Base64.class)) {
+            base64MockedStatic
+                    .when(
+                            () ->
+                                    Base64.decode(
+                                            ArgumentMatchers.anyString(),
+                                            ArgumentMatchers.anyInt()))
+                    .thenAnswer(
+                            (Answer<byte[]>)
+                                    invocation ->
+                                            java.util.Base64.getDecoder()
+                                                    .decode((String) invocation.getArguments()[0]));
+
+            // setup
+            extension.setExpirySweeper(Mockito.mock(ScheduledExecutorService.class));
+            final DecisionScope decisionScope = new DecisionScope("myMbox");
+            extension.setUpdateRequestEventIdsInProgress(
+                    "AAAAAAAA-AAAA-AAAA-AAAA-AAAAAAAAAAAA",
+                    Collections.singletonList(decisionScope));
+            extension
+                    .getUpdateRequestEventIdsTtl()
+                    .put("AAAAAAAA-AAAA-AAAA-AAAA-AAAAAAAAAAAA", 60000L);
+            final Map<String, Object> propositionData =
+                    new ObjectMapper()
+                            .readValue(
+                                    getClass()
+                                            .getClassLoader()
+                                            .getResource("json/PROPOSITION_VALID_TARGET.json"),
+                                    HashMap.class);
+            final Map<String, Object> edgeResponseData = new HashMap<>();
+            edgeResponseData.put("payload", Collections.singletonList(propositionData));
+            edgeResponseData.put("requestEventId", "AAAAAAAA-AAAA-AAAA-AAAA-AAAAAAAAAAAA");
+            edgeResponseData.put("type", "personalization:decisions");
+            final Event testEvent =
+                    new Event.Builder(
+                                    "AEP Response Event Handle",
+                                    "com.adobe.eventType.edge",
+                                    "personalization:decisions")
+                            .setEventData(edgeResponseData)
+                            .build();
+            final ArgumentCaptor<Event> eventCaptor = ArgumentCaptor.forClass(Event.class);
+
+            // test
+            extension.handleEdgeResponse(testEvent);
+
+            // verify the notification contains the serialized proposition, with a string content
+            Mockito.verify(mockExtensionApi, Mockito.times(1)).dispatch(eventCaptor.capture());
+            final List<Map<String, Object>> propositionsList =
+                    (List<Map<String, Object>>)
+                            eventCaptor.getValue().getEventData().get("propositions");
+            Assert.assertEquals(1, propositionsList.size());
+            final OptimizeProposition accumulatedProposition =
+                    extension
+                            .getPropositionsInProgress()
+                            .get("AAAAAAAA-AAAA-AAAA-AAAA-AAAAAAAAAAAA")
+                            .get(decisionScope);
+            Assert.assertEquals(accumulatedProposition.createEventData(), propositionsList.get(0));
+            final Map<String, Object> itemData =
+                    (Map<String, Object>)
+                            ((List<Map<String, Object>>) propositionsList.get(0).get("items"))
+                                    .get(0)
+                                    .get("data");
+            Assert.assertTrue(itemData.get("content") instanceof String);
+
+            // verify the cached proposition is returned with the same shape and its expiry time
+            extension.handleUpdatePropositionsCompleted(
+                    createUpdateCompleteEvent("AAAAAAAA-AAAA-AAAA-AAAA-AAAAAAAAAAAA"));
+            final Event getEvent = createGetPropositionsEvent(decisionScope);
+            extension.handleOptimizeRequestContent(getEvent);
+            final List<Map<String, Object>> cachedPropositionsList =
+                    (List<Map<String, Object>>)
+                            getDispatchedResponseEvent(getEvent).getEventData().get("propositions");
+            Assert.assertEquals(1, cachedPropositionsList.size());
+            final Map<String, Object> cachedPropositionData = cachedPropositionsList.get(0);
+            Assert.assertEquals(
+                    extension.getCachedPropositions().get(decisionScope).createEventData(),
+                    cachedPropositionData);
+            Assert.assertTrue(cachedPropositionData.containsKey("expiryTime"));
+            final Map<String, Object> expectedData = new HashMap<>(propositionsList.get(0));
+            expectedData.put("expiryTime", cachedPropositionData.get("expiryTime"));
+            Assert.assertEquals(expectedData, cachedPropositionData);
+        }
+    }
+
+    @Test
+    public void testHandleEdgeResponse_validPropositionFromTargetWithClickTracking()
+            throws Exception {
+        // setup
+        extension.setUpdateRequestEventIdsInProgress(
+                "AAAAAAAA-AAAA-AAAA-AAAA-AAAAAAAAAAAA",
+                new ArrayList<DecisionScope>() {
+                    {
+                        add(new DecisionScope("myMbox"));
+                    }
+                });
+        final Map<String, Object> edgeResponseData =
+                new ObjectMapper()
+                        .readValue(
+                                getClass()
+                                        .getClassLoader()
+                                        .getResource(
+                                                "json/EVENT_DATA_EDGE_RESPONSE_VALID_TARGET_WITH_CLICK_TRACKING.json"),
+                                HashMap.class);
+        final Event testEvent =
+                new Event.Builder(
+                                "AEP Response Event Handle",
+                                "com.adobe.eventType.edge",
+                                "personalization:decisions")
+                        .setEventData(edgeResponseData)
+                        .build();
+
+        final ArgumentCaptor<Event> eventCaptor = ArgumentCaptor.forClass(Event.class);
+
+        // test
+        extension.handleEdgeResponse(testEvent);
+
+        // verify
+        Mockito.verify(mockExtensionApi, Mockito.times(1)).dispatch(eventCaptor.capture());
+
+        final Event dispatchedEvent = eventCaptor.getValue();
+        Assert.assertEquals("com.adobe.eventType.optimize", dispatchedEvent.getType());
+        Assert.assertEquals("com.adobe.eventSource.notification", dispatchedEvent.getSource());
+
+        final List<Map<String, Object>> propositionsList =
+                (List<Map<String, Object>>) dispatchedEvent.getEventData().get("propositions");
+        Assert.assertNotNull(propositionsList);
+        Assert.assertEquals(1, propositionsList.size());
+
+        final Map<String, Object> propositionsData = propositionsList.get(0);
+        Assert.assertNotNull(propositionsData);
+        final OptimizeProposition optimizeProposition =
+                OptimizeProposition.fromEventData(propositionsData);
+        Assert.assertNotNull(optimizeProposition);
+
+        Assert.assertEquals(
+                "AT:eyJhY3Rpdml0eUlkIjoiMTExMTExIiwiZXhwZXJpZW5jZUlkIjoiMCJ9",
+                optimizeProposition.getId());
+        Assert.assertEquals("myMbox", optimizeProposition.getScope());
+        Assert.assertNotNull(optimizeProposition.getScopeDetails());
+
+        final Map<String, Object> scopeDetails = optimizeProposition.getScopeDetails();
+        Assert.assertNotNull(scopeDetails);
+        Assert.assertEquals(5, scopeDetails.size());
+        Assert.assertEquals("TGT", scopeDetails.get("decisionProvider"));
+        final Map<String, Object> activity = (Map<String, Object>) scopeDetails.get("activity");
+        Assert.assertNotNull(activity);
+        Assert.assertEquals(1, activity.size());
+        Assert.assertEquals("111111", activity.get("id"));
+        Map<String, Object> experience = (Map<String, Object>) scopeDetails.get("experience");
+        Assert.assertNotNull(experience);
+        Assert.assertEquals(1, experience.size());
+        Assert.assertEquals("0", experience.get("id"));
+        final List<Map<String, Object>> strategies =
+                (List<Map<String, Object>>) scopeDetails.get("strategies");
+        Assert.assertNotNull(strategies);
+        Assert.assertEquals(2, strategies.size());
+        final Map<String, Object> strategy0 = strategies.get(0);
+        Assert.assertNotNull(strategy0);
+        Assert.assertEquals(3, strategy0.size());
+        Assert.assertEquals("entry", strategy0.get("step"));
+        Assert.assertEquals("0", strategy0.get("algorithmID"));
+        Assert.assertEquals("0", strategy0.get("trafficType"));
+
+        final Map<String, Object> strategy1 = strategies.get(1);
+        Assert.assertNotNull(strategy1);
+        Assert.assertEquals(3, strategy1.size());
+        Assert.assertEquals("display", strategy1.get("step"));
+        Assert.assertEquals("0", strategy1.get("algorithmID"));
+        Assert.assertEquals("0", strategy1.get("trafficType"));
+
+        final Map<String, Object> characteristics =
+                (Map<String, Object>) scopeDetails.get("characteristics");
+        Assert.assertNotNull(characteristics);
+        Assert.assertEquals(2, characteristics.size());
+        Assert.assertEquals(
+                "SGFZpwAqaqFTayhAT2xsgzG3+2fw4m+O9FK8c0QoOHfxVkH1ttT1PGBX3/jV8a5uFF0fAox6CXpjJ1PGRVQBjHl9Zc6mRxY9NQeM7rs/3Es1RHPkzBzyhpVS6eg9q+kw",
+                characteristics.get("stateToken"));
+        final Map<String, Object> eventTokens =
+                (Map<String, Object>) characteristics.get("eventTokens");
+        Assert.assertNotNull(eventTokens);
+        Assert.assertEquals(2, eventTokens.size());
+        Assert.assertEquals(
+                "MmvRrL5aB4Jz36JappRYg2qipfsIHvVzTQxHolz2IpSCnQ9Y9OaLL2gsdrWQTvE54PwSz67rmXWmSnkXpSSS2Q==",
+                eventTokens.get("display"));
+        Assert.assertEquals("EZDMbI2wmAyGcUYLr3VpmA==", eventTokens.get("click"));
+
+        Assert.assertEquals(1, optimizeProposition.getOffers().size());
+        final Offer offer = optimizeProposition.getOffers().get(0);
+        Assert.assertEquals("0", offer.getId());
+        Assert.assertNull(offer.getEtag());
+        Assert.assertEquals(
+                "https://ns.adobe.com/personalization/json-content-item", offer.getSchema());
+        Assert.assertEquals(OfferType.JSON, offer.getType());
+        Assert.assertEquals("{\"device\":\"mobile\"}", offer.getContent());
+        Assert.assertNull(offer.getCharacteristics());
+        Assert.assertNull(offer.getLanguage());
+
+        // incoming proposition is accumulated, not cached yet
+        Assert.assertEquals(1, extension.getPropositionsInProgress().size());
+        Assert.assertEquals(0, extension.getCachedPropositions().size());
+    }
+
+    @Test
+    public void testHandleEdgeResponse_concurrentRequestsAccumulatedSeparately() throws Exception {
+        try (MockedStatic<Base64> base64MockedStatic = Mockito.mockStatic(Base64.class)) {
+            base64MockedStatic
+                    .when(
+                            () ->
+                                    Base64.decode(
+                                            ArgumentMatchers.anyString(),
+                                            ArgumentMatchers.anyInt()))
+                    .thenAnswer(
+                            (Answer<byte[]>)
+                                    invocation ->
+                                            java.util.Base64.getDecoder()
+                                                    .decode((String) invocation.getArguments()[0]));
+
+            // setup
+            final OptimizeProposition testOdeProposition =
+                    loadProposition("json/PROPOSITION_VALID_ODE.json");
+            final OptimizeProposition testTargetProposition =
+                    loadProposition("json/PROPOSITION_VALID_TARGET.json");
+            final DecisionScope testOdeScope = new DecisionScope(testOdeProposition.getScope());
+            final DecisionScope testTargetScope =
+                    new DecisionScope(testTargetProposition.getScope());
+            extension.setUpdateRequestEventIdsInProgress(
+                    "AAAAAAAA-AAAA-AAAA-AAAA-AAAAAAAAAAAA",
+                    Collections.singletonList(testOdeScope));
+            extension.setUpdateRequestEventIdsInProgress(
+                    "BBBBBBBB-BBBB-BBBB-BBBB-BBBBBBBBBBBB",
+                    Collections.singletonList(testTargetScope));
+
+            // test
+            extension.handleEdgeResponse(
+                    createEdgeResponseEvent(
+                            "AAAAAAAA-AAAA-AAAA-AAAA-AAAAAAAAAAAA", testOdeProposition));
+            extension.handleEdgeResponse(
+                    createEdgeResponseEvent(
+                            "BBBBBBBB-BBBB-BBBB-BBBB-BBBBBBBBBBBB", testTargetProposition));
+            extension.handleUpdatePropositionsCompleted(
+                    createUpdateCompleteEvent("AAAAAAAA-AAAA-AAAA-AAAA-AAAAAAAAAAAA"));
+
+            // verify only the completed request's propositions are cached
+            Assert.assertEquals(1, extension.getCachedPropositions().size());
+            Assert.assertEquals(
+                    testOdeProposition, extension.getCachedPropositions().get(testOdeScope));
+            Assert.assertEquals(1, extension.getPropositionsInProgress().size());
+            Assert.assertEquals(
+                    testTargetProposition,
+                    extension
+                            .getPropositionsInProgress()
+                            .get("BBBBBBBB-BBBB-BBBB-BBBB-BBBBBBBBBBBB")
+                            .get(testTargetScope));
+
+            extension.handleUpdatePropositionsCompleted(
+                    createUpdateCompleteEvent("BBBBBBBB-BBBB-BBBB-BBBB-BBBBBBBBBBBB"));
+
+            Assert.assertEquals(2, extension.getCachedPropositions().size());
+            Assert.assertEquals(
+                    testTargetProposition, extension.getCachedPropositions().get(testTargetScope));
+            Assert.assertTrue(extension.getPropositionsInProgress().isEmpty());
+        }
+    }
+
+    @Test
+    public void testHandleEdgeResponse_unchangedPropositionNotNotified() throws Exception {
+        try (MockedStatic<Base64> base64MockedStatic = Mockito.mockStatic(Base64.class)) {
+            base64MockedStatic
+                    .when(
+                            () ->
+                                    Base64.decode(
+                                            ArgumentMatchers.anyString(),
+                                            ArgumentMatchers.anyInt()))
+                    .thenAnswer(
+                            (Answer<byte[]>)
+                                    invocation ->
+                                            java.util.Base64.getDecoder()
+                                                    .decode((String) invocation.getArguments()[0]));
+
+            // setup
+            final OptimizeProposition cachedOptimizeProposition =
+                    loadProposition("json/PROPOSITION_VALID_ODE.json");
+            final DecisionScope testScope = new DecisionScope(cachedOptimizeProposition.getScope());
+            final Map<DecisionScope, OptimizeProposition> cachedPropositions = new HashMap<>();
+            cachedPropositions.put(testScope, cachedOptimizeProposition);
+            extension.setCachedPropositions(cachedPropositions);
+            extension.setUpdateRequestEventIdsInProgress(
+                    "AAAAAAAA-AAAA-AAAA-AAAA-AAAAAAAAAAAA", Collections.singletonList(testScope));
+
+            // test
+            extension.handleEdgeResponse(
+                    createEdgeResponseEvent(
+                            "AAAAAAAA-AAAA-AAAA-AAAA-AAAAAAAAAAAA",
+                            loadProposition("json/PROPOSITION_VALID_ODE.json")));
+            extension.handleUpdatePropositionsCompleted(
+                    createUpdateCompleteEvent("AAAAAAAA-AAAA-AAAA-AAAA-AAAAAAAAAAAA"));
+
+            // verify
+            Mockito.verify(mockExtensionApi, Mockito.never()).dispatch(ArgumentMatchers.any());
+            final OptimizeProposition updatedProposition =
+                    extension.getCachedPropositions().get(testScope);
+            Assert.assertSame(cachedOptimizeProposition, updatedProposition);
+            Assert.assertSame(
+                    cachedOptimizeProposition.getOffers().get(0),
+                    updatedProposition.getOffers().get(0));
+        }
+    }
+
+    @Test
+    public void testHandleEdgeResponse_unchangedPropositionsKeepCachedContentForm()
+            throws Exception {
+        try (MockedStatic<Base64> base64MockedStatic = Mockito.mockStatic(Base64.class)) {
+            base64MockedStatic
+                    .when(
+                            () ->
+                                    Base64.decode(
+                                            ArgumentMatchers.anyString(),
+                                            ArgumentMatchers.anyInt()))
+                    .thenAnswer(
+                            (Answer<byte[]>)
+                                    invocation ->
+                                            java.util.Base64.getDecoder()
+                                                    .decode((String) invocation.getArguments()[0]));
+
+            // setup
+            final OptimizeProposition cachedTargetProposition =
+                    loadProposition("json/PROPOSITION_VALID_TARGET.json");
+            final OptimizeProposition cachedOdeProposition =
+                    loadProposition("json/PROPOSITION_VALID_ODE.json");
+            cachedOdeProposition.compressOfferContent(10);
+            final DecisionScope targetScope = new DecisionScope(cachedTargetProposition.getScope());
+            final DecisionScope odeScope = new DecisionScope(cachedOdeProposition.getScope());
+            final Map<DecisionScope, OptimizeProposition> cachedPropositions = new HashMap<>();
+            cachedPropositions.put(targetScope, cachedTargetProposition);
+            cachedPropositions.put(odeScope, cachedOdeProposition);
+            extension.setCachedPropositions(cachedPropositions);
+            extension.setUpdateRequestEventIdsInProgress(
+                    "AAAAAAAA-AAAA-AAAA-AAAA-AAAAAAAAAAAA", Arrays.asList(targetScope, odeScope));
+            OfferContentCompressor.getInstance().clearInflatedContents();
+
+            final ObjectMapper objectMapper = new ObjectMapper();
+            final Map<String, Object> eventData = new HashMap<>();
+            eventData.put(
+                    "payload",
+                    Arrays.asList(
+                            objectMapper.readValue(
+                                    getClass()
+                                            .getClassLoader()
+                                            .getResource("json/PROPOSITION_VALID_TARGET.json"),
+                                    HashMap.class),
+                            objectMapper.readValue(
+                                    getClass()
+                                            .getClassLoader()
+                                            .getResource("json/PROPOSITION_VALID_ODE.json"),
+                                    HashMap.class)));
+            eventData.put("requestEventId", "AAAAAAAA-AAAA-AAAA-AAAA-AAAAAAAAAAAA");
+            eventData.put("type", "personalization:decisions");
+
+            // test
+            extension.handleEdgeResponse(
+                    new Event.Builder(
+                                    "AEP Response Event Handle",
+                                    "com.adobe.eventType.edge",
+                                    "personalization:decisions")
+                            .setEventData(eventData)
+                            .build());
+
+            // verify
+            Mockito.verify(mockExtensionApi, Mockito.never()).dispatch(ArgumentMatchers.any());
+            Assert.assertTrue(
+                    cachedTargetProposition.getOffers().get(0).getContentValue() instanceof Map);
+            Assert.assertTrue(
+                    cachedOdeProposition.getOffers().get(0).getContentValue() instanceof byte[]);
+            Assert.assertEquals(0, OfferContentCompressor.getInstance().getInflatedContentsCount());
+        }
+    }
+
+    @Test
+    public void testHandleUpdatePropositionsCompleted_compressesCachedOfferContent()
+            throws Exception {
+        // setup
+        final Map<String, Object> configData = new HashMap<>();
+        configData.put("optimize.offerContentCompressionThreshold", 10);
+        extension.handleConfigurationResponseContent(
+                new Event.Builder(
+                                "Configuration Response Event",
+                                "com.adobe.eventType.configuration",
+                                "com.adobe.eventSource.responseContent")
+                        .setEventData(configData)
+                        .build());
+        final OptimizeProposition targetProposition =
+                loadProposition("json/PROPOSITION_VALID_TARGET.json");
+        final String content = targetProposition.getOffers().get(0).getContent();
+        final DecisionScope targetScope = new DecisionScope(targetProposition.getScope());
+        extension.setUpdateRequestEventIdsInProgress(
+                "AAAAAAAA-AAAA-AAAA-AAAA-AAAAAAAAAAAA", Collections.singletonList(targetScope));
+
+        // test
+        extension.handleEdgeResponse(
+                createEdgeResponseEvent("AAAAAAAA-AAAA-AAAA-AAAA-AAAAAAAAAAAA", targetProposition));
+        extension.handleUpdatePropositionsCompleted(
+                createUpdateCompleteEvent("AAAAAAAA-AAAA-AAAA-AAAA-AAAAAAAAAAAA"));
+
+        // verify
+        final Offer cachedOffer =
+                extension.getCachedPropositions().get(targetScope).getOffers().get(0);
+        Assert.assertTrue(cachedOffer.getContentValue() instanceof byte[]);
+        Assert.assertEquals(content, cachedOffer.getContent());
+    }
+
+    @Test
+    public void testHandleUpdatePropositionsCompleted_cachedPropositionNotModified()
+            throws Exception {
+        try (MockedStatic<Base64> base64MockedStatic = Mockito.mockStatic(Base64.class)) {
+            base64MockedStatic
+                    .when(
+                            () ->
+                                    Base64.decode(
+                                            ArgumentMatchers.anyString(),
+                                            ArgumentMatchers.anyInt()))
+                    .thenAnswer(
+                            (Answer<byte[]>)
+                                    invocation ->
+                                            java.util.Base64.getDecoder()
+                                                    .decode((String) invocation.getArguments()[0]));
+
+            // setup
+            extension.setExpirySweeper(Mockito.mock(ScheduledExecutorService.class));
+            final Map<String, Object> configData = new HashMap<>();
+            configData.put("optimize.offerContentCompressionThreshold", 10);
+            extension.handleConfigurationResponseContent(
+                    new Event.Builder(
+                                    "Configuration Response Event",
+                                    "com.adobe.eventType.configuration",
+                                    "com.adobe.eventSource.responseContent")
+                            .setEventData(configData)
+                            .build());
+            final OptimizeProposition cachedOptimizeProposition =
+                    loadProposition("json/PROPOSITION_VALID_TARGET.json");
+            final Offer cachedOffer = cachedOptimizeProposition.getOffers().get(0);
+            final String content = cachedOffer.getContent();
+            final Map<String, Object> cachedEventData = cachedOptimizeProposition.toEventData();
+            final DecisionScope testScope = new DecisionScope(cachedOptimizeProposition.getScope());
+            final Map<DecisionScope, OptimizeProposition> cachedPropositions = new HashMap<>();
+            cachedPropositions.put(testScope, cachedOptimizeProposition);
+            extension.setCachedPropositions(cachedPropositions);
+            extension.setUpdateRequestEventIdsInProgress(
+                    "AAAAAAAA-AAAA-AAAA-AAAA-AAAAAAAAAAAA", Collections.singletonList(testScope));
+            extension
+                    .getUpdateRequestEventIdsTtl()
+                    .put("AAAAAAAA-AAAA-AAAA-AAAA-AAAAAAAAAAAA", 60000L);
+
+            // test
+            extension.handleEdgeResponse(
+                    createEdgeResponseEvent(
+                            "AAAAAAAA-AAAA-AAAA-AAAA-AAAAAAAAAAAA",
+                            loadProposition("json/PROPOSITION_VALID_TARGET.json")));
+            extension.handleUpdatePropositionsCompleted(
+                    createUpdateCompleteEvent("AAAAAAAA-AAAA-AAAA-AAAA-AAAAAAAAAAAA"));
+
+            // verify
+            Assert.assertEquals(0, cachedOptimizeProposition.getExpiryTime());
+            Assert.assertSame(cachedEventData, cachedOptimizeProposition.toEventData());
+            Assert.assertSame(content, cachedOffer.getContentValue());
+            final OptimizeProposition updatedProposition =
+                    extension.getCachedPropositions().get(testScope);
+            Assert.assertNotSame(cachedOptimizeProposition, updatedProposition);
+            Assert.assertTrue(updatedProposition.getExpiryTime() > 0);
+            final Offer updatedOffer = updatedProposition.getOffers().get(0);
+            Assert.assertTrue(updatedOffer.getContentValue() instanceof byte[]);
+            Assert.assertEquals(content, updatedOffer.getContent());
+            Assert.assertSame(updatedProposition, updatedOffer.getProposition());
+        }
+    }
+
+    @Test
+    public void testHandleEdgeResponse_onlyChangedPropositionsNotified() throws Exception {
+        try (MockedStatic<Base64> base64MockedStatic = Mockito.mockStatic(Base64.class)) {
+            base64MockedStatic
+                    .when(
+                            () ->
+                                    Base64.decode(
+                                            ArgumentMatchers.anyString(),
+                                            ArgumentMatchers.anyInt()))
+                    .thenAnswer(
+                            (Answer<byte[]>)
+                                    invocation ->
+                                            java.util.Base64.getDecoder()
+                                                    .decode((String) invocation.getArguments()[0]));
+
+            // setup
+            final OptimizeProposition cachedOdeProposition =
+                    loadProposition("json/PROPOSITION_VALID_ODE.json");
+            final OptimizeProposition targetProposition =
+                    loadProposition("json/PROPOSITION_VALID_TARGET.json");
+            final DecisionScope odeScope = new DecisionScope(cachedOdeProposition.getScope());
+            final DecisionScope targetScope = new DecisionScope(targetProposition.getScope());
+            final Map<DecisionScope, OptimizeProposition> cachedPropositions = new HashMap<>();
+            cachedPropositions.put(odeScope, cachedOdeProposition);
+            extension.setCachedPropositions(cachedPropositions);
+            extension.setUpdateRequestEventIdsInProgress(
+                    "AAAAAAAA-AAAA-AAAA-AAAA-AAAAAAAAAAAA", Arrays.asList(odeScope, targetScope));
+
+            final Map<String, Object> eventData = new HashMap<>();
+            eventData.put(
+                    "payload",
+                    Arrays.asList(
+                            loadProposition("json/PROPOSITION_VALID_ODE.json").toEventData(),
+                            targetProposition.toEventData()));
+            eventData.put("requestEventId", "AAAAAAAA-AAAA-AAAA-AAAA-AAAAAAAAAAAA");
+            eventData.put("type", "personalization:decisions");
+
+            // test
+            extension.handleEdgeResponse(
+                    new Event.Builder(
+                                    "AEP Response Event Handle",
+                                    "com.adobe.eventType.edge",
+                                    "personalization:decisions")
+                            .setEventData(eventData)
+                            .build());
+
+            // verify
+            final ArgumentCaptor<Event> eventCaptor = ArgumentCaptor.forClass(Event.class);
+            Mockito.verify(mockExtensionApi, Mockito.times(1)).dispatch(eventCaptor.capture());
+            final List<Map<String, Object>> propositionsList =
+                    (List<Map<String, Object>>)
+                            eventCaptor.getValue().getEventData().get("propositions");
+            Assert.assertEquals(1, propositionsList.size());
+            Assert.assertEquals(
+                    targetProposition, OptimizeProposition.fromEventData(propositionsList.get(0)));
+            Assert.assertSame(
+                    cachedOdeProposition,
+                    extension
+                            .getPropositionsInProgress()
+                            .get("AAAAAAAA-AAAA-AAAA-AAAA-AAAAAAAAAAAA")
+                            .get(odeScope));
+        }
+    }
+
+    @Test
+    public void testHandleUpdatePropositionsCompleted_removedPropositionsNotified()
+            throws Exception {
+        try (MockedStatic<Base64> base64MockedStatic = Mockito.mockStatic(Base64.class)) {
+            base64MockedStatic
+                    .when(
+                            () ->
+                                    Base64.decode(
+                                            ArgumentMatchers.anyString(),
+                                            ArgumentMatchers.anyInt()))
+                    .thenAnswer(
+                            (Answer<byte[]>)
+                                    invocation ->
+                                            java.util.Base64.getDecoder()
+                                                    .decode((String) invocation.getArguments()[0]));
+
+            // setup
+            final OptimizeProposition cachedOdeProposition =
+                    loadProposition("json/PROPOSITION_VALID_ODE.json");
+            final OptimizeProposition targetProposition =
+                    loadProposition("json/PROPOSITION_VALID_TARGET.json");
+            final DecisionScope odeScope = new DecisionScope(cachedOdeProposition.getScope());
+            final DecisionScope targetScope = new DecisionScope(targetProposition.getScope());
+            final Map<DecisionScope, OptimizeProposition> cachedPropositions = new HashMap<>();
+            cachedPropositions.put(odeScope, cachedOdeProposition);
+            extension.setCachedPropositions(cachedPropositions);
+            extension.setUpdateRequestEventIdsInProgress(
+                    "AAAAAAAA-AAAA-AAAA-AAAA-AAAAAAAAAAAA", Arrays.asList(odeScope, targetScope));
+            extension.handleEdgeResponse(
+                    createEdgeResponseEvent(
+                            "AAAAAAAA-AAAA-AAAA-AAAA-AAAAAAAAAAAA", targetProposition));
+            Mockito.clearInvocations(mockExtensionApi);
+
+            // test
+            extension.handleUpdatePropositionsCompleted(
+                    createUpdateCompleteEvent("AAAAAAAA-AAAA-AAAA-AAAA-AAAAAAAAAAAA"));
+
+            // verify
+            final ArgumentCaptor<Event> eventCaptor = ArgumentCaptor.forClass(Event.class);
+            Mockito.verify(mockExtensionApi, Mockito.times(1)).dispatch(eventCaptor.capture());
+            final Event notificationEvent = eventCaptor.getValue();
+            Assert.assertEquals(
+                    "com.adobe.eventSource.notification", notificationEvent.getSource());
+            Assert.assertTrue(
+                    ((List<?>) notificationEvent.getEventData().get("propositions")).isEmpty());
+            Assert.assertEquals(
+                    Collections.singletonList(odeScope.toEventData()),
+                    notificationEvent.getEventData().get("removeddecisionscopes"));
+            Assert.assertNull(extension.getCachedPropositions().get(odeScope));
+
+            // verify the removal is delivered to the public listener API
+            final List<List<DecisionScope>> removedScopes = new ArrayList<>();
+            final List<Map<DecisionScope, OptimizeProposition>> updatedPropositions =
+                    new ArrayList<>();
+            try (MockedStatic<MobileCore> mobileCoreMockedStatic =
+                    Mockito.mockStatic(MobileCore.class)) {
+                Optimize.onPropositionsRemoved(removedScopes::add);
+                Optimize.onPropositionsUpdate(updatedPropositions::add);
+                final ArgumentCaptor<AdobeCallbackWithError<Event>> callbackCaptor =
+                        ArgumentCaptor.forClass(AdobeCallbackWithError.class);
+                mobileCoreMockedStatic.verify(
+                        () ->
+                                MobileCore.registerEventListener(
+                                        ArgumentMatchers.eq("com.adobe.eventType.optimize"),
+                                        ArgumentMatchers.eq("com.adobe.eventSource.notification"),
+                                        callbackCaptor.capture()));
+                callbackCaptor.getValue().call(notificationEvent);
+            } finally {
+                PropositionsUpdateDispatcher.getInstance().reset();
+            }
+            Assert.assertEquals(
+                    Collections.singletonList(Collections.singletonList(odeScope)), removedScopes);
+            Assert.assertTrue(updatedPropositions.isEmpty());
+        }
+    }
+
+    @Test
+    public void testHandleEdgeResponse_unrelatedResponseRetainsPropositionsInProgress()
+            throws Exception {
+        // setup
+        final OptimizeProposition testOptimizeProposition =
+                setupUpdateInProgress("AAAAAAAA-AAAA-AAAA-AAAA-AAAAAAAAAAAA");
+
+        // test
+        extension.handleEdgeResponse(
+                createEdgeResponseEvent(
+                        "CCCCCCCC-CCCC-CCCC-CCCC-CCCCCCCCCCCC", testOptimizeProposition));
+
+        // verify
+        Mockito.verify(mockExtensionApi, Mockito.never()).dispatch(ArgumentMatchers.any());
+        Assert.assertEquals(1, extension.getPropositionsInProgress().size());
+        Assert.assertEquals(
+                1,
+                extension
+                        .getPropositionsInProgress()
+                        .get("AAAAAAAA-AAAA-AAAA-AAAA-AAAAAAAAAAAA")
+                        .size());
+    }
+
+    @Test
+    public void testHandleEdgeResponse_emptyProposition() throws Exception {
+        extension.setUpdateRequestEventIdsInProgress(
+                "AAAAAAAA-AAAA-AAAA-AAAA-AAAAAAAAAAAA", new ArrayList<DecisionScope>());
+        try (MockedStatic<Log> logMockedStatic = Mockito.mockStatic(Log.class)) {
+            // setup
+            final Map<String, Object> edgeResponseData =
+                    new ObjectMapper()
+                            .readValue(
+                                    getClass()
+                                            .getClassLoader()
+                                            .getResource(
+                                                    "json/EVENT_DATA_EDGE_RESPONSE_EMPTY_PAYLOAD.json"),
+                                    HashMap.class);
+            final Event testEvent =
+                    new Event.Builder(
+                                    "AEP Response Event Handle",
+                                    "com.adobe.eventType.edge",
+                                    "personalization:decisions")
+                            .setEventData(edgeResponseData)
+                            .build();
+
+            // test
+            extension.handleEdgeResponse(testEvent);
+
+            // verify
+            logMockedStatic.verify(
+                    () ->
+                            Log.debug(
+                                    ArgumentMatchers.anyString(),
+                                    ArgumentMatchers.anyString(),
+                                    ArgumentMatchers.anyString()));
+
+            Assert.assertEquals(0, extension.getPropositionsInProgress().size());
+            Assert.assertEquals(0, extension.getCachedPropositions().size());
+        }
+    }
+
+    @Test
+    public void testHandleEdgeResponse_unsupportedItemInProposition() throws Exception {
+        extension.setUpdateRequestEventIdsInProgress(
+                "AAAAAAAA-AAAA-AAAA-AAAA-AAAAAAAAAAAA",
+                new ArrayList<DecisionScope>() {
+                    {
+                        add(new DecisionScope("myMbox"));
+                    }
+                });
+        try (MockedStatic<Log> logMockedStatic = Mockito.mockStatic(Log.class)) {
+            // setup
+            final Map<String, Object> edgeResponseData =
+                    new ObjectMapper()
+                            .readValue(
+                                    getClass()
+                                            .getClassLoader()
+                                            .getResource(
+                                                    "json/EVENT_DATA_EDGE_RESPONSE_UNSUPPORTED_ITEM_IN_PAYLOAD.json"),
+                                    HashMap.class);
+            final Event testEvent =
+                    new Event.Builder(
+                                    "AEP Response Event Handle",
+                                    "com.adobe.eventType.edge",
+                                    "personalization:decisions")
+                            .setEventData(edgeResponseData)
+                            .build();
+
+            // test
+            extension.handleEdgeResponse(testEvent);
+
+            // verify
+            logMockedStatic.verify(
+                    () ->
+                            Log.debug(
+                                    ArgumentMatchers.anyString(),
+                                    ArgumentMatchers.anyString(),
+                                    ArgumentMatchers.anyString()),
+                    Mockito.times(2));
+
+            Assert.assertEquals(0, extension.getPropositionsInProgress().size());
+            Assert.assertEquals(0, extension.getCachedPropositions().size());
+        }
+    }
+
+    @Test
+    public void testHandleEdgeResponse_nullEventData() {
+        try (MockedStatic<Log> logMockedStatic = Mockito.mockStatic(Log.class)) {
+            // setup
+            final Event testEvent =
+                    new Event.Builder(
+                                    "AEP Response Event Handle",
+                                    "com.adobe.eventType.edge",
+                                    "personalization:decisions")
+                            .setEventData(null)
+                            .build();
+
+            // test
+            extension.handleEdgeResponse(testEvent);
+
+            // verify
+            logMockedStatic.verify(
+                    () ->
+                            Log.debug(
+                                    ArgumentMatchers.anyString(),
+                                    ArgumentMatchers.anyString(),
+                                    ArgumentMatchers.anyString(),
+                                    ArgumentMatchers.any()));
+
+            Assert.assertEquals(0, extension.getPropositionsInProgress().size());
+            Assert.assertEquals(0, extension.getCachedPropositions().size());
+        }
+    }
+
+    @Test
+    public void testHandleEdgeResponse_emptyEventData() {
+        try (MockedStatic<Log> logMockedStatic = Mockito.mockStatic(Log.class)) {
+            // setup
+            final Event testEvent =
+                    new Event.Builder(
+                                    "AEP Response Event Handle",
+                                    "com.adobe.eventType.edge",
+                                    "personalization:decisions")
+                            .setEventData(new HashMap<>())
+                            .build();
+
+            // test
+            extension.handleEdgeResponse(testEvent);
+
+            // verify
+            logMockedStatic.verify(
+                    () ->
+                            Log.debug(
+                                    ArgumentMatchers.anyString(),
+                                    ArgumentMatchers.anyString(),
+                                    ArgumentMatchers.anyString(),
+                                    ArgumentMatchers.any()));
+
+            Assert.assertEquals(0, extension.getPropositionsInProgress().size());
+            Assert.assertEquals(0, extension.getCachedPropositions().size());
+        }
+    }
+
+    @Test
+    public void testHandleEdgeResponse_requestEventIdNotBeingTracked() throws Exception {
+        try (MockedStatic<Log> logMockedStatic = Mockito.mockStatic(Log.class)) {
+            // setup
+            final Map<String, Object> edgeResponseData =
+                    new ObjectMapper()
+                            .readValue(
+                                    getClass()
+                                            .getClassLoader()
+                                            .getResource(
+                                                    "json/EVENT_DATA_EDGE_RESPONSE_VALID.json"),
+                                    HashMap.class);
+            final Event testEvent =
+                    new Event.Builder(
+                                    "AEP Response Event Handle",
+                                    "com.adobe.eventType.edge",
+                                    "personalization:decisions")
+                            .setEventData(edgeResponseData)
+                            .build();
+
+            // test
+            extension.handleEdgeResponse(testEvent);
+
+            // verify
+            logMockedStatic.verify(
+                    () ->
+                            Log.debug(
+                                    ArgumentMatchers.anyString(),
+                                    ArgumentMatchers.anyString(),
+                                    ArgumentMatchers.anyString(),
+                                    ArgumentMatchers.any()));
+
+            Assert.assertEquals(0, extension.getPropositionsInProgress().size());
+            Assert.assertEquals(0, extension.getCachedPropositions().size());
+        }
+    }
+
+    @Test
+    public void testHandleEdgeResponse_missingItemData() throws IOException {
+        // Setup
+        ObjectMapper objectMapper = new ObjectMapper();
+        Map<String, Object> edgeResponseData =
+                objectMapper.readValue(
+                        Objects.requireNonNull(getClass().getClassLoader())
+                                .getResource(
+                                        "json/EVENT_DATA_EDGE_RESPONSE_MISSING_ITEM_DATA.json"),
+                        HashMap.class);
+
+        Event testEvent =
+                new Event.Builder(
+                                "AEP Response Event Handle",
+                                "com.adobe.eventType.edge",
+                                "personalization:decisions")
+                        .setEventData(edgeResponseData)
+                        .build();
+
+        ArgumentCaptor<Event> eventCaptor = ArgumentCaptor.forClass(Event.class);
+        extension.setUpdateRequestEventIdsInProgress(
+                "AAAAAAAA-AAAA-AAAA-AAAA-AAAAAAAAAAAA",
+                new ArrayList<DecisionScope>() {
+                    {
+                        add(new DecisionScope("someDecisionScope"));
+                    }
+                });
+        extension.handleEdgeResponse(testEvent);
+        Mockito.verify(mockExtensionApi, Mockito.times(1)).dispatch(eventCaptor.capture());
+
+        List<Map<String, Object>> propositionsList =
+                (List<Map<String, Object>>)
+                        eventCaptor.getValue().getEventData().get("propositions");
+
+        Assert.assertNotNull(propositionsList);
+        Assert.assertEquals(1, propositionsList.size());
+
+        final Map<String, Object> propositionsData = propositionsList.get(0);
+        Assert.assertNotNull(propositionsData);
+        final OptimizeProposition optimizeProposition =
+                OptimizeProposition.fromEventData(propositionsData);
+        Assert.assertNotNull(optimizeProposition);
+        Assert.assertEquals(1, optimizeProposition.getOffers().size());
+
+        final Offer offer = optimizeProposition.getOffers().get(0);
+        Assert.assertEquals("0", offer.getId());
+        Assert.assertNull(offer.getEtag());
+        Assert.assertEquals(
+                "https://ns.adobe.com/personalization/default-content-item", offer.getSchema());
+        Assert.assertEquals(OfferType.UNKNOWN, offer.getType());
+        Assert.assertEquals("", offer.getContent());
+        Assert.assertNull(offer.getCharacteristics());
+        Assert.assertNull(offer.getLanguage());
+    }
+
+    @Test
+    public void testHandleEdgeErrorResponse() throws Exception {
+        try (MockedStatic<Log> logMockedStatic = Mockito.mockStatic(Log.class)) {
+            // setup
+            final Map<String, Object> edgeErrorResponseData =
+                    new ObjectMapper()
+                            .readValue(
+                                    getClass()
+                                            .getClassLoader()
+                                            .getResource(
+                                                    "json/EVENT_DATA_EDGE_ERROR_RESPONSE.json"),
+                                    HashMap.class);
+
+            extension.setUpdateRequestEventIdsInProgress(
+                    "AAAAAAAA-AAAA-AAAA-AAAA-AAAAAAAAAAAA",
+                    new ArrayList<DecisionScope>() {
+                        {
+                            add(
+                                    new DecisionScope(
+                                            "eydhY3Rpdml0eUlkIjoieGNvcmU6b2ZmZXItYWN0aXZpdHk6MTExMTExMTExMTExMTExMSIsInBsYWNlbWVudElkIjoieGNvcmU6b2ZmZXItcGxhY2VtZW50OjExMTExMTExMTExMTExMTEifQ=="));
+                        }
+                    });
+
+            final Event testEvent =
+                    new Event.Builder(
+                                    "AEP Error Response",
+                                    "com.adobe.eventType.edge",
+                                    "com.adobe.eventSource.errorResponseContent")
+                            .setEventData(edgeErrorResponseData)
+                            .build();
+
+            // test
+            extension.handleEdgeErrorResponse(testEvent);
+
+            // verify
+            logMockedStatic.verify(
+                    () ->
+                            Log.warning(
+                                    ArgumentMatchers.anyString(),
+                                    ArgumentMatchers.anyString(),
+                                    ArgumentMatchers.anyString(),
+                                    ArgumentMatchers.any()));
+
+            Assert.assertEquals(0, extension.getPropositionsInProgress().size());
+            Assert.assertEquals(0, extension.getCachedPropositions().size());
+        }
+    }
+
+    @Test
+    public void testHandleEdgeErrorResponse_nullEventData() {
+        try (MockedStatic<Log> logMockedStatic = Mockito.mockStatic(Log.class)) {
+            // setup
+            final Event testEvent =
+                    new Event.Builder(
+                                    "AEP Error Response",
+                                    "com.adobe.eventType.edge",
+                                    "com.adobe.eventSource.errorResponseContent")
+                            .setEventData(null)
+                            .build();
+
+            // test
+            extension.handleEdgeErrorResponse(testEvent);
+
+            // verify
+            logMockedStatic.verify(
+                    () ->
+                            Log.debug(
+                                    ArgumentMatchers.anyString(),
+                                    ArgumentMatchers.anyString(),
+                                    ArgumentMatchers.anyString(),
+                                    ArgumentMatchers.any()));
+
+            final Map<DecisionScope, OptimizeProposition> cachedPropositions =
+                    extension.getCachedPropositions();
+            Assert.assertNotNull(cachedPropositions);
+            Assert.assertTrue(cachedPropositions.isEmpty());
+        }
+    }
+
+    @Test
+    public void testHandleEdgeErrorResponse_emptyEventData() {
+        try (MockedStatic<Log> logMockedStatic = Mockito.mockStatic(Log.class)) {
+            // setup
+            final Event testEvent =
+                    new Event.Builder(
+                                    "AEP Error Response",
+                                    "com.adobe.eventType.edge",
+                                    "com.adobe.eventSource.errorResponseContent")
+                            .setEventData(new HashMap<>())
+                            .build();
+
+            // test
+            extension.handleEdgeErrorResponse(testEvent);
+
+            // verify
+            logMockedStatic.verify(
+                    () ->
+                            Log.debug(
+                                    ArgumentMatchers.anyString(),
+                                    ArgumentMatchers.anyString(),
+                                    ArgumentMatchers.anyString(),
+                                    ArgumentMatchers.any()));
+
+            Assert.assertEquals(0, extension.getPropositionsInProgress().size());
+            Assert.assertEquals(0, extension.getCachedPropositions().size());
+        }
+    }
+
+    @Test
+    public void testHandleOptimizeRequestContent_GetPropositionsEvent_shouldAddToScheduler()
+            throws Exception {
+        try (MockedStatic<Base64> base64MockedStatic = Mockito.mockStatic(Base64.class)) {
+            base64MockedStatic
+                    .when(
+                            () ->
+                                    Base64.decode(
+                                            ArgumentMatchers.anyString(),
+                                            ArgumentMatchers.anyInt()))
+                    .thenAnswer(
+                            (Answer<byte[]>)
+                                    invocation ->
+                                            java.util.Base64.getDecoder()
+                                                    .decode((String) invocation.getArguments()[0]));
+            extension.setGetPropositionsScheduler(mockGetPropositionsScheduler);
+            setConfigurationSharedState(
+                    SharedStateStatus.SET,
+                    new HashMap<String, Object>() {
+                        {
+                            put("edge.configId", "ffffffff-ffff-ffff-ffff-ffffffffffff");
+                        }
+                    });
+
+            final DecisionScope testScope =
+                    new DecisionScope(
+                            "eyJhY3Rpdml0eUlkIjoieGNvcmU6b2ZmZXItYWN0aXZpdHk6MTExMTExMTExMTExMTExMSIsInBsYWNlbWVudElkIjoieGNvcmU6b2ZmZXItcGxhY2VtZW50OjExMTExMTExMTExMTExMTEifQ==");
+            final Map<String, Object> testEventData = new HashMap<>();
+            testEventData.put("requesttype", "getpropositions");
+            testEventData.put(
+                    "decisionscopes",
+                    new ArrayList<Map<String, Object>>() {
+                        {
+                            add(testScope.toEventData());
+                        }
+                    });
+            final ArgumentCaptor<Event> eventCaptor = ArgumentCaptor.forClass(Event.class);
+
+            final Event testEvent =
+                    new Event.Builder(
+                                    "Optimize Get Propositions Request",
+                                    "com.adobe.eventType.optimize",
+                                    "com.adobe.eventSource.requestContent")
+                            .setEventData(testEventData)
+                            .build();
+
+            // test
+            extension.handleOptimizeRequestContent(testEvent);
+
+            // verify
+            Mockito.verify(mockGetPropositionsScheduler, Mockito.times(1))
+                    .schedule(eventCaptor.capture(), ArgumentMatchers.anyList());
+
+            final Event queuedEvent = eventCaptor.getValue();
+            Assert.assertEquals("Optimize Get Propositions Request", queuedEvent.getName());
+            Assert.assertEquals("com.adobe.eventType.optimize", queuedEvent.getType());
+            Assert.assertEquals("com.adobe.eventSource.requestContent", queuedEvent.getSource());
+
+            final String requestType = (String) queuedEvent.getEventData().get("requesttype");
+            Assert.assertEquals("getpropositions", requestType);
+
+            final List<Map<String, Object>> scopesData =
+                    (List<Map<String, Object>>) queuedEvent.getEventData().get("decisionscopes");
+            Assert.assertNotNull(scopesData);
+            final List<DecisionScope> scopes = new ArrayList<>();
+            for (final Map<String, Object> scopeData : scopesData) {
+                final DecisionScope scope = DecisionScope.fromEventData(scopeData);
+                scopes.add(scope);
+            }
+            Assert.assertEquals(1, scopes.size());
+            Assert.assertEquals(testScope, scopes.get(0));
+        }
+    }
+
+    @Test
+    public void testHandleOptimizeRequestContent_GetPropositionsEvent_whenUpdateIsInProgress() {
+        try (MockedStatic<Base64> base64MockedStatic = Mockito.mockStatic(Base64.class)) {
+            base64MockedStatic
+                    .when(
+                            () ->
+                                    Base64.decode(
+                                            ArgumentMatchers.anyString(),
+                                            ArgumentMatchers.anyInt()))
+                    .thenAnswer(
+                            (Answer<byte[]>)
+                                    invocation ->
+                                            java.util.Base64.getDecoder()
+                                                    .decode((String) invocation.getArguments()[0]));
+
+            // setup
+            setConfigurationSharedState(
+                    SharedStateStatus.SET,
+                    new HashMap<String, Object>() {
+                        {
+                            put("edge.configId", "ffffffff-ffff-ffff-ffff-ffffffffffff");
+                        }
+                    });
+
+            final DecisionScope testScope =
+                    new DecisionScope(
+                            "eyJhY3Rpdml0eUlkIjoieGNvcmU6b2ZmZXItYWN0aXZpdHk6MTExMTExMTExMTExMTExMSIsInBsYWNlbWVudElkIjoieGNvcmU6b2ZmZXItcGxhY2VtZW50OjExMTExMTExMTExMTExMTEifQ==");
+            final Map<String, Object> testEventData = new HashMap<>();
+            testEventData.put("requesttype", "updatepropositions");
+            testEventData.put(
+                    "decisionscopes",
+                    new ArrayList<Map<String, Object>>() {
+                        {
+                            add(testScope.toEventData());
+                        }
+                    });
+            final Event testEvent =
+                    new Event.Builder(
+                                    "Optimize Update Propositions Request",
+                                    "com.adobe.eventType.optimize",
+                                    "com.adobe.eventSource.requestContent")
+                            .setEventData(testEventData)
+                            .build();
+
+            // simulate update
+            extension.handleOptimizeRequestContent(testEvent);
+
+            // verify
+            final Map<String, List<DecisionScope>> updateEventIdsInProgress =
+                    extension.getUpdateRequestEventIdsInProgress();
+            Assert.assertNotNull(updateEventIdsInProgress);
+            Assert.assertEquals(1, updateEventIdsInProgress.size());
+            Assert.assertTrue(
+                    updateEventIdsInProgress.containsValue(
+                            new ArrayList<DecisionScope>() {
+                                {
+                                    add(testScope);
+                                }
+                            }));
+
+            // dispatch get event
+            final Map<String, Object> testGetEventData = new HashMap<>();
+            testGetEventData.put("requesttype", "getpropositions");
+            testGetEventData.put(
+                    "decisionscopes",
+                    new ArrayList<Map<String, Object>>() {
+                        {
+                            add(testScope.toEventData());
+                        }
+                    });
+            final ArgumentCaptor<Event> eventCaptor = ArgumentCaptor.forClass(Event.class);
+
+            final Event testGetEvent =
+                    new Event.Builder(
+                                    "Optimize Get Propositions Request",
+                                    "com.adobe.eventType.optimize",
+                                    "com.adobe.eventSource.requestContent")
+                            .setEventData(testGetEventData)
+                            .build();
+
+            // simulate get
+            extension.handleOptimizeRequestContent(testGetEvent);
+
+            // verify
+            Mockito.verify(mockExtensionApi, Mockito.never()).dispatch(eventCaptor.capture());
+        }
+    }
+
+    @Test
+    public void testHandleOptimizeRequestContent_GetPropositionsEvent_afterUpdateIsCompleted()
+            throws Exception {
+        try (MockedStatic<Base64> base64MockedStatic = Mockito.mockStatic(Base64.class)) {
+            base64MockedStatic
+                    .when(
+                            () ->
+                                    Base64.decode(
+                                            ArgumentMatchers.anyString(),
+                                            ArgumentMatchers.anyInt()))
+                    .thenAnswer(
+                            (Answer<byte[]>)
+                                    invocation ->
+                                            java.util.Base64.getDecoder()
+                                                    .decode((String) invocation.getArguments()[0]));
+
+            // setup
+            extension.setGetPropositionsScheduler(mockGetPropositionsScheduler);
+            final OptimizeProposition testOptimizeProposition =
+                    setupUpdateInProgress("AAAAAAAA-AAAA-AAAA-AAAA-AAAAAAAAAAAA");
+            final DecisionScope testScope = new DecisionScope(testOptimizeProposition.getScope());
+            final Map<DecisionScope, OptimizeProposition> cachedPropositions = new HashMap<>();
+            cachedPropositions.put(testScope, testOptimizeProposition);
+            extension.setCachedPropositions(cachedPropositions);
+
+            final Map<String, Object> testEventData = new HashMap<>();
+            testEventData.put("requesttype", "getpropositions");
+            testEventData.put(
+                    "decisionscopes",
+                    new ArrayList<Map<String, Object>>() {
+                        {
+                            add(testScope.toEventData());
+                        }
+                    });
+            final Event testEvent =
+                    new Event.Builder(
+                                    "Optimize Get Propositions Request",
+                                    "com.adobe.eventType.optimize",
+                                    "com.adobe.eventSource.requestContent")
+                            .setEventData(testEventData)
+                            .build();
+
+            // test
+            extension.handleOptimizeRequestContent(testEvent);
+            extension.handleUpdatePropositionsCompleted(
+                    createUpdateCompleteEvent("AAAAAAAA-AAAA-AAAA-AAAA-AAAAAAAAAAAA"));
+            extension.handleOptimizeRequestContent(testEvent);
+
+            // verify
+            Mockito.verify(mockGetPropositionsScheduler, Mockito.times(1))
+                    .schedule(ArgumentMatchers.eq(testEvent), ArgumentMatchers.anyList());
+            final ArgumentCaptor<Event> eventCaptor = ArgumentCaptor.forClass(Event.class);
+            Mockito.verify(mockExtensionApi, Mockito.times(1)).dispatch(eventCaptor.capture());
+            final Event dispatchedEvent = eventCaptor.getValue();
+            Assert.assertEquals(
+                    "com.adobe.eventSource.responseContent", dispatchedEvent.getSource());
+            Assert.assertEquals(testEvent.getUniqueIdentifier(), dispatchedEvent.getResponseID());
+            Assert.assertTrue(extension.getUpdateRequestEventIdsInProgress().isEmpty());
+        }
+    }
+
+    @Test
+    public void
+            testHandleOptimizeRequestContent_GetPropositionsEvent_unrelatedScopeNotHeldByUpdate()
+                    throws Exception {
+        try (MockedStatic<Base64> base64MockedStatic = Mockito.mockStatic(Base64.class)) {
+            base64MockedStatic
+                    .when(
+                            () ->
+                                    Base64.decode(
+                                            ArgumentMatchers.anyString(),
+                                            ArgumentMatchers.anyInt()))
+                    .thenAnswer(
+                            (Answer<byte[]>)
+                                    invocation ->
+                                            java.util.Base64.getDecoder()
+                                                    .decode((String) invocation.getArguments()[0]));
+
+            // setup
+            final OptimizeProposition testOptimizeProposition =
+                    setupUpdateInProgress("AAAAAAAA-AAAA-AAAA-AAAA-AAAAAAAAAAAA");
+            final DecisionScope testScope = new DecisionScope(testOptimizeProposition.getScope());
+            final Event testUnrelatedEvent =
+                    createGetPropositionsEvent(new DecisionScope("unrelatedMbox"));
+            final Event testEvent = createGetPropositionsEvent(testScope);
+
+            // test
+            extension.handleOptimizeRequestContent(testEvent);
+            extension.handleOptimizeRequestContent(testUnrelatedEvent);
+            handleDispatchedGetPropositionsReadyEvents();
+
+            // verify the get request for the unrelated scope is answered immediately
+            Assert.assertNotNull(getDispatchedResponseEvent(testUnrelatedEvent));
+            Assert.assertEquals(0, countDispatchedResponseEvents(testEvent));
+
+            // verify the get request for the scope in progress is answered after the update
+            extension.handleUpdatePropositionsCompleted(
+                    createUpdateCompleteEvent("AAAAAAAA-AAAA-AAAA-AAAA-AAAAAAAAAAAA"));
+            handleDispatchedGetPropositionsReadyEvents();
+            final Event dispatchedEvent = getDispatchedResponseEvent(testEvent);
+            final List<Map<String, Object>> propositionsList =
+                    (List<Map<String, Object>>) dispatchedEvent.getEventData().get("propositions");
+            Assert.assertNotNull(propositionsList);
+            Assert.assertEquals(1, propositionsList.size());
+            Assert.assertEquals(
+                    testOptimizeProposition,
+                    OptimizeProposition.fromEventData(propositionsList.get(0)));
+        }
+    }
+
+    @Test
+    public void
+            testHandleOptimizeRequestContent_GetPropositionsEvent_allowStaleWhenUpdateIsInProgress()
+                    throws Exception {
+        try (MockedStatic<Base64> base64MockedStatic = Mockito.mockStatic(Base64.class)) {
+            base64MockedStatic
+                    .when(
+                            () ->
+                                    Base64.decode(
+                                            ArgumentMatchers.anyString(),
+                                            ArgumentMatchers.anyInt()))
+                    .thenAnswer(
+                            (Answer<byte[]>)
+                                    invocation ->
+                                            java.util.Base64.getDecoder()
+                                                    .decode((String) invocation.getArguments()[0]));
+
+            // setup
+            extension.setGetPropositionsScheduler(mockGetPropositionsScheduler);
+            final OptimizeProposition testOptimizeProposition =
+                    loadProposition("json/PROPOSITION_VALID_ODE.json");
+            final OptimizeProposition otherOptimizeProposition =
+                    loadProposition("json/PROPOSITION_VALID_TARGET.json");
+            final DecisionScope testScope = new DecisionScope(testOptimizeProposition.getScope());
+            final DecisionScope otherScope = new DecisionScope(otherOptimizeProposition.getScope());
+            final Map<DecisionScope, OptimizeProposition> cachedPropositions = new HashMap<>();
+            cachedPropositions.put(testScope, testOptimizeProposition);
+            cachedPropositions.put(otherScope, otherOptimizeProposition);
+            extension.setCachedPropositions(cachedPropositions);
+
+            final List<DecisionScope> requestedScopes = new ArrayList<>();
+            requestedScopes.add(testScope);
+            extension.setUpdateRequestEventIdsInProgress(
+                    "AAAAAAAA-AAAA-AAAA-AAAA-AAAAAAAAAAAA", requestedScopes);
+
+            final Map<String, Object> testEventData = new HashMap<>();
+            testEventData.put("requesttype", "getpropositions");
+            testEventData.put("allowstale", true);
+            testEventData.put(
+                    "decisionscopes",
+                    new ArrayList<Map<String, Object>>() {
+                        {
+                            add(testScope.toEventData());
+                            add(otherScope.toEventData());
+                        }
+                    });
+            final Event testEvent =
+                    new Event.Builder(
+                                    "Optimize Get Propositions Request",
+                                    "com.adobe.eventType.optimize",
+                                    "com.adobe.eventSource.requestContent")
+                            .setEventData(testEventData)
+                            .build();
+
+            // test
+            extension.handleOptimizeRequestContent(testEvent);
+
+            // verify
+            Mockito.verify(mockGetPropositionsScheduler, Mockito.never())
+                    .schedule(ArgumentMatchers.any(), ArgumentMatchers.any());
+            final ArgumentCaptor<Event> eventCaptor = ArgumentCaptor.forClass(Event.class);
+            Mockito.verify(mockExtensionApi, Mockito.times(1)).dispatch(eventCaptor.capture());
+            final Event dispatchedEvent = eventCaptor.getValue();
+            Assert.assertEquals(testEvent.getUniqueIdentifier(), dispatchedEvent.getResponseID());
+
+            final List<Map<String, Object>> propositionsList =
+                    (List<Map<String, Object>>) dispatchedEvent.getEventData().get("propositions");
+            Assert.assertEquals(2, propositionsList.size());
+            for (final Map<String, Object> propositionData : propositionsList) {
+                final OptimizeProposition proposition =
+                        OptimizeProposition.fromEventData(propositionData);
+                Assert.assertNotNull(proposition);
+                if (testScope.getName().equals(proposition.getScope())) {
+                    Assert.assertEquals(testOptimizeProposition, proposition);
+                    Assert.assertTrue(proposition.isStale());
+                } else {
+                    Assert.assertEquals(otherOptimizeProposition, proposition);
+                    Assert.assertFalse(proposition.isStale());
+                }
+            }
+            Assert.assertFalse(testOptimizeProposition.isStale());
+        }
+    }
+
+    @Test
+    public void testHandleOptimizeRequestContent_GetPropositionsEvent_fetchMissing()
+            throws Exception {
+        try (MockedStatic<Base64> base64MockedStatic = Mockito.mockStatic(Base64.class);
+                MockedStatic<MobileCore> mobileCoreMockedStatic =
+                        Mockito.mockStatic(MobileCore.class)) {
+            base64MockedStatic
+                    .when(
+                            () ->
+                                    Base64.decode(
+                                            ArgumentMatchers.anyString(),
+                                            ArgumentMatchers.anyInt()))
+                    .thenAnswer(
+                            (Answer<byte[]>)
+                                    invocation ->
+                                            java.util.Base64.getDecoder()
+                                                    .decode((String) invocation.getArguments()[0]));
+
+            // setup
+            setConfigurationSharedState(
+                    SharedStateStatus.SET,
+                    new HashMap<String, Object>() {
+                        {
+                            put("edge.configId", "ffffffff-ffff-ffff-ffff-ffffffffffff");
+                        }
+                    });
+            final ScheduledExecutorService mockDeadlineScheduler =
+                    Mockito.mock(ScheduledExecutorService.class);
+            extension.setGetPropositionsDeadlineScheduler(mockDeadlineScheduler);
+            final OptimizeProposition missingOptimizeProposition =
+                    loadProposition("json/PROPOSITION_VALID_ODE.json");
+            final OptimizeProposition cachedOptimizeProposition =
+                    loadProposition("json/PROPOSITION_VALID_TARGET.json");
+            final DecisionScope missingScope =
+                    new DecisionScope(missingOptimizeProposition.getScope());
+            final DecisionScope cachedScope =
+                    new DecisionScope(cachedOptimizeProposition.getScope());
+            final Map<DecisionScope, OptimizeProposition> cachedPropositions = new HashMap<>();
+            cachedPropositions.put(cachedScope, cachedOptimizeProposition);
+            extension.setCachedPropositions(cachedPropositions);
+            final Event testEvent =
+                    createFetchMissingGetPropositionsEvent(missingScope, cachedScope);
+
+            // test
+            extension.handleOptimizeRequestContent(testEvent);
+
+            // verify only the missing scope is requested and the get request waits for it
+            final ArgumentCaptor<Event> edgeEventCaptor = ArgumentCaptor.forClass(Event.class);
+            mobileCoreMockedStatic.verify(
+                    () ->
+                            MobileCore.dispatchEventWithResponseCallback(
+                                    edgeEventCaptor.capture(),
+                                    ArgumentMatchers.anyLong(),
+                                    ArgumentMatchers.any(AdobeCallbackWithError.class)),
+                    Mockito.times(1));
+            final Map<String, Object> personalization =
+                    (Map<String, Object>)
+                            ((Map<String, Object>)
+                                            edgeEventCaptor.getValue().getEventData().get("query"))
+                                    .get("personalization");
+            Assert.assertEquals(
+                    Collections.singletonList(missingScope.getName()),
+                    personalization.get("decisionScopes"));
+            Mockito.verify(mockExtensionApi, Mockito.never())
+                    .dispatch(ArgumentMatchers.any(Event.class));
+            final ArgumentCaptor<Runnable> deadlineCaptor = ArgumentCaptor.forClass(Runnable.class);
+            Mockito.verify(mockDeadlineScheduler, Mockito.times(1))
+                    .schedule(
+                            deadlineCaptor.capture(),
+                            ArgumentMatchers.eq(4500L),
+                            ArgumentMatchers.eq(TimeUnit.MILLISECONDS));
+
+            // simulate the update completion
+            final Map<DecisionScope, OptimizeProposition> propositionsInProgress = new HashMap<>();
+            propositionsInProgress.put(missingScope, missingOptimizeProposition);
+            extension.setPropositionsInProgress(
+                    edgeEventCaptor.getValue().getUniqueIdentifier(), propositionsInProgress);
+            final Map<String, Object> completeEventData = new HashMap<>();
+            completeEventData.put(
+                    "completedUpdateRequestForEventId",
+                    edgeEventCaptor.getValue().getUniqueIdentifier());
+            extension.handleUpdatePropositionsCompleted(
+                    new Event.Builder(
+                                    "Optimize Update Propositions Complete",
+                                    "com.adobe.eventType.optimize",
+                                    "com.adobe.eventSource.contentComplete")
+                            .setEventData(completeEventData)
+                            .build());
+            handleDispatchedGetPropositionsReadyEvents();
+
+            // verify the get request is answered with both propositions
+            final Event responseEvent = getDispatchedResponseEvent(testEvent);
+            final List<Map<String, Object>> propositionsList =
+                    (List<Map<String, Object>>) responseEvent.getEventData().get("propositions");
+            Assert.assertEquals(2, propositionsList.size());
+
+            // verify the deadline no longer applies
+            deadlineCaptor.getValue().run();
+            handleDispatchedGetPropositionsReadyEvents();
+            Assert.assertEquals(1, countDispatchedResponseEvents(testEvent));
+        }
+    }
+
+    @Test
+    public void testHandleOptimizeRequestContent_GetPropositionsEvent_fetchMissingDeadlinePassed()
+            throws Exception {
+        try (MockedStatic<Base64> base64MockedStatic = Mockito.mockStatic(Base64.class);
+                MockedStatic<MobileCore> mobileCoreMockedStatic =
+                        Mockito.mockStatic(MobileCore.class)) {
+            base64MockedStatic
+                    .when(
+                            () ->
+                                    Base64.decode(
+                                            ArgumentMatchers.anyString(),
+                                            ArgumentMatchers.anyInt()))
+                    .thenAnswer(
+                            (Answer<byte[]>)
+                                    invocation ->
+                                            java.util.Base64.getDecoder()
+                                                    .decode((String) invocation.getArguments()[0]));
+
+            // setup
+            setConfigurationSharedState(
+                    SharedStateStatus.SET,
+                    new HashMap<String, Object>() {
+                        {
+                            put("edge.configId", "ffffffff-ffff-ffff-ffff-ffffffffffff");
+                        }
+                    });
+            final ScheduledExecutorService mockDeadlineScheduler =
+                    Mockito.mock(ScheduledExecutorService.class);
+            extension.setGetPropositionsDeadlineScheduler(mockDeadlineScheduler);
+            final OptimizeProposition missingOptimizeProposition =
+                    loadProposition("json/PROPOSITION_VALID_ODE.json");
+            final OptimizeProposition cachedOptimizeProposition =
+                    loadProposition("json/PROPOSITION_VALID_TARGET.json");
+            final DecisionScope missingScope =
+                    new DecisionScope(missingOptimizeProposition.getScope());
+            final DecisionScope cachedScope =
+                    new DecisionScope(cachedOptimizeProposition.getScope());
+            final Map<DecisionScope, OptimizeProposition> cachedPropositions = new HashMap<>();
+            cachedPropositions.put(cachedScope, cachedOptimizeProposition);
+            extension.setCachedPropositions(cachedPropositions);
+            final Event testEvent =
+                    createFetchMissingGetPropositionsEvent(missingScope, cachedScope);
+
+            // test
+            extension.handleOptimizeRequestContent(testEvent);
+
+            // verify only the missing scope is requested and the get request waits for it
+            final ArgumentCaptor<Event> edgeEventCaptor = ArgumentCaptor.forClass(Event.class);
+            mobileCoreMockedStatic.verify(
+                    () ->
+                            MobileCore.dispatchEventWithResponseCallback(
+                                    edgeEventCaptor.capture(),
+                                    ArgumentMatchers.anyLong(),
+                                    ArgumentMatchers.any(AdobeCallbackWithError.class)),
+                    Mockito.times(1));
+            final Map<String, Object> personalization =
+                    (Map<String, Object>)
+                            ((Map<String, Object>)
+                                            edgeEventCaptor.getValue().getEventData().get("query"))
+                                    .get("personalization");
+            Assert.assertEquals(
+                    Collections.singletonList(missingScope.getName()),
+                    personalization.get("decisionScopes"));
+            Mockito.verify(mockExtensionApi, Mockito.never())
+                    .dispatch(ArgumentMatchers.any(Event.class));
+            final ArgumentCaptor<Runnable> deadlineCaptor = ArgumentCaptor.forClass(Runnable.class);
+            Mockito.verify(mockDeadlineScheduler, Mockito.times(1))
+                    .schedule(
+                            deadlineCaptor.capture(),
+                            ArgumentMatchers.eq(4500L),
+                            ArgumentMatchers.eq(TimeUnit.MILLISECONDS));
+
+            // test
+            deadlineCaptor.getValue().run();
+            handleDispatchedGetPropositionsReadyEvents();
+
+            // verify the get request is answered with the cached propositions
+            final Event responseEvent = getDispatchedResponseEvent(testEvent);
+            final List<Map<String, Object>> propositionsList =
+                    (List<Map<String, Object>>) responseEvent.getEventData().get("propositions");
+            Assert.assertEquals(1, propositionsList.size());
+            Assert.assertEquals(
+                    cachedOptimizeProposition,
+                    OptimizeProposition.fromEventData(propositionsList.get(0)));
+            Assert.assertTrue(extension.getUpdateRequestEventIdsInProgress().size() > 0);
+        }
+    }
+
+    @Test
+    public void testHandleOptimizeRequestContent_GetPropositionsEvent_fetchMissingAllCached()
+            throws Exception {
+        try (MockedStatic<Base64> base64MockedStatic = Mockito.mockStatic(Base64.class);
+                MockedStatic<MobileCore> mobileCoreMockedStatic =
+                        Mockito.mockStatic(MobileCore.class)) {
+            base64MockedStatic
+                    .when(
+                            () ->
+                                    Base64.decode(
+                                            ArgumentMatchers.anyString(),
+                                            ArgumentMatchers.anyInt()))
+                    .thenAnswer(
+                            (Answer<byte[]>)
+                                    invocation ->
+                                            java.util.Base64.getDecoder()
+                                                    .decode((String) invocation.getArguments()[0]));
+
+            // setup
+            final ScheduledExecutorService mockDeadlineScheduler =
+                    Mockito.mock(ScheduledExecutorService.class);
+            extension.setGetPropositionsDeadlineScheduler(mockDeadlineScheduler);
+            final OptimizeProposition cachedOptimizeProposition =
+                    loadProposition("json/PROPOSITION_VALID_TARGET.json");
+            final DecisionScope cachedScope =
+                    new DecisionScope(cachedOptimizeProposition.getScope());
+            final Map<DecisionScope, OptimizeProposition> cachedPropositions = new HashMap<>();
+            cachedPropositions.put(cachedScope, cachedOptimizeProposition);
+            extension.setCachedPropositions(cachedPropositions);
+            final Event testEvent = createFetchMissingGetPropositionsEvent(cachedScope);
+
+            // test
+            extension.handleOptimizeRequestContent(testEvent);
+
+            // verify
+            mobileCoreMockedStatic.verifyNoInteractions();
+            Mockito.verifyNoInteractions(mockDeadlineScheduler);
+            final Event responseEvent = getDispatchedResponseEvent(testEvent);
+            Assert.assertEquals(
+                    1, ((List<?>) responseEvent.getEventData().get("propositions")).size());
+        }
+    }
+
+    @Test
+    public void testReadCachedPropositions_staleWhileUpdateIsInProgress() throws Exception {
+        try (MockedStatic<Base64> base64MockedStatic = Mockito.mockStatic(Base64.class)) {
+            base64MockedStatic
+                    .when(
+                            () ->
+                                    Base64.decode(
+                                            ArgumentMatchers.anyString(),
+                                            ArgumentMatchers.anyInt()))
+                    .thenAnswer(
+                            (Answer<byte[]>)
+                                    invocation ->
+                                            java.util.Base64.getDecoder()
+                                                    .decode((String) invocation.getArguments()[0]));
+
+            // setup
+            final OptimizeProposition testOptimizeProposition =
+                    loadProposition("json/PROPOSITION_VALID_ODE.json");
+            final DecisionScope testScope = new DecisionScope(testOptimizeProposition.getScope());
+            final Map<DecisionScope, OptimizeProposition> cachedPropositions = new HashMap<>();
+            cachedPropositions.put(testScope, testOptimizeProposition);
+            extension.setCachedPropositions(cachedPropositions);
+            extension.setUpdateRequestEventIdsInProgress(
+                    "AAAAAAAA-AAAA-AAAA-AAAA-AAAAAAAAAAAA", Collections.singletonList(testScope));
+
+            // test
+            final Map<DecisionScope, OptimizeProposition> propositions =
+                    extension.readCachedPropositions(
+                            Arrays.asList(testScope, new DecisionScope("otherScope")));
+
+            // verify
+            Assert.assertEquals(1, propositions.size());
+            Assert.assertSame(testOptimizeProposition, propositions.get(testScope));
+            Mockito.verify(mockExtensionApi, Mockito.never()).dispatch(ArgumentMatchers.any());
+        }
+    }
+
+    @Test
+    public void testReadCachedPropositions_doesNotModifyCache() throws Exception {
+        // setup
+        final OptimizeProposition expiredOptimizeProposition =
+                loadProposition("json/PROPOSITION_VALID_TARGET.json");
+        expiredOptimizeProposition.setExpiryTime(System.currentTimeMillis() - 1000);
+        final DecisionScope expiredScope = new DecisionScope(expiredOptimizeProposition.getScope());
+        final DecisionScope persistedScope = new DecisionScope("persistedScope");
+
+        final PersistentPropositionsCache mockPersistentCache =
+                Mockito.mock(PersistentPropositionsCache.class);
+        Mockito.when(mockPersistentCache.exists()).thenReturn(true);
+        Mockito.when(mockPersistentCache.load())
+                .thenReturn(
+                        createSnapshot(
+                                persistedScope,
+                                loadProposition("json/PROPOSITION_VALID_TARGET.json")));
+        extension = new OptimizeExtension(mockExtensionApi);
+        extension.setPersistentCache(mockPersistentCache);
+        extension.setPersistenceExecutor(Runnable::run);
+        extension.setGetPropositionsScheduler(mockGetPropositionsScheduler);
+        extension.onRegistered();
+        extension.handleConfigurationResponseContent(
+                createConfigurationResponseEvent(
+                        Collections.singletonMap("optimize.persistentCacheEnabled", true)));
+        extension.setCachedPropositions(
+                Collections.singletonMap(expiredScope, expiredOptimizeProposition));
+
+        // test
+        final Map<DecisionScope, OptimizeProposition> propositions =
+                extension.readCachedPropositions(Arrays.asList(expiredScope, persistedScope));
+
+        // verify
+        Assert.assertTrue(propositions.isEmpty());
+        final Map<DecisionScope, OptimizeProposition> cachedPropositions =
+                extension.getCachedPropositions();
+        Assert.assertEquals(1, cachedPropositions.size());
+        Assert.assertSame(expiredOptimizeProposition, cachedPropositions.get(expiredScope));
+    }
+
+    @Test
+    public void testReadCachedPropositions_previewPropositions() throws Exception {
+        try (MockedStatic<Base64> base64MockedStatic = Mockito.mockStatic(Base64.class)) {
+            base64MockedStatic
+                    .when(
+                            () ->
+                                    Base64.decode(
+                                            ArgumentMatchers.anyString(),
+                                            ArgumentMatchers.anyInt()))
+                    .thenAnswer(
+                            (Answer<byte[]>)
+                                    invocation ->
+                                            java.util.Base64.getDecoder()
+                                                    .decode((String) invocation.getArguments()[0]));
+
+            // setup
+            final OptimizeProposition testOptimizeProposition =
+                    loadProposition("json/PROPOSITION_VALID_ODE.json");
+            final OptimizeProposition previewOptimizeProposition =
+                    loadProposition("json/PROPOSITION_VALID_TARGET.json");
+            final DecisionScope testScope = new DecisionScope(testOptimizeProposition.getScope());
+            final DecisionScope previewScope =
+                    new DecisionScope(previewOptimizeProposition.getScope());
+            final Map<DecisionScope, OptimizeProposition> cachedPropositions = new HashMap<>();
+            cachedPropositions.put(testScope, testOptimizeProposition);
+            extension.setCachedPropositions(cachedPropositions);
+            final Map<DecisionScope, OptimizeProposition> previewPropositions = new HashMap<>();
+            previewPropositions.put(previewScope, previewOptimizeProposition);
+            extension.setPreviewCachedPropositions(previewPropositions);
+
+            // test
+            final Map<DecisionScope, OptimizeProposition> propositions =
+                    extension.readCachedPropositions(Arrays.asList(testScope, previewScope));
+
+            // verify
+            Assert.assertEquals(1, propositions.size());
+            Assert.assertSame(previewOptimizeProposition, propositions.get(previewScope));
+        }
+    }
+
+    @Test
+    public void testHandleOptimizeRequestContent_GetPropositionsEvent_whenUpdateIsComplete() {
+        try (MockedStatic<Base64> base64MockedStatic = Mockito.mockStatic(Base64.class)) {
+            base64MockedStatic
+                    .when(
+                            () ->
+                                    Base64.decode(
+                                            ArgumentMatchers.anyString(),
+                                            ArgumentMatchers.anyInt()))
+                    .thenAnswer(
+                            (Answer<byte[]>)
+                                    invocation ->
+                                            java.util.Base64.getDecoder()
+                                                    .decode((String) invocation.getArguments()[0]));
+
+            // setup
+            setConfigurationSharedState(
+                    SharedStateStatus.SET,
+                    new HashMap<String, Object>() {
+                        {
+                            put("edge.configId", "ffffffff-ffff-ffff-ffff-ffffffffffff");
+                        }
+                    });
+
+            final DecisionScope testScope =
+                    new DecisionScope(
+                            "eyJhY3Rpdml0eUlkIjoieGNvcmU6b2ZmZXItYWN0aXZpdHk6MTExMTExMTExMTExMTExMSIsInBsYWNlbWVudElkIjoieGNvcmU6b2ZmZXItcGxhY2VtZW50OjExMTExMTExMTExMTExMTEifQ==");
+            final Map<String, Object> testEventData = new HashMap<>();
+            testEventData.put("requesttype", "updatepropositions");
+            testEventData.put(
+                    "decisionscopes",
+                    new ArrayList<Map<String, Object>>() {
+                        {
+                            add(testScope.toEventData());
+                        }
+                    });
+            final Event testEvent =
+                    new Event.Builder(
+                                    "Optimize Update Propositions Request",
+                                    "com.adobe.eventType.optimize",
+                                    "com.adobe.eventSource.requestContent")
+                            .setEventData(testEventData)
+                            .build();
+
+            // simulate update
+            extension.handleOptimizeRequestContent(testEvent);
+
+            // verify
+            final Map<String, List<DecisionScope>> updateEventIdsInProgress =
+                    extension.getUpdateRequestEventIdsInProgress();
+            Assert.assertNotNull(updateEventIdsInProgress);
+            Assert.assertEquals(1, updateEventIdsInProgress.size());
+            Assert.assertTrue(
+                    updateEventIdsInProgress.containsValue(
                             new ArrayList<DecisionScope>() {
                                 {
-                                    add(testScope2);
+                                    add(testScope);
                                 }
                             }));
+            Mockito.clearInvocations(mockExtensionApi);
+
+            // simulate get
+            final Map<String, Object> testGetEventData = new HashMap<>();
+            testGetEventData.put("requesttype", "getpropositions");
+            testGetEventData.put(
+                    "decisionscopes",
+                    new ArrayList<Map<String, Object>>() {
+                        {
+                            add(testScope.toEventData());
+                        }
+                    });
+
+            final Event testGetEvent =
+                    new Event.Builder(
+                                    "Optimize Get Propositions Request",
+                                    "com.adobe.eventType.optimize",
+                                    "com.adobe.eventSource.requestContent")
+                            .setEventData(testGetEventData)
+                            .build();
+
+            // simulate update complete
+            final Event testUpdateCompleteEvent =
+                    new Event.Builder(
+                                    "Optimize Update Propositions Complete",
+                                    "com.adobe.eventType.optimize",
+                                    "com.adobe.eventSource.contentComplete")
+                            .setEventData(
+                                    new HashMap<String, Object>() {
+                                        {
+                                            put(
+                                                    "completedUpdateRequestForEventId",
+                                                    updateEventIdsInProgress.keySet().toArray()[0]);
+                                        }
+                                    })
+                            .build();
+
+            // test
+            extension.handleOptimizeRequestContent(testGetEvent);
+            extension.handleUpdatePropositionsCompleted(testUpdateCompleteEvent);
+            handleDispatchedGetPropositionsReadyEvents();
+
+            // verify
+            final Event dispatchedEvent = getDispatchedResponseEvent(testGetEvent);
+            Assert.assertEquals("Optimize Response", dispatchedEvent.getName());
+            Assert.assertEquals("com.adobe.eventType.optimize", dispatchedEvent.getType());
+            Assert.assertEquals(
+                    "com.adobe.eventSource.responseContent", dispatchedEvent.getSource());
         }
     }
 
     @Test
-    public void testHandleEdgeResponse_validProposition() throws Exception {
+    public void
+            testHandleOptimizeRequestContent_HandleTrackPropositions_validPropositionInteractionsForDisplay()
+                    throws Exception {
         // setup
-        extension.setUpdateRequestEventIdsInProgress(
-                "AAAAAAAA-AAAA-AAAA-AAAA-AAAAAAAAAAAA",
-                new ArrayList<DecisionScope>() {
+        setConfigurationSharedState(
+                SharedStateStatus.SET,
+                new HashMap<String, Object>() {
                     {
-                        add(
-                                new DecisionScope(
-                                        "eyJhY3Rpdml0eUlkIjoieGNvcmU6b2ZmZXItYWN0aXZpdHk6MTExMTExMTExMTExMTExMSIsInBsYWNlbWVudElkIjoieGNvcmU6b2ZmZXItcGxhY2VtZW50OjExMTExMTExMTExMTExMTEifQ=="));
+                        put("edge.configId", "ffffffff-ffff-ffff-ffff-ffffffffffff");
                     }
                 });
-        final Map<String, Object> edgeResponseData =
+
+        final Map<String, Object> optimizeTrackRequestData =
                 new ObjectMapper()
                         .readValue(
                                 getClass()
                                         .getClassLoader()
-                                        .getResource("json/EVENT_DATA_EDGE_RESPONSE_VALID.json"),
+                                        .getResource(
+                                                "json/EVENT_DATA_OPTIMIZE_TRACK_REQUEST_VALID_DISPLAY.json"),
                                 HashMap.class);
         final Event testEvent =
                 new Event.Builder(
-                                "AEP Response Event Handle",
-                                "com.adobe.eventType.edge",
-                                "personalization:decisions")
-                        .setEventData(edgeResponseData)
+                                "Optimize Track Propositions Request",
+                                "com.adobe.eventType.optimize",
+                                "com.adobe.eventSource.requestContent")
+                        .setEventData(optimizeTrackRequestData)
                         .build();
 
         final ArgumentCaptor<Event> eventCaptor = ArgumentCaptor.forClass(Event.class);
 
         // test
-        extension.handleEdgeResponse(testEvent);
+        extension.handleOptimizeRequestContent(testEvent);
 
         // verify
         Mockito.verify(mockExtensionApi, Mockito.times(1)).dispatch(eventCaptor.capture());
 
         final Event dispatchedEvent = eventCaptor.getValue();
-        Assert.assertEquals("com.adobe.eventType.optimize", dispatchedEvent.getType());
-        Assert.assertEquals("com.adobe.eventSource.notification", dispatchedEvent.getSource());
-
-        final List<Map<String, Object>> propositionsList =
-                (List<Map<String, Object>>) dispatchedEvent.getEventData().get("propositions");
-        Assert.assertNotNull(propositionsList);
-        Assert.assertEquals(1, propositionsList.size());
-
-        final Map<String, Object> propositionsData = propositionsList.get(0);
-        Assert.assertNotNull(propositionsData);
-        final OptimizeProposition optimizeProposition =
-                OptimizeProposition.fromEventData(propositionsData);
-        Assert.assertNotNull(optimizeProposition);
-
-        Assert.assertEquals("aaaaaaaa-aaaa-aaaa-aaaa-aaaaaaaaaaaa", optimizeProposition.getId());
+        Assert.assertEquals("com.adobe.eventType.edge", dispatchedEvent.getType());
+        Assert.assertEquals("com.adobe.eventSource.requestContent", dispatchedEvent.getSource());
+        final Map<String, Object> eventData = dispatchedEvent.getEventData();
+        Assert.assertNotNull(eventData);
+        final Map<String, Object> propositionInteractionsXdm =
+                (Map<String, Object>) eventData.get("xdm");
+        Assert.assertNotNull(propositionInteractionsXdm);
         Assert.assertEquals(
-                "eyJhY3Rpdml0eUlkIjoieGNvcmU6b2ZmZXItYWN0aXZpdHk6MTExMTExMTExMTExMTExMSIsInBsYWNlbWVudElkIjoieGNvcmU6b2ZmZXItcGxhY2VtZW50OjExMTExMTExMTExMTExMTEifQ==",
-                optimizeProposition.getScope());
-        Assert.assertTrue(optimizeProposition.getScopeDetails().isEmpty());
-        Assert.assertEquals(1, optimizeProposition.getOffers().size());
-
-        final Offer offer = optimizeProposition.getOffers().get(0);
-        Assert.assertEquals("xcore:personalized-offer:1111111111111111", offer.getId());
-        Assert.assertEquals("10", offer.getEtag());
+                "decisioning.propositionDisplay", propositionInteractionsXdm.get("eventType"));
+        final Map<String, Object> experience =
+                (Map<String, Object>) propositionInteractionsXdm.get("_experience");
+        Assert.assertNotNull(experience);
+        final Map<String, Object> decisioning = (Map<String, Object>) experience.get("decisioning");
+        Assert.assertNotNull(decisioning);
+        final List<Map<String, Object>> propositionInteractionDetailsList =
+                (List<Map<String, Object>>) decisioning.get("propositions");
+        Assert.assertNotNull(propositionInteractionDetailsList);
+        Assert.assertEquals(1, propositionInteractionDetailsList.size());
+        final Map<String, Object> propositionInteractionDetailsMap =
+                propositionInteractionDetailsList.get(0);
         Assert.assertEquals(
-                "https://ns.adobe.com/experience/offer-management/content-component-html",
-                offer.getSchema());
-        Assert.assertEquals(OfferType.HTML, offer.getType());
-        Assert.assertEquals("<h1>This is a HTML content</h1>", offer.getContent());
-        Assert.assertEquals(1, offer.getCharacteristics().size());
-        Assert.assertEquals("true", offer.getCharacteristics().get("testing"));
-        Assert.assertNull(offer.getLanguage());
-
-        // incoming proposition is accumulated, not cached yet
-        Assert.assertEquals(1, extension.getPropositionsInProgress().size());
-        Assert.assertEquals(0, extension.getCachedPropositions().size());
+                "aaaaaaaa-aaaa-aaaa-aaaa-aaaaaaaaaaaa", propositionInteractionDetailsMap.get("id"));
+        Assert.assertEquals(
+                "eyJhY3Rpdml0eUlkIjoieGNvcmU6b2ZmZXItYWN0aXZpdHk6MTExMTExMTExMTExMTExMSIsInBsYWNlbWVudElkIjoieGNvcmU6b2ZmZXItcGxhY2VtZW50OjExMTExMTExMTExMTExMTEifQ==",
+                propositionInteractionDetailsMap.get("scope"));
+        final Map<String, Object> scopeDetails =
+                (Map<String, Object>) propositionInteractionDetailsMap.get("scopeDetails");
+        Assert.assertNotNull(scopeDetails);
+        Assert.assertTrue(scopeDetails.isEmpty());
+        final List<Map<String, Object>> items =
+                (List<Map<String, Object>>) propositionInteractionDetailsMap.get("items");
+        Assert.assertNotNull(items);
+        Assert.assertEquals(1, items.size());
+        Assert.assertEquals("xcore:personalized-offer:1111111111111111", items.get(0).get("id"));
     }
 
     @Test
-    public void testHandleEdgeResponse_validPropositionFromTargetWithClickTracking()
-            throws Exception {
+    public void
+            testHandleOptimizeRequestContent_HandleTrackPropositions_validPropositionInteractionsForTap()
+                    throws Exception {
         // setup
-        extension.setUpdateRequestEventIdsInProgress(
-                "AAAAAAAA-AAAA-AAAA-AAAA-AAAAAAAAAAAA",
-                new ArrayList<DecisionScope>() {
+        setConfigurationSharedState(
+                SharedStateStatus.SET,
+                new HashMap<String, Object>() {
                     {
-                        add(new DecisionScope("myMbox"));
+                        put("edge.configId", "ffffffff-ffff-ffff-ffff-ffffffffffff");
                     }
                 });
-        final Map<String, Object> edgeResponseData =
+
+        final Map<String, Object> optimizeTrackRequestData =
                 new ObjectMapper()
                         .readValue(
                                 getClass()
                                         .getClassLoader()
                                         .getResource(
-                                                "json/EVENT_DATA_EDGE_RESPONSE_VALID_TARGET_WITH_CLICK_TRACKING.json"),
+                                                "json/EVENT_DATA_OPTIMIZE_TRACK_REQUEST_VALID_TAP.json"),
                                 HashMap.class);
         final Event testEvent =
                 new Event.Builder(
-                                "AEP Response Event Handle",
-                                "com.adobe.eventType.edge",
-                                "personalization:decisions")
-                        .setEventData(edgeResponseData)
+                                "Optimize Track Propositions Request",
+                                "com.adobe.eventType.optimize",
+                                "com.adobe.eventSource.requestContent")
+                        .setEventData(optimizeTrackRequestData)
                         .build();
 
         final ArgumentCaptor<Event> eventCaptor = ArgumentCaptor.forClass(Event.class);
 
         // test
-        extension.handleEdgeResponse(testEvent);
+        extension.handleOptimizeRequestContent(testEvent);
 
         // verify
         Mockito.verify(mockExtensionApi, Mockito.times(1)).dispatch(eventCaptor.capture());
 
         final Event dispatchedEvent = eventCaptor.getValue();
-        Assert.assertEquals("com.adobe.eventType.optimize", dispatchedEvent.getType());
-        Assert.assertEquals("com.adobe.eventSource.notification", dispatchedEvent.getSource());
-
-        final List<Map<String, Object>> propositionsList =
-                (List<Map<String, Object>>) dispatchedEvent.getEventData().get("propositions");
-        Assert.assertNotNull(propositionsList);
-        Assert.assertEquals(1, propositionsList.size());
-
-        final Map<String, Object> propositionsData = propositionsList.get(0);
-        Assert.assertNotNull(propositionsData);
-        final OptimizeProposition optimizeProposition =
-                OptimizeProposition.fromEventData(propositionsData);
-        Assert.assertNotNull(optimizeProposition);
-
+        Assert.assertEquals("com.adobe.eventType.edge", dispatchedEvent.getType());
+        Assert.assertEquals("com.adobe.eventSource.requestContent", dispatchedEvent.getSource());
+        final Map<String, Object> eventData = dispatchedEvent.getEventData();
+        Assert.assertNotNull(eventData);
+        final Map<String, Object> propositionInteractionsXdm =
+                (Map<String, Object>) eventData.get("xdm");
+        Assert.assertNotNull(propositionInteractionsXdm);
         Assert.assertEquals(
-                "AT:eyJhY3Rpdml0eUlkIjoiMTExMTExIiwiZXhwZXJpZW5jZUlkIjoiMCJ9",
-                optimizeProposition.getId());
-        Assert.assertEquals("myMbox", optimizeProposition.getScope());
-        Assert.assertNotNull(optimizeProposition.getScopeDetails());
-
-        final Map<String, Object> scopeDetails = optimizeProposition.getScopeDetails();
+                "decisioning.propositionInteract", propositionInteractionsXdm.get("eventType"));
+        final Map<String, Object> experience =
+                (Map<String, Object>) propositionInteractionsXdm.get("_experience");
+        Assert.assertNotNull(experience);
+        final Map<String, Object> decisioning = (Map<String, Object>) experience.get("decisioning");
+        Assert.assertNotNull(decisioning);
+        final List<Map<String, Object>> propositionInteractionDetailsList =
+                (List<Map<String, Object>>) decisioning.get("propositions");
+        Assert.assertNotNull(propositionInteractionDetailsList);
+        Assert.assertEquals(1, propositionInteractionDetailsList.size());
+        final Map<String, Object> propositionInteractionDetailsMap =
+                propositionInteractionDetailsList.get(0);
+        Assert.assertEquals(
+                "AT:eyJhY3Rpdml0eUlkIjoiMTI1NTg5IiwiZXhwZXJpZW5jZUlkIjoiMCJ9",
+                propositionInteractionDetailsMap.get("id"));
+        Assert.assertEquals("myMbox", propositionInteractionDetailsMap.get("scope"));
+        final Map<String, Object> scopeDetails =
+                (Map<String, Object>) propositionInteractionDetailsMap.get("scopeDetails");
         Assert.assertNotNull(scopeDetails);
-        Assert.assertEquals(5, scopeDetails.size());
+        Assert.assertEquals(4, scopeDetails.size());
         Assert.assertEquals("TGT", scopeDetails.get("decisionProvider"));
-        final Map<String, Object> activity = (Map<String, Object>) scopeDetails.get("activity");
-        Assert.assertNotNull(activity);
-        Assert.assertEquals(1, activity.size());
-        Assert.assertEquals("111111", activity.get("id"));
-        Map<String, Object> experience = (Map<String, Object>) scopeDetails.get("experience");
-        Assert.assertNotNull(experience);
-        Assert.assertEquals(1, experience.size());
-        Assert.assertEquals("0", experience.get("id"));
-        final List<Map<String, Object>> strategies =
+        final Map<String, Object> sdActivity = (Map<String, Object>) scopeDetails.get("activity");
+        Assert.assertEquals("125589", sdActivity.get("id"));
+        final Map<String, Object> sdExperience =
+                (Map<String, Object>) scopeDetails.get("experience");
+        Assert.assertEquals("0", sdExperience.get("id"));
+        final List<Map<String, Object>> sdStrategies =
                 (List<Map<String, Object>>) scopeDetails.get("strategies");
-        Assert.assertNotNull(strategies);
-        Assert.assertEquals(2, strategies.size());
-        final Map<String, Object> strategy0 = strategies.get(0);
-        Assert.assertNotNull(strategy0);
-        Assert.assertEquals(3, strategy0.size());
-        Assert.assertEquals("entry", strategy0.get("step"));
-        Assert.assertEquals("0", strategy0.get("algorithmID"));
-        Assert.assertEquals("0", strategy0.get("trafficType"));
+        Assert.assertNotNull(sdStrategies);
+        Assert.assertEquals(1, sdStrategies.size());
+        Assert.assertEquals("0", sdStrategies.get(0).get("algorithmID"));
+        Assert.assertEquals("0", sdStrategies.get(0).get("trafficType"));
+        final List<Map<String, Object>> items =
+                (List<Map<String, Object>>) propositionInteractionDetailsMap.get("items");
+        Assert.assertNotNull(items);
+        Assert.assertEquals(1, items.size());
+        Assert.assertEquals("246315", items.get(0).get("id"));
+    }
+
+    @Test
+    public void
+            testHandleOptimizeRequestContent_HandleTrackPropositions_validPropositionInteractionsWithDatasetIdInConfig()
+                    throws Exception {
+        // setup
+        setConfigurationSharedState(
+                SharedStateStatus.SET,
+                new HashMap<String, Object>() {
+                    {
+                        put("edge.configId", "ffffffff-ffff-ffff-ffff-ffffffffffff");
+                        put("optimize.datasetId", "111111111111111111111111");
+                    }
+                });
 
-        final Map<String, Object> strategy1 = strategies.get(1);
-        Assert.assertNotNull(strategy1);
-        Assert.assertEquals(3, strategy1.size());
-        Assert.assertEquals("display", strategy1.get("step"));
-        Assert.assertEquals("0", strategy1.get("algorithmID"));
-        Assert.assertEquals("0", strategy1.get("trafficType"));
+        final Map<String, Object> optimizeTrackRequestData =
+                new ObjectMapper()
+                        .readValue(
+                                getClass()
+                                        .getClassLoader()
+                                        .getResource(
+                                                "json/EVENT_DATA_OPTIMIZE_TRACK_REQUEST_VALID_TAP.json"),
+                                HashMap.class);
+        final Event testEvent =
+                new Event.Builder(
+                                "Optimize Track Propositions Request",
+                                "com.adobe.eventType.optimize",
+                                "com.adobe.eventSource.requestContent")
+                        .setEventData(optimizeTrackRequestData)
+                        .build();
 
-        final Map<String, Object> characteristics =
-                (Map<String, Object>) scopeDetails.get("characteristics");
-        Assert.assertNotNull(characteristics);
-        Assert.assertEquals(2, characteristics.size());
-        Assert.assertEquals(
-                "SGFZpwAqaqFTayhAT2xsgzG3+2fw4m+O9FK8c0QoOHfxVkH1ttT1PGBX3/jV8a5uFF0fAox6CXpjJ1PGRVQBjHl9Zc6mRxY9NQeM7rs/3Es1RHPkzBzyhpVS6eg9q+kw",
-                characteristics.get("stateToken"));
-        final Map<String, Object> eventTokens =
-                (Map<String, Object>) characteristics.get("eventTokens");
-        Assert.assertNotNull(eventTokens);
-        Assert.assertEquals(2, eventTokens.size());
-        Assert.assertEquals(
-                "MmvRrL5aB4Jz36JappRYg2qipfsIHvVzTQxHolz2IpSCnQ9Y9OaLL2gsdrWQTvE54PwSz67rmXWmSnkXpSSS2Q==",
-                eventTokens.get("display"));
-        Assert.assertEquals("EZDMbI2wmAyGcUYLr3VpmA==", eventTokens.get("click"));
+        final ArgumentCaptor<Event> eventCaptor = ArgumentCaptor.forClass(Event.class);
 
-        Assert.assertEquals(1, optimizeProposition.getOffers().size());
-        final Offer offer = optimizeProposition.getOffers().get(0);
-        Assert.assertEquals("0", offer.getId());
-        Assert.assertNull(offer.getEtag());
-        Assert.assertEquals(
-                "https://ns.adobe.com/personalization/json-content-item", offer.getSchema());
-        Assert.assertEquals(OfferType.JSON, offer.getType());
-        Assert.assertEquals("{\"device\":\"mobile\"}", offer.getContent());
-        Assert.assertNull(offer.getCharacteristics());
-        Assert.assertNull(offer.getLanguage());
+        // test
+        extension.handleOptimizeRequestContent(testEvent);
 
-        // incoming proposition is accumulated, not cached yet
-        Assert.assertEquals(1, extension.getPropositionsInProgress().size());
-        Assert.assertEquals(0, extension.getCachedPropositions().size());
+        // verify
+        Mockito.verify(mockExtensionApi, Mockito.times(1)).dispatch(eventCaptor.capture());
+
+        final Event dispatchedEvent = eventCaptor.getValue();
+        Assert.assertEquals("com.adobe.eventType.edge", dispatchedEvent.getType());
+        Assert.assertEquals("com.adobe.eventSource.requestContent", dispatchedEvent.getSource());
+        final Map<String, Object> eventData = dispatchedEvent.getEventData();
+        Assert.assertNotNull(eventData);
+        final String datasetId = (String) eventData.get("datasetId");
+        Assert.assertEquals("111111111111111111111111", datasetId);
+        final Map<String, Object> propositionInteractionsXdm =
+                (Map<String, Object>) eventData.get("xdm");
+        Assert.assertNotNull(propositionInteractionsXdm);
+        Assert.assertEquals(
+                "decisioning.propositionInteract", propositionInteractionsXdm.get("eventType"));
+        final Map<String, Object> experience =
+                (Map<String, Object>) propositionInteractionsXdm.get("_experience");
+        Assert.assertNotNull(experience);
+        final Map<String, Object> decisioning = (Map<String, Object>) experience.get("decisioning");
+        Assert.assertNotNull(decisioning);
+        final List<Map<String, Object>> propositionInteractionDetailsList =
+                (List<Map<String, Object>>) decisioning.get("propositions");
+        Assert.assertNotNull(propositionInteractionDetailsList);
+        Assert.assertEquals(1, propositionInteractionDetailsList.size());
+        final Map<String, Object> propositionInteractionDetailsMap =
+                propositionInteractionDetailsList.get(0);
+        Assert.assertEquals(
+                "AT:eyJhY3Rpdml0eUlkIjoiMTI1NTg5IiwiZXhwZXJpZW5jZUlkIjoiMCJ9",
+                propositionInteractionDetailsMap.get("id"));
+        Assert.assertEquals("myMbox", propositionInteractionDetailsMap.get("scope"));
+        final Map<String, Object> scopeDetails =
+                (Map<String, Object>) propositionInteractionDetailsMap.get("scopeDetails");
+        Assert.assertNotNull(scopeDetails);
+        Assert.assertEquals(4, scopeDetails.size());
+        Assert.assertEquals("TGT", scopeDetails.get("decisionProvider"));
+        final Map<String, Object> sdActivity = (Map<String, Object>) scopeDetails.get("activity");
+        Assert.assertEquals("125589", sdActivity.get("id"));
+        final Map<String, Object> sdExperience =
+                (Map<String, Object>) scopeDetails.get("experience");
+        Assert.assertEquals("0", sdExperience.get("id"));
+        final List<Map<String, Object>> sdStrategies =
+                (List<Map<String, Object>>) scopeDetails.get("strategies");
+        Assert.assertNotNull(sdStrategies);
+        Assert.assertEquals(1, sdStrategies.size());
+        Assert.assertEquals("0", sdStrategies.get(0).get("algorithmID"));
+        Assert.assertEquals("0", sdStrategies.get(0).get("trafficType"));
+        final List<Map<String, Object>> items =
+                (List<Map<String, Object>>) propositionInteractionDetailsMap.get("items");
+        Assert.assertNotNull(items);
+        Assert.assertEquals(1, items.size());
+        Assert.assertEquals("246315", items.get(0).get("id"));
     }
 
     @Test
-    public void testHandleEdgeResponse_emptyProposition() throws Exception {
-        extension.setUpdateRequestEventIdsInProgress(
-                "AAAAAAAA-AAAA-AAAA-AAAA-AAAAAAAAAAAA", new ArrayList<DecisionScope>());
+    public void testHandleOptimizeRequestContent_HandleTrackPropositions_configurationNotAvailable()
+            throws Exception {
         try (MockedStatic<Log> logMockedStatic = Mockito.mockStatic(Log.class)) {
             // setup
-            final Map<String, Object> edgeResponseData =
+            final Map<String, Object> optimizeTrackRequestData =
                     new ObjectMapper()
                             .readValue(
                                     getClass()
                                             .getClassLoader()
                                             .getResource(
-                                                    "json/EVENT_DATA_EDGE_RESPONSE_EMPTY_PAYLOAD.json"),
+                                                    "json/EVENT_DATA_OPTIMIZE_TRACK_REQUEST_VALID_DISPLAY.json"),
                                     HashMap.class);
             final Event testEvent =
                     new Event.Builder(
-                                    "AEP Response Event Handle",
-                                    "com.adobe.eventType.edge",
-                                    "personalization:decisions")
-                            .setEventData(edgeResponseData)
+                                    "Optimize Track Propositions Request",
+                                    "com.adobe.eventType.optimize",
+                                    "com.adobe.eventSource.requestContent")
+                            .setEventData(optimizeTrackRequestData)
                             .build();
 
             // test
-            extension.handleEdgeResponse(testEvent);
+            extension.handleOptimizeRequestContent(testEvent);
 
             // verify
+            Mockito.verify(mockExtensionApi, Mockito.times(0)).dispatch(ArgumentMatchers.any());
+
             logMockedStatic.verify(
                     () ->
                             Log.debug(
                                     ArgumentMatchers.anyString(),
                                     ArgumentMatchers.anyString(),
-                                    ArgumentMatchers.anyString()));
-
-            Assert.assertEquals(0, extension.getPropositionsInProgress().size());
-            Assert.assertEquals(0, extension.getCachedPropositions().size());
+                                    ArgumentMatchers.anyString(),
+                                    ArgumentMatchers.any()));
         }
     }
 
     @Test
-    public void testHandleEdgeResponse_unsupportedItemInProposition() throws Exception {
-        extension.setUpdateRequestEventIdsInProgress(
-                "AAAAAAAA-AAAA-AAAA-AAAA-AAAAAAAAAAAA",
-                new ArrayList<DecisionScope>() {
-                    {
-                        add(new DecisionScope("myMbox"));
-                    }
-                });
-        try (MockedStatic<Log> logMockedStatic = Mockito.mockStatic(Log.class)) {
-            // setup
-            final Map<String, Object> edgeResponseData =
-                    new ObjectMapper()
-                            .readValue(
-                                    getClass()
-                                            .getClassLoader()
-                                            .getResource(
-                                                    "json/EVENT_DATA_EDGE_RESPONSE_UNSUPPORTED_ITEM_IN_PAYLOAD.json"),
-                                    HashMap.class);
-            final Event testEvent =
-                    new Event.Builder(
-                                    "AEP Response Event Handle",
-                                    "com.adobe.eventType.edge",
-                                    "personalization:decisions")
-                            .setEventData(edgeResponseData)
-                            .build();
+    public void
+            testHandleOptimizeRequestContent_HandleTrackPropositions_sentOnceConfigurationIsReceived()
+                    throws Exception {
+        // setup
+        final Map<String, Object> optimizeTrackRequestData =
+                new ObjectMapper()
+                        .readValue(
+                                getClass()
+                                        .getClassLoader()
+                                        .getResource(
+                                                "json/EVENT_DATA_OPTIMIZE_TRACK_REQUEST_VALID_TAP.json"),
+                                HashMap.class);
+        final Event testEvent =
+                new Event.Builder(
+                                "Optimize Track Propositions Request",
+                                "com.adobe.eventType.optimize",
+                                "com.adobe.eventSource.requestContent")
+                        .setEventData(optimizeTrackRequestData)
+                        .build();
+        extension.handleOptimizeRequestContent(testEvent);
+        Mockito.verify(mockExtensionApi, Mockito.never()).dispatch(ArgumentMatchers.any());
 
-            // test
-            extension.handleEdgeResponse(testEvent);
+        final Map<String, Object> configData = new HashMap<>();
+        configData.put("edge.configId", "ffffffff-ffff-ffff-ffff-ffffffffffff");
+        configData.put("optimize.datasetId", "111111111111111111111111");
+        final Event configurationEvent =
+                new Event.Builder(
+                                "Configuration Response Event",
+                                "com.adobe.eventType.configuration",
+                                "com.adobe.eventSource.responseContent")
+                        .setEventData(configData)
+                        .build();
 
-            // verify
-            logMockedStatic.verify(
-                    () ->
-                            Log.debug(
-                                    ArgumentMatchers.anyString(),
-                                    ArgumentMatchers.anyString(),
-                                    ArgumentMatchers.anyString()),
-                    Mockito.times(2));
+        // test
+        extension.handleConfigurationResponseContent(configurationEvent);
 
-            Assert.assertEquals(0, extension.getPropositionsInProgress().size());
-            Assert.assertEquals(0, extension.getCachedPropositions().size());
-        }
+        // verify
+        final ArgumentCaptor<Event> eventCaptor = ArgumentCaptor.forClass(Event.class);
+        Mockito.verify(mockExtensionApi, Mockito.times(1)).dispatch(eventCaptor.capture());
+        final Event dispatchedEvent = eventCaptor.getValue();
+        Assert.assertEquals("com.adobe.eventType.edge", dispatchedEvent.getType());
+        Assert.assertEquals("com.adobe.eventSource.requestContent", dispatchedEvent.getSource());
+        Assert.assertEquals(
+                "111111111111111111111111", dispatchedEvent.getEventData().get("datasetId"));
+        Assert.assertEquals(
+                optimizeTrackRequestData.get("propositioninteractions"),
+                dispatchedEvent.getEventData().get("xdm"));
+
+        // verify the queued request is only sent once
+        extension.handleConfigurationResponseContent(configurationEvent);
+        Mockito.verify(mockExtensionApi, Mockito.times(1)).dispatch(ArgumentMatchers.any());
     }
 
     @Test
-    public void testHandleEdgeResponse_nullEventData() {
-        try (MockedStatic<Log> logMockedStatic = Mockito.mockStatic(Log.class)) {
-            // setup
-            final Event testEvent =
+    public void testHandleOptimizeRequestContent_HandleTrackPropositions_dropsOldestQueuedRequests()
+            throws Exception {
+        // setup
+        final Map<String, Object> optimizeTrackRequestData =
+                new ObjectMapper()
+                        .readValue(
+                                getClass()
+                                        .getClassLoader()
+                                        .getResource(
+                                                "json/EVENT_DATA_OPTIMIZE_TRACK_REQUEST_VALID_TAP.json"),
+                                HashMap.class);
+        for (int i = 0; i < OptimizeConstants.MAX_PENDING_TRACK_REQUESTS + 5; i++) {
+            extension.handleOptimizeRequestContent(
                     new Event.Builder(
-                                    "AEP Response Event Handle",
-                                    "com.adobe.eventType.edge",
-                                    "personalization:decisions")
-                            .setEventData(null)
-                            .build();
-
-            // test
-            extension.handleEdgeResponse(testEvent);
+                                    "Optimize Track Propositions Request",
+                                    "com.adobe.eventType.optimize",
+                                    "com.adobe.eventSource.requestContent")
+                            .setEventData(optimizeTrackRequestData)
+                            .build());
+        }
+        final Map<String, Object> configData = new HashMap<>();
+        configData.put("edge.configId", "ffffffff-ffff-ffff-ffff-ffffffffffff");
 
-            // verify
-            logMockedStatic.verify(
-                    () ->
-                            Log.debug(
-                                    ArgumentMatchers.anyString(),
-                                    ArgumentMatchers.anyString(),
-                                    ArgumentMatchers.anyString(),
-                                    ArgumentMatchers.any()));
+        // test
+        extension.handleConfigurationResponseContent(
+                new Event.Builder(
+                                "Configuration Response Event",
+                                "com.adobe.eventType.configuration",
+                                "com.adobe.eventSource.responseContent")
+                        .setEventData(configData)
+                        .build());
 
-            Assert.assertEquals(0, extension.getPropositionsInProgress().size());
-            Assert.assertEquals(0, extension.getCachedPropositions().size());
-        }
+        // verify
+        Mockito.verify(
+                        mockExtensionApi,
+                        Mockito.times(OptimizeConstants.MAX_PENDING_TRACK_REQUESTS))
+                .dispatch(ArgumentMatchers.any());
     }
 
     @Test
-    public void testHandleEdgeResponse_emptyEventData() {
+    public void
+            testHandleOptimizeRequestContent_HandleTrackPropositions_missingPropositionInteractions()
+                    throws Exception {
         try (MockedStatic<Log> logMockedStatic = Mockito.mockStatic(Log.class)) {
             // setup
+            setConfigurationSharedState(
+                    SharedStateStatus.SET,
+                    new HashMap<String, Object>() {
+                        {
+                            put("edge.configId", "ffffffff-ffff-ffff-ffff-ffffffffffff");
+                        }
+                    });
+
+            final Map<String, Object> optimizeTrackRequestData =
+                    new ObjectMapper()
+                            .readValue(
+                                    getClass()
+                                            .getClassLoader()
+                                            .getResource(
+                                                    "json/EVENT_DATA_OPTIMIZE_TRACK_REQUEST_MISSING_PROPOSITION_INTERACTIONS.json"),
+                                    HashMap.class);
             final Event testEvent =
                     new Event.Builder(
-                                    "AEP Response Event Handle",
-                                    "com.adobe.eventType.edge",
-                                    "personalization:decisions")
-                            .setEventData(new HashMap<>())
+                                    "Optimize Track Propositions Request",
+                                    "com.adobe.eventType.optimize",
+                                    "com.adobe.eventSource.requestContent")
+                            .setEventData(optimizeTrackRequestData)
                             .build();
 
             // test
-            extension.handleEdgeResponse(testEvent);
+            extension.handleOptimizeRequestContent(testEvent);
 
             // verify
+            Mockito.verify(mockExtensionApi, Mockito.times(0)).dispatch(ArgumentMatchers.any());
+
             logMockedStatic.verify(
                     () ->
                             Log.debug(
@@ -1157,36 +3709,45 @@ public class OptimizeExtensionTests {
                                     ArgumentMatchers.anyString(),
                                     ArgumentMatchers.anyString(),
                                     ArgumentMatchers.any()));
-
-            Assert.assertEquals(0, extension.getPropositionsInProgress().size());
-            Assert.assertEquals(0, extension.getCachedPropositions().size());
         }
     }
 
     @Test
-    public void testHandleEdgeResponse_requestEventIdNotBeingTracked() throws Exception {
+    public void
+            testHandleOptimizeRequestContent_HandleTrackPropositions_emptyPropositionInteractions()
+                    throws Exception {
         try (MockedStatic<Log> logMockedStatic = Mockito.mockStatic(Log.class)) {
             // setup
-            final Map<String, Object> edgeResponseData =
+            setConfigurationSharedState(
+                    SharedStateStatus.SET,
+                    new HashMap<String, Object>() {
+                        {
+                            put("edge.configId", "ffffffff-ffff-ffff-ffff-ffffffffffff");
+                        }
+                    });
+
+            final Map<String, Object> optimizeTrackRequestData =
                     new ObjectMapper()
                             .readValue(
                                     getClass()
                                             .getClassLoader()
                                             .getResource(
-                                                    "json/EVENT_DATA_EDGE_RESPONSE_VALID.json"),
+                                                    "json/EVENT_DATA_OPTIMIZE_TRACK_REQUEST_EMPTY_PROPOSITION_INTERACTIONS.json"),
                                     HashMap.class);
             final Event testEvent =
                     new Event.Builder(
-                                    "AEP Response Event Handle",
-                                    "com.adobe.eventType.edge",
-                                    "personalization:decisions")
-                            .setEventData(edgeResponseData)
+                                    "Optimize Track Propositions Request",
+                                    "com.adobe.eventType.optimize",
+                                    "com.adobe.eventSource.requestContent")
+                            .setEventData(optimizeTrackRequestData)
                             .build();
 
             // test
-            extension.handleEdgeResponse(testEvent);
+            extension.handleOptimizeRequestContent(testEvent);
 
             // verify
+            Mockito.verify(mockExtensionApi, Mockito.times(0)).dispatch(ArgumentMatchers.any());
+
             logMockedStatic.verify(
                     () ->
                             Log.debug(
@@ -1194,178 +3755,130 @@ public class OptimizeExtensionTests {
                                     ArgumentMatchers.anyString(),
                                     ArgumentMatchers.anyString(),
                                     ArgumentMatchers.any()));
-
-            Assert.assertEquals(0, extension.getPropositionsInProgress().size());
-            Assert.assertEquals(0, extension.getCachedPropositions().size());
         }
     }
 
     @Test
-    public void testHandleEdgeResponse_missingItemData() throws IOException {
-        // Setup
-        ObjectMapper objectMapper = new ObjectMapper();
-        Map<String, Object> edgeResponseData =
-                objectMapper.readValue(
-                        Objects.requireNonNull(getClass().getClassLoader())
-                                .getResource(
-                                        "json/EVENT_DATA_EDGE_RESPONSE_MISSING_ITEM_DATA.json"),
-                        HashMap.class);
+    public void testHandleClearPropositions() throws Exception {
+        // setup
+        final Map<String, Object> testPropositionData =
+                new ObjectMapper()
+                        .readValue(
+                                getClass()
+                                        .getClassLoader()
+                                        .getResource("json/PROPOSITION_VALID_ODE.json"),
+                                HashMap.class);
+        final OptimizeProposition testOptimizeProposition =
+                OptimizeProposition.fromEventData(testPropositionData);
+        Assert.assertNotNull(testOptimizeProposition);
+        final Map<DecisionScope, OptimizeProposition> cachedPropositions = new HashMap<>();
+        cachedPropositions.put(
+                new DecisionScope(testOptimizeProposition.getScope()), testOptimizeProposition);
+        extension.setCachedPropositions(cachedPropositions);
 
-        Event testEvent =
+        final Event testEvent =
                 new Event.Builder(
-                                "AEP Response Event Handle",
-                                "com.adobe.eventType.edge",
-                                "personalization:decisions")
-                        .setEventData(edgeResponseData)
+                                "Optimize Clear Propositions Request",
+                                "com.adobe.eventType.optimize",
+                                "com.adobe.eventSource.requestReset")
                         .build();
 
-        ArgumentCaptor<Event> eventCaptor = ArgumentCaptor.forClass(Event.class);
-        extension.setUpdateRequestEventIdsInProgress(
-                "AAAAAAAA-AAAA-AAAA-AAAA-AAAAAAAAAAAA",
-                new ArrayList<DecisionScope>() {
-                    {
-                        add(new DecisionScope("someDecisionScope"));
-                    }
-                });
-        extension.handleEdgeResponse(testEvent);
-        Mockito.verify(mockExtensionApi, Mockito.times(1)).dispatch(eventCaptor.capture());
-
-        List<Map<String, Object>> propositionsList =
-                (List<Map<String, Object>>)
-                        eventCaptor.getValue().getEventData().get("propositions");
-
-        Assert.assertNotNull(propositionsList);
-        Assert.assertEquals(1, propositionsList.size());
-
-        final Map<String, Object> propositionsData = propositionsList.get(0);
-        Assert.assertNotNull(propositionsData);
-        final OptimizeProposition optimizeProposition =
-                OptimizeProposition.fromEventData(propositionsData);
-        Assert.assertNotNull(optimizeProposition);
-        Assert.assertEquals(1, optimizeProposition.getOffers().size());
+        // test
+        extension.handleClearPropositions(testEvent);
 
-        final Offer offer = optimizeProposition.getOffers().get(0);
-        Assert.assertEquals("0", offer.getId());
-        Assert.assertNull(offer.getEtag());
-        Assert.assertEquals(
-                "https://ns.adobe.com/personalization/default-content-item", offer.getSchema());
-        Assert.assertEquals(OfferType.UNKNOWN, offer.getType());
-        Assert.assertEquals("", offer.getContent());
-        Assert.assertNull(offer.getCharacteristics());
-        Assert.assertNull(offer.getLanguage());
+        // verify
+        final Map<DecisionScope, OptimizeProposition> actualCachedPropositions =
+                extension.getCachedPropositions();
+        Assert.assertTrue(actualCachedPropositions.isEmpty());
     }
 
     @Test
-    public void testHandleEdgeErrorResponse() throws Exception {
-        try (MockedStatic<Log> logMockedStatic = Mockito.mockStatic(Log.class)) {
-            // setup
-            final Map<String, Object> edgeErrorResponseData =
-                    new ObjectMapper()
-                            .readValue(
-                                    getClass()
-                                            .getClassLoader()
-                                            .getResource(
-                                                    "json/EVENT_DATA_EDGE_ERROR_RESPONSE.json"),
-                                    HashMap.class);
-
-            extension.setUpdateRequestEventIdsInProgress(
-                    "AAAAAAAA-AAAA-AAAA-AAAA-AAAAAAAAAAAA",
-                    new ArrayList<DecisionScope>() {
-                        {
-                            add(
-                                    new DecisionScope(
-                                            "eydhY3Rpdml0eUlkIjoieGNvcmU6b2ZmZXItYWN0aXZpdHk6MTExMTExMTExMTExMTExMSIsInBsYWNlbWVudElkIjoieGNvcmU6b2ZmZXItcGxhY2VtZW50OjExMTExMTExMTExMTExMTEifQ=="));
-                        }
-                    });
-
-            final Event testEvent =
-                    new Event.Builder(
-                                    "AEP Error Response",
-                                    "com.adobe.eventType.edge",
-                                    "com.adobe.eventSource.errorResponseContent")
-                            .setEventData(edgeErrorResponseData)
-                            .build();
+    public void testHandleClearPropositions_coreResetIdentities() throws Exception {
+        // setup
+        final Map<String, Object> testPropositionData =
+                new ObjectMapper()
+                        .readValue(
+                                getClass()
+                                        .getClassLoader()
+                                        .getResource("json/PROPOSITION_VALID_ODE.json"),
+                                HashMap.class);
+        final OptimizeProposition testOptimizeProposition =
+                OptimizeProposition.fromEventData(testPropositionData);
+        Assert.assertNotNull(testOptimizeProposition);
+        final Map<DecisionScope, OptimizeProposition> cachedPropositions = new HashMap<>();
+        cachedPropositions.put(
+                new DecisionScope(testOptimizeProposition.getScope()), testOptimizeProposition);
+        extension.setCachedPropositions(cachedPropositions);
 
-            // test
-            extension.handleEdgeErrorResponse(testEvent);
+        final Event testEvent =
+                new Event.Builder(
+                                "Reset Identities Request",
+                                "com.adobe.eventType.generic.identity",
+                                "com.adobe.eventSource.requestReset")
+                        .build();
 
-            // verify
-            logMockedStatic.verify(
-                    () ->
-                            Log.warning(
-                                    ArgumentMatchers.anyString(),
-                                    ArgumentMatchers.anyString(),
-                                    ArgumentMatchers.anyString(),
-                                    ArgumentMatchers.any()));
+        // test
+        extension.handleClearPropositions(testEvent);
 
-            Assert.assertEquals(0, extension.getPropositionsInProgress().size());
-            Assert.assertEquals(0, extension.getCachedPropositions().size());
-        }
+        // verify
+        final Map<DecisionScope, OptimizeProposition> actualCachedPropositions =
+                extension.getCachedPropositions();
+        Assert.assertTrue(actualCachedPropositions.isEmpty());
     }
 
     @Test
-    public void testHandleEdgeErrorResponse_nullEventData() {
-        try (MockedStatic<Log> logMockedStatic = Mockito.mockStatic(Log.class)) {
-            // setup
-            final Event testEvent =
-                    new Event.Builder(
-                                    "AEP Error Response",
-                                    "com.adobe.eventType.edge",
-                                    "com.adobe.eventSource.errorResponseContent")
-                            .setEventData(null)
-                            .build();
+    public void testHandleClearPropositions_clearsPersistedPropositions() throws Exception {
+        // setup
+        final PersistentPropositionsCache mockPersistentCache =
+                Mockito.mock(PersistentPropositionsCache.class);
+        extension.setPersistentCache(mockPersistentCache);
+        extension.setPersistenceExecutor(Runnable::run);
 
-            // test
-            extension.handleEdgeErrorResponse(testEvent);
+        final Event testEvent =
+                new Event.Builder(
+                                "Optimize Clear Propositions Request",
+                                "com.adobe.eventType.optimize",
+                                "com.adobe.eventSource.requestReset")
+                        .build();
 
-            // verify
-            logMockedStatic.verify(
-                    () ->
-                            Log.debug(
-                                    ArgumentMatchers.anyString(),
-                                    ArgumentMatchers.anyString(),
-                                    ArgumentMatchers.anyString(),
-                                    ArgumentMatchers.any()));
+        // test
+        extension.handleClearPropositions(testEvent);
 
-            final Map<DecisionScope, OptimizeProposition> cachedPropositions =
-                    extension.getCachedPropositions();
-            Assert.assertNotNull(cachedPropositions);
-            Assert.assertTrue(cachedPropositions.isEmpty());
-        }
+        // verify
+        Mockito.verify(mockPersistentCache, Mockito.times(1)).clear();
     }
 
     @Test
-    public void testHandleEdgeErrorResponse_emptyEventData() {
-        try (MockedStatic<Log> logMockedStatic = Mockito.mockStatic(Log.class)) {
-            // setup
-            final Event testEvent =
-                    new Event.Builder(
-                                    "AEP Error Response",
-                                    "com.adobe.eventType.edge",
-                                    "com.adobe.eventSource.errorResponseContent")
-                            .setEventData(new HashMap<>())
-                            .build();
+    public void testOnRegistered_loadsPersistedPropositions() throws Exception {
+        // setup
+        final OptimizeProposition testOptimizeProposition =
+                loadProposition("json/PROPOSITION_VALID_ODE.json");
+        final DecisionScope testScope = new DecisionScope(testOptimizeProposition.getScope());
+        final PropositionsSnapshot persistedPropositions =
+                createSnapshot(testScope, testOptimizeProposition);
 
-            // test
-            extension.handleEdgeErrorResponse(testEvent);
+        final PersistentPropositionsCache mockPersistentCache =
+                Mockito.mock(PersistentPropositionsCache.class);
+        Mockito.when(mockPersistentCache.exists()).thenReturn(true);
+        Mockito.when(mockPersistentCache.load()).thenReturn(persistedPropositions);
 
-            // verify
-            logMockedStatic.verify(
-                    () ->
-                            Log.debug(
-                                    ArgumentMatchers.anyString(),
-                                    ArgumentMatchers.anyString(),
-                                    ArgumentMatchers.anyString(),
-                                    ArgumentMatchers.any()));
+        extension = new OptimizeExtension(mockExtensionApi);
+        extension.setPersistentCache(mockPersistentCache);
+        extension.setPersistenceExecutor(Runnable::run);
+        extension.setGetPropositionsScheduler(mockGetPropositionsScheduler);
 
-            Assert.assertEquals(0, extension.getPropositionsInProgress().size());
-            Assert.assertEquals(0, extension.getCachedPropositions().size());
-        }
+        // test
+        extension.onRegistered();
+
+        // verify
+        Mockito.verify(mockPersistentCache, Mockito.times(1)).load();
+        Mockito.verify(mockGetPropositionsScheduler, Mockito.times(1)).start();
+        // persisted propositions are decoded lazily
+        Assert.assertTrue(extension.getCachedPropositions().isEmpty());
     }
 
     @Test
-    public void testHandleOptimizeRequestContent_GetPropositionsEvent_shouldAddToSerialDispatcher()
-            throws Exception {
+    public void testHandleGetPropositions_decodesPersistedPropositionOnDemand() throws Exception {
         try (MockedStatic<Base64> base64MockedStatic = Mockito.mockStatic(Base64.class)) {
             base64MockedStatic
                     .when(
@@ -1378,18 +3891,35 @@ public class OptimizeExtensionTests {
                                     invocation ->
                                             java.util.Base64.getDecoder()
                                                     .decode((String) invocation.getArguments()[0]));
-            extension.setEventsDispatcher(mockEventsDispatcher);
-            setConfigurationSharedState(
-                    SharedStateStatus.SET,
-                    new HashMap<String, Object>() {
-                        {
-                            put("edge.configId", "ffffffff-ffff-ffff-ffff-ffffffffffff");
-                        }
-                    });
 
-            final DecisionScope testScope =
-                    new DecisionScope(
-                            "eyJhY3Rpdml0eUlkIjoieGNvcmU6b2ZmZXItYWN0aXZpdHk6MTExMTExMTExMTExMTExMSIsInBsYWNlbWVudElkIjoieGNvcmU6b2ZmZXItcGxhY2VtZW50OjExMTExMTExMTExMTExMTEifQ==");
+            // setup
+            final OptimizeProposition testOptimizeProposition =
+                    loadProposition("json/PROPOSITION_VALID_ODE.json");
+            final OptimizeProposition otherOptimizeProposition =
+                    loadProposition("json/PROPOSITION_VALID_TARGET.json");
+            final DecisionScope testScope = new DecisionScope(testOptimizeProposition.getScope());
+            final DecisionScope otherScope = new DecisionScope(otherOptimizeProposition.getScope());
+
+            final PersistentPropositionsCache mockPersistentCache =
+                    Mockito.mock(PersistentPropositionsCache.class);
+            Mockito.when(mockPersistentCache.exists()).thenReturn(true);
+            Mockito.when(mockPersistentCache.load())
+                    .thenReturn(
+                            createSnapshot(
+                                    testScope,
+                                    testOptimizeProposition,
+                                    otherScope,
+                                    otherOptimizeProposition));
+
+            extension = new OptimizeExtension(mockExtensionApi);
+            extension.setPersistentCache(mockPersistentCache);
+            extension.setPersistenceExecutor(Runnable::run);
+            extension.setGetPropositionsScheduler(mockGetPropositionsScheduler);
+            extension.onRegistered();
+            extension.handleConfigurationResponseContent(
+                    createConfigurationResponseEvent(
+                            Collections.singletonMap("optimize.persistentCacheEnabled", true)));
+
             final Map<String, Object> testEventData = new HashMap<>();
             testEventData.put("requesttype", "getpropositions");
             testEventData.put(
@@ -1399,8 +3929,6 @@ public class OptimizeExtensionTests {
                             add(testScope.toEventData());
                         }
                     });
-            final ArgumentCaptor<Event> eventCaptor = ArgumentCaptor.forClass(Event.class);
-
             final Event testEvent =
                     new Event.Builder(
                                     "Optimize Get Propositions Request",
@@ -1410,122 +3938,90 @@ public class OptimizeExtensionTests {
                             .build();
 
             // test
-            extension.handleOptimizeRequestContent(testEvent);
+            extension.handleGetPropositions(testEvent);
 
             // verify
-            Mockito.verify(mockEventsDispatcher, Mockito.times(1)).offer(eventCaptor.capture());
-
-            final Event queuedEvent = eventCaptor.getValue();
-            Assert.assertEquals("Optimize Get Propositions Request", queuedEvent.getName());
-            Assert.assertEquals("com.adobe.eventType.optimize", queuedEvent.getType());
-            Assert.assertEquals("com.adobe.eventSource.requestContent", queuedEvent.getSource());
-
-            final String requestType = (String) queuedEvent.getEventData().get("requesttype");
-            Assert.assertEquals("getpropositions", requestType);
+            final ArgumentCaptor<Event> eventCaptor = ArgumentCaptor.forClass(Event.class);
+            Mockito.verify(mockExtensionApi, Mockito.times(1)).dispatch(eventCaptor.capture());
+            final List<Map<String, Object>> propositionsList =
+                    (List<Map<String, Object>>)
+                            eventCaptor.getValue().getEventData().get("propositions");
+            Assert.assertEquals(1, propositionsList.size());
+            Assert.assertEquals(
+                    testOptimizeProposition,
+                    OptimizeProposition.fromEventData(propositionsList.get(0)));
 
-            final List<Map<String, Object>> scopesData =
-                    (List<Map<String, Object>>) queuedEvent.getEventData().get("decisionscopes");
-            Assert.assertNotNull(scopesData);
-            final List<DecisionScope> scopes = new ArrayList<>();
-            for (final Map<String, Object> scopeData : scopesData) {
-                final DecisionScope scope = DecisionScope.fromEventData(scopeData);
-                scopes.add(scope);
-            }
-            Assert.assertEquals(1, scopes.size());
-            Assert.assertEquals(testScope, scopes.get(0));
+            final Map<DecisionScope, OptimizeProposition> cachedPropositions =
+                    extension.getCachedPropositions();
+            Assert.assertEquals(1, cachedPropositions.size());
+            Assert.assertEquals(testOptimizeProposition, cachedPropositions.get(testScope));
         }
     }
 
     @Test
-    public void testHandleOptimizeRequestContent_GetPropositionsEvent_whenUpdateIsInProgress() {
-        try (MockedStatic<Base64> base64MockedStatic = Mockito.mockStatic(Base64.class)) {
-            base64MockedStatic
-                    .when(
-                            () ->
-                                    Base64.decode(
-                                            ArgumentMatchers.anyString(),
-                                            ArgumentMatchers.anyInt()))
-                    .thenAnswer(
-                            (Answer<byte[]>)
-                                    invocation ->
-                                            java.util.Base64.getDecoder()
-                                                    .decode((String) invocation.getArguments()[0]));
+    public void testHandleConfigurationResponseContent_persistentCacheDisabled() throws Exception {
+        // setup
+        final OptimizeProposition testOptimizeProposition =
+                loadProposition("json/PROPOSITION_VALID_TARGET.json");
+        final DecisionScope testScope = new DecisionScope(testOptimizeProposition.getScope());
 
-            // setup
-            setConfigurationSharedState(
-                    SharedStateStatus.SET,
-                    new HashMap<String, Object>() {
-                        {
-                            put("edge.configId", "ffffffff-ffff-ffff-ffff-ffffffffffff");
-                        }
-                    });
+        final PersistentPropositionsCache mockPersistentCache =
+                Mockito.mock(PersistentPropositionsCache.class);
+        Mockito.when(mockPersistentCache.exists()).thenReturn(true);
+        Mockito.when(mockPersistentCache.load())
+                .thenReturn(createSnapshot(testScope, testOptimizeProposition));
 
-            final DecisionScope testScope =
-                    new DecisionScope(
-                            "eyJhY3Rpdml0eUlkIjoieGNvcmU6b2ZmZXItYWN0aXZpdHk6MTExMTExMTExMTExMTExMSIsInBsYWNlbWVudElkIjoieGNvcmU6b2ZmZXItcGxhY2VtZW50OjExMTExMTExMTExMTExMTEifQ==");
-            final Map<String, Object> testEventData = new HashMap<>();
-            testEventData.put("requesttype", "updatepropositions");
-            testEventData.put(
-                    "decisionscopes",
-                    new ArrayList<Map<String, Object>>() {
-                        {
-                            add(testScope.toEventData());
-                        }
-                    });
-            final Event testEvent =
-                    new Event.Builder(
-                                    "Optimize Update Propositions Request",
-                                    "com.adobe.eventType.optimize",
-                                    "com.adobe.eventSource.requestContent")
-                            .setEventData(testEventData)
-                            .build();
+        extension = new OptimizeExtension(mockExtensionApi);
+        extension.setPersistentCache(mockPersistentCache);
+        extension.setPersistenceExecutor(Runnable::run);
+        extension.setGetPropositionsScheduler(mockGetPropositionsScheduler);
+        extension.onRegistered();
 
-            // simulate update
-            extension.handleOptimizeRequestContent(testEvent);
+        // test
+        extension.handleConfigurationResponseContent(
+                createConfigurationResponseEvent(
+                        Collections.singletonMap("optimize.persistentCacheEnabled", false)));
 
-            // verify
-            final Map<String, List<DecisionScope>> updateEventIdsInProgress =
-                    extension.getUpdateRequestEventIdsInProgress();
-            Assert.assertNotNull(updateEventIdsInProgress);
-            Assert.assertEquals(1, updateEventIdsInProgress.size());
-            Assert.assertTrue(
-                    updateEventIdsInProgress.containsValue(
-                            new ArrayList<DecisionScope>() {
-                                {
-                                    add(testScope);
-                                }
-                            }));
+        // verify
+        Mockito.verify(mockPersistentCache, Mockito.times(1)).clear();
+        Assert.assertTrue(getPropositionsFromResponse(testScope).isEmpty());
+        Assert.assertTrue(extension.getCachedPropositions().isEmpty());
+    }
 
-            // dispatch get event
-            final Map<String, Object> testGetEventData = new HashMap<>();
-            testGetEventData.put("requesttype", "getpropositions");
-            testGetEventData.put(
-                    "decisionscopes",
-                    new ArrayList<Map<String, Object>>() {
-                        {
-                            add(testScope.toEventData());
-                        }
-                    });
-            final ArgumentCaptor<Event> eventCaptor = ArgumentCaptor.forClass(Event.class);
+    @Test
+    public void testHandleGetPropositions_persistedPropositionsServedBeforeConfiguration()
+            throws Exception {
+        // setup
+        final OptimizeProposition testOptimizeProposition =
+                loadProposition("json/PROPOSITION_VALID_TARGET.json");
+        final DecisionScope testScope = new DecisionScope(testOptimizeProposition.getScope());
 
-            final Event testGetEvent =
-                    new Event.Builder(
-                                    "Optimize Get Propositions Request",
-                                    "com.adobe.eventType.optimize",
-                                    "com.adobe.eventSource.requestContent")
-                            .setEventData(testGetEventData)
-                            .build();
+        final PersistentPropositionsCache mockPersistentCache =
+                Mockito.mock(PersistentPropositionsCache.class);
+        Mockito.when(mockPersistentCache.exists()).thenReturn(true);
+        Mockito.when(mockPersistentCache.load())
+                .thenReturn(createSnapshot(testScope, testOptimizeProposition));
 
-            // simulate get
-            extension.handleOptimizeRequestContent(testGetEvent);
+        extension = new OptimizeExtension(mockExtensionApi);
+        extension.setPersistentCache(mockPersistentCache);
+        extension.setPersistenceExecutor(Runnable::run);
+        extension.setGetPropositionsScheduler(mockGetPropositionsScheduler);
+        extension.onRegistered();
 
-            // verify
-            Mockito.verify(mockExtensionApi, Mockito.never()).dispatch(eventCaptor.capture());
-        }
+        // test
+        final List<Map<String, Object>> propositionsList = getPropositionsFromResponse(testScope);
+
+        // verify
+        Assert.assertEquals(1, propositionsList.size());
+        Assert.assertEquals(
+                testOptimizeProposition,
+                OptimizeProposition.fromEventData(propositionsList.get(0)));
+        Mockito.verify(mockPersistentCache, Mockito.never()).clear();
     }
 
     @Test
-    public void testHandleOptimizeRequestContent_GetPropositionsEvent_whenUpdateIsComplete() {
+    public void testHandleOptimizeRequestContent_persistentCacheDisabledInConfigurationSharedState()
+            throws Exception {
         try (MockedStatic<Base64> base64MockedStatic = Mockito.mockStatic(Base64.class)) {
             base64MockedStatic
                     .when(
@@ -1540,545 +4036,336 @@ public class OptimizeExtensionTests {
                                                     .decode((String) invocation.getArguments()[0]));
 
             // setup
+            final OptimizeProposition testOptimizeProposition =
+                    loadProposition("json/PROPOSITION_VALID_TARGET.json");
+            final DecisionScope testScope = new DecisionScope(testOptimizeProposition.getScope());
+
+            final PersistentPropositionsCache mockPersistentCache =
+                    Mockito.mock(PersistentPropositionsCache.class);
+            Mockito.when(mockPersistentCache.exists()).thenReturn(true);
+            Mockito.when(mockPersistentCache.load())
+                    .thenReturn(createSnapshot(testScope, testOptimizeProposition));
+
+            // the configuration is set before the extension is registered, so no configuration
+            // response event is received.
             setConfigurationSharedState(
                     SharedStateStatus.SET,
-                    new HashMap<String, Object>() {
-                        {
-                            put("edge.configId", "ffffffff-ffff-ffff-ffff-ffffffffffff");
-                        }
-                    });
+                    Collections.singletonMap("optimize.persistentCacheEnabled", false));
+            extension = new OptimizeExtension(mockExtensionApi);
+            extension.setPersistentCache(mockPersistentCache);
+            extension.setPersistenceExecutor(Runnable::run);
+            extension.setGetPropositionsScheduler(mockGetPropositionsScheduler);
+            extension.onRegistered();
 
-            final DecisionScope testScope =
-                    new DecisionScope(
-                            "eyJhY3Rpdml0eUlkIjoieGNvcmU6b2ZmZXItYWN0aXZpdHk6MTExMTExMTExMTExMTExMSIsInBsYWNlbWVudElkIjoieGNvcmU6b2ZmZXItcGxhY2VtZW50OjExMTExMTExMTExMTExMTEifQ==");
             final Map<String, Object> testEventData = new HashMap<>();
-            testEventData.put("requesttype", "updatepropositions");
-            testEventData.put(
-                    "decisionscopes",
-                    new ArrayList<Map<String, Object>>() {
-                        {
-                            add(testScope.toEventData());
-                        }
-                    });
-            final Event testEvent =
-                    new Event.Builder(
-                                    "Optimize Update Propositions Request",
-                                    "com.adobe.eventType.optimize",
-                                    "com.adobe.eventSource.requestContent")
-                            .setEventData(testEventData)
-                            .build();
-
-            // simulate update
-            extension.handleOptimizeRequestContent(testEvent);
-
-            // verify
-            final Map<String, List<DecisionScope>> updateEventIdsInProgress =
-                    extension.getUpdateRequestEventIdsInProgress();
-            Assert.assertNotNull(updateEventIdsInProgress);
-            Assert.assertEquals(1, updateEventIdsInProgress.size());
-            Assert.assertTrue(
-                    updateEventIdsInProgress.containsValue(
-                            new ArrayList<DecisionScope>() {
-                                {
-                                    add(testScope);
-                                }
-                            }));
-            Mockito.clearInvocations(mockExtensionApi);
-
-            // simulate get
-            final Map<String, Object> testGetEventData = new HashMap<>();
-            testGetEventData.put("requesttype", "getpropositions");
-            testGetEventData.put(
-                    "decisionscopes",
-                    new ArrayList<Map<String, Object>>() {
-                        {
-                            add(testScope.toEventData());
-                        }
-                    });
+            testEventData.put("requesttype", "getpropositions");
+            testEventData.put("decisionscopes", Collections.singletonList(testScope.toEventData()));
 
-            final Event testGetEvent =
+            // test
+            extension.handleOptimizeRequestContent(
                     new Event.Builder(
                                     "Optimize Get Propositions Request",
                                     "com.adobe.eventType.optimize",
                                     "com.adobe.eventSource.requestContent")
-                            .setEventData(testGetEventData)
-                            .build();
-
-            // simulate update complete
-            final Event testUpdateCompleteEvent =
-                    new Event.Builder(
-                                    "Optimize Update Propositions Complete",
-                                    "com.adobe.eventType.optimize",
-                                    "com.adobe.eventSource.contentComplete")
-                            .setEventData(
-                                    new HashMap<String, Object>() {
-                                        {
-                                            put(
-                                                    "completedUpdateRequestForEventId",
-                                                    updateEventIdsInProgress.keySet().toArray()[0]);
-                                        }
-                                    })
-                            .build();
-
-            final ArgumentCaptor<Event> eventCaptor = ArgumentCaptor.forClass(Event.class);
-
-            // test
-            extension.handleOptimizeRequestContent(testGetEvent);
-            extension.handleUpdatePropositionsCompleted(testUpdateCompleteEvent);
+                            .setEventData(testEventData)
+                            .build());
 
             // verify
-            Mockito.verify(mockExtensionApi, Mockito.after(2000L).times(1))
-                    .dispatch(eventCaptor.capture());
-            final Event dispatchedEvent = eventCaptor.getValue();
-            Assert.assertEquals("Optimize Response", dispatchedEvent.getName());
-            Assert.assertEquals("com.adobe.eventType.optimize", dispatchedEvent.getType());
-            Assert.assertEquals(
-                    "com.adobe.eventSource.responseContent", dispatchedEvent.getSource());
+            Mockito.verify(mockPersistentCache, Mockito.times(1)).clear();
+            Assert.assertTrue(extension.getCachedPropositions().isEmpty());
         }
     }
 
     @Test
-    public void
-            testHandleOptimizeRequestContent_HandleTrackPropositions_validPropositionInteractionsForDisplay()
-                    throws Exception {
+    public void testOnRegistered_noPersistedPropositions() {
         // setup
-        setConfigurationSharedState(
-                SharedStateStatus.SET,
-                new HashMap<String, Object>() {
-                    {
-                        put("edge.configId", "ffffffff-ffff-ffff-ffff-ffffffffffff");
-                    }
-                });
-
-        final Map<String, Object> optimizeTrackRequestData =
-                new ObjectMapper()
-                        .readValue(
-                                getClass()
-                                        .getClassLoader()
-                                        .getResource(
-                                                "json/EVENT_DATA_OPTIMIZE_TRACK_REQUEST_VALID_DISPLAY.json"),
-                                HashMap.class);
-        final Event testEvent =
-                new Event.Builder(
-                                "Optimize Track Propositions Request",
-                                "com.adobe.eventType.optimize",
-                                "com.adobe.eventSource.requestContent")
-                        .setEventData(optimizeTrackRequestData)
-                        .build();
+        final PersistentPropositionsCache mockPersistentCache =
+                Mockito.mock(PersistentPropositionsCache.class);
+        Mockito.when(mockPersistentCache.exists()).thenReturn(false);
 
-        final ArgumentCaptor<Event> eventCaptor = ArgumentCaptor.forClass(Event.class);
+        extension = new OptimizeExtension(mockExtensionApi);
+        extension.setPersistentCache(mockPersistentCache);
+        extension.setPersistenceExecutor(Runnable::run);
+        extension.setGetPropositionsScheduler(mockGetPropositionsScheduler);
 
         // test
-        extension.handleOptimizeRequestContent(testEvent);
+        extension.onRegistered();
 
         // verify
-        Mockito.verify(mockExtensionApi, Mockito.times(1)).dispatch(eventCaptor.capture());
-
-        final Event dispatchedEvent = eventCaptor.getValue();
-        Assert.assertEquals("com.adobe.eventType.edge", dispatchedEvent.getType());
-        Assert.assertEquals("com.adobe.eventSource.requestContent", dispatchedEvent.getSource());
-        final Map<String, Object> eventData = dispatchedEvent.getEventData();
-        Assert.assertNotNull(eventData);
-        final Map<String, Object> propositionInteractionsXdm =
-                (Map<String, Object>) eventData.get("xdm");
-        Assert.assertNotNull(propositionInteractionsXdm);
-        Assert.assertEquals(
-                "decisioning.propositionDisplay", propositionInteractionsXdm.get("eventType"));
-        final Map<String, Object> experience =
-                (Map<String, Object>) propositionInteractionsXdm.get("_experience");
-        Assert.assertNotNull(experience);
-        final Map<String, Object> decisioning = (Map<String, Object>) experience.get("decisioning");
-        Assert.assertNotNull(decisioning);
-        final List<Map<String, Object>> propositionInteractionDetailsList =
-                (List<Map<String, Object>>) decisioning.get("propositions");
-        Assert.assertNotNull(propositionInteractionDetailsList);
-        Assert.assertEquals(1, propositionInteractionDetailsList.size());
-        final Map<String, Object> propositionInteractionDetailsMap =
-                propositionInteractionDetailsList.get(0);
-        Assert.assertEquals(
-                "aaaaaaaa-aaaa-aaaa-aaaa-aaaaaaaaaaaa", propositionInteractionDetailsMap.get("id"));
-        Assert.assertEquals(
-                "eyJhY3Rpdml0eUlkIjoieGNvcmU6b2ZmZXItYWN0aXZpdHk6MTExMTExMTExMTExMTExMSIsInBsYWNlbWVudElkIjoieGNvcmU6b2ZmZXItcGxhY2VtZW50OjExMTExMTExMTExMTExMTEifQ==",
-                propositionInteractionDetailsMap.get("scope"));
-        final Map<String, Object> scopeDetails =
-                (Map<String, Object>) propositionInteractionDetailsMap.get("scopeDetails");
-        Assert.assertNotNull(scopeDetails);
-        Assert.assertTrue(scopeDetails.isEmpty());
-        final List<Map<String, Object>> items =
-                (List<Map<String, Object>>) propositionInteractionDetailsMap.get("items");
-        Assert.assertNotNull(items);
-        Assert.assertEquals(1, items.size());
-        Assert.assertEquals("xcore:personalized-offer:1111111111111111", items.get(0).get("id"));
+        Mockito.verify(mockPersistentCache, Mockito.never()).load();
+        Mockito.verify(mockGetPropositionsScheduler, Mockito.times(1)).start();
+        Assert.assertTrue(extension.getCachedPropositions().isEmpty());
     }
 
     @Test
-    public void
-            testHandleOptimizeRequestContent_HandleTrackPropositions_validPropositionInteractionsForTap()
-                    throws Exception {
+    public void testHandleUpdatePropositionsComplete_persistsPropositionsCacheWhenEnabled()
+            throws Exception {
         // setup
+        final PersistentPropositionsCache mockPersistentCache =
+                Mockito.mock(PersistentPropositionsCache.class);
+        extension.setPersistentCache(mockPersistentCache);
+        extension.setPersistenceExecutor(Runnable::run);
         setConfigurationSharedState(
                 SharedStateStatus.SET,
                 new HashMap<String, Object>() {
                     {
-                        put("edge.configId", "ffffffff-ffff-ffff-ffff-ffffffffffff");
+                        put("optimize.persistentCacheEnabled", true);
                     }
                 });
 
-        final Map<String, Object> optimizeTrackRequestData =
-                new ObjectMapper()
-                        .readValue(
-                                getClass()
-                                        .getClassLoader()
-                                        .getResource(
-                                                "json/EVENT_DATA_OPTIMIZE_TRACK_REQUEST_VALID_TAP.json"),
-                                HashMap.class);
-        final Event testEvent =
-                new Event.Builder(
-                                "Optimize Track Propositions Request",
-                                "com.adobe.eventType.optimize",
-                                "com.adobe.eventSource.requestContent")
-                        .setEventData(optimizeTrackRequestData)
-                        .build();
-
-        final ArgumentCaptor<Event> eventCaptor = ArgumentCaptor.forClass(Event.class);
+        final OptimizeProposition testOptimizeProposition =
+                setupUpdateInProgress("AAAAAAAA-AAAA-AAAA-AAAA-AAAAAAAAAAAA");
 
         // test
-        extension.handleOptimizeRequestContent(testEvent);
+        extension.handleUpdatePropositionsCompleted(
+                createUpdateCompleteEvent("AAAAAAAA-AAAA-AAAA-AAAA-AAAAAAAAAAAA"));
 
         // verify
-        Mockito.verify(mockExtensionApi, Mockito.times(1)).dispatch(eventCaptor.capture());
-
-        final Event dispatchedEvent = eventCaptor.getValue();
-        Assert.assertEquals("com.adobe.eventType.edge", dispatchedEvent.getType());
-        Assert.assertEquals("com.adobe.eventSource.requestContent", dispatchedEvent.getSource());
-        final Map<String, Object> eventData = dispatchedEvent.getEventData();
-        Assert.assertNotNull(eventData);
-        final Map<String, Object> propositionInteractionsXdm =
-                (Map<String, Object>) eventData.get("xdm");
-        Assert.assertNotNull(propositionInteractionsXdm);
-        Assert.assertEquals(
-                "decisioning.propositionInteract", propositionInteractionsXdm.get("eventType"));
-        final Map<String, Object> experience =
-                (Map<String, Object>) propositionInteractionsXdm.get("_experience");
-        Assert.assertNotNull(experience);
-        final Map<String, Object> decisioning = (Map<String, Object>) experience.get("decisioning");
-        Assert.assertNotNull(decisioning);
-        final List<Map<String, Object>> propositionInteractionDetailsList =
-                (List<Map<String, Object>>) decisioning.get("propositions");
-        Assert.assertNotNull(propositionInteractionDetailsList);
-        Assert.assertEquals(1, propositionInteractionDetailsList.size());
-        final Map<String, Object> propositionInteractionDetailsMap =
-                propositionInteractionDetailsList.get(0);
+        final ArgumentCaptor<Map<DecisionScope, OptimizeProposition>> persistedCaptor =
+                ArgumentCaptor.forClass(Map.class);
+        Mockito.verify(mockPersistentCache, Mockito.times(1))
+                .save(persistedCaptor.capture(), ArgumentMatchers.isNull());
+        Assert.assertEquals(1, persistedCaptor.getValue().size());
         Assert.assertEquals(
-                "AT:eyJhY3Rpdml0eUlkIjoiMTI1NTg5IiwiZXhwZXJpZW5jZUlkIjoiMCJ9",
-                propositionInteractionDetailsMap.get("id"));
-        Assert.assertEquals("myMbox", propositionInteractionDetailsMap.get("scope"));
-        final Map<String, Object> scopeDetails =
-                (Map<String, Object>) propositionInteractionDetailsMap.get("scopeDetails");
-        Assert.assertNotNull(scopeDetails);
-        Assert.assertEquals(4, scopeDetails.size());
-        Assert.assertEquals("TGT", scopeDetails.get("decisionProvider"));
-        final Map<String, Object> sdActivity = (Map<String, Object>) scopeDetails.get("activity");
-        Assert.assertEquals("125589", sdActivity.get("id"));
-        final Map<String, Object> sdExperience =
-                (Map<String, Object>) scopeDetails.get("experience");
-        Assert.assertEquals("0", sdExperience.get("id"));
-        final List<Map<String, Object>> sdStrategies =
-                (List<Map<String, Object>>) scopeDetails.get("strategies");
-        Assert.assertNotNull(sdStrategies);
-        Assert.assertEquals(1, sdStrategies.size());
-        Assert.assertEquals("0", sdStrategies.get(0).get("algorithmID"));
-        Assert.assertEquals("0", sdStrategies.get(0).get("trafficType"));
-        final List<Map<String, Object>> items =
-                (List<Map<String, Object>>) propositionInteractionDetailsMap.get("items");
-        Assert.assertNotNull(items);
-        Assert.assertEquals(1, items.size());
-        Assert.assertEquals("246315", items.get(0).get("id"));
+                testOptimizeProposition,
+                persistedCaptor
+                        .getValue()
+                        .get(new DecisionScope(testOptimizeProposition.getScope())));
     }
 
     @Test
-    public void
-            testHandleOptimizeRequestContent_HandleTrackPropositions_validPropositionInteractionsWithDatasetIdInConfig()
-                    throws Exception {
+    public void testHandleUpdatePropositionsComplete_deletesPersistedPropositionsWhenDisabled()
+            throws Exception {
         // setup
-        setConfigurationSharedState(
-                SharedStateStatus.SET,
-                new HashMap<String, Object>() {
-                    {
-                        put("edge.configId", "ffffffff-ffff-ffff-ffff-ffffffffffff");
-                        put("optimize.datasetId", "111111111111111111111111");
-                    }
-                });
-
-        final Map<String, Object> optimizeTrackRequestData =
-                new ObjectMapper()
-                        .readValue(
-                                getClass()
-                                        .getClassLoader()
-                                        .getResource(
-                                                "json/EVENT_DATA_OPTIMIZE_TRACK_REQUEST_VALID_TAP.json"),
-                                HashMap.class);
-        final Event testEvent =
-                new Event.Builder(
-                                "Optimize Track Propositions Request",
-                                "com.adobe.eventType.optimize",
-                                "com.adobe.eventSource.requestContent")
-                        .setEventData(optimizeTrackRequestData)
-                        .build();
+        final PersistentPropositionsCache mockPersistentCache =
+                Mockito.mock(PersistentPropositionsCache.class);
+        Mockito.when(mockPersistentCache.exists()).thenReturn(true);
+        extension.setPersistentCache(mockPersistentCache);
+        extension.setPersistenceExecutor(Runnable::run);
+        setConfigurationSharedState(SharedStateStatus.SET, new HashMap<>());
 
-        final ArgumentCaptor<Event> eventCaptor = ArgumentCaptor.forClass(Event.class);
+        setupUpdateInProgress("AAAAAAAA-AAAA-AAAA-AAAA-AAAAAAAAAAAA");
 
         // test
-        extension.handleOptimizeRequestContent(testEvent);
+        extension.handleUpdatePropositionsCompleted(
+                createUpdateCompleteEvent("AAAAAAAA-AAAA-AAAA-AAAA-AAAAAAAAAAAA"));
 
         // verify
-        Mockito.verify(mockExtensionApi, Mockito.times(1)).dispatch(eventCaptor.capture());
-
-        final Event dispatchedEvent = eventCaptor.getValue();
-        Assert.assertEquals("com.adobe.eventType.edge", dispatchedEvent.getType());
-        Assert.assertEquals("com.adobe.eventSource.requestContent", dispatchedEvent.getSource());
-        final Map<String, Object> eventData = dispatchedEvent.getEventData();
-        Assert.assertNotNull(eventData);
-        final String datasetId = (String) eventData.get("datasetId");
-        Assert.assertEquals("111111111111111111111111", datasetId);
-        final Map<String, Object> propositionInteractionsXdm =
-                (Map<String, Object>) eventData.get("xdm");
-        Assert.assertNotNull(propositionInteractionsXdm);
-        Assert.assertEquals(
-                "decisioning.propositionInteract", propositionInteractionsXdm.get("eventType"));
-        final Map<String, Object> experience =
-                (Map<String, Object>) propositionInteractionsXdm.get("_experience");
-        Assert.assertNotNull(experience);
-        final Map<String, Object> decisioning = (Map<String, Object>) experience.get("decisioning");
-        Assert.assertNotNull(decisioning);
-        final List<Map<String, Object>> propositionInteractionDetailsList =
-                (List<Map<String, Object>>) decisioning.get("propositions");
-        Assert.assertNotNull(propositionInteractionDetailsList);
-        Assert.assertEquals(1, propositionInteractionDetailsList.size());
-        final Map<String, Object> propositionInteractionDetailsMap =
-                propositionInteractionDetailsList.get(0);
-        Assert.assertEquals(
-                "AT:eyJhY3Rpdml0eUlkIjoiMTI1NTg5IiwiZXhwZXJpZW5jZUlkIjoiMCJ9",
-                propositionInteractionDetailsMap.get("id"));
-        Assert.assertEquals("myMbox", propositionInteractionDetailsMap.get("scope"));
-        final Map<String, Object> scopeDetails =
-                (Map<String, Object>) propositionInteractionDetailsMap.get("scopeDetails");
-        Assert.assertNotNull(scopeDetails);
-        Assert.assertEquals(4, scopeDetails.size());
-        Assert.assertEquals("TGT", scopeDetails.get("decisionProvider"));
-        final Map<String, Object> sdActivity = (Map<String, Object>) scopeDetails.get("activity");
-        Assert.assertEquals("125589", sdActivity.get("id"));
-        final Map<String, Object> sdExperience =
-                (Map<String, Object>) scopeDetails.get("experience");
-        Assert.assertEquals("0", sdExperience.get("id"));
-        final List<Map<String, Object>> sdStrategies =
-                (List<Map<String, Object>>) scopeDetails.get("strategies");
-        Assert.assertNotNull(sdStrategies);
-        Assert.assertEquals(1, sdStrategies.size());
-        Assert.assertEquals("0", sdStrategies.get(0).get("algorithmID"));
-        Assert.assertEquals("0", sdStrategies.get(0).get("trafficType"));
-        final List<Map<String, Object>> items =
-                (List<Map<String, Object>>) propositionInteractionDetailsMap.get("items");
-        Assert.assertNotNull(items);
-        Assert.assertEquals(1, items.size());
-        Assert.assertEquals("246315", items.get(0).get("id"));
+        Assert.assertEquals(1, extension.getCachedPropositions().size());
+        Mockito.verify(mockPersistentCache, Mockito.never())
+                .save(ArgumentMatchers.any(), ArgumentMatchers.any());
+        Mockito.verify(mockPersistentCache, Mockito.times(1)).clear();
     }
 
     @Test
-    public void testHandleOptimizeRequestContent_HandleTrackPropositions_configurationNotAvailable()
-            throws Exception {
-        try (MockedStatic<Log> logMockedStatic = Mockito.mockStatic(Log.class)) {
-            // setup
-            final Map<String, Object> optimizeTrackRequestData =
-                    new ObjectMapper()
-                            .readValue(
-                                    getClass()
-                                            .getClassLoader()
-                                            .getResource(
-                                                    "json/EVENT_DATA_OPTIMIZE_TRACK_REQUEST_VALID_DISPLAY.json"),
-                                    HashMap.class);
-            final Event testEvent =
-                    new Event.Builder(
-                                    "Optimize Track Propositions Request",
-                                    "com.adobe.eventType.optimize",
-                                    "com.adobe.eventSource.requestContent")
-                            .setEventData(optimizeTrackRequestData)
-                            .build();
-
-            // test
-            extension.handleOptimizeRequestContent(testEvent);
+    public void testHandleUpdatePropositionsComplete_setsPropositionsExpiry() throws Exception {
+        // setup
+        final ScheduledExecutorService mockExpirySweeper =
+                Mockito.mock(ScheduledExecutorService.class);
+        extension.setExpirySweeper(mockExpirySweeper);
+        final OptimizeProposition testOptimizeProposition =
+                setupUpdateInProgress("AAAAAAAA-AAAA-AAAA-AAAA-AAAAAAAAAAAA");
+        extension.getUpdateRequestEventIdsTtl().put("AAAAAAAA-AAAA-AAAA-AAAA-AAAAAAAAAAAA", 60000L);
 
-            // verify
-            Mockito.verify(mockExtensionApi, Mockito.times(0)).dispatch(ArgumentMatchers.any());
+        // test
+        final long startTime = System.currentTimeMillis();
+        extension.handleUpdatePropositionsCompleted(
+                createUpdateCompleteEvent("AAAAAAAA-AAAA-AAAA-AAAA-AAAAAAAAAAAA"));
 
-            logMockedStatic.verify(
-                    () ->
-                            Log.debug(
-                                    ArgumentMatchers.anyString(),
-                                    ArgumentMatchers.anyString(),
-                                    ArgumentMatchers.anyString(),
-                                    ArgumentMatchers.any()));
-        }
+        // verify
+        final OptimizeProposition cachedProposition =
+                extension
+                        .getCachedPropositions()
+                        .get(new DecisionScope(testOptimizeProposition.getScope()));
+        Assert.assertNotNull(cachedProposition);
+        Assert.assertTrue(cachedProposition.getExpiryTime() >= startTime + 60000L);
+        Assert.assertTrue(cachedProposition.getExpiryTime() <= System.currentTimeMillis() + 60000L);
+        Assert.assertFalse(cachedProposition.isExpired());
+        Assert.assertTrue(extension.getUpdateRequestEventIdsTtl().isEmpty());
+        Mockito.verify(mockExpirySweeper, Mockito.times(1))
+                .schedule(
+                        ArgumentMatchers.any(Runnable.class),
+                        ArgumentMatchers.anyLong(),
+                        ArgumentMatchers.eq(TimeUnit.MILLISECONDS));
     }
 
     @Test
-    public void
-            testHandleOptimizeRequestContent_HandleTrackPropositions_missingPropositionInteractions()
-                    throws Exception {
-        try (MockedStatic<Log> logMockedStatic = Mockito.mockStatic(Log.class)) {
-            // setup
-            setConfigurationSharedState(
-                    SharedStateStatus.SET,
-                    new HashMap<String, Object>() {
-                        {
-                            put("edge.configId", "ffffffff-ffff-ffff-ffff-ffffffffffff");
-                        }
-                    });
-
-            final Map<String, Object> optimizeTrackRequestData =
-                    new ObjectMapper()
-                            .readValue(
-                                    getClass()
-                                            .getClassLoader()
-                                            .getResource(
-                                                    "json/EVENT_DATA_OPTIMIZE_TRACK_REQUEST_MISSING_PROPOSITION_INTERACTIONS.json"),
-                                    HashMap.class);
-            final Event testEvent =
-                    new Event.Builder(
-                                    "Optimize Track Propositions Request",
-                                    "com.adobe.eventType.optimize",
-                                    "com.adobe.eventSource.requestContent")
-                            .setEventData(optimizeTrackRequestData)
-                            .build();
+    public void testHandleUpdatePropositionsComplete_noTtl() throws Exception {
+        // setup
+        final ScheduledExecutorService mockExpirySweeper =
+                Mockito.mock(ScheduledExecutorService.class);
+        extension.setExpirySweeper(mockExpirySweeper);
+        final OptimizeProposition testOptimizeProposition =
+                setupUpdateInProgress("AAAAAAAA-AAAA-AAAA-AAAA-AAAAAAAAAAAA");
 
-            // test
-            extension.handleOptimizeRequestContent(testEvent);
+        // test
+        extension.handleUpdatePropositionsCompleted(
+                createUpdateCompleteEvent("AAAAAAAA-AAAA-AAAA-AAAA-AAAAAAAAAAAA"));
 
-            // verify
-            Mockito.verify(mockExtensionApi, Mockito.times(0)).dispatch(ArgumentMatchers.any());
+        // verify
+        final OptimizeProposition cachedProposition =
+                extension
+                        .getCachedPropositions()
+                        .get(new DecisionScope(testOptimizeProposition.getScope()));
+        Assert.assertNotNull(cachedProposition);
+        Assert.assertEquals(0, cachedProposition.getExpiryTime());
+        Mockito.verifyNoInteractions(mockExpirySweeper);
+    }
 
-            logMockedStatic.verify(
-                    () ->
-                            Log.debug(
-                                    ArgumentMatchers.anyString(),
-                                    ArgumentMatchers.anyString(),
-                                    ArgumentMatchers.anyString(),
-                                    ArgumentMatchers.any()));
-        }
+    @Test
+    public void testExpirySweep_removesExpiredPropositions() throws Exception {
+        // setup
+        final ScheduledExecutorService mockExpirySweeper =
+                Mockito.mock(ScheduledExecutorService.class);
+        extension.setExpirySweeper(mockExpirySweeper);
+        final OptimizeProposition testOptimizeProposition =
+                setupUpdateInProgress("AAAAAAAA-AAAA-AAAA-AAAA-AAAAAAAAAAAA");
+        extension.getUpdateRequestEventIdsTtl().put("AAAAAAAA-AAAA-AAAA-AAAA-AAAAAAAAAAAA", 60000L);
+        extension.handleUpdatePropositionsCompleted(
+                createUpdateCompleteEvent("AAAAAAAA-AAAA-AAAA-AAAA-AAAAAAAAAAAA"));
+
+        final ArgumentCaptor<Runnable> sweepCaptor = ArgumentCaptor.forClass(Runnable.class);
+        Mockito.verify(mockExpirySweeper, Mockito.times(1))
+                .schedule(
+                        sweepCaptor.capture(),
+                        ArgumentMatchers.anyLong(),
+                        ArgumentMatchers.eq(TimeUnit.MILLISECONDS));
+        final OptimizeProposition cachedProposition =
+                extension
+                        .getCachedPropositions()
+                        .get(new DecisionScope(testOptimizeProposition.getScope()));
+        cachedProposition.setExpiryTime(System.currentTimeMillis() - 1);
+
+        // test
+        sweepCaptor.getValue().run();
+
+        // verify
+        Assert.assertTrue(extension.getCachedPropositions().isEmpty());
     }
 
     @Test
-    public void
-            testHandleOptimizeRequestContent_HandleTrackPropositions_emptyPropositionInteractions()
-                    throws Exception {
-        try (MockedStatic<Log> logMockedStatic = Mockito.mockStatic(Log.class)) {
+    public void testHandleGetPropositions_expiredPropositionNotReturned() throws Exception {
+        try (MockedStatic<Base64> base64MockedStatic = Mockito.mockStatic(Base64.class)) {
+            base64MockedStatic
+                    .when(
+                            () ->
+                                    Base64.decode(
+                                            ArgumentMatchers.anyString(),
+                                            ArgumentMatchers.anyInt()))
+                    .thenAnswer(
+                            (Answer<byte[]>)
+                                    invocation ->
+                                            java.util.Base64.getDecoder()
+                                                    .decode((String) invocation.getArguments()[0]));
+
             // setup
-            setConfigurationSharedState(
-                    SharedStateStatus.SET,
-                    new HashMap<String, Object>() {
+            final OptimizeProposition testOptimizeProposition =
+                    loadProposition("json/PROPOSITION_VALID_ODE.json");
+            testOptimizeProposition.setExpiryTime(System.currentTimeMillis() - 1);
+            final DecisionScope testScope = new DecisionScope(testOptimizeProposition.getScope());
+            final Map<DecisionScope, OptimizeProposition> cachedPropositions = new HashMap<>();
+            cachedPropositions.put(testScope, testOptimizeProposition);
+            extension.setCachedPropositions(cachedPropositions);
+
+            final Map<String, Object> testEventData = new HashMap<>();
+            testEventData.put("requesttype", "getpropositions");
+            testEventData.put(
+                    "decisionscopes",
+                    new ArrayList<Map<String, Object>>() {
                         {
-                            put("edge.configId", "ffffffff-ffff-ffff-ffff-ffffffffffff");
+                            add(testScope.toEventData());
                         }
                     });
-
-            final Map<String, Object> optimizeTrackRequestData =
-                    new ObjectMapper()
-                            .readValue(
-                                    getClass()
-                                            .getClassLoader()
-                                            .getResource(
-                                                    "json/EVENT_DATA_OPTIMIZE_TRACK_REQUEST_EMPTY_PROPOSITION_INTERACTIONS.json"),
-                                    HashMap.class);
             final Event testEvent =
                     new Event.Builder(
-                                    "Optimize Track Propositions Request",
+                                    "Optimize Get Propositions Request",
                                     "com.adobe.eventType.optimize",
                                     "com.adobe.eventSource.requestContent")
-                            .setEventData(optimizeTrackRequestData)
+                            .setEventData(testEventData)
                             .build();
 
             // test
-            extension.handleOptimizeRequestContent(testEvent);
+            extension.handleGetPropositions(testEvent);
 
             // verify
-            Mockito.verify(mockExtensionApi, Mockito.times(0)).dispatch(ArgumentMatchers.any());
-
-            logMockedStatic.verify(
-                    () ->
-                            Log.debug(
-                                    ArgumentMatchers.anyString(),
-                                    ArgumentMatchers.anyString(),
-                                    ArgumentMatchers.anyString(),
-                                    ArgumentMatchers.any()));
+            final ArgumentCaptor<Event> eventCaptor = ArgumentCaptor.forClass(Event.class);
+            Mockito.verify(mockExtensionApi, Mockito.times(1)).dispatch(eventCaptor.capture());
+            final List<Map<String, Object>> propositionsList =
+                    (List<Map<String, Object>>)
+                            eventCaptor.getValue().getEventData().get("propositions");
+            Assert.assertTrue(propositionsList.isEmpty());
+            Assert.assertTrue(extension.getCachedPropositions().isEmpty());
         }
     }
 
     @Test
-    public void testHandleClearPropositions() throws Exception {
+    public void testHandleOptimizeRequestContent_appliesPropositionsCacheMaxSize() {
         // setup
-        final Map<String, Object> testPropositionData =
-                new ObjectMapper()
-                        .readValue(
-                                getClass()
-                                        .getClassLoader()
-                                        .getResource("json/PROPOSITION_VALID_ODE.json"),
-                                HashMap.class);
-        final OptimizeProposition testOptimizeProposition =
-                OptimizeProposition.fromEventData(testPropositionData);
-        Assert.assertNotNull(testOptimizeProposition);
-        final Map<DecisionScope, OptimizeProposition> cachedPropositions = new HashMap<>();
-        cachedPropositions.put(
-                new DecisionScope(testOptimizeProposition.getScope()), testOptimizeProposition);
-        extension.setCachedPropositions(cachedPropositions);
-
+        setConfigurationSharedState(
+                SharedStateStatus.SET,
+                new HashMap<String, Object>() {
+                    {
+                        put("optimize.propositionsCacheMaxSize", 1048576);
+                    }
+                });
+        final Map<String, Object> testEventData = new HashMap<>();
+        testEventData.put("requesttype", "getcachestats");
         final Event testEvent =
                 new Event.Builder(
-                                "Optimize Clear Propositions Request",
+                                "Optimize Get Propositions Cache Stats Request",
                                 "com.adobe.eventType.optimize",
-                                "com.adobe.eventSource.requestReset")
+                                "com.adobe.eventSource.requestContent")
+                        .setEventData(testEventData)
                         .build();
 
         // test
-        extension.handleClearPropositions(testEvent);
+        extension.handleOptimizeRequestContent(testEvent);
 
         // verify
-        final Map<DecisionScope, OptimizeProposition> actualCachedPropositions =
-                extension.getCachedPropositions();
-        Assert.assertTrue(actualCachedPropositions.isEmpty());
+        Assert.assertEquals(1048576L, extension.getCachedPropositions().getMaxSizeInBytes());
     }
 
     @Test
-    public void testHandleClearPropositions_coreResetIdentities() throws Exception {
+    public void testHandleGetPropositionsCacheStats() throws Exception {
         // setup
-        final Map<String, Object> testPropositionData =
-                new ObjectMapper()
-                        .readValue(
-                                getClass()
-                                        .getClassLoader()
-                                        .getResource("json/PROPOSITION_VALID_ODE.json"),
-                                HashMap.class);
         final OptimizeProposition testOptimizeProposition =
-                OptimizeProposition.fromEventData(testPropositionData);
-        Assert.assertNotNull(testOptimizeProposition);
+                loadProposition("json/PROPOSITION_VALID_ODE.json");
         final Map<DecisionScope, OptimizeProposition> cachedPropositions = new HashMap<>();
         cachedPropositions.put(
                 new DecisionScope(testOptimizeProposition.getScope()), testOptimizeProposition);
         extension.setCachedPropositions(cachedPropositions);
 
+        final Map<String, Object> testEventData = new HashMap<>();
+        testEventData.put("requesttype", "getcachestats");
         final Event testEvent =
                 new Event.Builder(
-                                "Reset Identities Request",
-                                "com.adobe.eventType.generic.identity",
-                                "com.adobe.eventSource.requestReset")
+                                "Optimize Get Propositions Cache Stats Request",
+                                "com.adobe.eventType.optimize",
+                                "com.adobe.eventSource.requestContent")
+                        .setEventData(testEventData)
                         .build();
 
         // test
-        extension.handleClearPropositions(testEvent);
+        extension.handleGetPropositionsCacheStats(testEvent);
 
         // verify
-        final Map<DecisionScope, OptimizeProposition> actualCachedPropositions =
-                extension.getCachedPropositions();
-        Assert.assertTrue(actualCachedPropositions.isEmpty());
+        final ArgumentCaptor<Event> eventCaptor = ArgumentCaptor.forClass(Event.class);
+        Mockito.verify(mockExtensionApi, Mockito.times(1)).dispatch(eventCaptor.capture());
+        final Event dispatchedEvent = eventCaptor.getValue();
+        Assert.assertEquals("com.adobe.eventSource.responseContent", dispatchedEvent.getSource());
+        Assert.assertEquals(testEvent.getUniqueIdentifier(), dispatchedEvent.getResponseID());
+
+        final PropositionsCacheStats cacheStats =
+                PropositionsCacheStats.fromEventData(
+                        (Map<String, Object>) dispatchedEvent.getEventData().get("cachestats"));
+        Assert.assertEquals(1, cacheStats.getPropositionCount());
+        Assert.assertEquals(
+                PropositionsCache.estimateSize(testOptimizeProposition),
+                cacheStats.getSizeInBytes());
+        Assert.assertEquals(0, cacheStats.getMaxSizeInBytes());
+        Assert.assertEquals(0, cacheStats.getEvictionCount());
+        Assert.assertEquals(
+                extension.getCachedPropositions().getGeneration(), cacheStats.getGeneration());
     }
 
     @Test
@@ -2106,7 +4393,8 @@ public class OptimizeExtensionTests {
         final Map<DecisionScope, OptimizeProposition> propositionsInProgress = new HashMap<>();
         propositionsInProgress.put(
                 new DecisionScope(testOptimizeProposition.getScope()), testOptimizeProposition);
-        extension.setPropositionsInProgress(propositionsInProgress);
+        extension.setPropositionsInProgress(
+                "AAAAAAAA-AAAA-AAAA-AAAA-AAAAAAAAAAAA", propositionsInProgress);
 
         final Event testEvent =
                 new Event.Builder(
@@ -2149,7 +4437,8 @@ public class OptimizeExtensionTests {
         final Map<DecisionScope, OptimizeProposition> propositionsInProgress = new HashMap<>();
         propositionsInProgress.put(
                 new DecisionScope(testOptimizeProposition.getScope()), testOptimizeProposition);
-        extension.setPropositionsInProgress(propositionsInProgress);
+        extension.setPropositionsInProgress(
+                "AAAAAAAA-AAAA-AAAA-AAAA-AAAAAAAAAAAA", propositionsInProgress);
 
         final Event testEvent =
                 new Event.Builder(
@@ -2201,7 +4490,8 @@ public class OptimizeExtensionTests {
         final Map<DecisionScope, OptimizeProposition> propositionsInProgress = new HashMap<>();
         propositionsInProgress.put(
                 new DecisionScope(testOptimizeProposition.getScope()), testOptimizeProposition);
-        extension.setPropositionsInProgress(propositionsInProgress);
+        extension.setPropositionsInProgress(
+                "AAAAAAAA-AAAA-AAAA-AAAA-AAAAAAAAAAAA", propositionsInProgress);
 
         final Event testEvent =
                 new Event.Builder(
@@ -2214,12 +4504,92 @@ public class OptimizeExtensionTests {
         // test
         extension.handleUpdatePropositionsCompleted(testEvent);
 
-        // verify
+        // verify the propositions accumulated for the request in progress are retained
         Assert.assertEquals(0, extension.getCachedPropositions().size());
-        Assert.assertEquals(0, extension.getPropositionsInProgress().size());
+        Assert.assertEquals(1, extension.getPropositionsInProgress().size());
         Assert.assertEquals(1, extension.getUpdateRequestEventIdsInProgress().size());
     }
 
+    @Test
+    public void testHandleLifecycleRequestContent_pauseFlushesPendingInteractions()
+            throws Exception {
+        final PropositionInteractionTracker tracker = PropositionInteractionTracker.getInstance();
+        tracker.setFlushScheduler(Mockito.mock(ScheduledExecutorService.class));
+        try (MockedStatic<MobileCore> mobileCoreMockedStatic =
+                Mockito.mockStatic(MobileCore.class)) {
+            // setup
+            final OptimizeProposition testOptimizeProposition =
+                    loadProposition("json/PROPOSITION_VALID_ODE.json");
+            testOptimizeProposition.getOffers().get(0).displayed();
+
+            // test
+            extension.handleLifecycleRequestContent(createLifecycleRequestContentEvent("start"));
+
+            // verify
+            mobileCoreMockedStatic.verifyNoInteractions();
+            Assert.assertEquals(1, tracker.getPendingInteractionsCount());
+
+            // test
+            extension.handleLifecycleRequestContent(createLifecycleRequestContentEvent("pause"));
+
+            // verify
+            final ArgumentCaptor<Event> eventCaptor = ArgumentCaptor.forClass(Event.class);
+            mobileCoreMockedStatic.verify(() -> MobileCore.dispatchEvent(eventCaptor.capture()));
+            Assert.assertEquals(
+                    "trackpropositions", eventCaptor.getValue().getEventData().get("requesttype"));
+            Assert.assertEquals(0, tracker.getPendingInteractionsCount());
+        } finally {
+            tracker.setFlushScheduler(null);
+        }
+    }
+
+    @Test
+    public void testHandleLifecycleRequestContent_newSessionResetsDisplayedOffers()
+            throws Exception {
+        final PropositionInteractionTracker tracker = PropositionInteractionTracker.getInstance();
+        tracker.setFlushScheduler(Mockito.mock(ScheduledExecutorService.class));
+        try (MockedStatic<MobileCore> mobileCoreMockedStatic =
+                Mockito.mockStatic(MobileCore.class)) {
+            // setup
+            final Map<String, Object> configData = new HashMap<>();
+            configData.put("optimize.deduplicateDisplays", true);
+            configData.put("lifecycle.sessionTimeout", 0);
+            extension.handleConfigurationResponseContent(
+                    new Event.Builder(
+                                    "Configuration Response Event",
+                                    "com.adobe.eventType.configuration",
+                                    "com.adobe.eventSource.responseContent")
+                            .setEventData(configData)
+                            .build());
+            final Offer testOffer =
+                    loadProposition("json/PROPOSITION_VALID_ODE.json").getOffers().get(0);
+            final long suppressedDisplaysCount = tracker.getSuppressedDisplaysCount();
+
+            // test
+            testOffer.displayed();
+            testOffer.displayed();
+
+            // verify
+            Assert.assertEquals(1, tracker.getPendingInteractionsCount());
+            Assert.assertEquals(suppressedDisplaysCount + 1, tracker.getSuppressedDisplaysCount());
+
+            // test
+            extension.handleLifecycleRequestContent(createLifecycleRequestContentEvent("pause"));
+            Thread.sleep(5);
+            extension.handleLifecycleRequestContent(createLifecycleRequestContentEvent("start"));
+            testOffer.displayed();
+
+            // verify
+            Assert.assertEquals(1, tracker.getPendingInteractionsCount());
+            Assert.assertEquals(suppressedDisplaysCount + 1, tracker.getSuppressedDisplaysCount());
+            tracker.flush();
+        } finally {
+            tracker.setDisplayDeduplicationEnabled(false);
+            tracker.resetDisplayedOffers();
+            tracker.setFlushScheduler(null);
+        }
+    }
+
     @Test
     public void testHandleDebugEvent_debugDataUnavailable() throws Exception {
         // setup
@@ -2656,6 +5026,218 @@ public class OptimizeExtensionTests {
     }
 
     // Helper methods
+    private OptimizeProposition setupUpdateInProgress(final String requestEventId)
+            throws Exception {
+        final Map<String, Object> testPropositionData =
+                new ObjectMapper()
+                        .readValue(
+                                getClass()
+                                        .getClassLoader()
+                                        .getResource("json/PROPOSITION_VALID_ODE.json"),
+                                HashMap.class);
+        final OptimizeProposition testOptimizeProposition =
+                OptimizeProposition.fromEventData(testPropositionData);
+        Assert.assertNotNull(testOptimizeProposition);
+        final DecisionScope testScope = new DecisionScope(testOptimizeProposition.getScope());
+
+        final List<DecisionScope> requestedScopes = new ArrayList<>();
+        requestedScopes.add(testScope);
+        extension.setUpdateRequestEventIdsInProgress(requestEventId, requestedScopes);
+
+        final Map<DecisionScope, OptimizeProposition> propositionsInProgress = new HashMap<>();
+        propositionsInProgress.put(testScope, testOptimizeProposition);
+        extension.setPropositionsInProgress(requestEventId, propositionsInProgress);
+        return testOptimizeProposition;
+    }
+
+    private Event createLifecycleRequestContentEvent(final String action) {
+        final Map<String, Object> eventData = new HashMap<>();
+        eventData.put("action", action);
+        return new Event.Builder(
+                        "Lifecycle Request Event",
+                        "com.adobe.eventType.generic.lifecycle",
+                        "com.adobe.eventSource.requestContent")
+                .setEventData(eventData)
+                .build();
+    }
+
+    private Event createGetPropositionsEvent(final DecisionScope scope) {
+        final Map<String, Object> eventData = new HashMap<>();
+        eventData.put("requesttype", "getpropositions");
+        final List<Map<String, Object>> decisionScopesData = new ArrayList<>();
+        decisionScopesData.add(scope.toEventData());
+        eventData.put("decisionscopes", decisionScopesData);
+        return new Event.Builder(
+                        "Optimize Get Propositions Request",
+                        "com.adobe.eventType.optimize",
+                        "com.adobe.eventSource.requestContent")
+                .setEventData(eventData)
+                .build();
+    }
+
+    private Event createUpdatePropositionsEvent(
+            final DecisionScope scope, final Map<String, Object> xdm) {
+        final Map<String, Object> eventData = new HashMap<>();
+        eventData.put("requesttype", "updatepropositions");
+        final List<Map<String, Object>> decisionScopesData = new ArrayList<>();
+        decisionScopesData.add(scope.toEventData());
+        eventData.put("decisionscopes", decisionScopesData);
+        if (xdm != null) {
+            eventData.put("xdm", xdm);
+        }
+        return new Event.Builder(
+                        "Optimize Update Propositions Request",
+                        "com.adobe.eventType.optimize",
+                        "com.adobe.eventSource.requestContent")
+                .setEventData(eventData)
+                .build();
+    }
+
+    private Event createEdgeResponseEvent(
+            final String requestEventId, final OptimizeProposition proposition) {
+        final Map<String, Object> eventData = new HashMap<>();
+        eventData.put("payload", Collections.singletonList(proposition.toEventData()));
+        eventData.put("requestEventId", requestEventId);
+        eventData.put("type", "personalization:decisions");
+        return new Event.Builder(
+                        "AEP Response Event Handle",
+                        "com.adobe.eventType.edge",
+                        "personalization:decisions")
+                .setEventData(eventData)
+                .build();
+    }
+
+    private Event createUpdateCompleteEvent(final String requestEventId) {
+        final Map<String, Object> eventData = new HashMap<>();
+        eventData.put("completedUpdateRequestForEventId", requestEventId);
+        return new Event.Builder(
+                        "Optimize Update Propositions Complete",
+                        "com.adobe.eventType.optimize",
+                        "com.adobe.eventSource.contentComplete")
+                .setEventData(eventData)
+                .build();
+    }
+
+    private Event createFetchMissingGetPropositionsEvent(final DecisionScope... scopes) {
+        final List<Map<String, Object>> scopesData = new ArrayList<>();
+        for (final DecisionScope scope : scopes) {
+            scopesData.add(scope.toEventData());
+        }
+        final Map<String, Object> eventData = new HashMap<>();
+        eventData.put("requesttype", "getpropositions");
+        eventData.put("fetchmissing", true);
+        eventData.put("timeout", 5000L);
+        eventData.put("decisionscopes", scopesData);
+        return new Event.Builder(
+                        "Optimize Get Propositions Request",
+                        "com.adobe.eventType.optimize",
+                        "com.adobe.eventSource.requestContent")
+                .setEventData(eventData)
+                .build();
+    }
+
+    private void handleDispatchedGetPropositionsReadyEvents() {
+        final ArgumentCaptor<Event> eventCaptor = ArgumentCaptor.forClass(Event.class);
+        Mockito.verify(mockExtensionApi, Mockito.atLeast(0)).dispatch(eventCaptor.capture());
+        for (final Event event : eventCaptor.getAllValues()) {
+            if ("com.adobe.eventSource.getPropositionsReady".equals(event.getSource())) {
+                extension.handleGetPropositionsReady(event);
+            }
+        }
+    }
+
+    private Event getDispatchedResponseEvent(final Event requestEvent) {
+        final ArgumentCaptor<Event> eventCaptor = ArgumentCaptor.forClass(Event.class);
+        Mockito.verify(mockExtensionApi, Mockito.atLeastOnce()).dispatch(eventCaptor.capture());
+        for (final Event event : eventCaptor.getAllValues()) {
+            if (requestEvent.getUniqueIdentifier().equals(event.getResponseID())) {
+                return event;
+            }
+        }
+        Assert.fail("No response event dispatched for " + requestEvent.getUniqueIdentifier());
+        return null;
+    }
+
+    private int countDispatchedResponseEvents(final Event requestEvent) {
+        final ArgumentCaptor<Event> eventCaptor = ArgumentCaptor.forClass(Event.class);
+        Mockito.verify(mockExtensionApi, Mockito.atLeastOnce()).dispatch(eventCaptor.capture());
+        int count = 0;
+        for (final Event event : eventCaptor.getAllValues()) {
+            if (requestEvent.getUniqueIdentifier().equals(event.getResponseID())) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private OptimizeProposition loadProposition(final String fileName) throws Exception {
+        final Map<String, Object> propositionData =
+                new ObjectMapper()
+                        .readValue(
+                                getClass().getClassLoader().getResource(fileName), HashMap.class);
+        final OptimizeProposition proposition = OptimizeProposition.fromEventData(propositionData);
+        Assert.assertNotNull(proposition);
+        return proposition;
+    }
+
+    private List<Map<String, Object>> getPropositionsFromResponse(final DecisionScope scope) {
+        Mockito.clearInvocations(mockExtensionApi);
+        final Map<String, Object> testEventData = new HashMap<>();
+        testEventData.put("requesttype", "getpropositions");
+        testEventData.put("decisionscopes", Collections.singletonList(scope.toEventData()));
+        try (MockedStatic<Base64> base64MockedStatic = Mockito.mockStatic(Base64.class)) {
+            base64MockedStatic
+                    .when(
+                            () ->
+                                    Base64.decode(
+                                            ArgumentMatchers.anyString(),
+                                            ArgumentMatchers.anyInt()))
+                    .thenAnswer(
+                            (Answer<byte[]>)
+                                    invocation ->
+                                            java.util.Base64.getDecoder()
+                                                    .decode((String) invocation.getArguments()[0]));
+            extension.handleGetPropositions(
+                    new Event.Builder(
+                                    "Optimize Get Propositions Request",
+                                    "com.adobe.eventType.optimize",
+                                    "com.adobe.eventSource.requestContent")
+                            .setEventData(testEventData)
+                            .build());
+        }
+
+        final ArgumentCaptor<Event> eventCaptor = ArgumentCaptor.forClass(Event.class);
+        Mockito.verify(mockExtensionApi, Mockito.times(1)).dispatch(eventCaptor.capture());
+        return (List<Map<String, Object>>)
+                eventCaptor.getValue().getEventData().get("propositions");
+    }
+
+    private Event createConfigurationResponseEvent(final Map<String, Object> configData) {
+        return new Event.Builder(
+                        "Configuration Response Event",
+                        "com.adobe.eventType.configuration",
+                        "com.adobe.eventSource.responseContent")
+                .setEventData(configData)
+                .build();
+    }
+
+    private PropositionsSnapshot createSnapshot(final Object... scopesAndPropositions)
+            throws Exception {
+        final Map<DecisionScope, PropositionsSnapshot.Entry> entries = new HashMap<>();
+        final ByteArrayOutputStream data = new ByteArrayOutputStream();
+        for (int i = 0; i < scopesAndPropositions.length; i += 2) {
+            final byte[] encoded =
+                    PropositionsSnapshot.encode((OptimizeProposition) scopesAndPropositions[i + 1]);
+            final CRC32 crc = new CRC32();
+            crc.update(encoded, 0, encoded.length);
+            entries.put(
+                    (DecisionScope) scopesAndPropositions[i],
+                    new PropositionsSnapshot.Entry(data.size(), encoded.length, crc.getValue()));
+            data.write(encoded, 0, encoded.length);
+        }
+        return new PropositionsSnapshot(ByteBuffer.wrap(data.toByteArray()), entries);
+    }
+
     private void setConfigurationSharedState(
             final SharedStateStatus status, final Map<String, Object> data) {
         Mockito.when(
@@ -2691,7 +5273,7 @@ public class OptimizeExtensionTests {
                         }
                     });
 
-            extension.setEventsDispatcher(mockEventsDispatcher);
+            extension.setGetPropositionsScheduler(mockGetPropositionsScheduler);
 
             // prepare update event
             final DecisionScope updateScope =
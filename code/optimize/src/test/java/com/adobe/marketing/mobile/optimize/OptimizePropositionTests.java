@@ -219,6 +219,170 @@ public class OptimizePropositionTests {
                 "placement-id", ((Map<String, Object>) scopeDetails.get("placement")).get("id"));
     }
 
+    @Test
+    public void testFromEventData_validPropositionWithExpiryTime() throws Exception {
+        Map<String, Object> propositionData =
+                new ObjectMapper()
+                        .readValue(
+                                getClass()
+                                        .getClassLoader()
+                                        .getResource("json/PROPOSITION_VALID_ODE.json"),
+                                HashMap.class);
+        propositionData.put("expiryTime", 1000L);
+        final OptimizeProposition optimizeProposition =
+                OptimizeProposition.fromEventData(propositionData);
+        Assert.assertNotNull(optimizeProposition);
+
+        Assert.assertEquals(1000L, optimizeProposition.getExpiryTime());
+        Assert.assertTrue(optimizeProposition.isExpired());
+        Assert.assertEquals(1000L, optimizeProposition.toEventData().get("expiryTime"));
+    }
+
+    @Test
+    public void testIsExpired() throws Exception {
+        Map<String, Object> propositionData =
+                new ObjectMapper()
+                        .readValue(
+                                getClass()
+                                        .getClassLoader()
+                                        .getResource("json/PROPOSITION_VALID_ODE.json"),
+                                HashMap.class);
+        final OptimizeProposition optimizeProposition =
+                OptimizeProposition.fromEventData(propositionData);
+        Assert.assertNotNull(optimizeProposition);
+
+        // no expiry
+        Assert.assertEquals(0L, optimizeProposition.getExpiryTime());
+        Assert.assertFalse(optimizeProposition.isExpired());
+        Assert.assertFalse(optimizeProposition.toEventData().containsKey("expiryTime"));
+
+        // expiry in the future
+        optimizeProposition.setExpiryTime(System.currentTimeMillis() + 60000);
+        Assert.assertFalse(optimizeProposition.isExpired());
+
+        // expiry in the past
+        optimizeProposition.setExpiryTime(System.currentTimeMillis() - 1);
+        Assert.assertTrue(optimizeProposition.isExpired());
+        Assert.assertTrue(optimizeProposition.isExpiredAt(optimizeProposition.getExpiryTime()));
+        Assert.assertFalse(
+                optimizeProposition.isExpiredAt(optimizeProposition.getExpiryTime() - 1));
+    }
+
+    @Test
+    public void testToEventData_memoized() throws Exception {
+        Map<String, Object> propositionData =
+                new ObjectMapper()
+                        .readValue(
+                                getClass()
+                                        .getClassLoader()
+                                        .getResource("json/PROPOSITION_VALID_ODE.json"),
+                                HashMap.class);
+        final OptimizeProposition optimizeProposition =
+                OptimizeProposition.fromEventData(propositionData);
+        Assert.assertNotNull(optimizeProposition);
+
+        final Map<String, Object> eventData = optimizeProposition.toEventData();
+        Assert.assertSame(eventData, optimizeProposition.toEventData());
+        Assert.assertSame(
+                ((List<Map<String, Object>>) eventData.get("items")).get(0),
+                optimizeProposition.getOffers().get(0).toEventData());
+        Assert.assertThrows(
+                UnsupportedOperationException.class, () -> eventData.put("stale", true));
+
+        // updating the expiry time resets the memoized event data
+        optimizeProposition.setExpiryTime(1234567890123L);
+        final Map<String, Object> updatedEventData = optimizeProposition.toEventData();
+        Assert.assertNotSame(eventData, updatedEventData);
+        Assert.assertEquals(1234567890123L, updatedEventData.get("expiryTime"));
+
+        // setting the same expiry time keeps the memoized event data
+        optimizeProposition.setExpiryTime(1234567890123L);
+        Assert.assertSame(updatedEventData, optimizeProposition.toEventData());
+    }
+
+    @Test
+    public void testCompressOfferContent() throws Exception {
+        Map<String, Object> propositionData =
+                new ObjectMapper()
+                        .readValue(
+                                getClass()
+                                        .getClassLoader()
+                                        .getResource("json/PROPOSITION_VALID_ODE.json"),
+                                HashMap.class);
+        final OptimizeProposition optimizeProposition =
+                OptimizeProposition.fromEventData(propositionData);
+        Assert.assertNotNull(optimizeProposition);
+        final Map<String, Object> eventData = optimizeProposition.toEventData();
+
+        // content shorter than the threshold is not compressed
+        optimizeProposition.compressOfferContent(1000);
+        Assert.assertSame(eventData, optimizeProposition.toEventData());
+
+        // test
+        optimizeProposition.compressOfferContent(10);
+
+        // verify
+        final Offer offer = optimizeProposition.getOffers().get(0);
+        Assert.assertTrue(offer.getContentValue() instanceof byte[]);
+        Assert.assertEquals("<h1>This is a HTML content</h1>", offer.getContent());
+        final Map<String, Object> compressedEventData = optimizeProposition.toEventData();
+        Assert.assertNotSame(eventData, compressedEventData);
+        Assert.assertNotSame(compressedEventData, optimizeProposition.toEventData());
+        Assert.assertEquals(
+                optimizeProposition, OptimizeProposition.fromEventData(compressedEventData));
+    }
+
+    @Test
+    public void testToEventData_payloadJsonContentSerializedAsString() throws Exception {
+        Map<String, Object> propositionData =
+                new ObjectMapper()
+                        .readValue(
+                                getClass()
+                                        .getClassLoader()
+                                        .getResource("json/PROPOSITION_VALID_TARGET.json"),
+                                HashMap.class);
+        final OptimizeProposition optimizeProposition =
+                OptimizeProposition.fromEventData(propositionData);
+        Assert.assertNotNull(optimizeProposition);
+        optimizeProposition.setExpiryTime(1234567890123L);
+
+        // test
+        final Map<String, Object> eventData = optimizeProposition.toEventData();
+
+        // verify
+        Assert.assertEquals(optimizeProposition.createEventData(), eventData);
+        Assert.assertEquals(1234567890123L, eventData.get("expiryTime"));
+        final Map<String, Object> itemData =
+                (Map<String, Object>)
+                        ((List<Map<String, Object>>) eventData.get("items")).get(0).get("data");
+        Assert.assertEquals("{\"testing\":\"ho-ho\"}", itemData.get("content"));
+        Assert.assertEquals(optimizeProposition, OptimizeProposition.fromEventData(eventData));
+    }
+
+    @Test
+    public void testFromEventData_staleProposition() throws Exception {
+        Map<String, Object> propositionData =
+                new ObjectMapper()
+                        .readValue(
+                                getClass()
+                                        .getClassLoader()
+                                        .getResource("json/PROPOSITION_VALID_ODE.json"),
+                                HashMap.class);
+        final OptimizeProposition optimizeProposition =
+                OptimizeProposition.fromEventData(propositionData);
+        Assert.assertNotNull(optimizeProposition);
+        Assert.assertFalse(optimizeProposition.isStale());
+        Assert.assertFalse(optimizeProposition.toEventData().containsKey("stale"));
+
+        propositionData.put("stale", true);
+        final OptimizeProposition staleProposition =
+                OptimizeProposition.fromEventData(propositionData);
+        Assert.assertNotNull(staleProposition);
+        Assert.assertTrue(staleProposition.isStale());
+        Assert.assertEquals(optimizeProposition, staleProposition);
+        Assert.assertEquals(true, staleProposition.toEventData().get("stale"));
+    }
+
     @Test
     public void testGenerateReferenceXdm_validProposition() throws Exception {
         Map<String, Object> propositionData =
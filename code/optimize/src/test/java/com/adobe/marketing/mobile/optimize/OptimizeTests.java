@@ -18,10 +18,13 @@ import android.util.Base64;
 import com.adobe.marketing.mobile.AdobeCallbackWithError;
 import com.adobe.marketing.mobile.AdobeError;
 import com.adobe.marketing.mobile.Event;
+import com.adobe.marketing.mobile.ExtensionApi;
 import com.adobe.marketing.mobile.MobileCore;
 import com.adobe.marketing.mobile.services.Log;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -48,6 +51,7 @@ public class OptimizeTests {
         responseMap = null;
         responseError = null;
         optimizeError = null;
+        PropositionsUpdateDispatcher.getInstance().reset();
     }
 
     @Test
@@ -122,6 +126,87 @@ public class OptimizeTests {
         }
     }
 
+    @Test
+    public void testUpdatePropositions_withTtl() {
+        try (MockedStatic<MobileCore> mobileCoreMockedStatic =
+                        Mockito.mockStatic(MobileCore.class);
+                MockedStatic<Base64> base64MockedStatic = Mockito.mockStatic(Base64.class)) {
+            // setup
+            base64MockedStatic
+                    .when(
+                            () ->
+                                    Base64.decode(
+                                            ArgumentMatchers.anyString(),
+                                            ArgumentMatchers.anyInt()))
+                    .thenAnswer(
+                            (Answer<byte[]>)
+                                    invocation ->
+                                            java.util.Base64.getDecoder()
+                                                    .decode((String) invocation.getArguments()[0]));
+
+            // test
+            final List<DecisionScope> scopes = new ArrayList<>();
+            scopes.add(
+                    new DecisionScope(
+                            "eyJhY3Rpdml0eUlkIjoieGNvcmU6b2ZmZXItYWN0aXZpdHk6MTExMTExMTExMTExMTExMSIsInBsYWNlbWVudElkIjoieGNvcmU6b2ZmZXItcGxhY2VtZW50OjExMTExMTExMTExMTExMTEifQ=="));
+
+            Optimize.updatePropositions(scopes, null, null, 5, 300, null);
+
+            // verify
+            final ArgumentCaptor<Event> eventCaptor = ArgumentCaptor.forClass(Event.class);
+            mobileCoreMockedStatic.verify(
+                    () ->
+                            MobileCore.dispatchEventWithResponseCallback(
+                                    eventCaptor.capture(),
+                                    ArgumentMatchers.eq(5000L),
+                                    ArgumentMatchers.any(AdobeCallbackWithError.class)));
+
+            final Map<String, Object> eventData = eventCaptor.getValue().getEventData();
+            Assert.assertEquals("updatepropositions", eventData.get("requesttype"));
+            Assert.assertEquals(5000L, eventData.get("timeout"));
+            Assert.assertEquals(300000L, eventData.get("ttl"));
+        }
+    }
+
+    @Test
+    public void testUpdatePropositions_withoutTtl() {
+        try (MockedStatic<MobileCore> mobileCoreMockedStatic =
+                        Mockito.mockStatic(MobileCore.class);
+                MockedStatic<Base64> base64MockedStatic = Mockito.mockStatic(Base64.class)) {
+            // setup
+            base64MockedStatic
+                    .when(
+                            () ->
+                                    Base64.decode(
+                                            ArgumentMatchers.anyString(),
+                                            ArgumentMatchers.anyInt()))
+                    .thenAnswer(
+                            (Answer<byte[]>)
+                                    invocation ->
+                                            java.util.Base64.getDecoder()
+                                                    .decode((String) invocation.getArguments()[0]));
+
+            // test
+            final List<DecisionScope> scopes = new ArrayList<>();
+            scopes.add(
+                    new DecisionScope(
+                            "eyJhY3Rpdml0eUlkIjoieGNvcmU6b2ZmZXItYWN0aXZpdHk6MTExMTExMTExMTExMTExMSIsInBsYWNlbWVudElkIjoieGNvcmU6b2ZmZXItcGxhY2VtZW50OjExMTExMTExMTExMTExMTEifQ=="));
+
+            Optimize.updatePropositions(scopes, null, null, 5, null);
+
+            // verify
+            final ArgumentCaptor<Event> eventCaptor = ArgumentCaptor.forClass(Event.class);
+            mobileCoreMockedStatic.verify(
+                    () ->
+                            MobileCore.dispatchEventWithResponseCallback(
+                                    eventCaptor.capture(),
+                                    ArgumentMatchers.anyLong(),
+                                    ArgumentMatchers.any(AdobeCallbackWithError.class)));
+
+            Assert.assertFalse(eventCaptor.getValue().getEventData().containsKey("ttl"));
+        }
+    }
+
     @Test
     public void testUpdatePropositionsWithCallback_validDecisionScope() throws Exception {
         try (MockedStatic<MobileCore> mobileCoreMockedStatic =
@@ -646,6 +731,225 @@ public class OptimizeTests {
         }
     }
 
+    @Test
+    public void testGetCachedPropositions() {
+        try (MockedStatic<MobileCore> mobileCoreMockedStatic =
+                        Mockito.mockStatic(MobileCore.class);
+                MockedStatic<Base64> base64MockedStatic = Mockito.mockStatic(Base64.class)) {
+            // setup
+            base64MockedStatic
+                    .when(
+                            () ->
+                                    Base64.decode(
+                                            ArgumentMatchers.anyString(),
+                                            ArgumentMatchers.anyInt()))
+                    .thenAnswer(
+                            (Answer<byte[]>)
+                                    invocation ->
+                                            java.util.Base64.getDecoder()
+                                                    .decode((String) invocation.getArguments()[0]));
+            final OptimizeExtension extension =
+                    new OptimizeExtension(Mockito.mock(ExtensionApi.class));
+            extension.onRegistered();
+            try {
+                final DecisionScope cachedScope = new DecisionScope("scope1");
+                final OptimizeProposition cachedProposition =
+                        new OptimizeProposition(
+                                "proposition1",
+                                Collections.singletonList(
+                                        new Offer.Builder("offer1", OfferType.TEXT, "text")
+                                                .build()),
+                                "scope1",
+                                null,
+                                null,
+                                null);
+                final Map<DecisionScope, OptimizeProposition> cachedPropositions = new HashMap<>();
+                cachedPropositions.put(cachedScope, cachedProposition);
+                extension.setCachedPropositions(cachedPropositions);
+
+                // test
+                final Map<DecisionScope, OptimizeProposition> propositionsMap =
+                        Optimize.getCachedPropositions(
+                                Arrays.asList(cachedScope, new DecisionScope("scope2")));
+
+                // verify
+                mobileCoreMockedStatic.verifyNoInteractions();
+                Assert.assertEquals(1, propositionsMap.size());
+                Assert.assertSame(cachedProposition, propositionsMap.get(cachedScope));
+            } finally {
+                extension.onUnregistered();
+            }
+        }
+    }
+
+    @Test
+    public void testGetCachedPropositions_extensionNotRegistered() {
+        // setup
+        final OptimizeExtension extension = new OptimizeExtension(Mockito.mock(ExtensionApi.class));
+        extension.onRegistered();
+        extension.onUnregistered();
+
+        // test
+        final Map<DecisionScope, OptimizeProposition> propositionsMap =
+                Optimize.getCachedPropositions(
+                        Collections.singletonList(new DecisionScope("scope1")));
+
+        // verify
+        Assert.assertTrue(propositionsMap.isEmpty());
+    }
+
+    @Test
+    public void testGetCachedPropositions_emptyDecisionScopes() {
+        // test
+        final Map<DecisionScope, OptimizeProposition> propositionsMap =
+                Optimize.getCachedPropositions(new ArrayList<DecisionScope>());
+
+        // verify
+        Assert.assertTrue(propositionsMap.isEmpty());
+    }
+
+    @Test
+    public void testGetPropositions_allowStale() throws Exception {
+        try (MockedStatic<MobileCore> mobileCoreMockedStatic =
+                        Mockito.mockStatic(MobileCore.class);
+                MockedStatic<Base64> base64MockedStatic = Mockito.mockStatic(Base64.class)) {
+            // setup
+            base64MockedStatic
+                    .when(
+                            () ->
+                                    Base64.decode(
+                                            ArgumentMatchers.anyString(),
+                                            ArgumentMatchers.anyInt()))
+                    .thenAnswer(
+                            (Answer<byte[]>)
+                                    invocation ->
+                                            java.util.Base64.getDecoder()
+                                                    .decode((String) invocation.getArguments()[0]));
+
+            // test
+            final List<DecisionScope> scopes = new ArrayList<>();
+            scopes.add(
+                    new DecisionScope(
+                            "eyJhY3Rpdml0eUlkIjoieGNvcmU6b2ZmZXItYWN0aXZpdHk6MTExMTExMTExMTExMTExMSIsInBsYWNlbWVudElkIjoieGNvcmU6b2ZmZXItcGxhY2VtZW50OjExMTExMTExMTExMTExMTEifQ=="));
+
+            Optimize.getPropositions(
+                    scopes,
+                    5,
+                    true,
+                    new AdobeCallbackWithError<Map<DecisionScope, OptimizeProposition>>() {
+                        @Override
+                        public void fail(AdobeError adobeError) {
+                            responseError = adobeError;
+                        }
+
+                        @Override
+                        public void call(Map<DecisionScope, OptimizeProposition> propositionsMap) {
+                            responseMap = propositionsMap;
+                        }
+                    });
+
+            // verify
+            final ArgumentCaptor<Event> eventCaptor = ArgumentCaptor.forClass(Event.class);
+            final ArgumentCaptor<AdobeCallbackWithError<Event>> callbackCaptor =
+                    ArgumentCaptor.forClass(AdobeCallbackWithError.class);
+            mobileCoreMockedStatic.verify(
+                    () ->
+                            MobileCore.dispatchEventWithResponseCallback(
+                                    eventCaptor.capture(),
+                                    ArgumentMatchers.eq(5000L),
+                                    callbackCaptor.capture()));
+            final Map<String, Object> eventData = eventCaptor.getValue().getEventData();
+            Assert.assertEquals("getpropositions", eventData.get("requesttype"));
+            Assert.assertEquals(true, eventData.get("allowstale"));
+
+            // verify callback response
+            final Map<String, Object> propositionData =
+                    new ObjectMapper()
+                            .readValue(
+                                    getClass()
+                                            .getClassLoader()
+                                            .getResource("json/PROPOSITION_VALID_ODE.json"),
+                                    HashMap.class);
+            propositionData.put("stale", true);
+            final List<Map<String, Object>> propositionsList = new ArrayList<>();
+            propositionsList.add(propositionData);
+
+            final Map<String, Object> responseEventData = new HashMap<>();
+            responseEventData.put("propositions", propositionsList);
+            callbackCaptor
+                    .getValue()
+                    .call(
+                            new Event.Builder(
+                                            "Optimize Response",
+                                            "com.adobe.eventType.optimize",
+                                            "com.adobe.eventSource.responseContent")
+                                    .setEventData(responseEventData)
+                                    .build());
+
+            Assert.assertNull(responseError);
+            Assert.assertNotNull(responseMap);
+            Assert.assertEquals(1, responseMap.size());
+            Assert.assertTrue(responseMap.values().iterator().next().isStale());
+        }
+    }
+
+    @Test
+    public void testGetPropositions_fetchMissing() {
+        try (MockedStatic<MobileCore> mobileCoreMockedStatic =
+                        Mockito.mockStatic(MobileCore.class);
+                MockedStatic<Base64> base64MockedStatic = Mockito.mockStatic(Base64.class)) {
+            // setup
+            base64MockedStatic
+                    .when(
+                            () ->
+                                    Base64.decode(
+                                            ArgumentMatchers.anyString(),
+                                            ArgumentMatchers.anyInt()))
+                    .thenAnswer(
+                            (Answer<byte[]>)
+                                    invocation ->
+                                            java.util.Base64.getDecoder()
+                                                    .decode((String) invocation.getArguments()[0]));
+
+            // test
+            final List<DecisionScope> scopes = new ArrayList<>();
+            scopes.add(
+                    new DecisionScope(
+                            "eyJhY3Rpdml0eUlkIjoieGNvcmU6b2ZmZXItYWN0aXZpdHk6MTExMTExMTExMTExMTExMSIsInBsYWNlbWVudElkIjoieGNvcmU6b2ZmZXItcGxhY2VtZW50OjExMTExMTExMTExMTExMTEifQ=="));
+
+            Optimize.getPropositions(
+                    scopes,
+                    5,
+                    false,
+                    true,
+                    new AdobeCallbackWithError<Map<DecisionScope, OptimizeProposition>>() {
+                        @Override
+                        public void fail(AdobeError adobeError) {
+                            responseError = adobeError;
+                        }
+
+                        @Override
+                        public void call(Map<DecisionScope, OptimizeProposition> propositionsMap) {
+                            responseMap = propositionsMap;
+                        }
+                    });
+
+            // verify
+            final ArgumentCaptor<Event> eventCaptor = ArgumentCaptor.forClass(Event.class);
+            mobileCoreMockedStatic.verify(
+                    () ->
+                            MobileCore.dispatchEventWithResponseCallback(
+                                    eventCaptor.capture(),
+                                    ArgumentMatchers.eq(5000L),
+                                    ArgumentMatchers.any(AdobeCallbackWithError.class)));
+            final Map<String, Object> eventData = eventCaptor.getValue().getEventData();
+            Assert.assertEquals("getpropositions", eventData.get("requesttype"));
+            Assert.assertEquals(true, eventData.get("fetchmissing"));
+            Assert.assertEquals(5000L, eventData.get("timeout"));
+            Assert.assertNull(eventData.get("allowstale"));
+        }
+    }
+
     @Test
     public void testGetPropositions_multipleValidDecisionScopes() {
         try (MockedStatic<MobileCore> mobileCoreMockedStatic =
@@ -988,6 +1292,245 @@ public class OptimizeTests {
         }
     }
 
+    @Test
+    public void testOnPropositionsUpdate_multipleCallbacksShareParsedPropositions()
+            throws Exception {
+        try (MockedStatic<MobileCore> mobileCoreMockedStatic =
+                        Mockito.mockStatic(MobileCore.class);
+                MockedStatic<Base64> base64MockedStatic = Mockito.mockStatic(Base64.class)) {
+            // setup
+            base64MockedStatic
+                    .when(
+                            () ->
+                                    Base64.decode(
+                                            ArgumentMatchers.anyString(),
+                                            ArgumentMatchers.anyInt()))
+                    .thenAnswer(
+                            (Answer<byte[]>)
+                                    invocation ->
+                                            java.util.Base64.getDecoder()
+                                                    .decode((String) invocation.getArguments()[0]));
+            final List<Map<DecisionScope, OptimizeProposition>> receivedMaps = new ArrayList<>();
+
+            // test
+            Optimize.onPropositionsUpdate(receivedMaps::add);
+            Optimize.onPropositionsUpdate(receivedMaps::add);
+
+            // verify
+            final ArgumentCaptor<AdobeCallbackWithError<Event>> callbackCaptor =
+                    ArgumentCaptor.forClass(AdobeCallbackWithError.class);
+            mobileCoreMockedStatic.verify(
+                    () ->
+                            MobileCore.registerEventListener(
+                                    ArgumentMatchers.eq("com.adobe.eventType.optimize"),
+                                    ArgumentMatchers.eq("com.adobe.eventSource.notification"),
+                                    callbackCaptor.capture()),
+                    times(1));
+
+            callbackCaptor
+                    .getValue()
+                    .call(
+                            createNotificationEvent(
+                                    "json/PROPOSITION_VALID_ODE.json",
+                                    "json/PROPOSITION_VALID_TARGET.json"));
+
+            Assert.assertEquals(2, receivedMaps.size());
+            Assert.assertNotSame(receivedMaps.get(0), receivedMaps.get(1));
+            Assert.assertEquals(2, receivedMaps.get(0).size());
+            final DecisionScope mboxScope = new DecisionScope("myMbox");
+            Assert.assertSame(
+                    receivedMaps.get(0).get(mboxScope), receivedMaps.get(1).get(mboxScope));
+
+            // each callback can modify its own propositions map
+            receivedMaps.get(0).clear();
+            Assert.assertEquals(2, receivedMaps.get(1).size());
+        }
+    }
+
+    @Test
+    public void testOnPropositionsUpdate_callbackExceptionDoesNotStopDelivery() throws Exception {
+        try (MockedStatic<MobileCore> mobileCoreMockedStatic =
+                        Mockito.mockStatic(MobileCore.class);
+                MockedStatic<Base64> base64MockedStatic = Mockito.mockStatic(Base64.class)) {
+            // setup
+            base64MockedStatic
+                    .when(
+                            () ->
+                                    Base64.decode(
+                                            ArgumentMatchers.anyString(),
+                                            ArgumentMatchers.anyInt()))
+                    .thenAnswer(
+                            (Answer<byte[]>)
+                                    invocation ->
+                                            java.util.Base64.getDecoder()
+                                                    .decode((String) invocation.getArguments()[0]));
+            final List<Map<DecisionScope, OptimizeProposition>> receivedMaps = new ArrayList<>();
+
+            // test
+            Optimize.onPropositionsUpdate(
+                    propositionsMap -> {
+                        throw new IllegalStateException("App callback failure");
+                    });
+            Optimize.onPropositionsUpdate(receivedMaps::add);
+
+            // verify
+            final ArgumentCaptor<AdobeCallbackWithError<Event>> callbackCaptor =
+                    ArgumentCaptor.forClass(AdobeCallbackWithError.class);
+            mobileCoreMockedStatic.verify(
+                    () ->
+                            MobileCore.registerEventListener(
+                                    ArgumentMatchers.eq("com.adobe.eventType.optimize"),
+                                    ArgumentMatchers.eq("com.adobe.eventSource.notification"),
+                                    callbackCaptor.capture()),
+                    times(1));
+
+            callbackCaptor
+                    .getValue()
+                    .call(createNotificationEvent("json/PROPOSITION_VALID_TARGET.json"));
+
+            Assert.assertEquals(1, receivedMaps.size());
+            Assert.assertEquals(1, receivedMaps.get(0).size());
+        }
+    }
+
+    @Test
+    public void testOnPropositionsUpdate_decisionScopesFilter() throws Exception {
+        try (MockedStatic<MobileCore> mobileCoreMockedStatic =
+                        Mockito.mockStatic(MobileCore.class);
+                MockedStatic<Base64> base64MockedStatic = Mockito.mockStatic(Base64.class)) {
+            // setup
+            base64MockedStatic
+                    .when(
+                            () ->
+                                    Base64.decode(
+                                            ArgumentMatchers.anyString(),
+                                            ArgumentMatchers.anyInt()))
+                    .thenAnswer(
+                            (Answer<byte[]>)
+                                    invocation ->
+                                            java.util.Base64.getDecoder()
+                                                    .decode((String) invocation.getArguments()[0]));
+            final List<Map<DecisionScope, OptimizeProposition>> mboxMaps = new ArrayList<>();
+            final List<Map<DecisionScope, OptimizeProposition>> otherMaps = new ArrayList<>();
+
+            // test
+            Optimize.onPropositionsUpdate(
+                    Collections.singletonList(new DecisionScope("myMbox")), mboxMaps::add);
+            Optimize.onPropositionsUpdate(
+                    Collections.singletonList(new DecisionScope("otherMbox")), otherMaps::add);
+
+            // verify
+            final ArgumentCaptor<AdobeCallbackWithError<Event>> callbackCaptor =
+                    ArgumentCaptor.forClass(AdobeCallbackWithError.class);
+            mobileCoreMockedStatic.verify(
+                    () ->
+                            MobileCore.registerEventListener(
+                                    ArgumentMatchers.eq("com.adobe.eventType.optimize"),
+                                    ArgumentMatchers.eq("com.adobe.eventSource.notification"),
+                                    callbackCaptor.capture()),
+                    times(1));
+
+            callbackCaptor
+                    .getValue()
+                    .call(
+                            createNotificationEvent(
+                                    "json/PROPOSITION_VALID_ODE.json",
+                                    "json/PROPOSITION_VALID_TARGET.json"));
+
+            Assert.assertEquals(1, mboxMaps.size());
+            Assert.assertEquals(1, mboxMaps.get(0).size());
+            Assert.assertEquals(
+                    "myMbox", mboxMaps.get(0).get(new DecisionScope("myMbox")).getScope());
+            Assert.assertTrue(otherMaps.isEmpty());
+        }
+    }
+
+    @Test
+    public void testOnPropositionsRemoved() throws Exception {
+        try (MockedStatic<MobileCore> mobileCoreMockedStatic =
+                Mockito.mockStatic(MobileCore.class)) {
+            // setup
+            final List<List<DecisionScope>> removedScopes = new ArrayList<>();
+            final List<List<DecisionScope>> mboxRemovedScopes = new ArrayList<>();
+            final List<List<DecisionScope>> otherRemovedScopes = new ArrayList<>();
+
+            // test
+            Optimize.onPropositionsRemoved(removedScopes::add);
+            Optimize.onPropositionsRemoved(
+                    Collections.singletonList(new DecisionScope("myMbox")), mboxRemovedScopes::add);
+            Optimize.onPropositionsRemoved(
+                    Collections.singletonList(new DecisionScope("otherMbox")),
+                    otherRemovedScopes::add);
+            Optimize.onPropositionsUpdate(propositionsMap -> responseMap = propositionsMap);
+
+            // verify
+            final ArgumentCaptor<AdobeCallbackWithError<Event>> callbackCaptor =
+                    ArgumentCaptor.forClass(AdobeCallbackWithError.class);
+            mobileCoreMockedStatic.verify(
+                    () ->
+                            MobileCore.registerEventListener(
+                                    ArgumentMatchers.eq("com.adobe.eventType.optimize"),
+                                    ArgumentMatchers.eq("com.adobe.eventSource.notification"),
+                                    callbackCaptor.capture()),
+                    times(1));
+
+            final Map<String, Object> eventData = new HashMap<>();
+            eventData.put("propositions", new ArrayList<Map<String, Object>>());
+            eventData.put(
+                    "removeddecisionscopes",
+                    Arrays.asList(
+                            new DecisionScope("myMbox").toEventData(),
+                            new DecisionScope("mbox2").toEventData()));
+            callbackCaptor
+                    .getValue()
+                    .call(
+                            new Event.Builder(
+                                            "Optimize Notification",
+                                            "com.adobe.eventType.optimize",
+                                            "com.adobe.eventSource.notification")
+                                    .setEventData(eventData)
+                                    .build());
+
+            Assert.assertEquals(
+                    Collections.singletonList(
+                            Arrays.asList(new DecisionScope("myMbox"), new DecisionScope("mbox2"))),
+                    removedScopes);
+            Assert.assertEquals(
+                    Collections.singletonList(
+                            Collections.singletonList(new DecisionScope("myMbox"))),
+                    mboxRemovedScopes);
+            Assert.assertTrue(otherRemovedScopes.isEmpty());
+            Assert.assertNull(responseMap);
+        }
+    }
+
+    @Test
+    public void testOnPropositionsRemoved_emptyDecisionScopesFilter() {
+        try (MockedStatic<MobileCore> mobileCoreMockedStatic =
+                Mockito.mockStatic(MobileCore.class)) {
+            // test
+            Optimize.onPropositionsRemoved(
+                    new ArrayList<DecisionScope>(), removedScopes -> Assert.fail());
+
+            // verify
+            mobileCoreMockedStatic.verifyNoInteractions();
+        }
+    }
+
+    @Test
+    public void testOnPropositionsUpdate_emptyDecisionScopesFilter() {
+        try (MockedStatic<MobileCore> mobileCoreMockedStatic =
+                Mockito.mockStatic(MobileCore.class)) {
+            // test
+            Optimize.onPropositionsUpdate(
+                    new ArrayList<DecisionScope>(),
+                    propositionsMap -> responseMap = propositionsMap);
+
+            // verify
+            mobileCoreMockedStatic.verifyNoInteractions();
+        }
+    }
+
     @Test
     public void test_clearCachedPropositions() {
         try (MockedStatic<MobileCore> mobileCoreMockedStatic =
@@ -1007,6 +1550,70 @@ public class OptimizeTests {
         }
     }
 
+    @Test
+    public void testGetPropositionsCacheStats() {
+        try (MockedStatic<MobileCore> mobileCoreMockedStatic =
+                Mockito.mockStatic(MobileCore.class)) {
+            // test
+            final PropositionsCacheStats[] responseCacheStats = new PropositionsCacheStats[1];
+            Optimize.getPropositionsCacheStats(
+                    new AdobeCallbackWithError<PropositionsCacheStats>() {
+                        @Override
+                        public void fail(AdobeError adobeError) {
+                            responseError = adobeError;
+                        }
+
+                        @Override
+                        public void call(PropositionsCacheStats cacheStats) {
+                            responseCacheStats[0] = cacheStats;
+                        }
+                    });
+
+            // verify
+            final ArgumentCaptor<Event> eventCaptor = ArgumentCaptor.forClass(Event.class);
+            final ArgumentCaptor<AdobeCallbackWithError<Event>> callbackCaptor =
+                    ArgumentCaptor.forClass(AdobeCallbackWithError.class);
+            mobileCoreMockedStatic.verify(
+                    () ->
+                            MobileCore.dispatchEventWithResponseCallback(
+                                    eventCaptor.capture(),
+                                    ArgumentMatchers.anyLong(),
+                                    callbackCaptor.capture()));
+            final Event event = eventCaptor.getValue();
+            Assert.assertNotNull(event);
+            Assert.assertEquals("com.adobe.eventType.optimize", event.getType());
+            Assert.assertEquals("com.adobe.eventSource.requestContent", event.getSource());
+            Assert.assertEquals("getcachestats", event.getEventData().get("requesttype"));
+
+            // verify callback response
+            final Map<String, Object> cacheStatsData = new HashMap<>();
+            cacheStatsData.put("propositionCount", 2);
+            cacheStatsData.put("size", 4096L);
+            cacheStatsData.put("maxSize", 8192L);
+            cacheStatsData.put("evictionCount", 3L);
+            cacheStatsData.put("generation", 7L);
+            final Map<String, Object> responseEventData = new HashMap<>();
+            responseEventData.put("cachestats", cacheStatsData);
+            callbackCaptor
+                    .getValue()
+                    .call(
+                            new Event.Builder(
+                                            "Optimize Response",
+                                            "com.adobe.eventType.optimize",
+                                            "com.adobe.eventSource.responseContent")
+                                    .setEventData(responseEventData)
+                                    .build());
+
+            Assert.assertNull(responseError);
+            Assert.assertNotNull(responseCacheStats[0]);
+            Assert.assertEquals(2, responseCacheStats[0].getPropositionCount());
+            Assert.assertEquals(4096L, responseCacheStats[0].getSizeInBytes());
+            Assert.assertEquals(8192L, responseCacheStats[0].getMaxSizeInBytes());
+            Assert.assertEquals(3L, responseCacheStats[0].getEvictionCount());
+            Assert.assertEquals(7L, responseCacheStats[0].getGeneration());
+        }
+    }
+
     @Test
     public void testUpdatePropositions_timeoutError() {
 
@@ -1311,4 +1918,23 @@ public class OptimizeTests {
             Assert.assertNull(responseError);
         }
     }
+
+    private Event createNotificationEvent(final String... propositionFileNames) throws Exception {
+        final List<Map<String, Object>> propositionsList = new ArrayList<>();
+        for (final String fileName : propositionFileNames) {
+            propositionsList.add(
+                    new ObjectMapper()
+                            .readValue(
+                                    getClass().getClassLoader().getResource(fileName),
+                                    HashMap.class));
+        }
+        final Map<String, Object> eventData = new HashMap<>();
+        eventData.put("propositions", propositionsList);
+        return new Event.Builder(
+                        "Optimize Notification",
+                        "com.adobe.eventType.optimize",
+                        "com.adobe.eventSource.notification")
+                .setEventData(eventData)
+                .build();
+    }
 }
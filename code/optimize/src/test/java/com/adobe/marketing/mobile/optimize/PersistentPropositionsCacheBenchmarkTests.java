@@ -0,0 +1,148 @@
+/*
+  Copyright 2025 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.optimize;
+
+import com.adobe.marketing.mobile.util.JSONUtils;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Startup benchmark comparing the reload of persisted propositions from the binary snapshot format,
+ * with lazy per-scope decoding, against the eager reload of the same propositions serialized as a
+ * JSON array.
+ *
+ * <p>Each iteration simulates an application launch: the cache file is loaded and a single scope is
+ * requested, as done by the first get propositions request.
+ */
+@SuppressWarnings("unchecked")
+public class PersistentPropositionsCacheBenchmarkTests {
+    private static final int PROPOSITIONS_COUNT = 500;
+    private static final int WARMUP_ITERATIONS = 5;
+    private static final int MEASURED_ITERATIONS = 20;
+
+    @Rule public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private Map<DecisionScope, OptimizeProposition> propositions;
+    private DecisionScope requestedScope;
+
+    @Before
+    public void setup() throws Exception {
+        final Map<String, Object> propositionData =
+                new ObjectMapper()
+                        .readValue(
+                                getClass()
+                                        .getClassLoader()
+                                        .getResource("json/PROPOSITION_VALID_ODE.json"),
+                                HashMap.class);
+
+        propositions = new HashMap<>();
+        for (int i = 0; i < PROPOSITIONS_COUNT; i++) {
+            final Map<String, Object> data = new HashMap<>(propositionData);
+            data.put("id", "proposition-" + i);
+            data.put("scope", "scope-" + i);
+            final OptimizeProposition proposition = OptimizeProposition.fromEventData(data);
+            Assert.assertNotNull(proposition);
+            propositions.put(new DecisionScope(proposition.getScope()), proposition);
+        }
+        requestedScope = new DecisionScope("scope-" + (PROPOSITIONS_COUNT / 2));
+    }
+
+    @Test
+    public void testStartupReload_binarySnapshotVersusJson() throws Exception {
+        // setup
+        final File jsonFile = temporaryFolder.newFile();
+        saveAsJson(jsonFile);
+        final PersistentPropositionsCache binaryCache =
+                new PersistentPropositionsCache(temporaryFolder.newFolder());
+        Assert.assertTrue(binaryCache.save(propositions));
+
+        // test
+        final long jsonNanos = measureStartupReload(() -> reloadJson(jsonFile));
+        final long binaryNanos = measureStartupReload(() -> reload(binaryCache));
+
+        // verify
+        System.out.printf(
+                "Startup reload of %d persisted propositions (median of %d): JSON %.3f ms, binary"
+                        + " snapshot %.3f ms%n",
+                PROPOSITIONS_COUNT,
+                MEASURED_ITERATIONS,
+                jsonNanos / (double) TimeUnit.MILLISECONDS.toNanos(1),
+                binaryNanos / (double) TimeUnit.MILLISECONDS.toNanos(1));
+        Assert.assertTrue(binaryCache.exists());
+    }
+
+    private long measureStartupReload(final Reload reload) throws Exception {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            reload.run();
+        }
+
+        final long[] samples = new long[MEASURED_ITERATIONS];
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            final long start = System.nanoTime();
+            reload.run();
+            samples[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(samples);
+        return samples[MEASURED_ITERATIONS / 2];
+    }
+
+    private void reload(final PersistentPropositionsCache cache) {
+        final PropositionsSnapshot snapshot = cache.load();
+        Assert.assertEquals(PROPOSITIONS_COUNT, snapshot.size());
+        Assert.assertEquals(propositions.get(requestedScope), snapshot.get(requestedScope));
+    }
+
+    /** Writes the propositions to the given {@code file} as a JSON array of event data. */
+    private void saveAsJson(final File file) throws Exception {
+        final JSONArray propositionsArray = new JSONArray();
+        for (final OptimizeProposition proposition : propositions.values()) {
+            propositionsArray.put(new JSONObject(proposition.toEventData()));
+        }
+        Files.write(file.toPath(), propositionsArray.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /** Reads and decodes all the propositions from the given JSON {@code file}. */
+    private void reloadJson(final File file) throws Exception {
+        final List<Object> propositionsList =
+                JSONUtils.toList(
+                        new JSONArray(
+                                new String(
+                                        Files.readAllBytes(file.toPath()),
+                                        StandardCharsets.UTF_8)));
+        final Map<DecisionScope, OptimizeProposition> reloaded = new HashMap<>();
+        for (final Object propositionData : propositionsList) {
+            final OptimizeProposition proposition =
+                    OptimizeProposition.fromEventData((Map<String, Object>) propositionData);
+            reloaded.put(new DecisionScope(proposition.getScope()), proposition);
+        }
+        Assert.assertEquals(PROPOSITIONS_COUNT, reloaded.size());
+        Assert.assertEquals(propositions.get(requestedScope), reloaded.get(requestedScope));
+    }
+
+    private interface Reload {
+        void run() throws Exception;
+    }
+}
@@ -0,0 +1,269 @@
+/*
+  Copyright 2025 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.optimize;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+@SuppressWarnings("unchecked")
+public class PersistentPropositionsCacheTests {
+    @Rule public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private File cacheDir;
+    private PersistentPropositionsCache persistentCache;
+
+    @Before
+    public void setup() throws Exception {
+        cacheDir = temporaryFolder.newFolder();
+        persistentCache = new PersistentPropositionsCache(cacheDir);
+    }
+
+    @Test
+    public void testSaveAndLoad_validPropositions() throws Exception {
+        // setup
+        final Map<DecisionScope, OptimizeProposition> propositions =
+                loadPropositions(
+                        "json/PROPOSITION_VALID_ODE.json",
+                        "json/PROPOSITION_VALID_TARGET.json",
+                        "json/PROPOSITION_VALID_WITH_SCOPE_DETAILS.json");
+
+        // test
+        Assert.assertTrue(persistentCache.save(propositions));
+
+        // verify
+        Assert.assertTrue(persistentCache.exists());
+        Assert.assertFalse(
+                new File(cacheDir, OptimizeConstants.PersistentCache.FILE_NAME + ".tmp").exists());
+
+        final PropositionsSnapshot snapshot = new PersistentPropositionsCache(cacheDir).load();
+        Assert.assertEquals(propositions.keySet(), snapshot.getScopes());
+        Assert.assertEquals(propositions, snapshot.getAll());
+    }
+
+    @Test
+    public void testLoad_decodesPropositionsLazily() throws Exception {
+        // setup
+        final Map<DecisionScope, OptimizeProposition> propositions =
+                loadPropositions(
+                        "json/PROPOSITION_VALID_ODE.json", "json/PROPOSITION_VALID_TARGET.json");
+        persistentCache.save(propositions);
+        final DecisionScope odeScope = scopeOf(propositions, "json/PROPOSITION_VALID_ODE.json");
+        final DecisionScope targetScope =
+                scopeOf(propositions, "json/PROPOSITION_VALID_TARGET.json");
+
+        // corrupt the encoded ODE proposition, the data section starts right after the index
+        final File cacheFile = new File(cacheDir, OptimizeConstants.PersistentCache.FILE_NAME);
+        try (RandomAccessFile file = new RandomAccessFile(cacheFile, "rw")) {
+            file.seek(8 + 8);
+            final int indexLength = file.readInt();
+            final long dataStart = PersistentPropositionsCache.HEADER_LENGTH + indexLength;
+            final PropositionsSnapshot snapshot = persistentCache.load();
+            final byte[] odeEncoded = snapshot.getEncoded(odeScope);
+            final byte[] fileBytes = new byte[(int) file.length()];
+            file.seek(0);
+            file.readFully(fileBytes);
+            final long odeOffset = dataStart + indexOf(fileBytes, odeEncoded, (int) dataStart);
+            file.seek(odeOffset + odeEncoded.length - 1);
+            file.write(odeEncoded[odeEncoded.length - 1] ^ 0xFF);
+        }
+
+        // test
+        final PropositionsSnapshot snapshot = persistentCache.load();
+
+        // verify
+        Assert.assertEquals(2, snapshot.size());
+        Assert.assertEquals(propositions.get(targetScope), snapshot.get(targetScope));
+        Assert.assertNull(snapshot.get(odeScope));
+        Assert.assertEquals(1, snapshot.size());
+        Assert.assertTrue(persistentCache.exists());
+    }
+
+    @Test
+    public void testSave_replacesPreviouslyPersistedPropositions() throws Exception {
+        // setup
+        persistentCache.save(loadPropositions("json/PROPOSITION_VALID_ODE.json"));
+        final Map<DecisionScope, OptimizeProposition> propositions =
+                loadPropositions("json/PROPOSITION_VALID_TARGET.json");
+
+        // test
+        persistentCache.save(propositions);
+
+        // verify
+        Assert.assertEquals(propositions, persistentCache.load().getAll());
+    }
+
+    @Test
+    public void testSave_carriesOverBaseSnapshotPropositions() throws Exception {
+        // setup
+        final Map<DecisionScope, OptimizeProposition> persistedPropositions =
+                loadPropositions(
+                        "json/PROPOSITION_VALID_ODE.json", "json/PROPOSITION_VALID_TARGET.json");
+        persistentCache.save(persistedPropositions);
+        final PropositionsSnapshot base = persistentCache.load();
+        final DecisionScope targetScope =
+                scopeOf(persistedPropositions, "json/PROPOSITION_VALID_TARGET.json");
+        base.remove(targetScope);
+
+        final Map<DecisionScope, OptimizeProposition> propositions =
+                loadPropositions("json/PROPOSITION_VALID_WITH_SCOPE_DETAILS.json");
+
+        // test
+        Assert.assertTrue(persistentCache.save(propositions, base));
+
+        // verify
+        final Map<DecisionScope, OptimizeProposition> expectedPropositions =
+                new HashMap<>(propositions);
+        final DecisionScope odeScope =
+                scopeOf(persistedPropositions, "json/PROPOSITION_VALID_ODE.json");
+        expectedPropositions.put(odeScope, persistedPropositions.get(odeScope));
+        Assert.assertEquals(expectedPropositions, persistentCache.load().getAll());
+    }
+
+    @Test
+    public void testLoad_noCacheFile() {
+        // test
+        final PropositionsSnapshot snapshot = persistentCache.load();
+
+        // verify
+        Assert.assertFalse(persistentCache.exists());
+        Assert.assertEquals(0, snapshot.size());
+    }
+
+    @Test
+    public void testLoad_indexChecksumMismatch() throws Exception {
+        // setup
+        persistentCache.save(loadPropositions("json/PROPOSITION_VALID_ODE.json"));
+        final File cacheFile = new File(cacheDir, OptimizeConstants.PersistentCache.FILE_NAME);
+        try (RandomAccessFile file = new RandomAccessFile(cacheFile, "rw")) {
+            file.seek(PersistentPropositionsCache.HEADER_LENGTH + 8);
+            final int indexByte = file.read();
+            file.seek(PersistentPropositionsCache.HEADER_LENGTH + 8);
+            file.write(indexByte ^ 0xFF);
+        }
+
+        // test
+        final PropositionsSnapshot snapshot = persistentCache.load();
+
+        // verify
+        Assert.assertEquals(0, snapshot.size());
+        Assert.assertFalse(persistentCache.exists());
+    }
+
+    @Test
+    public void testLoad_truncatedFile() throws Exception {
+        // setup
+        persistentCache.save(loadPropositions("json/PROPOSITION_VALID_ODE.json"));
+        final File cacheFile = new File(cacheDir, OptimizeConstants.PersistentCache.FILE_NAME);
+        try (RandomAccessFile file = new RandomAccessFile(cacheFile, "rw")) {
+            file.setLength(file.length() / 2);
+        }
+
+        // test
+        final PropositionsSnapshot snapshot = persistentCache.load();
+
+        // verify
+        Assert.assertEquals(0, snapshot.size());
+        Assert.assertFalse(persistentCache.exists());
+    }
+
+    @Test
+    public void testLoad_emptyFile() throws Exception {
+        // setup
+        Assert.assertTrue(
+                new File(cacheDir, OptimizeConstants.PersistentCache.FILE_NAME).createNewFile());
+
+        // test
+        final PropositionsSnapshot snapshot = persistentCache.load();
+
+        // verify
+        Assert.assertEquals(0, snapshot.size());
+        Assert.assertFalse(persistentCache.exists());
+    }
+
+    @Test
+    public void testLoad_unsupportedFormatVersion() throws Exception {
+        // setup
+        persistentCache.save(loadPropositions("json/PROPOSITION_VALID_ODE.json"));
+        final File cacheFile = new File(cacheDir, OptimizeConstants.PersistentCache.FILE_NAME);
+        try (RandomAccessFile file = new RandomAccessFile(cacheFile, "rw")) {
+            file.seek(4);
+            file.writeInt(PersistentPropositionsCache.FORMAT_VERSION + 1);
+        }
+
+        // test
+        final PropositionsSnapshot snapshot = persistentCache.load();
+
+        // verify
+        Assert.assertEquals(0, snapshot.size());
+        Assert.assertFalse(persistentCache.exists());
+    }
+
+    @Test
+    public void testClear() throws Exception {
+        // setup
+        persistentCache.save(loadPropositions("json/PROPOSITION_VALID_ODE.json"));
+        Assert.assertTrue(persistentCache.exists());
+
+        // test
+        persistentCache.clear();
+
+        // verify
+        Assert.assertFalse(persistentCache.exists());
+        Assert.assertEquals(0, persistentCache.load().size());
+    }
+
+    private Map<DecisionScope, OptimizeProposition> loadPropositions(final String... fileNames)
+            throws Exception {
+        final Map<DecisionScope, OptimizeProposition> propositions = new HashMap<>();
+        for (final String fileName : fileNames) {
+            final Map<String, Object> propositionData =
+                    new ObjectMapper()
+                            .readValue(
+                                    getClass().getClassLoader().getResource(fileName),
+                                    HashMap.class);
+            final OptimizeProposition proposition =
+                    OptimizeProposition.fromEventData(propositionData);
+            Assert.assertNotNull(proposition);
+            propositions.put(new DecisionScope(proposition.getScope()), proposition);
+        }
+        return propositions;
+    }
+
+    private DecisionScope scopeOf(
+            final Map<DecisionScope, OptimizeProposition> propositions, final String fileName)
+            throws Exception {
+        final DecisionScope scope = loadPropositions(fileName).keySet().iterator().next();
+        Assert.assertTrue(propositions.containsKey(scope));
+        return scope;
+    }
+
+    private static int indexOf(final byte[] bytes, final byte[] target, final int fromIndex) {
+        for (int i = fromIndex; i <= bytes.length - target.length; i++) {
+            boolean found = true;
+            for (int j = 0; j < target.length && found; j++) {
+                found = bytes[i + j] == target[j];
+            }
+            if (found) {
+                return i - fromIndex;
+            }
+        }
+        return -1;
+    }
+}
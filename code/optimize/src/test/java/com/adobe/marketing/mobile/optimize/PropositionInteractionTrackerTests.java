@@ -0,0 +1,276 @@
+/*
+  Copyright 2025 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.optimize;
+
+import com.adobe.marketing.mobile.Event;
+import com.adobe.marketing.mobile.MobileCore;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mock;
+import org.mockito.MockedStatic;
+import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.Silent.class)
+@SuppressWarnings("unchecked")
+public class PropositionInteractionTrackerTests {
+    private static final String DISPLAY = "decisioning.propositionDisplay";
+    private static final String INTERACT = "decisioning.propositionInteract";
+
+    @Mock ScheduledExecutorService mockFlushScheduler;
+
+    private PropositionInteractionTracker tracker;
+
+    @Before
+    public void setup() {
+        tracker = new PropositionInteractionTracker();
+        tracker.setFlushScheduler(mockFlushScheduler);
+    }
+
+    @Test
+    public void testTrack_schedulesSingleFlushWithinInterval() {
+        try (MockedStatic<MobileCore> mobileCoreMockedStatic =
+                Mockito.mockStatic(MobileCore.class)) {
+            // setup
+            final OptimizeProposition proposition = createProposition("proposition1", "offer1");
+
+            // test
+            tracker.track(DISPLAY, proposition.getOffers().get(0));
+            tracker.track(INTERACT, proposition.getOffers().get(0));
+
+            // verify
+            Mockito.verify(mockFlushScheduler, Mockito.times(1))
+                    .schedule(
+                            ArgumentMatchers.any(Runnable.class),
+                            ArgumentMatchers.eq(OptimizeConstants.INTERACTIONS_FLUSH_INTERVAL),
+                            ArgumentMatchers.eq(TimeUnit.MILLISECONDS));
+            mobileCoreMockedStatic.verifyNoInteractions();
+            Assert.assertEquals(2, tracker.getPendingInteractionsCount());
+        }
+    }
+
+    @Test
+    public void testFlush_mergesInteractionsPerType() {
+        try (MockedStatic<MobileCore> mobileCoreMockedStatic =
+                Mockito.mockStatic(MobileCore.class)) {
+            // setup
+            final OptimizeProposition proposition1 =
+                    createProposition("proposition1", "offer1", "offer2");
+            final OptimizeProposition proposition2 = createProposition("proposition2", "offer3");
+            tracker.track(DISPLAY, proposition1.getOffers().get(0));
+            tracker.track(DISPLAY, proposition2.getOffers().get(0));
+            tracker.track(INTERACT, proposition2.getOffers().get(0));
+            tracker.track(DISPLAY, proposition1.getOffers().get(1));
+            tracker.track(DISPLAY, proposition1.getOffers().get(0));
+
+            // test
+            tracker.flush();
+
+            // verify
+            final ArgumentCaptor<Event> eventCaptor = ArgumentCaptor.forClass(Event.class);
+            mobileCoreMockedStatic.verify(
+                    () -> MobileCore.dispatchEvent(eventCaptor.capture()), Mockito.times(2));
+            final List<Event> dispatchedEvents = eventCaptor.getAllValues();
+
+            final Map<String, Object> displayXdm = getInteractionXdm(dispatchedEvents.get(0));
+            Assert.assertEquals(DISPLAY, displayXdm.get("eventType"));
+            final List<Map<String, Object>> displayedPropositions = getPropositions(displayXdm);
+            Assert.assertEquals(2, displayedPropositions.size());
+            Assert.assertEquals("proposition1", displayedPropositions.get(0).get("id"));
+            Assert.assertEquals(
+                    Arrays.asList("offer1", "offer2"), getItemIds(displayedPropositions.get(0)));
+            Assert.assertEquals("proposition2", displayedPropositions.get(1).get("id"));
+            Assert.assertEquals(
+                    Collections.singletonList("offer3"), getItemIds(displayedPropositions.get(1)));
+
+            final Map<String, Object> interactXdm = getInteractionXdm(dispatchedEvents.get(1));
+            Assert.assertEquals(INTERACT, interactXdm.get("eventType"));
+            final List<Map<String, Object>> interactedPropositions = getPropositions(interactXdm);
+            Assert.assertEquals(1, interactedPropositions.size());
+            Assert.assertEquals("proposition2", interactedPropositions.get(0).get("id"));
+
+            Assert.assertEquals(0, tracker.getPendingInteractionsCount());
+        }
+    }
+
+    @Test
+    public void testFlush_noPendingInteractions() {
+        try (MockedStatic<MobileCore> mobileCoreMockedStatic =
+                Mockito.mockStatic(MobileCore.class)) {
+            // test
+            tracker.flush();
+
+            // verify
+            mobileCoreMockedStatic.verifyNoInteractions();
+        }
+    }
+
+    @Test
+    public void testTrack_flushesOnSize() {
+        try (MockedStatic<MobileCore> mobileCoreMockedStatic =
+                Mockito.mockStatic(MobileCore.class)) {
+            // setup
+            final OptimizeProposition proposition = createProposition("proposition1", "offer1");
+
+            // test
+            for (int i = 0; i < OptimizeConstants.INTERACTIONS_FLUSH_SIZE; i++) {
+                tracker.track(DISPLAY, proposition.getOffers().get(0));
+            }
+
+            // verify
+            final ArgumentCaptor<Runnable> flushCaptor = ArgumentCaptor.forClass(Runnable.class);
+            Mockito.verify(mockFlushScheduler, Mockito.times(1)).execute(flushCaptor.capture());
+            flushCaptor.getValue().run();
+            mobileCoreMockedStatic.verify(
+                    () -> MobileCore.dispatchEvent(ArgumentMatchers.any(Event.class)),
+                    Mockito.times(1));
+            Assert.assertEquals(0, tracker.getPendingInteractionsCount());
+        }
+    }
+
+    @Test
+    public void testTrack_dispatchesImmediatelyWhenTooManyPending() {
+        try (MockedStatic<MobileCore> mobileCoreMockedStatic =
+                Mockito.mockStatic(MobileCore.class)) {
+            // setup
+            final OptimizeProposition proposition = createProposition("proposition1", "offer1");
+            for (int i = 0; i < OptimizeConstants.MAX_PENDING_INTERACTIONS; i++) {
+                tracker.track(DISPLAY, proposition.getOffers().get(0));
+            }
+            mobileCoreMockedStatic.verifyNoInteractions();
+
+            // test
+            tracker.track(INTERACT, proposition.getOffers().get(0));
+
+            // verify
+            final ArgumentCaptor<Event> eventCaptor = ArgumentCaptor.forClass(Event.class);
+            mobileCoreMockedStatic.verify(() -> MobileCore.dispatchEvent(eventCaptor.capture()));
+            Assert.assertEquals(
+                    INTERACT, getInteractionXdm(eventCaptor.getValue()).get("eventType"));
+            Assert.assertEquals(
+                    OptimizeConstants.MAX_PENDING_INTERACTIONS,
+                    tracker.getPendingInteractionsCount());
+        }
+    }
+
+    @Test
+    public void testTrack_offerWithoutProposition() {
+        try (MockedStatic<MobileCore> mobileCoreMockedStatic =
+                Mockito.mockStatic(MobileCore.class)) {
+            // setup
+            final Offer offer = new Offer.Builder("offer1", OfferType.TEXT, "text").build();
+
+            // test
+            tracker.track(DISPLAY, offer);
+            tracker.flush();
+
+            // verify
+            Mockito.verifyNoInteractions(mockFlushScheduler);
+            mobileCoreMockedStatic.verifyNoInteractions();
+            Assert.assertEquals(0, tracker.getPendingInteractionsCount());
+        }
+    }
+
+    @Test
+    public void testTrack_displayDeduplicationEnabled() {
+        try (MockedStatic<MobileCore> mobileCoreMockedStatic =
+                Mockito.mockStatic(MobileCore.class)) {
+            // setup
+            final OptimizeProposition proposition =
+                    createProposition("proposition1", "offer1", "offer2");
+            tracker.setDisplayDeduplicationEnabled(true);
+
+            // test
+            tracker.track(DISPLAY, proposition.getOffers().get(0));
+            tracker.track(DISPLAY, proposition.getOffers().get(0));
+            tracker.track(DISPLAY, proposition.getOffers().get(1));
+            tracker.track(INTERACT, proposition.getOffers().get(0));
+            tracker.track(INTERACT, proposition.getOffers().get(0));
+            tracker.track(DISPLAY, proposition.getOffers().get(1));
+
+            // verify
+            Assert.assertEquals(4, tracker.getPendingInteractionsCount());
+            Assert.assertEquals(2, tracker.getSuppressedDisplaysCount());
+
+            // test
+            tracker.resetDisplayedOffers();
+            tracker.track(DISPLAY, proposition.getOffers().get(0));
+
+            // verify
+            Assert.assertEquals(5, tracker.getPendingInteractionsCount());
+            Assert.assertEquals(2, tracker.getSuppressedDisplaysCount());
+        }
+    }
+
+    @Test
+    public void testTrack_displayDeduplicationDisabled() {
+        try (MockedStatic<MobileCore> mobileCoreMockedStatic =
+                Mockito.mockStatic(MobileCore.class)) {
+            // setup
+            final OptimizeProposition proposition = createProposition("proposition1", "offer1");
+
+            // test
+            tracker.track(DISPLAY, proposition.getOffers().get(0));
+            tracker.track(DISPLAY, proposition.getOffers().get(0));
+
+            // verify
+            Assert.assertEquals(2, tracker.getPendingInteractionsCount());
+            Assert.assertEquals(0, tracker.getSuppressedDisplaysCount());
+        }
+    }
+
+    private static OptimizeProposition createProposition(
+            final String propositionId, final String... offerIds) {
+        final List<Offer> offers = new ArrayList<>();
+        for (final String offerId : offerIds) {
+            offers.add(new Offer.Builder(offerId, OfferType.TEXT, "text").build());
+        }
+        return new OptimizeProposition(
+                propositionId,
+                offers,
+                "scope-" + propositionId,
+                Collections.<String, Object>emptyMap(),
+                null,
+                null);
+    }
+
+    private static Map<String, Object> getInteractionXdm(final Event event) {
+        Assert.assertEquals("trackpropositions", event.getEventData().get("requesttype"));
+        return (Map<String, Object>) event.getEventData().get("propositioninteractions");
+    }
+
+    private static List<Map<String, Object>> getPropositions(final Map<String, Object> xdm) {
+        final Map<String, Object> experience = (Map<String, Object>) xdm.get("_experience");
+        final Map<String, Object> decisioning = (Map<String, Object>) experience.get("decisioning");
+        return (List<Map<String, Object>>) decisioning.get("propositions");
+    }
+
+    private static List<String> getItemIds(final Map<String, Object> proposition) {
+        final List<String> itemIds = new ArrayList<>();
+        for (final Map<String, Object> item :
+                (List<Map<String, Object>>) proposition.get("items")) {
+            itemIds.add((String) item.get("id"));
+        }
+        return itemIds;
+    }
+}
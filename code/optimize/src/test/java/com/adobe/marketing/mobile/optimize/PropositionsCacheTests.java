@@ -0,0 +1,451 @@
+/*
+  Copyright 2025 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.optimize;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class PropositionsCacheTests {
+    private static final int CONTENT_LENGTH = 1000;
+
+    private PropositionsCache cache;
+    private long propositionSize;
+
+    @Before
+    public void setup() {
+        cache = new PropositionsCache();
+        propositionSize = PropositionsCache.estimateSize(createProposition(scopeName(0)));
+    }
+
+    @Test
+    public void testEstimateSize_includesOfferContent() {
+        // setup
+        final OptimizeProposition smallProposition = createProposition("scope", "content");
+        final OptimizeProposition largeProposition =
+                createProposition("scope", new String(new char[CONTENT_LENGTH]));
+
+        // test
+        final long smallSize = PropositionsCache.estimateSize(smallProposition);
+        final long largeSize = PropositionsCache.estimateSize(largeProposition);
+
+        // verify
+        Assert.assertTrue(smallSize > 0);
+        Assert.assertEquals(2L * (CONTENT_LENGTH - "content".length()), largeSize - smallSize);
+    }
+
+    @Test
+    public void testPut_unbounded() {
+        // test
+        for (int i = 0; i < 100; i++) {
+            cache.put(new DecisionScope(scopeName(i)), createProposition(scopeName(i)));
+        }
+
+        // verify
+        Assert.assertEquals(100, cache.size());
+        Assert.assertEquals(100 * propositionSize, cache.getSizeInBytes());
+        Assert.assertEquals(0, cache.getMaxSizeInBytes());
+        Assert.assertEquals(0, cache.getEvictionCount());
+    }
+
+    @Test
+    public void testPut_evictsToStayWithinMaxSize() {
+        // setup
+        cache.setMaxSizeInBytes(10 * propositionSize);
+
+        // test
+        for (int i = 0; i < 50; i++) {
+            cache.put(new DecisionScope(scopeName(i)), createProposition(scopeName(i)));
+        }
+
+        // verify
+        Assert.assertTrue(cache.getSizeInBytes() <= 10 * propositionSize);
+        Assert.assertEquals(10, cache.size());
+        Assert.assertEquals(40, cache.getEvictionCount());
+    }
+
+    @Test
+    public void testPut_frequentlyAccessedPropositionIsRetained() {
+        // setup
+        cache.setMaxSizeInBytes(10 * propositionSize);
+        final DecisionScope hotScope = new DecisionScope("scope-hot");
+        cache.put(hotScope, createProposition("scope-hot"));
+        for (int i = 0; i < 5; i++) {
+            Assert.assertNotNull(cache.get(hotScope));
+        }
+
+        // test
+        for (int i = 0; i < 100; i++) {
+            cache.put(new DecisionScope(scopeName(i)), createProposition(scopeName(i)));
+        }
+
+        // verify
+        Assert.assertTrue(cache.containsKey(hotScope));
+        Assert.assertTrue(cache.getSizeInBytes() <= 10 * propositionSize);
+    }
+
+    @Test
+    public void testPut_frequentlyRequestedPropositionIsAdmitted() {
+        // setup
+        cache.setMaxSizeInBytes(10 * propositionSize);
+        for (int i = 0; i < 20; i++) {
+            cache.put(new DecisionScope(scopeName(i)), createProposition(scopeName(i)));
+        }
+        final DecisionScope newScope = new DecisionScope("new-scope");
+        for (int i = 0; i < 4; i++) {
+            Assert.assertNull(cache.get(newScope));
+        }
+
+        // test
+        cache.put(newScope, createProposition("new-scope"));
+
+        // verify
+        Assert.assertTrue(cache.containsKey(newScope));
+        Assert.assertEquals(10, cache.size());
+    }
+
+    @Test
+    public void testPut_replacesProposition() {
+        // setup
+        final DecisionScope scope = new DecisionScope("scope");
+        cache.put(scope, createProposition("scope", "content"));
+        final OptimizeProposition proposition =
+                createProposition("scope", new String(new char[CONTENT_LENGTH]));
+
+        // test
+        cache.put(scope, proposition);
+
+        // verify
+        Assert.assertEquals(1, cache.size());
+        Assert.assertEquals(proposition, cache.get(scope));
+        Assert.assertEquals(PropositionsCache.estimateSize(proposition), cache.getSizeInBytes());
+    }
+
+    @Test
+    public void testSetMaxSizeInBytes_evictsExceedingPropositions() {
+        // setup
+        for (int i = 0; i < 20; i++) {
+            cache.put(new DecisionScope(scopeName(i)), createProposition(scopeName(i)));
+        }
+
+        // test
+        cache.setMaxSizeInBytes(5 * propositionSize);
+
+        // verify
+        Assert.assertEquals(5, cache.size());
+        Assert.assertEquals(15, cache.getEvictionCount());
+        Assert.assertEquals(5 * propositionSize, cache.getSizeInBytes());
+    }
+
+    @Test
+    public void testRemove() {
+        // setup
+        final DecisionScope scope = new DecisionScope("scope");
+        final OptimizeProposition proposition = createProposition("scope");
+        cache.put(scope, proposition);
+
+        // test
+        Assert.assertFalse(cache.remove(scope, createProposition("other-scope")));
+        Assert.assertTrue(cache.remove(scope, proposition));
+
+        // verify
+        Assert.assertTrue(cache.isEmpty());
+        Assert.assertEquals(0, cache.getSizeInBytes());
+        Assert.assertEquals(0, cache.getEvictionCount());
+    }
+
+    @Test
+    public void testEntrySet_isCopy() {
+        // setup
+        final Map<DecisionScope, OptimizeProposition> propositions = new HashMap<>();
+        for (int i = 0; i < 3; i++) {
+            propositions.put(new DecisionScope(scopeName(i)), createProposition(scopeName(i)));
+        }
+        cache.putAll(propositions);
+
+        // test
+        for (final Map.Entry<DecisionScope, OptimizeProposition> entry : cache.entrySet()) {
+            cache.remove(entry.getKey());
+        }
+
+        // verify
+        Assert.assertTrue(cache.isEmpty());
+        Assert.assertEquals(0, cache.getSizeInBytes());
+    }
+
+    @Test
+    public void testClear() {
+        // setup
+        cache.setMaxSizeInBytes(2 * propositionSize);
+        for (int i = 0; i < 3; i++) {
+            cache.put(new DecisionScope(scopeName(i)), createProposition(scopeName(i)));
+        }
+
+        // test
+        cache.clear();
+
+        // verify
+        Assert.assertTrue(cache.isEmpty());
+        Assert.assertEquals(0, cache.getSizeInBytes());
+        Assert.assertEquals(1, cache.getEvictionCount());
+    }
+
+    @Test
+    public void testGetSnapshot_publishesGenerationOnModification() {
+        // setup
+        final DecisionScope scope = new DecisionScope("scope");
+        final PropositionsCache.Snapshot initialSnapshot = cache.getSnapshot();
+
+        // test
+        cache.put(scope, createProposition("scope"));
+
+        // verify
+        final PropositionsCache.Snapshot snapshot = cache.getSnapshot();
+        Assert.assertTrue(initialSnapshot.getPropositions().isEmpty());
+        Assert.assertEquals(initialSnapshot.getGeneration() + 1, snapshot.getGeneration());
+        Assert.assertNotNull(snapshot.get(scope));
+        Assert.assertTrue(cache.hasChangedSince(initialSnapshot.getGeneration()));
+        Assert.assertFalse(cache.hasChangedSince(snapshot.getGeneration()));
+
+        // removing an uncached scope does not publish a new generation.
+        cache.remove(new DecisionScope("other-scope"));
+        Assert.assertSame(snapshot, cache.getSnapshot());
+    }
+
+    @Test
+    public void testGetSnapshot_isImmutable() {
+        // setup
+        final DecisionScope scope = new DecisionScope("scope");
+        cache.put(scope, createProposition("scope"));
+        final PropositionsCache.Snapshot snapshot = cache.getSnapshot();
+
+        // test
+        cache.remove(scope);
+
+        // verify
+        Assert.assertNotNull(snapshot.get(scope));
+        Assert.assertNull(cache.getSnapshot().get(scope));
+        try {
+            snapshot.getPropositions().remove(scope);
+            Assert.fail("Snapshot propositions should not be modifiable.");
+        } catch (final UnsupportedOperationException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testUpdate_publishesSingleGeneration() {
+        // setup
+        final Map<DecisionScope, OptimizeProposition> propositions = new HashMap<>();
+        for (int i = 0; i < 3; i++) {
+            cache.put(new DecisionScope(scopeName(i)), createProposition(scopeName(i)));
+        }
+        for (int i = 3; i < 6; i++) {
+            propositions.put(new DecisionScope(scopeName(i)), createProposition(scopeName(i)));
+        }
+        final long generation = cache.getGeneration();
+
+        // test
+        cache.update(
+                propositions,
+                Arrays.asList(new DecisionScope(scopeName(0)), new DecisionScope(scopeName(1))));
+
+        // verify
+        final PropositionsCache.Snapshot snapshot = cache.getSnapshot();
+        Assert.assertEquals(generation + 1, snapshot.getGeneration());
+        Assert.assertEquals(4, snapshot.getPropositions().size());
+        Assert.assertNull(snapshot.get(new DecisionScope(scopeName(0))));
+        Assert.assertNull(snapshot.get(new DecisionScope(scopeName(1))));
+        Assert.assertNotNull(snapshot.get(new DecisionScope(scopeName(2))));
+        Assert.assertNotNull(snapshot.get(new DecisionScope(scopeName(5))));
+        Assert.assertEquals(4 * propositionSize, cache.getSizeInBytes());
+    }
+
+    @Test
+    public void testPutAllIfAbsent_publishesSingleGeneration() {
+        // setup
+        final OptimizeProposition cachedProposition = createProposition(scopeName(0));
+        cache.put(new DecisionScope(scopeName(0)), cachedProposition);
+        final Map<DecisionScope, OptimizeProposition> propositions = new HashMap<>();
+        for (int i = 0; i < 3; i++) {
+            propositions.put(new DecisionScope(scopeName(i)), createProposition(scopeName(i)));
+        }
+        final long generation = cache.getGeneration();
+
+        // test
+        final Map<DecisionScope, OptimizeProposition> cachedPropositions =
+                cache.putAllIfAbsent(propositions);
+
+        // verify
+        Assert.assertEquals(generation + 1, cache.getGeneration());
+        Assert.assertEquals(3, cache.size());
+        Assert.assertEquals(3, cachedPropositions.size());
+        Assert.assertSame(
+                cachedProposition, cachedPropositions.get(new DecisionScope(scopeName(0))));
+        Assert.assertSame(cachedProposition, cache.get(new DecisionScope(scopeName(0))));
+        Assert.assertSame(
+                propositions.get(new DecisionScope(scopeName(1))),
+                cachedPropositions.get(new DecisionScope(scopeName(1))));
+        Assert.assertSame(
+                propositions.get(new DecisionScope(scopeName(2))),
+                cache.get(new DecisionScope(scopeName(2))));
+    }
+
+    @Test
+    public void testRemoveAll_removesOnlyStillCachedPropositions() {
+        // setup
+        final Map<DecisionScope, OptimizeProposition> propositions = new HashMap<>();
+        for (int i = 0; i < 3; i++) {
+            final OptimizeProposition proposition = createProposition(scopeName(i));
+            cache.put(new DecisionScope(scopeName(i)), proposition);
+            propositions.put(new DecisionScope(scopeName(i)), proposition);
+        }
+        final OptimizeProposition replacedProposition = createProposition(scopeName(1), "new");
+        cache.put(new DecisionScope(scopeName(1)), replacedProposition);
+        final long generation = cache.getGeneration();
+
+        // test
+        cache.removeAll(propositions);
+
+        // verify
+        Assert.assertEquals(generation + 1, cache.getGeneration());
+        Assert.assertEquals(1, cache.size());
+        Assert.assertSame(replacedProposition, cache.get(new DecisionScope(scopeName(1))));
+    }
+
+    @Test
+    public void testRemoveExpired() {
+        // setup
+        final long now = System.currentTimeMillis();
+        final OptimizeProposition expiredProposition = createProposition(scopeName(0));
+        expiredProposition.setExpiryTime(now - 1000);
+        final OptimizeProposition activeProposition = createProposition(scopeName(1));
+        activeProposition.setExpiryTime(now + 60000);
+        cache.put(new DecisionScope(scopeName(0)), expiredProposition);
+        cache.put(new DecisionScope(scopeName(1)), activeProposition);
+        cache.put(new DecisionScope(scopeName(2)), createProposition(scopeName(2)));
+        final long generation = cache.getGeneration();
+
+        // test
+        final int removedCount = cache.removeExpired(now);
+
+        // verify
+        Assert.assertEquals(1, removedCount);
+        Assert.assertEquals(generation + 1, cache.getGeneration());
+        Assert.assertFalse(cache.containsKey(new DecisionScope(scopeName(0))));
+        Assert.assertEquals(2, cache.size());
+        Assert.assertEquals(0, cache.removeExpired(now));
+        Assert.assertEquals(generation + 1, cache.getGeneration());
+    }
+
+    @Test
+    public void testRecordAccess_frequentlyReadPropositionIsRetained() {
+        // setup
+        cache.setMaxSizeInBytes(10 * propositionSize);
+        final DecisionScope hotScope = new DecisionScope("scope-hot");
+        cache.put(hotScope, createProposition("scope-hot"));
+        for (int i = 0; i < 5; i++) {
+            Assert.assertNotNull(cache.getSnapshot().get(hotScope));
+            cache.recordAccess(hotScope);
+        }
+
+        // test
+        for (int i = 0; i < 100; i++) {
+            cache.put(new DecisionScope(scopeName(i)), createProposition(scopeName(i)));
+        }
+
+        // verify
+        Assert.assertTrue(cache.containsKey(hotScope));
+        Assert.assertTrue(cache.getSizeInBytes() <= 10 * propositionSize);
+    }
+
+    @Test
+    public void testGetSnapshot_consistentWithConcurrentUpdates() throws Exception {
+        // setup
+        final int scopesCount = 10;
+        final AtomicBoolean torn = new AtomicBoolean(false);
+        final AtomicBoolean done = new AtomicBoolean(false);
+        final Thread reader =
+                new Thread(
+                        () -> {
+                            while (!done.get()) {
+                                final PropositionsCache.Snapshot snapshot = cache.getSnapshot();
+                                final Set<String> ids = new HashSet<>();
+                                for (final OptimizeProposition proposition :
+                                        snapshot.getPropositions().values()) {
+                                    ids.add(proposition.getId().split("#")[1]);
+                                }
+                                if (ids.size() > 1) {
+                                    torn.set(true);
+                                }
+                            }
+                        });
+        reader.start();
+
+        // test
+        for (int generation = 0; generation < 500; generation++) {
+            final Map<DecisionScope, OptimizeProposition> propositions = new HashMap<>();
+            for (int i = 0; i < scopesCount; i++) {
+                propositions.put(
+                        new DecisionScope(scopeName(i)),
+                        new OptimizeProposition(
+                                scopeName(i) + "#" + generation,
+                                new ArrayList<>(
+                                        Arrays.asList(
+                                                new Offer.Builder(
+                                                                "offer-id",
+                                                                OfferType.HTML,
+                                                                "content")
+                                                        .build())),
+                                scopeName(i),
+                                null,
+                                null,
+                                null));
+            }
+            cache.update(propositions, Collections.<DecisionScope>emptyList());
+        }
+        done.set(true);
+        reader.join();
+
+        // verify
+        Assert.assertFalse(torn.get());
+        Assert.assertEquals(scopesCount, cache.size());
+    }
+
+    private static String scopeName(final int index) {
+        return String.format("scope-%03d", index);
+    }
+
+    private static OptimizeProposition createProposition(final String scope) {
+        return createProposition(scope, new String(new char[CONTENT_LENGTH]));
+    }
+
+    private static OptimizeProposition createProposition(final String scope, final String content) {
+        return new OptimizeProposition(
+                "id-" + scope,
+                new ArrayList<>(
+                        Arrays.asList(
+                                new Offer.Builder("offer-id", OfferType.HTML, content).build())),
+                scope,
+                null,
+                null,
+                null);
+    }
+}
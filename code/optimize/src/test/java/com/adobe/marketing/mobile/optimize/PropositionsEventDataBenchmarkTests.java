@@ -0,0 +1,113 @@
+/*
+  Copyright 2025 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.optimize;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Test;
+
+/**
+ * Allocation benchmark comparing the event data created for a get propositions response from the
+ * memoized proposition event data against rebuilding it for every response.
+ *
+ * <p>Each iteration simulates a get propositions response for {@value #SCOPES_COUNT} cached scopes
+ * with a varying number of offers per proposition.
+ */
+public class PropositionsEventDataBenchmarkTests {
+    private static final int SCOPES_COUNT = 10;
+    private static final int WARMUP_ITERATIONS = 50;
+    private static final int MEASURED_ITERATIONS = 200;
+
+    @Test
+    public void testGetResponseAllocation_memoizedVersusRebuiltEventData() {
+        final ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+        Assume.assumeTrue(threadBean instanceof com.sun.management.ThreadMXBean);
+        final com.sun.management.ThreadMXBean allocationBean =
+                (com.sun.management.ThreadMXBean) threadBean;
+        Assume.assumeTrue(allocationBean.isThreadAllocatedMemorySupported());
+        allocationBean.setThreadAllocatedMemoryEnabled(true);
+
+        for (final int offersCount : new int[] {1, 10, 100}) {
+            // setup
+            final List<OptimizeProposition> propositions = createPropositions(offersCount);
+
+            // test
+            final long rebuiltBytes = measureAllocatedBytes(allocationBean, propositions, false);
+            final long memoizedBytes = measureAllocatedBytes(allocationBean, propositions, true);
+
+            // verify
+            System.out.printf(
+                    "Get response for %d scopes with %d offers each, allocated bytes per get:"
+                            + " rebuilt %d, memoized %d%n",
+                    SCOPES_COUNT, offersCount, rebuiltBytes, memoizedBytes);
+            Assert.assertTrue(memoizedBytes < rebuiltBytes);
+            for (final OptimizeProposition proposition : propositions) {
+                Assert.assertSame(proposition.toEventData(), proposition.toEventData());
+                Assert.assertEquals(proposition.createEventData(), proposition.toEventData());
+            }
+        }
+    }
+
+    private long measureAllocatedBytes(
+            final com.sun.management.ThreadMXBean allocationBean,
+            final List<OptimizeProposition> propositions,
+            final boolean memoized) {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            createResponse(propositions, memoized);
+        }
+
+        final long threadId = Thread.currentThread().getId();
+        final long start = allocationBean.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            createResponse(propositions, memoized);
+        }
+        return (allocationBean.getThreadAllocatedBytes(threadId) - start) / MEASURED_ITERATIONS;
+    }
+
+    private static List<Map<String, Object>> createResponse(
+            final List<OptimizeProposition> propositions, final boolean memoized) {
+        final List<Map<String, Object>> propositionsList = new ArrayList<>(propositions.size());
+        for (final OptimizeProposition proposition : propositions) {
+            if (memoized) {
+                propositionsList.add(proposition.toEventData());
+            } else {
+                // rebuild the proposition and offers event data, as done for every get
+                // propositions response without memoization.
+                for (final Offer offer : proposition.getOffers()) {
+                    offer.createEventData();
+                }
+                propositionsList.add(proposition.createEventData());
+            }
+        }
+        return propositionsList;
+    }
+
+    private static List<OptimizeProposition> createPropositions(final int offersCount) {
+        final List<OptimizeProposition> propositions = new ArrayList<>();
+        for (int i = 0; i < SCOPES_COUNT; i++) {
+            final List<Offer> offers = new ArrayList<>();
+            for (int j = 0; j < offersCount; j++) {
+                offers.add(
+                        new Offer.Builder("offer-" + j, OfferType.HTML, "<p>offer " + j + "</p>")
+                                .build());
+            }
+            propositions.add(
+                    new OptimizeProposition("id-" + i, offers, "scope-" + i, null, null, null));
+        }
+        return propositions;
+    }
+}
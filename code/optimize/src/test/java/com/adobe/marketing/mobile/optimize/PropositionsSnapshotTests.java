@@ -0,0 +1,233 @@
+/*
+  Copyright 2025 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.optimize;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+import org.junit.Assert;
+import org.junit.Test;
+
+@SuppressWarnings("unchecked")
+public class PropositionsSnapshotTests {
+
+    @Test
+    public void testEncodeDecode_validProposition() throws Exception {
+        // setup
+        final OptimizeProposition proposition =
+                loadProposition("json/PROPOSITION_VALID_WITH_SCOPE_DETAILS.json");
+        proposition.setExpiryTime(1234567890123L);
+
+        // test
+        final OptimizeProposition decodedProposition =
+                PropositionsSnapshot.decode(
+                        ByteBuffer.wrap(PropositionsSnapshot.encode(proposition)));
+
+        // verify
+        Assert.assertEquals(proposition, decodedProposition);
+        Assert.assertEquals(
+                decodedProposition, decodedProposition.getOffers().get(0).getProposition());
+        Assert.assertEquals(1234567890123L, decodedProposition.getExpiryTime());
+    }
+
+    @Test
+    public void testEncodeDecode_defaultContentOffer() throws Exception {
+        // setup
+        final Map<String, Object> offerData =
+                new ObjectMapper()
+                        .readValue(
+                                getClass()
+                                        .getClassLoader()
+                                        .getResource(
+                                                "json/OFFER_VALID_DEFAULT_CONTENT_TARGET.json"),
+                                HashMap.class);
+        final Offer offer = Offer.fromEventData(offerData);
+        Assert.assertNotNull(offer);
+        final OptimizeProposition proposition =
+                new OptimizeProposition(
+                        "test-id",
+                        new ArrayList<>(Arrays.asList(offer)),
+                        "test-scope",
+                        null,
+                        null,
+                        null);
+
+        // test
+        final OptimizeProposition decodedProposition =
+                PropositionsSnapshot.decode(
+                        ByteBuffer.wrap(PropositionsSnapshot.encode(proposition)));
+
+        // verify
+        Assert.assertEquals(proposition, decodedProposition);
+        final Offer decodedOffer = decodedProposition.getOffers().get(0);
+        Assert.assertNull(decodedOffer.getEtag());
+        Assert.assertNull(decodedOffer.getLanguage());
+        Assert.assertNull(decodedOffer.getCharacteristics());
+        Assert.assertEquals(OfferType.UNKNOWN, decodedOffer.getType());
+    }
+
+    @Test
+    public void testEncodeDecode_nestedValues() throws Exception {
+        // setup
+        final Map<String, Object> nested = new HashMap<>();
+        nested.put("string", "value");
+        nested.put("boolean", true);
+        nested.put("int", 7);
+        nested.put("long", 7000000000L);
+        nested.put("double", 1.5);
+        nested.put("null", null);
+        nested.put("list", new ArrayList<Object>(Arrays.asList("a", 1, false)));
+        final Map<String, Object> scopeDetails = new HashMap<>();
+        scopeDetails.put("nested", nested);
+
+        final OptimizeProposition proposition =
+                new OptimizeProposition(
+                        "test-id",
+                        new ArrayList<>(
+                                Arrays.asList(
+                                        new Offer.Builder("offer-id", OfferType.JSON, "{}")
+                                                .setScore(2.5)
+                                                .setLanguage(Arrays.asList("en-us"))
+                                                .build())),
+                        "test-scope",
+                        scopeDetails,
+                        null,
+                        null);
+
+        // test
+        final OptimizeProposition decodedProposition =
+                PropositionsSnapshot.decode(
+                        ByteBuffer.wrap(PropositionsSnapshot.encode(proposition)));
+
+        // verify
+        Assert.assertEquals(proposition, decodedProposition);
+        Assert.assertEquals(scopeDetails, decodedProposition.getScopeDetails());
+    }
+
+    @Test
+    public void testGet_truncatedProposition() throws Exception {
+        // setup
+        final OptimizeProposition proposition = loadProposition("json/PROPOSITION_VALID_ODE.json");
+        final byte[] encoded = PropositionsSnapshot.encode(proposition);
+        final byte[] truncated = Arrays.copyOf(encoded, encoded.length / 2);
+        final CRC32 crc = new CRC32();
+        crc.update(truncated, 0, truncated.length);
+        final DecisionScope scope = new DecisionScope(proposition.getScope());
+        final Map<DecisionScope, PropositionsSnapshot.Entry> entries = new HashMap<>();
+        entries.put(scope, new PropositionsSnapshot.Entry(0, truncated.length, crc.getValue()));
+        final PropositionsSnapshot snapshot =
+                new PropositionsSnapshot(ByteBuffer.wrap(truncated), entries);
+
+        // test
+        final OptimizeProposition decodedProposition = snapshot.get(scope);
+
+        // verify
+        Assert.assertNull(decodedProposition);
+        Assert.assertFalse(snapshot.contains(scope));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDecode_trailingBytes() throws Exception {
+        // setup
+        final byte[] encoded =
+                PropositionsSnapshot.encode(loadProposition("json/PROPOSITION_VALID_ODE.json"));
+
+        // test
+        PropositionsSnapshot.decode(ByteBuffer.wrap(Arrays.copyOf(encoded, encoded.length + 1)));
+    }
+
+    @Test
+    public void testGet_decodesRequestedScope() throws Exception {
+        // setup
+        final OptimizeProposition odeProposition =
+                loadProposition("json/PROPOSITION_VALID_ODE.json");
+        final OptimizeProposition targetProposition =
+                loadProposition("json/PROPOSITION_VALID_TARGET.json");
+        final PropositionsSnapshot snapshot = createSnapshot(odeProposition, targetProposition);
+
+        // test
+        final OptimizeProposition decodedProposition =
+                snapshot.get(new DecisionScope(targetProposition.getScope()));
+
+        // verify
+        Assert.assertEquals(targetProposition, decodedProposition);
+        Assert.assertEquals(2, snapshot.size());
+        Assert.assertNull(snapshot.get(new DecisionScope("unknown-scope")));
+    }
+
+    @Test
+    public void testGet_checksumMismatch() throws Exception {
+        // setup
+        final OptimizeProposition proposition = loadProposition("json/PROPOSITION_VALID_ODE.json");
+        final byte[] encoded = PropositionsSnapshot.encode(proposition);
+        final DecisionScope scope = new DecisionScope(proposition.getScope());
+        final Map<DecisionScope, PropositionsSnapshot.Entry> entries = new HashMap<>();
+        entries.put(scope, new PropositionsSnapshot.Entry(0, encoded.length, 0L));
+        final PropositionsSnapshot snapshot =
+                new PropositionsSnapshot(ByteBuffer.wrap(encoded), entries);
+
+        // test
+        final OptimizeProposition decodedProposition = snapshot.get(scope);
+
+        // verify
+        Assert.assertNull(decodedProposition);
+        Assert.assertFalse(snapshot.contains(scope));
+    }
+
+    @Test
+    public void testRemove() throws Exception {
+        // setup
+        final OptimizeProposition proposition = loadProposition("json/PROPOSITION_VALID_ODE.json");
+        final PropositionsSnapshot snapshot = createSnapshot(proposition);
+        final DecisionScope scope = new DecisionScope(proposition.getScope());
+        Assert.assertTrue(snapshot.contains(scope));
+
+        // test
+        snapshot.remove(scope);
+
+        // verify
+        Assert.assertFalse(snapshot.contains(scope));
+        Assert.assertNull(snapshot.get(scope));
+        Assert.assertTrue(snapshot.getAll().isEmpty());
+    }
+
+    private PropositionsSnapshot createSnapshot(final OptimizeProposition... propositions)
+            throws Exception {
+        final Map<DecisionScope, PropositionsSnapshot.Entry> entries = new HashMap<>();
+        final ByteArrayOutputStream data = new ByteArrayOutputStream();
+        for (final OptimizeProposition proposition : propositions) {
+            final byte[] encoded = PropositionsSnapshot.encode(proposition);
+            final CRC32 crc = new CRC32();
+            crc.update(encoded, 0, encoded.length);
+            entries.put(
+                    new DecisionScope(proposition.getScope()),
+                    new PropositionsSnapshot.Entry(data.size(), encoded.length, crc.getValue()));
+            data.write(encoded, 0, encoded.length);
+        }
+        return new PropositionsSnapshot(ByteBuffer.wrap(data.toByteArray()), entries);
+    }
+
+    private OptimizeProposition loadProposition(final String fileName) throws Exception {
+        final Map<String, Object> propositionData =
+                new ObjectMapper()
+                        .readValue(
+                                getClass().getClassLoader().getResource(fileName), HashMap.class);
+        final OptimizeProposition proposition = OptimizeProposition.fromEventData(propositionData);
+        Assert.assertNotNull(proposition);
+        return proposition;
+    }
+}
@@ -0,0 +1,137 @@
+/*
+  Copyright 2025 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.optimize;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Allocation benchmark comparing the in-progress check of {@value #GETS_COUNT} get propositions
+ * requests against the scopes in progress index, with a set of in-progress scopes rebuilt from the
+ * {@value #UPDATES_IN_PROGRESS_COUNT} updates in progress for every request.
+ */
+public class ScopesInProgressBenchmarkTests {
+    private static final int UPDATES_IN_PROGRESS_COUNT = 100;
+    private static final int SCOPES_PER_UPDATE_COUNT = 10;
+    private static final int GETS_COUNT = 1000;
+    private static final int SCOPES_PER_GET_COUNT = 5;
+
+    private ScopesInProgress scopesInProgress;
+
+    @Before
+    public void setup() {
+        scopesInProgress = new ScopesInProgress();
+    }
+
+    @Test
+    public void testContainsAny_indexedVersusRebuiltSet() {
+        final ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+        Assume.assumeTrue(threadBean instanceof com.sun.management.ThreadMXBean);
+        final com.sun.management.ThreadMXBean allocationBean =
+                (com.sun.management.ThreadMXBean) threadBean;
+        Assume.assumeTrue(allocationBean.isThreadAllocatedMemorySupported());
+        allocationBean.setThreadAllocatedMemoryEnabled(true);
+
+        // setup
+        final Map<String, List<DecisionScope>> updateRequestEventIdsInProgress = new HashMap<>();
+        for (int i = 0; i < UPDATES_IN_PROGRESS_COUNT; i++) {
+            final List<DecisionScope> scopes = new ArrayList<>();
+            for (int j = 0; j < SCOPES_PER_UPDATE_COUNT; j++) {
+                scopes.add(new DecisionScope("update-" + i + "-scope-" + j));
+            }
+            updateRequestEventIdsInProgress.put("update-" + i, scopes);
+            scopesInProgress.add(scopes);
+        }
+        final List<List<DecisionScope>> getScopes = new ArrayList<>();
+        for (int i = 0; i < GETS_COUNT; i++) {
+            final List<DecisionScope> scopes = new ArrayList<>();
+            for (int j = 0; j < SCOPES_PER_GET_COUNT; j++) {
+                scopes.add(new DecisionScope("get-" + i + "-scope-" + j));
+            }
+            getScopes.add(scopes);
+        }
+
+        // warm up
+        for (int i = 0; i < 10; i++) {
+            runRebuiltSetGets(updateRequestEventIdsInProgress, getScopes);
+            runIndexedGets(getScopes);
+        }
+
+        // test
+        final long threadId = Thread.currentThread().getId();
+        long startBytes = allocationBean.getThreadAllocatedBytes(threadId);
+        long startTime = System.nanoTime();
+        final int rebuiltInProgressCount =
+                runRebuiltSetGets(updateRequestEventIdsInProgress, getScopes);
+        final long rebuiltNanos = System.nanoTime() - startTime;
+        final long rebuiltBytes = allocationBean.getThreadAllocatedBytes(threadId) - startBytes;
+
+        startBytes = allocationBean.getThreadAllocatedBytes(threadId);
+        startTime = System.nanoTime();
+        final int indexedInProgressCount = runIndexedGets(getScopes);
+        final long indexedNanos = System.nanoTime() - startTime;
+        final long indexedBytes = allocationBean.getThreadAllocatedBytes(threadId) - startBytes;
+
+        // verify
+        System.out.printf(
+                "%d gets with %d updates in progress: rebuilt set %d us, %d bytes; indexed %d us,"
+                        + " %d bytes%n",
+                GETS_COUNT,
+                UPDATES_IN_PROGRESS_COUNT,
+                rebuiltNanos / 1000,
+                rebuiltBytes,
+                indexedNanos / 1000,
+                indexedBytes);
+        Assert.assertEquals(rebuiltInProgressCount, indexedInProgressCount);
+        Assert.assertTrue(indexedBytes < rebuiltBytes);
+    }
+
+    private static int runRebuiltSetGets(
+            final Map<String, List<DecisionScope>> updateRequestEventIdsInProgress,
+            final List<List<DecisionScope>> getScopes) {
+        int inProgressCount = 0;
+        for (final List<DecisionScope> scopes : getScopes) {
+            final Set<DecisionScope> scopesInProgress = new HashSet<>();
+            for (final List<DecisionScope> updatingScopes :
+                    updateRequestEventIdsInProgress.values()) {
+                scopesInProgress.addAll(updatingScopes);
+            }
+            for (final DecisionScope scope : scopes) {
+                if (scopesInProgress.contains(scope)) {
+                    inProgressCount++;
+                    break;
+                }
+            }
+        }
+        return inProgressCount;
+    }
+
+    private int runIndexedGets(final List<List<DecisionScope>> getScopes) {
+        int inProgressCount = 0;
+        for (int i = 0; i < getScopes.size(); i++) {
+            if (scopesInProgress.containsAny(getScopes.get(i))) {
+                inProgressCount++;
+            }
+        }
+        return inProgressCount;
+    }
+}
@@ -0,0 +1,81 @@
+/*
+  Copyright 2025 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.optimize;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ScopesInProgressTests {
+    private ScopesInProgress scopesInProgress;
+
+    @Before
+    public void setup() {
+        scopesInProgress = new ScopesInProgress();
+    }
+
+    @Test
+    public void testContainsAny() {
+        // setup
+        final DecisionScope scope1 = new DecisionScope("scope1");
+        final DecisionScope scope2 = new DecisionScope("scope2");
+        final DecisionScope scope3 = new DecisionScope("scope3");
+
+        // test
+        scopesInProgress.add(Arrays.asList(scope1, scope2));
+
+        // verify
+        Assert.assertTrue(scopesInProgress.containsAny(Arrays.asList(scope3, scope2)));
+        Assert.assertFalse(scopesInProgress.containsAny(Collections.singletonList(scope3)));
+        Assert.assertFalse(scopesInProgress.containsAny(Collections.<DecisionScope>emptyList()));
+        Assert.assertEquals(
+                Collections.singleton(scope1),
+                scopesInProgress.retainInProgress(Arrays.asList(scope1, scope3)));
+    }
+
+    @Test
+    public void testRemove_scopeRequestedByOtherUpdateRemainsInProgress() {
+        // setup
+        final DecisionScope scope1 = new DecisionScope("scope1");
+        final DecisionScope scope2 = new DecisionScope("scope2");
+        final List<DecisionScope> update1Scopes = Arrays.asList(scope1, scope2);
+        final List<DecisionScope> update2Scopes = Collections.singletonList(scope2);
+        scopesInProgress.add(update1Scopes);
+        scopesInProgress.add(update2Scopes);
+
+        // test
+        scopesInProgress.remove(update1Scopes);
+
+        // verify
+        Assert.assertFalse(scopesInProgress.contains(scope1));
+        Assert.assertTrue(scopesInProgress.contains(scope2));
+
+        scopesInProgress.remove(update2Scopes);
+        Assert.assertFalse(scopesInProgress.contains(scope2));
+        Assert.assertTrue(scopesInProgress.isEmpty());
+    }
+
+    @Test
+    public void testRemove_notInProgress() {
+        // setup
+        final DecisionScope scope = new DecisionScope("scope");
+
+        // test
+        scopesInProgress.remove(Collections.singletonList(scope));
+
+        // verify
+        Assert.assertTrue(scopesInProgress.isEmpty());
+    }
+}
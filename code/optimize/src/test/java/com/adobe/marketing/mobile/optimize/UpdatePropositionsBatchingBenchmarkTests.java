@@ -0,0 +1,216 @@
+/*
+  Copyright 2025 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+
+package com.adobe.marketing.mobile.optimize;
+
+import android.util.Base64;
+import com.adobe.marketing.mobile.AdobeCallbackWithError;
+import com.adobe.marketing.mobile.Event;
+import com.adobe.marketing.mobile.ExtensionApi;
+import com.adobe.marketing.mobile.MobileCore;
+import com.adobe.marketing.mobile.SharedStateResolution;
+import com.adobe.marketing.mobile.SharedStateResult;
+import com.adobe.marketing.mobile.SharedStateStatus;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mock;
+import org.mockito.MockedStatic;
+import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.mockito.stubbing.Answer;
+
+/**
+ * Benchmark comparing the number of Edge requests and the end-to-end latency of a burst of update
+ * propositions requests, sent individually or batched within the update propositions batch window.
+ *
+ * <p>A local stand-in Edge responder fulfills the Edge requests one at a time, in order, with a
+ * fixed latency of {@value #EDGE_LATENCY_MS} ms per request.
+ */
+@RunWith(MockitoJUnitRunner.Silent.class)
+@SuppressWarnings("unchecked")
+public class UpdatePropositionsBatchingBenchmarkTests {
+    private static final int REQUESTS_COUNT = 10;
+    private static final long EDGE_LATENCY_MS = 30;
+    private static final long BATCH_WINDOW_MS = 20;
+
+    @Mock ExtensionApi mockExtensionApi;
+
+    @Before
+    public void setup() {
+        DecisionScope.clearRegistry();
+    }
+
+    @Test
+    public void testUpdatePropositions_batchedVersusIndividualRequests() throws Exception {
+        // test
+        final long[] individual = sendUpdateRequests(0);
+        final long[] batched = sendUpdateRequests(BATCH_WINDOW_MS);
+
+        // verify
+        System.out.printf(
+                "%d update propositions requests with %d ms Edge latency: individual %d Edge"
+                        + " requests in %d ms, batched within %d ms window %d Edge requests in"
+                        + " %d ms%n",
+                REQUESTS_COUNT,
+                EDGE_LATENCY_MS,
+                individual[0],
+                individual[1],
+                BATCH_WINDOW_MS,
+                batched[0],
+                batched[1]);
+        Assert.assertEquals(REQUESTS_COUNT, individual[0]);
+        Assert.assertEquals(1, batched[0]);
+        Assert.assertTrue(batched[1] < individual[1]);
+    }
+
+    /**
+     * Sends {@value #REQUESTS_COUNT} update propositions requests for distinct scopes and waits for
+     * all of their responses.
+     *
+     * @param batchWindow the update propositions batch window in milliseconds, {@code 0} to send
+     *     the requests individually.
+     * @return the number of Edge requests sent and the elapsed time in milliseconds.
+     */
+    private long[] sendUpdateRequests(final long batchWindow) throws Exception {
+        Mockito.reset(mockExtensionApi);
+        final Map<String, Object> configData = new HashMap<>();
+        configData.put("edge.configId", "ffffffff-ffff-ffff-ffff-ffffffffffff");
+        configData.put("optimize.updatePropositionsBatchWindow", batchWindow);
+        Mockito.when(
+                        mockExtensionApi.getSharedState(
+                                ArgumentMatchers.eq(OptimizeConstants.Configuration.EXTENSION_NAME),
+                                ArgumentMatchers.any(),
+                                ArgumentMatchers.eq(false),
+                                ArgumentMatchers.eq(SharedStateResolution.ANY)))
+                .thenReturn(new SharedStateResult(SharedStateStatus.SET, configData));
+        final CountDownLatch responsesLatch = new CountDownLatch(REQUESTS_COUNT);
+        Mockito.doAnswer(
+                        invocation -> {
+                            final Event event = invocation.getArgument(0);
+                            if ("com.adobe.eventSource.responseContent".equals(event.getSource())) {
+                                responsesLatch.countDown();
+                            }
+                            return null;
+                        })
+                .when(mockExtensionApi)
+                .dispatch(ArgumentMatchers.any(Event.class));
+
+        // static mocks are thread-local, the batching window is driven from the test thread.
+        final ScheduledExecutorService mockUpdateBatchScheduler =
+                Mockito.mock(ScheduledExecutorService.class);
+        final OptimizeExtension extension = new OptimizeExtension(mockExtensionApi);
+        extension.setUpdateBatchScheduler(mockUpdateBatchScheduler);
+
+        final AtomicInteger edgeRequestsCount = new AtomicInteger();
+        final ExecutorService edgeResponder = Executors.newSingleThreadExecutor();
+        try (MockedStatic<Base64> base64MockedStatic = Mockito.mockStatic(Base64.class);
+                MockedStatic<MobileCore> mobileCoreMockedStatic =
+                        Mockito.mockStatic(MobileCore.class)) {
+            base64MockedStatic
+                    .when(
+                            () ->
+                                    Base64.decode(
+                                            ArgumentMatchers.anyString(),
+                                            ArgumentMatchers.anyInt()))
+                    .thenAnswer(
+                            (Answer<byte[]>)
+                                    invocation ->
+                                            java.util.Base64.getDecoder()
+                                                    .decode((String) invocation.getArguments()[0]));
+            mobileCoreMockedStatic
+                    .when(
+                            () ->
+                                    MobileCore.dispatchEventWithResponseCallback(
+                                            ArgumentMatchers.any(Event.class),
+                                            ArgumentMatchers.anyLong(),
+                                            ArgumentMatchers.any()))
+                    .thenAnswer(
+                            invocation -> {
+                                final Event edgeEvent = invocation.getArgument(0);
+                                final AdobeCallbackWithError<Event> callback =
+                                        invocation.getArgument(2);
+                                edgeRequestsCount.incrementAndGet();
+                                edgeResponder.execute(() -> respond(edgeEvent, callback));
+                                return null;
+                            });
+
+            final long startTime = System.nanoTime();
+            for (int i = 0; i < REQUESTS_COUNT; i++) {
+                extension.handleOptimizeRequestContent(createUpdatePropositionsEvent("mbox" + i));
+            }
+            if (batchWindow > 0) {
+                final ArgumentCaptor<Runnable> batchCaptor =
+                        ArgumentCaptor.forClass(Runnable.class);
+                Mockito.verify(mockUpdateBatchScheduler, Mockito.atLeastOnce())
+                        .schedule(
+                                batchCaptor.capture(),
+                                ArgumentMatchers.eq(batchWindow),
+                                ArgumentMatchers.eq(TimeUnit.MILLISECONDS));
+                Thread.sleep(batchWindow);
+                for (final Runnable batch : batchCaptor.getAllValues()) {
+                    batch.run();
+                }
+            }
+            Assert.assertTrue(responsesLatch.await(10, TimeUnit.SECONDS));
+            final long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+            return new long[] {edgeRequestsCount.get(), elapsedMillis};
+        } finally {
+            edgeResponder.shutdownNow();
+        }
+    }
+
+    private static void respond(
+            final Event edgeEvent, final AdobeCallbackWithError<Event> callback) {
+        try {
+            Thread.sleep(EDGE_LATENCY_MS);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        final Map<String, Object> responseEventData = new HashMap<>();
+        responseEventData.put("requestEventId", edgeEvent.getUniqueIdentifier());
+        callback.call(
+                new Event.Builder(
+                                "Edge Response",
+                                "com.adobe.eventType.edge",
+                                "com.adobe.eventSource.responseContent")
+                        .setEventData(responseEventData)
+                        .build());
+    }
+
+    private static Event createUpdatePropositionsEvent(final String scopeName) {
+        final Map<String, Object> eventData = new HashMap<>();
+        eventData.put("requesttype", "updatepropositions");
+        final List<Map<String, Object>> decisionScopesData = new ArrayList<>();
+        decisionScopesData.add(new DecisionScope(scopeName).toEventData());
+        eventData.put("decisionscopes", decisionScopesData);
+        return new Event.Builder(
+                        "Optimize Update Propositions Request",
+                        "com.adobe.eventType.optimize",
+                        "com.adobe.eventSource.requestContent")
+                .setEventData(eventData)
+                .build();
+    }
+}